@@ -0,0 +1,59 @@
+package com.fedex.automation.service.fedex;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fedex.automation.model.fedex.product.StaticProductResponse;
+import com.fedex.automation.utils.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TemplateConfiguratorService.buildDynamicProductNode over the real 1P session template and a static product fixture.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductNodeBenchmark {
+
+    private TemplateConfiguratorService service;
+    private ObjectNode baseProductNode;
+    private StaticProductResponse.StaticProduct staticProduct;
+    private Map<String, String> bddFeatures;
+
+    @Setup
+    public void loadFixtures() {
+        // The node builder only needs the ObjectMapper; session/context collaborators are not touched
+        service = new TemplateConfiguratorService(new ObjectMapper(), null, null, null);
+
+        JsonNode template = BenchmarkFixtures.read("templates/1P_ConfiguratorSessionsTemplate.json", JsonNode.class);
+        baseProductNode = (ObjectNode) template.at("/configuratorSessionParameters/configuratorOptions/product");
+        staticProduct = BenchmarkFixtures.read("fixtures/static-product.json", StaticProductResponse.class).getProduct();
+        bddFeatures = Map.of("Paper Size", "11x17", "Sides", "Sides Alt 1");
+    }
+
+    @Benchmark
+    public ObjectNode templateDefaults() {
+        return service.buildDynamicProductNode(baseProductNode, staticProduct, Collections.emptyMap());
+    }
+
+    @Benchmark
+    public ObjectNode withFeatureOverrides() {
+        return service.buildDynamicProductNode(baseProductNode, staticProduct, bddFeatures);
+    }
+}
@@ -0,0 +1,57 @@
+package com.fedex.automation.service.fedex;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fedex.automation.utils.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the 1P configurator session payload: classpath read + parse per call (old path) vs a TemplateRegistry copy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateRegistryBenchmark {
+
+    private static final String SESSION_TEMPLATE = "templates/" + TemplateRegistry.CONFIGURATOR_SESSION + ".json";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private TemplateRegistry registry;
+
+    @Setup
+    public void loadTemplates() throws IOException {
+        registry = new TemplateRegistry(objectMapper);
+        registry.load();
+    }
+
+    @Benchmark
+    public ObjectNode parsePerCall() throws IOException {
+        try (InputStream in = BenchmarkFixtures.open(SESSION_TEMPLATE)) {
+            ObjectNode payload = (ObjectNode) objectMapper.readTree(in);
+            ((ObjectNode) payload.at("/configuratorSessionParameters/configuratorOptions/productSelector")).put("productId", "1534436209752-4-3");
+            return payload;
+        }
+    }
+
+    @Benchmark
+    public ObjectNode registryInstance() {
+        return registry.instance(TemplateRegistry.CONFIGURATOR_SESSION, Map.of("productId", "1534436209752-4-3"));
+    }
+}
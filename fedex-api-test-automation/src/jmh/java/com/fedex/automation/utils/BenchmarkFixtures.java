@@ -0,0 +1,59 @@
+package com.fedex.automation.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Loads the offline fixtures under src/jmh/resources/fixtures (and the shared test templates) for the benchmarks.
+ */
+public final class BenchmarkFixtures {
+
+    public static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private BenchmarkFixtures() {
+    }
+
+    public static <T> T read(String resource, Class<T> type) {
+        try (InputStream in = open(resource)) {
+            return MAPPER.readValue(in, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read fixture " + resource, e);
+        }
+    }
+
+    public static InputStream open(String resource) {
+        InputStream in = BenchmarkFixtures.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            throw new IllegalStateException("Fixture not found on classpath: " + resource);
+        }
+        return in;
+    }
+
+    /**
+     * Synthetic cart page shaped like /checkout/cart/: ~{@code fillerKb} KB of markup around the form_key input
+     * and a window.checkoutConfig object with {@code items} quote items.
+     */
+    public static String cartPageHtml(int items, int fillerKb) {
+        StringBuilder filler = new StringBuilder();
+        while (filler.length() < fillerKb * 512) {
+            filler.append("<div class=\"block-minicart\"><span data-bind=\"text: getCartParam('summary_count')\"></span></div>\n");
+        }
+
+        StringBuilder quoteItems = new StringBuilder();
+        for (int i = 0; i < items; i++) {
+            if (i > 0) quoteItems.append(',');
+            quoteItems.append("{\"item_id\":\"").append(329760 + i).append("\",\"quote_id\":\"457530\",\"sku\":\"SKU-").append(i)
+                    .append("\",\"qty\":1,\"name\":\"ACCO Metal Book Rings {1.5 in.}\",\"price\":\"12.99\",\"options\":[]}");
+        }
+
+        return "<!doctype html><html><head><title>Shopping Cart</title></head><body>" + filler
+                + "<form><input name=\"form_key\" type=\"hidden\" value=\"Xk2Lm9Qp4Rs7Tv1W\" /></form>" + filler
+                + "<script>window.checkoutConfig = {\"quoteData\":{\"entity_id\":\"09Zkqho3xTnM4vYbQ1aRcD5eF7gH2iJk\"},"
+                + "\"quoteItemData\":[" + quoteItems + "],\"storeCode\":\"default\",\"isGuestCheckoutAllowed\":true};"
+                + "window.isCustomerLoggedIn = window.checkoutConfig.isCustomerLoggedIn;</script>" + filler
+                + "</body></html>";
+    }
+}
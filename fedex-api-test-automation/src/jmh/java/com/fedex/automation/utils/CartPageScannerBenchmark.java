@@ -0,0 +1,49 @@
+package com.fedex.automation.utils;
+
+import com.fedex.automation.model.fedex.CartPageSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * checkoutConfig / form_key / maskedQuoteId extraction from a cart page, as done by CartService.scrapeCartContext.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartPageScannerBenchmark {
+
+    @Param({"1", "20"})
+    public int items;
+
+    @Param({"64", "512"})
+    public int pageKb;
+
+    private byte[] page;
+
+    @Setup
+    public void buildPage() {
+        page = BenchmarkFixtures.cartPageHtml(items, pageKb).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public CartPageSnapshot scanCartPage() throws IOException {
+        return CartPageScanner.scan(new ByteArrayInputStream(page));
+    }
+}
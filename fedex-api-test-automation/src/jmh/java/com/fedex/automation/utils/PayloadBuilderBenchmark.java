@@ -0,0 +1,91 @@
+package com.fedex.automation.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fedex.automation.model.fedex.CreateQuotePayload;
+import com.fedex.automation.model.fedex.DeliveryRateRequestForm;
+import com.fedex.automation.model.fedex.EstimateShipMethodResponse;
+import com.fedex.automation.model.fedex.EstimateShippingRequest;
+import com.fedex.automation.model.fedex.SubmitOrderRequest;
+import com.fedex.automation.model.printful.PrintfulProductPricesResponse;
+import com.fedex.automation.model.printful.PrintfulVariant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkout payload builders (TestDataFactory, the 1P configured cart item) and the Printful variant pricing map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadBuilderBenchmark {
+
+    private static final String[] SIZES = {"S", "M", "L", "XL", "2XL", "3XL", "4XL", "5XL"};
+
+    private Map<String, String> address;
+    private Map<String, String> payment;
+    private EstimateShipMethodResponse shippingMethod;
+    private JsonNode rateResponse;
+    private PrintfulProductPricesResponse prices;
+    private List<PrintfulVariant> baseVariants;
+
+    @Setup
+    public void loadFixtures() {
+        address = TestDataFactory.getDefaultAddressMap();
+        payment = TestDataFactory.getDefaultPaymentMap();
+        shippingMethod = BenchmarkFixtures.read("fixtures/shipping-method.json", EstimateShipMethodResponse.class);
+        rateResponse = BenchmarkFixtures.read("fixtures/rate-response.json", JsonNode.class);
+        prices = BenchmarkFixtures.read("fixtures/printful-prices.json", PrintfulProductPricesResponse.class);
+
+        baseVariants = new ArrayList<>();
+        for (int i = 0; i < SIZES.length; i++) {
+            baseVariants.add(PrintfulVariant.builder().variantId(4011 + i).size(SIZES[i]).amount(1).build());
+        }
+    }
+
+    @Benchmark
+    public EstimateShippingRequest createEstimateRequest() {
+        return TestDataFactory.createEstimateRequest(address);
+    }
+
+    @Benchmark
+    public DeliveryRateRequestForm createRateForm() {
+        return TestDataFactory.createRateForm(shippingMethod, "3P", address);
+    }
+
+    @Benchmark
+    public CreateQuotePayload buildQuotePayload() {
+        return TestDataFactory.buildQuotePayload(rateResponse, shippingMethod, address);
+    }
+
+    @Benchmark
+    public SubmitOrderRequest createOrderRequest() {
+        return TestDataFactory.createOrderRequest("bXlFbmNyeXB0ZWRDYXJkRGF0YQ==", payment, address);
+    }
+
+    @Benchmark
+    public String configuredCartItemJson() {
+        return ConfiguredCartItemPayloads.toJson(ConfiguredCartItemPayloads.build("1534436209752-4-3", "CVAFLY1020", 50,
+                "4f0c1a52-7a43-4c7e-9d55-4f7b8a1c2d3e", "9b2e6d14-3c5f-4a8b-b1e7-0d9c8f7a6b5c", "2026-10-18T12:00:00Z", 1771825231640L));
+    }
+
+    @Benchmark
+    public List<PrintfulVariant> buildVariantMapWithPricing() {
+        return PrintfulCheckoutHelper.buildVariantMapWithPricing(baseVariants, prices, "dtg");
+    }
+}
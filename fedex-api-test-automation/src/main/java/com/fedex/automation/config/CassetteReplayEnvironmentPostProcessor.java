@@ -0,0 +1,93 @@
+package com.fedex.automation.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * With cassette.mode=replay, rewrites every http(s) URL property (base.url, mirakl.base.url, fedex.api.*.base-uri,
+ * endpoint.adobe.catalog.graphql, printful.*.url, ...) to the local replay stub, keeping the path.
+ * Runs before any bean is created, so services pick up the stub URL through their normal @Value injection.
+ * The stub's socket is bound here and handed to CassetteReplayServer as a bean, so the port written into the URLs
+ * cannot be taken by another process before the stub starts.
+ */
+public class CassetteReplayEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String PROPERTY_SOURCE_NAME = "cassetteReplay";
+    static final String SERVER_BEAN_NAME = "cassetteReplayHttpServer";
+
+    private static final Set<String> SKIPPED_SOURCES = Set.of(
+            StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME,
+            StandardEnvironment.SYSTEM_PROPERTIES_PROPERTY_SOURCE_NAME);
+
+    private final Log log;
+
+    public CassetteReplayEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(CassetteReplayEnvironmentPostProcessor.class);
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!"replay".equalsIgnoreCase(environment.getProperty("cassette.mode", "off"))) return;
+
+        HttpServer server = bind(environment.getProperty("cassette.replay.port", Integer.class, 0));
+        application.addInitializers(context -> context.getBeanFactory().registerSingleton(SERVER_BEAN_NAME, server));
+        int port = server.getAddress().getPort();
+        String stubUrl = "http://127.0.0.1:" + port;
+
+        Map<String, Object> overrides = new LinkedHashMap<>();
+        overrides.put("cassette.replay.port", port);
+        environment.getPropertySources().forEach(source -> {
+            if (SKIPPED_SOURCES.contains(source.getName()) || !(source instanceof EnumerablePropertySource<?> enumerable)) return;
+            for (String name : enumerable.getPropertyNames()) {
+                if (overrides.containsKey(name)) continue;
+                String value = resolvedValue(environment, name);
+                String rewritten = value != null ? rewrite(value, stubUrl) : null;
+                if (rewritten != null) overrides.put(name, rewritten);
+            }
+        });
+
+        environment.getPropertySources().addFirst(new MapPropertySource(PROPERTY_SOURCE_NAME, overrides));
+        log.info("--- [Cassette] Replay mode: " + (overrides.size() - 1) + " URL properties rewritten to " + stubUrl + " ---");
+    }
+
+    /**
+     * @return the value with scheme and host replaced by the stub, or null when it is not an absolute http(s) URL
+     */
+    static String rewrite(String value, String stubUrl) {
+        if (!value.startsWith("http://") && !value.startsWith("https://")) return null;
+        int pathStart = value.indexOf('/', value.indexOf("//") + 2);
+        return stubUrl + (pathStart >= 0 ? value.substring(pathStart) : "");
+    }
+
+    private static String resolvedValue(ConfigurableEnvironment environment, String name) {
+        try {
+            return environment.getProperty(name);
+        } catch (IllegalArgumentException e) {
+            return null; // unresolvable placeholder: not something we can rewrite anyway
+        }
+    }
+
+    // Port 0 = any free port
+    private static HttpServer bind(int port) {
+        try {
+            return HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), Math.max(port, 0)), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not bind the cassette replay stub to port " + port, e);
+        }
+    }
+}
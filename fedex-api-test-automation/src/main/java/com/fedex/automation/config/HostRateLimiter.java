@@ -0,0 +1,274 @@
+package com.fedex.automation.config;
+
+import com.fedex.automation.utils.AdaptivePoller;
+import com.fedex.automation.utils.EndpointMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.Header;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.util.EntityUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side token bucket per host, applied by PooledHttpClientFactory to every request on the shared pool:
+ * - hosts listed in http.rate-limit.hosts start at their configured rate and burst, other hosts are unlimited
+ * until the server pushes back;
+ * - X-RateLimit-Remaining / X-RateLimit-Reset spread what is left of the server's window over the rest of it,
+ * and stop the host until the reset when nothing is left;
+ * - a 429 pauses the host for Retry-After (or a doubling default), halves its rate and sends the request again,
+ * up to http.rate-limit.max-retries; each later success raises the rate by a small step, and once the host has gone
+ * 30 s without a 429 the full configured rate is restored (an unlimited host becomes unlimited again).
+ * Requests over the rate wait instead of failing. Time spent waiting is recorded per host in EndpointMetrics.
+ */
+@Slf4j
+@Component
+public class HostRateLimiter {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final double MIN_RATE = 0.2;
+    private static final double RECOVERY_STEP = 0.1;
+    private static final long RECOVERY_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long EPOCH_SECONDS_THRESHOLD = 1_000_000_000L;
+
+    private final RateLimitConfig config;
+    private final Map<String, double[]> configured = new HashMap<>();
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public HostRateLimiter(RateLimitConfig config) {
+        this.config = config;
+        if (config.getHosts() != null) {
+            for (String entry : config.getHosts().split(",")) {
+                String[] parts = entry.split("=");
+                if (parts.length != 2) continue;
+                String[] rate = parts[1].split(":");
+                double perSecond = Double.parseDouble(rate[0].trim());
+                double burst = rate.length > 1 ? Double.parseDouble(rate[1].trim()) : Math.max(1, perSecond);
+                if (perSecond <= 0 || burst < 1) {
+                    throw new IllegalArgumentException("Invalid http.rate-limit.hosts entry: " + entry);
+                }
+                configured.put(parts[0].trim().toLowerCase(), new double[]{perSecond, burst});
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Sends the request when the host's bucket allows it; after a 429 the request is sent again if its body can be
+     * replayed (multipart uploads cannot) and retries are left, otherwise the 429 is returned to the caller.
+     */
+    public CloseableHttpResponse execute(HttpUriRequest request, Exchange exchange) throws IOException {
+        String host = request.getURI().getHost() == null ? "unknown" : request.getURI().getHost().toLowerCase();
+        Bucket bucket = buckets.computeIfAbsent(host, this::newBucket);
+
+        for (int attempt = 1; ; attempt++) {
+            long waitedNanos = await(host, bucket);
+            CloseableHttpResponse response = exchange.send();
+            boolean tooManyRequests = response.getStatusLine().getStatusCode() == TOO_MANY_REQUESTS;
+            EndpointMetrics.recordThrottle(host, waitedNanos, tooManyRequests);
+
+            if (!tooManyRequests) {
+                bucket.onResponse(header(response, "X-RateLimit-Remaining"), resetSeconds(response), System.nanoTime());
+                return response;
+            }
+
+            long pauseMillis = pauseMillis(response, attempt);
+            double rate = bucket.onTooManyRequests(pauseMillis, System.nanoTime());
+            if (attempt > config.getMaxRetries() || !replayable(request)) {
+                log.warn("--- [Rate Limit] {} still answers 429 after {} attempt(s), returning it ---", host, attempt);
+                return response;
+            }
+            log.info("[Rate Limit] 429 from {}: pausing {} ms, rate now {}/s (retry {}/{})",
+                    host, pauseMillis, Math.round(rate * 100) / 100.0, attempt, config.getMaxRetries());
+            EntityUtils.consumeQuietly(response.getEntity());
+            response.close();
+        }
+    }
+
+    /**
+     * Current rate and pause per host that has been seen so far.
+     */
+    public Map<String, Object> summary() {
+        Map<String, Object> hosts = new TreeMap<>();
+        long now = System.nanoTime();
+        buckets.forEach((host, bucket) -> hosts.put(host, bucket.toMap(now)));
+        return hosts;
+    }
+
+    @PreDestroy
+    void logRates() {
+        if (buckets.isEmpty()) return;
+        log.info("--- [Rate Limit] Final per-host rates: {} ---", summary());
+    }
+
+    private Bucket newBucket(String host) {
+        double[] limits = configured.get(host);
+        long now = System.nanoTime();
+        return limits != null ? new Bucket(limits[0], limits[1], now) : new Bucket(Double.POSITIVE_INFINITY, 1, now);
+    }
+
+    private long await(String host, Bucket bucket) throws InterruptedIOException {
+        long start = System.nanoTime();
+        long waitNanos = bucket.tryAcquire(start);
+        if (waitNanos == 0) return 0;
+        long maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(config.getMaxWaitMs());
+        try {
+            // Check again after every sleep: a 429 or new rate headers may have changed the rate meanwhile
+            while (waitNanos > 0) {
+                if (System.nanoTime() - start + waitNanos > maxWaitNanos) {
+                    throw new IllegalStateException("Request to " + host + " waited too long for its rate limit (http.rate-limit.max-wait-ms="
+                            + config.getMaxWaitMs() + ")");
+                }
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+                waitNanos = bucket.tryAcquire(System.nanoTime());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the rate limit of " + host);
+        }
+        return System.nanoTime() - start;
+    }
+
+    long pauseMillis(HttpResponse response, int attempt) {
+        Header retryAfter = response.getFirstHeader("Retry-After");
+        long millis = AdaptivePoller.retryAfterMillis(retryAfter != null ? retryAfter.getValue() : null);
+        if (millis > 0) return millis;
+        Double reset = resetSeconds(response);
+        if (reset != null && reset > 0) return Math.round(reset * 1000);
+        return config.getDefaultPauseMs() << Math.min(attempt - 1, 10);
+    }
+
+    // X-RateLimit-Reset is seconds until the window resets, or (for some APIs) the epoch second it resets at
+    private static Double resetSeconds(HttpResponse response) {
+        Double reset = header(response, "X-RateLimit-Reset");
+        if (reset != null && reset > EPOCH_SECONDS_THRESHOLD) {
+            return Math.max(reset - System.currentTimeMillis() / 1000.0, 0);
+        }
+        return reset;
+    }
+
+    private static Double header(HttpResponse response, String name) {
+        Header header = response.getFirstHeader(name);
+        if (header == null) return null;
+        try {
+            return Double.parseDouble(header.getValue().trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean replayable(HttpUriRequest request) {
+        return !(request instanceof HttpEntityEnclosingRequest enclosing)
+                || enclosing.getEntity() == null || enclosing.getEntity().isRepeatable();
+    }
+
+    /**
+     * One HTTP exchange, sent again after a 429.
+     */
+    @FunctionalInterface
+    public interface Exchange {
+        CloseableHttpResponse send() throws IOException;
+    }
+
+    static final class Bucket {
+        private final double ceiling;
+        private final double burst;
+        private double rate;
+        private double tokens;
+        private long refilledAt;
+        private long pausedUntil;
+        private long throttledUntil;
+        // Requests per second actually sent, used as the starting point when an unlimited host first answers 429
+        private long windowStart;
+        private int windowCount;
+        private int lastWindowCount;
+
+        Bucket(double ceiling, double burst, long now) {
+            this.ceiling = ceiling;
+            this.burst = burst;
+            this.rate = ceiling;
+            this.tokens = burst;
+            this.refilledAt = now;
+            this.pausedUntil = refilledAt;
+            this.throttledUntil = refilledAt;
+            this.windowStart = refilledAt;
+        }
+
+        /**
+         * Takes a token and returns 0, or returns how long to sleep before trying again.
+         */
+        synchronized long tryAcquire(long now) {
+            if (pausedUntil > now) return pausedUntil - now;
+            if (!Double.isInfinite(rate)) {
+                if (now > refilledAt) {
+                    tokens = Math.min(burst, tokens + (now - refilledAt) / 1e9 * rate);
+                    refilledAt = now;
+                }
+                if (tokens < 1) return Math.max((long) ((1 - tokens) / rate * 1e9), 1);
+                tokens -= 1;
+            }
+            countRequest(now);
+            return 0;
+        }
+
+        synchronized double onTooManyRequests(long pauseMillis, long now) {
+            boolean alreadyPaused = pausedUntil > now;
+            pausedUntil = Math.max(pausedUntil, now + TimeUnit.MILLISECONDS.toNanos(pauseMillis));
+            // Parallel requests of the same burst all get 429: slow down once per pause, not once per response
+            if (!alreadyPaused) {
+                double current = Double.isInfinite(rate) ? Math.max(lastWindowCount, windowCount) : rate;
+                rate = Math.max(current / 2, MIN_RATE);
+            }
+            tokens = 0;
+            refilledAt = pausedUntil;
+            throttledUntil = pausedUntil;
+            return rate;
+        }
+
+        synchronized void onResponse(Double remaining, Double resetSeconds, long now) {
+            if (remaining != null && resetSeconds != null && resetSeconds > 0) {
+                if (remaining < 1) {
+                    pausedUntil = Math.max(pausedUntil, now + (long) (resetSeconds * 1e9));
+                    tokens = 0;
+                    refilledAt = pausedUntil;
+                } else {
+                    rate = Math.min(ceiling, Math.max(remaining / resetSeconds, MIN_RATE));
+                }
+            } else if (rate < ceiling) {
+                // A fixed step alone would never get an unlimited host back to unlimited
+                rate = now - throttledUntil >= RECOVERY_WINDOW_NANOS ? ceiling : Math.min(ceiling, rate + RECOVERY_STEP);
+            }
+        }
+
+        private void countRequest(long now) {
+            if (now - windowStart >= 1_000_000_000L) {
+                lastWindowCount = now - windowStart < 2_000_000_000L ? windowCount : 0;
+                windowStart = now;
+                windowCount = 0;
+            }
+            windowCount++;
+        }
+
+        synchronized Map<String, Object> toMap(long now) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("configuredPerSecond", Double.isInfinite(ceiling) ? "unlimited" : ceiling);
+            map.put("currentPerSecond", Double.isInfinite(rate) ? "unlimited" : Math.round(rate * 100) / 100.0);
+            map.put("pausedMs", TimeUnit.NANOSECONDS.toMillis(Math.max(pausedUntil - now, 0)));
+            return map;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.fedex.automation.config;
+
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+public class HttpPoolConfig {
+
+    @Value("${http.pool.enabled:true}")
+    private boolean enabled;
+
+    @Value("${http.pool.max-total:64}")
+    private int maxTotal;
+
+    @Value("${http.pool.max-per-host:16}")
+    private int maxPerHost;
+
+    // Per-host overrides, e.g. api.printful.com=4,fedexus2-dev.mirakl.net=8
+    @Value("${http.pool.host-limits:}")
+    private String hostLimits;
+
+    @Value("${http.pool.connect-timeout-ms:10000}")
+    private int connectTimeoutMs;
+
+    @Value("${http.pool.read-timeout-ms:60000}")
+    private int readTimeoutMs;
+
+    // How long a request waits for a free pooled connection before failing
+    @Value("${http.pool.lease-timeout-ms:30000}")
+    private long leaseTimeoutMs;
+
+    // Used when the server does not send Keep-Alive: timeout=N
+    @Value("${http.pool.keep-alive-seconds:30}")
+    private long keepAliveSeconds;
+
+    @Value("${http.pool.idle-evict-seconds:30}")
+    private long idleEvictSeconds;
+
+    @Value("${http.pool.report-file:target/http-connections.json}")
+    private String reportFile;
+}
@@ -0,0 +1,38 @@
+package com.fedex.automation.config;
+
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+public class LoadTestConfig {
+
+    @Value("${load.enabled:false}")
+    private boolean enabled;
+
+    @Value("${load.virtual-users:10}")
+    private int virtualUsers;
+
+    @Value("${load.ramp-up-seconds:30}")
+    private int rampUpSeconds;
+
+    @Value("${load.duration-seconds:300}")
+    private int durationSeconds;
+
+    // Checkout iterations started per second across all virtual users (0 = as fast as the VUs can go)
+    @Value("${load.target-rate-per-second:1}")
+    private double targetRatePerSecond;
+
+    @Value("${load.product-name:ACCO Metal Book Rings, 1.5 in. Diameter, 100/Box}")
+    private String productName;
+
+    @Value("${load.quantity:1}")
+    private String quantity;
+
+    @Value("${load.shipping-method:FREE_GROUND_US}")
+    private String shippingMethod;
+
+    @Value("${load.report-file:target/load-report.json}")
+    private String reportFile;
+}
@@ -0,0 +1,24 @@
+package com.fedex.automation.config;
+
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+public class PollingConfig {
+
+    // Wait after the first (immediate) check; each later wait is multiplied by poll.multiplier
+    @Value("${poll.initial-interval-ms:250}")
+    private long initialIntervalMs;
+
+    @Value("${poll.multiplier:2.0}")
+    private double multiplier;
+
+    @Value("${poll.max-interval-ms:2000}")
+    private long maxIntervalMs;
+
+    // Fraction of each wait that is randomized (0 = fixed schedule, 0.5 = between 50% and 100% of the wait)
+    @Value("${poll.jitter:0.5}")
+    private double jitter;
+}
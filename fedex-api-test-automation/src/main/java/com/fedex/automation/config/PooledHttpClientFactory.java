@@ -0,0 +1,339 @@
+package com.fedex.automation.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.config.HttpClientConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HeaderElement;
+import org.apache.http.HeaderElementIterator;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.HttpInetSocketAddress;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands RestAssured a fresh HttpClient per request (so per-request params, redirects and cookie stores never leak between
+ * parallel scenarios) that all share one keep-alive connection pool. Per-host connection limits, one TLS context for all
+ * connections (so the JVM session cache can resume handshakes), idle eviction, timeouts, and a per-host reuse report.
+ */
+// RestAssured's HttpClientFactory still returns the HttpClient 4.x legacy API (AbstractHttpClient, ClientConnectionManager)
+@SuppressWarnings("deprecation")
+@Slf4j
+@Component
+public class PooledHttpClientFactory implements HttpClientConfig.HttpClientFactory {
+
+    private final HttpPoolConfig config;
+    private final ObjectMapper objectMapper;
+    private final HostRateLimiter rateLimiter;
+    private final Map<String, Integer> hostLimits = new ConcurrentHashMap<>();
+    private final Map<String, HostStats> stats = new ConcurrentHashMap<>();
+    private final LongAdder tlsHandshakes = new LongAdder();
+
+    private PoolingClientConnectionManager pool;
+    private ClientConnectionManager sharedManager;
+    private ScheduledExecutorService evictor;
+
+    public PooledHttpClientFactory(HttpPoolConfig config, ObjectMapper objectMapper, HostRateLimiter rateLimiter) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.rateLimiter = rateLimiter;
+        if (config.getHostLimits() != null) {
+            for (String entry : config.getHostLimits().split(",")) {
+                String[] parts = entry.trim().split("=");
+                if (parts.length == 2) hostLimits.put(parts[0].trim().toLowerCase(), Integer.parseInt(parts[1].trim()));
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    @Override
+    public HttpClient createHttpClient() {
+        HttpParams params = new BasicHttpParams();
+        HttpConnectionParams.setConnectionTimeout(params, config.getConnectTimeoutMs());
+        HttpConnectionParams.setSoTimeout(params, config.getReadTimeoutMs());
+        HttpConnectionParams.setStaleCheckingEnabled(params, true);
+        params.setLongParameter(ClientPNames.CONN_MANAGER_TIMEOUT, config.getLeaseTimeoutMs());
+
+        DefaultHttpClient client = rateLimiter.isEnabled()
+                ? new RateLimitedHttpClient(sharedManager(), params, rateLimiter)
+                : new DefaultHttpClient(sharedManager(), params);
+        client.setKeepAliveStrategy(keepAliveStrategy());
+        // A body nobody reads (e.g. only statusCode() is checked) would otherwise keep its pooled connection leased;
+        // a buffered body lets the client hand the connection back as soon as the response arrives
+        client.addResponseInterceptor((response, context) -> {
+            if (response.getEntity() != null && response.getEntity().isStreaming()) {
+                response.setEntity(new BufferedHttpEntity(response.getEntity()));
+            }
+        });
+        return client;
+    }
+
+    /**
+     * Per-host requests, newly opened connections and reuse ratio, plus TLS handshakes. Safe to call at any time.
+     */
+    public Map<String, Object> summary() {
+        Map<String, Object> hosts = new TreeMap<>();
+        long requests = 0;
+        long opened = 0;
+        for (Map.Entry<String, HostStats> e : stats.entrySet()) {
+            long r = e.getValue().requests.sum();
+            long o = e.getValue().connectionsOpened.sum();
+            requests += r;
+            opened += o;
+            hosts.put(e.getKey(), hostSummary(r, o));
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>(hostSummary(requests, opened));
+        summary.put("tlsHandshakes", tlsHandshakes.sum());
+        summary.put("hosts", hosts);
+        return summary;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (pool == null) return;
+        if (evictor != null) evictor.shutdownNow();
+
+        Map<String, Object> summary = summary();
+        log.info("--- [HTTP Pool] {} requests over {} connections (reuse {}), {} TLS handshakes ---",
+                summary.get("requests"), summary.get("connectionsOpened"), summary.get("reuseRatio"), summary.get("tlsHandshakes"));
+        try {
+            File reportFile = new File(config.getReportFile());
+            if (reportFile.getParentFile() != null) reportFile.getParentFile().mkdirs();
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile, summary);
+        } catch (IOException e) {
+            log.warn("Could not write HTTP connection report: {}", e.getMessage());
+        }
+        pool.shutdown();
+    }
+
+    private synchronized ClientConnectionManager sharedManager() {
+        if (sharedManager != null) return sharedManager;
+
+        SchemeRegistry schemes = new SchemeRegistry();
+        schemes.register(new Scheme("http", 80, new CountingPlainSocketFactory()));
+        schemes.register(new Scheme("https", 443, new CountingSslSocketFactory(trustAllContext())));
+
+        pool = new PoolingClientConnectionManager(schemes);
+        pool.setMaxTotal(config.getMaxTotal());
+        pool.setDefaultMaxPerRoute(config.getMaxPerHost());
+        sharedManager = new MeteredConnectionManager(pool);
+
+        long idleSeconds = Math.max(config.getIdleEvictSeconds(), 1);
+        evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "http-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            pool.closeExpiredConnections();
+            pool.closeIdleConnections(idleSeconds, TimeUnit.SECONDS);
+        }, idleSeconds, idleSeconds, TimeUnit.SECONDS);
+
+        log.info("--- [HTTP Pool] Keep-alive pool: {} total, {} per host {}, connect {} ms, read {} ms ---",
+                config.getMaxTotal(), config.getMaxPerHost(), hostLimits.isEmpty() ? "" : hostLimits,
+                config.getConnectTimeoutMs(), config.getReadTimeoutMs());
+        return sharedManager;
+    }
+
+    private ConnectionKeepAliveStrategy keepAliveStrategy() {
+        long defaultMillis = TimeUnit.SECONDS.toMillis(config.getKeepAliveSeconds());
+        return (HttpResponse response, HttpContext context) -> {
+            HeaderElementIterator it = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+            while (it.hasNext()) {
+                HeaderElement element = it.nextElement();
+                if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                    try {
+                        return Math.min(Long.parseLong(element.getValue()) * 1000, defaultMillis);
+                    } catch (NumberFormatException ignored) {
+                        // fall through to the default
+                    }
+                }
+            }
+            return defaultMillis;
+        };
+    }
+
+    private HostStats statsFor(String host) {
+        return stats.computeIfAbsent(host.toLowerCase(), k -> new HostStats());
+    }
+
+    private static Map<String, Object> hostSummary(long requests, long opened) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", requests);
+        summary.put("connectionsOpened", opened);
+        summary.put("reuseRatio", requests == 0 ? 0 : Math.round(Math.max(0, 1 - (double) opened / requests) * 1000) / 1000.0);
+        return summary;
+    }
+
+    private static String hostOf(InetSocketAddress remote) {
+        return remote instanceof HttpInetSocketAddress http ? http.getHttpHost().getHostName() : remote.getHostString();
+    }
+
+    // Same trust-all behaviour as setRelaxedHTTPSValidation(), but one context for every connection
+    private static SSLContext trustAllContext() {
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, new TrustManager[]{new X509TrustManager() {
+                @Override
+                public void checkClientTrusted(X509Certificate[] chain, String authType) {
+                }
+
+                @Override
+                public void checkServerTrusted(X509Certificate[] chain, String authType) {
+                }
+
+                @Override
+                public X509Certificate[] getAcceptedIssuers() {
+                    return new X509Certificate[0];
+                }
+            }}, null);
+            return context;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not create TLS context for the HTTP pool", e);
+        }
+    }
+
+    private static final class HostStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder connectionsOpened = new LongAdder();
+    }
+
+    private final class CountingPlainSocketFactory extends PlainSocketFactory {
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remote, InetSocketAddress local, HttpParams params) throws IOException {
+            Socket connected = super.connectSocket(socket, remote, local, params);
+            statsFor(hostOf(remote)).connectionsOpened.increment();
+            return connected;
+        }
+    }
+
+    private final class CountingSslSocketFactory extends SSLSocketFactory {
+        private CountingSslSocketFactory(SSLContext context) {
+            super(context, SSLSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER);
+        }
+
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remote, InetSocketAddress local, HttpParams params) throws IOException {
+            Socket connected = super.connectSocket(socket, remote, local, params);
+            statsFor(hostOf(remote)).connectionsOpened.increment();
+            return connected;
+        }
+
+        @Override
+        protected void prepareSocket(SSLSocket socket) {
+            socket.addHandshakeCompletedListener(event -> tlsHandshakes.increment());
+        }
+    }
+
+    /**
+     * Delegates to the shared pool; counts leases per host and applies per-host limits the first time a route shows up.
+     * shutdown() is a no-op so a discarded per-request client can never close the shared pool.
+     */
+    private final class MeteredConnectionManager implements ClientConnectionManager {
+        private final PoolingClientConnectionManager delegate;
+        private final Set<HttpRoute> limitedRoutes = ConcurrentHashMap.newKeySet();
+
+        private MeteredConnectionManager(PoolingClientConnectionManager delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public SchemeRegistry getSchemeRegistry() {
+            return delegate.getSchemeRegistry();
+        }
+
+        @Override
+        public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+            String host = route.getTargetHost().getHostName();
+            if (limitedRoutes.add(route)) {
+                Integer limit = hostLimits.get(host.toLowerCase());
+                if (limit != null) delegate.setMaxPerRoute(route, limit);
+            }
+            statsFor(host).requests.increment();
+            return delegate.requestConnection(route, state);
+        }
+
+        @Override
+        public void releaseConnection(ManagedClientConnection conn, long validDuration, TimeUnit timeUnit) {
+            delegate.releaseConnection(conn, validDuration, timeUnit);
+        }
+
+        @Override
+        public void closeIdleConnections(long idletime, TimeUnit timeUnit) {
+            delegate.closeIdleConnections(idletime, timeUnit);
+        }
+
+        @Override
+        public void closeExpiredConnections() {
+            delegate.closeExpiredConnections();
+        }
+
+        @Override
+        public void shutdown() {
+            // owned by the factory, see PooledHttpClientFactory.shutdown()
+        }
+    }
+
+    /**
+     * Every RestAssured request goes through execute(HttpUriRequest, HttpContext), so this is where the per-host
+     * rate limit is applied and a 429 is retried, below the filters.
+     */
+    private static final class RateLimitedHttpClient extends DefaultHttpClient {
+        private final HostRateLimiter rateLimiter;
+
+        private RateLimitedHttpClient(ClientConnectionManager manager, HttpParams params, HostRateLimiter rateLimiter) {
+            super(manager, params);
+            this.rateLimiter = rateLimiter;
+        }
+
+        @Override
+        public CloseableHttpResponse execute(HttpUriRequest request, HttpContext context) throws IOException {
+            return rateLimiter.execute(request, () -> super.execute(request, context));
+        }
+    }
+}
@@ -37,7 +37,4 @@ public class PrintfulConfig {
 
     @Value("${apparel.retry.timeout.seconds:10}")
     private int retryTimeoutSeconds;
-
-    @Value("${apparel.retry.interval.seconds:2}")
-    private int retryIntervalSeconds;
 }
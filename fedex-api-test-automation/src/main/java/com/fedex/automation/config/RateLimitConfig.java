@@ -0,0 +1,29 @@
+package com.fedex.automation.config;
+
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+public class RateLimitConfig {
+
+    @Value("${http.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    // host=requests-per-second[:burst], e.g. api.printful.com=2:5,fedexus2-dev.mirakl.net=10
+    @Value("${http.rate-limit.hosts:}")
+    private String hosts;
+
+    // How often one request is retried after a 429 before the 429 is returned to the caller
+    @Value("${http.rate-limit.max-retries:3}")
+    private int maxRetries;
+
+    // Longest a request may wait in the queue; beyond that it fails instead of waiting
+    @Value("${http.rate-limit.max-wait-ms:120000}")
+    private long maxWaitMs;
+
+    // Pause after a 429 without Retry-After, doubled on every retry of the same request
+    @Value("${http.rate-limit.default-pause-ms:1000}")
+    private long defaultPauseMs;
+}
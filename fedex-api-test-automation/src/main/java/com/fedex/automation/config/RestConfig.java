@@ -1,10 +1,12 @@
 package com.fedex.automation.config;
 
+import com.fedex.automation.utils.CassetteRecordingFilter;
 import com.fedex.automation.utils.CurlLoggingFilter;
+import com.fedex.automation.utils.EndpointTimingFilter;
 import io.qameta.allure.Allure;
 import io.qameta.allure.restassured.AllureRestAssured;
-import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
 import io.restassured.config.LogConfig;
 import io.restassured.config.RestAssuredConfig;
 import io.restassured.filter.Filter;
@@ -13,7 +15,6 @@ import io.restassured.response.Response;
 import io.restassured.specification.FilterableRequestSpecification;
 import io.restassured.specification.FilterableResponseSpecification;
 import io.restassured.specification.RequestSpecification;
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -23,23 +24,36 @@ import org.springframework.context.annotation.Configuration;
 public class RestConfig {
 
     private final CurlLoggingFilter curlLoggingFilter;
+    private final EndpointTimingFilter endpointTimingFilter;
+    private final CassetteRecordingFilter cassetteRecordingFilter;
+    private final PooledHttpClientFactory pooledHttpClientFactory;
 
+    /**
+     * Shared, read-only request template. Every service starts from given().spec(defaultRequestSpec),
+     * so filters and config live here instead of on the static RestAssured.filters/RestAssured.config.
+     * Nothing in the spec is mutated after build, which keeps it safe for parallel scenarios.
+     * Per-scenario state (cookies, form_key, tokens) must never be added to this spec.
+     * With http.pool.enabled the clients come from the shared keep-alive pool, whose https scheme already trusts all
+     * certificates; setRelaxedHTTPSValidation() would swap in a new TLS socket factory on every request.
+     */
     @Bean
     public RequestSpecification defaultRequestSpec() {
-        return new RequestSpecBuilder()
-                .setRelaxedHTTPSValidation()
-                // Filters removed from here to prevent double-logging,
-                // as they are applied globally in the PostConstruct below.
-                .build();
-    }
-
-    @PostConstruct
-    public void configureGlobalRestAssured() {
-        // Apply filters globally so every single RestAssured call is caught
-        RestAssured.filters(curlLoggingFilter, new SafeAllureRestAssuredFilter());
-
-        RestAssured.config = RestAssuredConfig.config()
+        RestAssuredConfig config = RestAssuredConfig.config()
                 .logConfig(LogConfig.logConfig().enableLoggingOfRequestAndResponseIfValidationFails());
+        RequestSpecBuilder builder = new RequestSpecBuilder();
+        if (pooledHttpClientFactory.isEnabled()) {
+            config = config.httpClient(HttpClientConfig.httpClientConfig().httpClientFactory(pooledHttpClientFactory));
+        } else {
+            builder.setRelaxedHTTPSValidation();
+        }
+
+        return builder
+                .setConfig(config)
+                .addFilter(curlLoggingFilter)
+                .addFilter(new SafeAllureRestAssuredFilter())
+                .addFilter(cassetteRecordingFilter)
+                .addFilter(endpointTimingFilter) // last = closest to the wire
+                .build();
     }
 
     /**
@@ -0,0 +1,42 @@
+package com.fedex.automation.config;
+
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+public class SeedConfig {
+
+    @Value("${seed.enabled:false}")
+    private boolean enabled;
+
+    // Total orders wanted in the output file; a resumed run only places the missing ones
+    @Value("${seed.orders:100}")
+    private int orders;
+
+    // Orders in flight at once, each on its own session
+    @Value("${seed.concurrency:4}")
+    private int concurrency;
+
+    // Order starts per second across all workers (0 = as fast as the workers can go)
+    @Value("${seed.rate-per-second:0.5}")
+    private double ratePerSecond;
+
+    // Attempts per order when it fails before submission
+    @Value("${seed.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${seed.product-name:ACCO Metal Book Rings, 1.5 in. Diameter, 100/Box}")
+    private String productName;
+
+    @Value("${seed.quantity:1}")
+    private String quantity;
+
+    @Value("${seed.shipping-method:FREE_GROUND_US}")
+    private String shippingMethod;
+
+    // Kept outside target/ so a resume survives mvn clean
+    @Value("${seed.output-file:seeded-orders.jsonl}")
+    private String outputFile;
+}
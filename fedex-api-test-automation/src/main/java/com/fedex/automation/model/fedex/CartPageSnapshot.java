@@ -0,0 +1,17 @@
+package com.fedex.automation.model.fedex;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Everything the tests need from one /checkout/cart/ page load, extracted in a single streaming pass.
+ * Any field may be null when the page did not contain it (e.g. no quote yet for a fresh guest).
+ */
+@Data
+@Builder
+public class CartPageSnapshot {
+    private String formKey;
+    private String maskedQuoteId;
+    private JsonNode checkoutConfig; // window.checkoutConfig object
+}
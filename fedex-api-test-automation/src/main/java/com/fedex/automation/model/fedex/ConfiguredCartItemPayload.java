@@ -0,0 +1,180 @@
+package com.fedex.automation.model.fedex;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Serializer wrapper for the "data" form field of the 1P configured add-to-cart call (endpoint.cart.product.add).
+ * Not a model of the payload: only the per-item values are typed fields. Every other section (features, most product
+ * properties, design content, workspace, quantity choices) is a String or RawValue of JSON that ConfiguredCartItemPayloads
+ * pre-serialized once; @JsonRawValue writes it through verbatim, unchecked. Fields exist to fix the key order.
+ * The nested classes below the per-item ones only describe the static sections while they are pre-serialized.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({"configuratorStateId", "expirationDateTime", "customDocumentDetails", "isEditable", "product",
+        "integratorProductReference", "configuratorSessionId", "expressCheckoutButtonSelected", "userWorkspace",
+        "errors", "changeProduct", "loggedInUser", "fxoProductInstance"})
+public class ConfiguredCartItemPayload {
+
+    private String configuratorStateId;
+    private String expirationDateTime;
+
+    @JsonRawValue
+    private String customDocumentDetails;
+
+    @JsonProperty("isEditable")
+    private boolean editable;
+
+    private ConfiguredProduct product;
+    private String integratorProductReference;
+    private String configuratorSessionId;
+    private boolean expressCheckoutButtonSelected;
+
+    @JsonRawValue
+    private String userWorkspace;
+
+    @JsonRawValue
+    private String errors;
+
+    private boolean changeProduct;
+    private boolean loggedInUser;
+
+    @JsonRawValue
+    private String fxoProductInstance;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonPropertyOrder({"id", "version", "name", "qty", "priceable", "features", "properties", "pageExceptions",
+            "proofRequired", "instanceId", "userProductName", "inserts", "exceptions", "addOns", "contentAssociations",
+            "productionContentAssociations", "products", "externalSkus", "isOutSourced", "contextKeys", "designId", "partnerProductId"})
+    public static class ConfiguredProduct {
+        private long id;
+        private int version;
+        private String name;
+        private int qty;
+        private boolean priceable;
+
+        @JsonRawValue
+        private String features;
+
+        // RawValue fragments (several properties each, no brackets) around the one Property that changes per item
+        private List<Object> properties;
+
+        @JsonRawValue
+        private String pageExceptions;
+
+        private boolean proofRequired;
+        private long instanceId;
+        private String userProductName;
+
+        @JsonRawValue
+        private String inserts;
+
+        @JsonRawValue
+        private String exceptions;
+
+        @JsonRawValue
+        private String addOns;
+
+        @JsonRawValue
+        private String contentAssociations;
+
+        @JsonRawValue
+        private String productionContentAssociations;
+
+        @JsonRawValue
+        private String products;
+
+        @JsonRawValue
+        private String externalSkus;
+
+        @JsonProperty("isOutSourced")
+        private boolean outSourced;
+
+        @JsonRawValue
+        private String contextKeys;
+
+        private String designId;
+        private String partnerProductId;
+    }
+
+    // --- Static sections, serialized once ---
+
+    @Data
+    @AllArgsConstructor
+    public static class Feature {
+        private long id;
+        private String name;
+        private Choice choice;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Choice {
+        private long id;
+        private String name;
+        private List<Property> properties;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Property {
+        private long id;
+        private String name;
+        private String value;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    public static class ContentAssociation {
+        private String parentContentReference;
+        private String contentReference;
+        private String contentType;
+        private long fileSizeBytes;
+        private String fileName;
+        private boolean printReady;
+        private long contentReqId;
+        private String name;
+        private String purpose;
+        private List<PageGroup> pageGroups;
+        private boolean physicalContent;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class PageGroup {
+        private int start;
+        private int end;
+        private double width;
+        private double height;
+        private String orientation;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Workspace {
+        private List<Object> files;
+        private List<Object> projects;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class FxoProductInstance {
+        private List<String> quantityChoices;
+    }
+}
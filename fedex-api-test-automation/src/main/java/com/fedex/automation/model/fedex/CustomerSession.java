@@ -0,0 +1,27 @@
+package com.fedex.automation.model.fedex;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Authenticated customer cookies captured from a browser login, plus when they stop being usable.
+ * Instances held by the session pool are replaced, never mutated, so they can be shared across threads.
+ */
+@Data
+@Builder(toBuilder = true)
+public class CustomerSession {
+    private String username;
+    private Map<String, String> cookies;
+    private Instant loggedInAt;
+    private Instant expiresAt;        // Earliest expiry of the auth cookies (FDX_LOGIN / x-action-token)
+    private Instant lastValidatedAt;
+    private boolean slidingExpiry;    // Auth cookies are browser-session cookies: each successful validation extends the lifetime
+
+    public boolean expiresWithin(Duration window) {
+        return expiresAt == null || Instant.now().plus(window).isAfter(expiresAt);
+    }
+}
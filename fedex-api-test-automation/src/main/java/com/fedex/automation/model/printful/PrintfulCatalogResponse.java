@@ -9,6 +9,7 @@ import java.util.List;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class PrintfulCatalogResponse {
     private List<CatalogProduct> data;
+    private PrintfulPaging paging;
 
     @Data
     @JsonIgnoreProperties(ignoreUnknown = true)
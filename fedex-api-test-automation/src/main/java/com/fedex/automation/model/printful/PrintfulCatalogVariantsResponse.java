@@ -8,6 +8,7 @@ import java.util.List;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class PrintfulCatalogVariantsResponse {
     private List<CatalogVariant> data;
+    private PrintfulPaging paging;
 
     @Data
     @JsonIgnoreProperties(ignoreUnknown = true)
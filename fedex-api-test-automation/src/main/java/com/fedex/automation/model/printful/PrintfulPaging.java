@@ -0,0 +1,15 @@
+package com.fedex.automation.model.printful;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+/**
+ * The {@code paging} block of Printful v2 list responses.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PrintfulPaging {
+    private Integer total;
+    private Integer offset;
+    private Integer limit;
+}
@@ -0,0 +1,86 @@
+package com.fedex.automation.service.cassette;
+
+import com.fedex.automation.utils.CassetteKeys;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stub that answers every HTTP call from the recorded cassettes (cassette.mode=replay).
+ * CassetteReplayEnvironmentPostProcessor has already bound the stub's socket and pointed all base URLs at it, so no request leaves the machine.
+ * Requests nothing was recorded for get a 599 so the failing step names the missing endpoint instead of hanging.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cassette.mode", havingValue = "replay")
+public class CassetteReplayServer {
+
+    static final int NOT_RECORDED = 599;
+
+    private final CassetteStore cassetteStore;
+    private final HttpServer server;
+
+    @PostConstruct
+    void start() throws IOException {
+        cassetteStore.loadForReplay();
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        log.info("--- [Cassette] Replay stub listening on http://127.0.0.1:{} ---", server.getAddress().getPort());
+    }
+
+    @PreDestroy
+    void stop() {
+        server.stop(0);
+        log.info("--- [Cassette] Replay finished: {} ---", cassetteStore.replayStats());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String url = "http://127.0.0.1:" + server.getAddress().getPort() + exchange.getRequestURI();
+            byte[] requestBody = exchange.getRequestBody().readAllBytes();
+            String normalized = CassetteKeys.normalize(CassetteKeys.decodePairs(exchange.getRequestURI().getRawQuery()),
+                    exchange.getRequestHeaders().getFirst("Content-Type"), new String(requestBody, StandardCharsets.UTF_8),
+                    null, cassetteStore.getVolatileFields());
+
+            CassetteStore.Interaction interaction = cassetteStore.replay(method, url, normalized,
+                    exchange.getRequestHeaders().getFirst(CassetteStore.SCOPE_HEADER));
+            if (interaction == null) {
+                byte[] error = ("{\"error\":\"No cassette recorded for " + method + " " + exchange.getRequestURI().getRawPath() + "\"}")
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(NOT_RECORDED, error.length);
+                exchange.getResponseBody().write(error);
+                return;
+            }
+
+            for (Map.Entry<String, String> header : interaction.getHeaders()) {
+                exchange.getResponseHeaders().add(header.getKey(), header.getValue());
+            }
+            byte[] body = interaction.getBody();
+            boolean noBody = body.length == 0 || "HEAD".equalsIgnoreCase(method) || List.of(204, 304).contains(interaction.getStatus());
+            exchange.sendResponseHeaders(interaction.getStatus(), noBody ? -1 : body.length);
+            if (!noBody) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Replay stub failed for {} {}: {}", exchange.getRequestMethod(), exchange.getRequestURI(), e.getMessage());
+        }
+    }
+}
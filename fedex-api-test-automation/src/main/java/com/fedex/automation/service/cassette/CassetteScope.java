@@ -0,0 +1,28 @@
+package com.fedex.automation.service.cassette;
+
+/**
+ * The scenario a replayed request belongs to, sent as CassetteStore.SCOPE_HEADER so the replay stub keeps one cursor
+ * per scenario. Set by the Cucumber hook CassetteScopeHooks on the scenario thread; inherited by the virtual threads
+ * BoundedFanOut starts for that scenario. Outside a scenario the thread name is the scope.
+ * Static on purpose, like StepCallTrace: filters and hooks share it without a Spring dependency.
+ */
+public final class CassetteScope {
+
+    private static final InheritableThreadLocal<String> CURRENT = new InheritableThreadLocal<>();
+
+    private CassetteScope() {
+    }
+
+    public static void begin(String scenarioId) {
+        CURRENT.set(scenarioId);
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static String current() {
+        String scenarioId = CURRENT.get();
+        return scenarioId != null ? scenarioId : Thread.currentThread().getName();
+    }
+}
@@ -0,0 +1,362 @@
+package com.fedex.automation.service.cassette;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fedex.automation.model.fedex.CustomerSession;
+import com.fedex.automation.utils.CassetteKeys;
+import com.fedex.automation.utils.CurlCommandFormatter;
+import com.fedex.automation.utils.EndpointTemplateResolver;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * On-disk store of recorded HTTP interactions ("cassettes"), one file per method + endpoint template + normalized request.
+ * Record mode collects every call made through defaultRequestSpec in memory and writes the files once, at shutdown;
+ * replay mode serves them back in recorded order, separately for each scenario (see {@link #SCOPE_HEADER}),
+ * falling back to the same endpoint template when a request body differs from the recording (generated names, encrypted cards).
+ * Browser logins cannot be replayed over HTTP, so the customer session cookies are stored next to the cassettes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CassetteStore {
+
+    /**
+     * Request header naming the replay scope (the scenario) a call belongs to; each scope walks the recordings from the start.
+     */
+    public static final String SCOPE_HEADER = "X-Cassette-Scope";
+
+    // Hop-by-hop / transport headers: the stub sets its own, and bodies are stored already decompressed
+    private static final Set<String> SKIPPED_HEADERS = Set.of("content-length", "transfer-encoding", "content-encoding", "connection", "keep-alive");
+
+    private final EndpointTemplateResolver templateResolver;
+    private final ObjectMapper objectMapper;
+
+    @Value("${cassette.mode:off}")
+    private String mode;
+
+    @Value("${cassette.dir:cassettes}")
+    private String cassetteDir;
+
+    @Value("${cassette.volatile-fields:form_key,formKey,_,timestamp,force_new_section_timestamp,instanceId,requestId,transactionId}")
+    private Set<String> volatileFields;
+
+    private final Map<String, RecordedCassette> recording = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Map<String, Track> byKey = new ConcurrentHashMap<>();
+    private final Map<String, Track> byTemplate = new ConcurrentHashMap<>();
+    private final LongAdder exactHits = new LongAdder();
+    private final LongAdder templateHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public boolean isRecording() {
+        return "record".equalsIgnoreCase(mode);
+    }
+
+    public boolean isReplaying() {
+        return "replay".equalsIgnoreCase(mode);
+    }
+
+    public Set<String> getVolatileFields() {
+        return volatileFields;
+    }
+
+    /**
+     * Endpoint template without the host, so a call keys the same against staging and against the replay stub.
+     */
+    public String templateOf(String url) {
+        String template = templateResolver.resolve(url);
+        int slash = template.indexOf('/');
+        return slash > 0 ? template.substring(slash) : template;
+    }
+
+    public void record(String method, String url, String normalizedRequest, int status,
+                       List<Map.Entry<String, String>> headers, String contentType, byte[] body) {
+        String template = templateOf(url);
+        String key = CassetteKeys.key(method, template, normalizedRequest);
+        RecordedCassette cassette = recording.computeIfAbsent(key, k -> new RecordedCassette(k, method.toUpperCase(), template, pathOf(url)));
+
+        Interaction interaction = new Interaction(sequence.incrementAndGet(), status,
+                headers.stream().filter(h -> !SKIPPED_HEADERS.contains(h.getKey().toLowerCase())).toList(),
+                body != null ? body : new byte[0], CurlCommandFormatter.isPrintable(contentType));
+
+        synchronized (cassette) {
+            cassette.interactions.add(interaction);
+        }
+    }
+
+    /**
+     * Writes every cassette recorded in this run. Rewriting a file per call would make recording quadratic in the calls per key.
+     */
+    @PreDestroy
+    public void flush() {
+        if (recording.isEmpty()) return;
+        int written = 0;
+        for (RecordedCassette cassette : recording.values()) {
+            synchronized (cassette) {
+                try {
+                    write(cassette);
+                    written++;
+                } catch (IOException e) {
+                    log.warn("Could not write cassette {}: {}", cassette.key, e.getMessage());
+                }
+            }
+        }
+        log.info("--- [Cassette] Wrote {} cassettes to {} ---", written, Path.of(cassetteDir).toAbsolutePath());
+    }
+
+    /**
+     * Reads every cassette under cassette.dir into memory. Called once when the replay stub starts.
+     */
+    public void loadForReplay() throws IOException {
+        Path root = Path.of(cassetteDir);
+        if (!Files.isDirectory(root)) {
+            throw new IllegalStateException("cassette.mode=replay but no cassettes found at " + root.toAbsolutePath() + ". Record a run first.");
+        }
+
+        Map<String, List<Interaction>> templates = new HashMap<>();
+        int files = 0;
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path file : paths.filter(p -> p.toString().endsWith(".json") && !p.getParent().endsWith("sessions")).toList()) {
+                JsonNode cassette = objectMapper.readTree(file.toFile());
+                List<Interaction> interactions = new ArrayList<>();
+                cassette.path("interactions").forEach(node -> interactions.add(Interaction.from(node)));
+                byKey.put(cassette.path("key").asText(), new Track(interactions));
+                templates.computeIfAbsent(cassette.path("method").asText() + " " + cassette.path("template").asText(), k -> new ArrayList<>())
+                        .addAll(interactions);
+                files++;
+            }
+        }
+        templates.forEach((template, interactions) -> {
+            interactions.sort(Comparator.comparingLong(i -> i.sequence));
+            byTemplate.put(template, new Track(interactions));
+        });
+        log.info("--- [Cassette] Loaded {} cassettes ({} endpoint templates) from {} ---", files, byTemplate.size(), root.toAbsolutePath());
+    }
+
+    /**
+     * Next recorded response for this request: an exact match first, otherwise the next one recorded for the same template.
+     *
+     * @param scope replay scope (scenario) the call belongs to; null shares one position across all callers
+     * @return the interaction, or null when nothing was recorded for this endpoint
+     */
+    public Interaction replay(String method, String url, String normalizedRequest, String scope) {
+        String template = templateOf(url);
+        Track exact = byKey.get(CassetteKeys.key(method, template, normalizedRequest));
+        if (exact != null) {
+            exactHits.increment();
+            return exact.next(scope);
+        }
+
+        Track sameTemplate = byTemplate.get(method.toUpperCase() + " " + template);
+        if (sameTemplate != null) {
+            templateHits.increment();
+            log.debug("--- [Cassette] No exact recording for {} {}, serving next {} response ---", method, url, template);
+            return sameTemplate.next(scope);
+        }
+
+        misses.increment();
+        log.warn("--- [Cassette] Nothing recorded for {} {} ({}) ---", method, url, template);
+        return null;
+    }
+
+    public Map<String, Long> replayStats() {
+        return Map.of("exact", exactHits.sum(), "template", templateHits.sum(), "missed", misses.sum());
+    }
+
+    public void recordSession(CustomerSession session) {
+        try {
+            Path file = sessionPath(session.getUsername());
+            Files.createDirectories(file.getParent());
+            ObjectNode node = objectMapper.createObjectNode();
+            node.put("username", session.getUsername());
+            node.set("cookies", objectMapper.valueToTree(session.getCookies()));
+            writeAtomically(file, objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(node));
+        } catch (Exception e) {
+            log.warn("Could not record session for {}: {}", session.getUsername(), e.getMessage());
+        }
+    }
+
+    /**
+     * Session captured during the recorded run. Expiry is left open: the pool treats it as a sliding session.
+     */
+    public CustomerSession replaySession(String username) {
+        try {
+            Path file = sessionPath(username);
+            if (!Files.exists(file)) {
+                throw new IllegalStateException("No recorded session for " + username + " in " + file.getParent().toAbsolutePath());
+            }
+            JsonNode node = objectMapper.readTree(file.toFile());
+            Map<String, String> cookies = new HashMap<>();
+            node.path("cookies").properties().forEach(e -> cookies.put(e.getKey(), e.getValue().asText()));
+            log.info("--- [Cassette] Replaying recorded login for {} ---", username);
+            return CustomerSession.builder()
+                    .username(username)
+                    .cookies(cookies)
+                    .loggedInAt(Instant.now())
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read recorded session for " + username, e);
+        }
+    }
+
+    private void write(RecordedCassette cassette) throws IOException {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("key", cassette.key);
+        node.put("method", cassette.method);
+        node.put("template", cassette.template);
+        node.put("path", cassette.path);
+        ArrayNode interactions = node.putArray("interactions");
+        for (Interaction interaction : cassette.interactions) {
+            interactions.add(interaction.toJson(objectMapper));
+        }
+
+        String[] parts = cassette.key.split(" ");
+        Path file = Path.of(cassetteDir, safeName(cassette.template), cassette.method + "-" + parts[parts.length - 1] + ".json");
+        Files.createDirectories(file.getParent());
+        writeAtomically(file, objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(node));
+    }
+
+    private static void writeAtomically(Path file, byte[] content) throws IOException {
+        // Temp file + move, so a parallel scenario never reads a half-written cassette
+        Path tmp = Files.createTempFile(file.getParent(), "cassette", ".tmp");
+        Files.write(tmp, content);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path sessionPath(String username) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(username.toLowerCase().getBytes(StandardCharsets.UTF_8));
+            return Path.of(cassetteDir, "sessions", HexFormat.of().formatHex(hash, 0, 16) + ".json");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String safeName(String template) {
+        String safe = template.replaceAll("[^A-Za-z0-9._-]+", "_").replaceAll("^_+|_+$", "");
+        return safe.isEmpty() ? "root" : safe.substring(0, Math.min(safe.length(), 120));
+    }
+
+    private static String pathOf(String url) {
+        try {
+            return URI.create(url).getRawPath();
+        } catch (Exception e) {
+            return url;
+        }
+    }
+
+    private static final class RecordedCassette {
+        private final String key;
+        private final String method;
+        private final String template;
+        private final String path;
+        private final List<Interaction> interactions = new ArrayList<>();
+
+        private RecordedCassette(String key, String method, String template, String path) {
+            this.key = key;
+            this.method = method;
+            this.template = template;
+            this.path = path;
+        }
+    }
+
+    /**
+     * Recorded responses for one key, served in order; the last one repeats (polling endpoints settle on their final state).
+     * Each scope has its own position, so parallel scenarios don't consume each other's responses.
+     */
+    private static final class Track {
+        private final List<Interaction> interactions;
+        private final Map<String, AtomicInteger> cursors = new ConcurrentHashMap<>();
+
+        private Track(List<Interaction> interactions) {
+            this.interactions = interactions;
+        }
+
+        Interaction next(String scope) {
+            AtomicInteger cursor = cursors.computeIfAbsent(scope != null ? scope : "", k -> new AtomicInteger());
+            return interactions.get(Math.min(cursor.getAndIncrement(), interactions.size() - 1));
+        }
+    }
+
+    public static final class Interaction {
+        private final long sequence;
+        private final int status;
+        private final List<Map.Entry<String, String>> headers;
+        private final byte[] body;
+        private final boolean text;
+
+        private Interaction(long sequence, int status, List<Map.Entry<String, String>> headers, byte[] body, boolean text) {
+            this.sequence = sequence;
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+            this.text = text;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public List<Map.Entry<String, String>> getHeaders() {
+            return headers;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        private ObjectNode toJson(ObjectMapper mapper) {
+            ObjectNode node = mapper.createObjectNode();
+            node.put("sequence", sequence);
+            node.put("status", status);
+            ArrayNode headerNodes = node.putArray("headers");
+            headers.forEach(h -> headerNodes.addObject().put("name", h.getKey()).put("value", h.getValue()));
+            if (text) {
+                node.put("body", new String(body, StandardCharsets.UTF_8));
+            } else {
+                node.put("bodyBase64", Base64.getEncoder().encodeToString(body));
+            }
+            return node;
+        }
+
+        private static Interaction from(JsonNode node) {
+            List<Map.Entry<String, String>> headers = new ArrayList<>();
+            node.path("headers").forEach(h -> headers.add(Map.entry(h.path("name").asText(), h.path("value").asText())));
+            boolean text = node.has("body");
+            byte[] body = text
+                    ? node.path("body").asText().getBytes(StandardCharsets.UTF_8)
+                    : Base64.getDecoder().decode(node.path("bodyBase64").asText(""));
+            return new Interaction(node.path("sequence").asLong(), node.path("status").asInt(200), headers, body, text);
+        }
+    }
+}
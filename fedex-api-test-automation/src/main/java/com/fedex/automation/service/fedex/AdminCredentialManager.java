@@ -0,0 +1,187 @@
+package com.fedex.automation.service.fedex;
+
+import com.fedex.automation.config.FedexConfig;
+import io.restassured.filter.cookie.CookieFilter;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Owns the admin credentials for the whole run: one REST bearer token and one logged-in admin cookie session,
+ * shared by parallel scenarios and batch jobs (parallel logins of the same admin user would otherwise
+ * log each other out when admin account sharing is disabled).
+ * Each credential is renewed shortly before its expected expiry, or after a caller reports it rejected;
+ * only one caller renews while the others wait for its result.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdminCredentialManager {
+
+    private static final Pattern FORM_KEY = Pattern.compile("form_key\"\\s+type=\"hidden\"\\s+value=\"([^\"]+)\"");
+
+    private final RequestSpecification defaultRequestSpec;
+    private final FedexConfig fedexConfig;
+
+    @Value("${admin.path}")
+    private String adminPath;
+
+    @Value("${admin.username}")
+    private String username;
+
+    @Value("${admin.password}")
+    private String password;
+
+    @Value("${endpoint.admin.login}")
+    private String adminLoginEndpoint;
+
+    @Value("${endpoint.admin.token}")
+    private String adminTokenEndpoint;
+
+    @Value("${admin.token.ttl-seconds:14400}")
+    private long tokenTtlSeconds;
+
+    @Value("${admin.session.ttl-seconds:900}")
+    private long sessionTtlSeconds;
+
+    @Value("${admin.refresh-ahead-seconds:60}")
+    private long refreshAheadSeconds;
+
+    private final ReentrantLock tokenLock = new ReentrantLock();
+    private final ReentrantLock sessionLock = new ReentrantLock();
+    private volatile Credential<String> token;
+    private volatile Credential<CookieFilter> session;
+
+    /**
+     * A bearer token for the admin REST API, fetched only when there is none or it is about to expire.
+     */
+    public String bearerToken() {
+        Credential<String> current = token;
+        if (usable(current)) return current.value;
+        return renew(tokenLock, () -> token, () -> {
+            token = new Credential<>(fetchToken(), Duration.ofSeconds(tokenTtlSeconds));
+            log.info("--- [Admin] Fetched admin token (valid until ~{}) ---", token.expiresAt);
+            return token;
+        });
+    }
+
+    /**
+     * The cookie jar of a logged-in admin session; logs in only when there is none or it is about to expire.
+     * Requests already holding the previous jar keep working with it.
+     */
+    public CookieFilter session() {
+        Credential<CookieFilter> current = session;
+        if (usable(current)) return current.value;
+        return renew(sessionLock, () -> session, () -> {
+            session = new Credential<>(login(), Duration.ofSeconds(sessionTtlSeconds));
+            log.info("--- [Admin] Login Successful (session renewed by ~{}) ---", session.expiresAt);
+            return session;
+        });
+    }
+
+    /**
+     * Drops the token after the server rejected it. A token renewed meanwhile by another caller is kept.
+     */
+    public void invalidateToken(String rejected) {
+        tokenLock.lock();
+        try {
+            if (token != null && token.value.equals(rejected)) {
+                log.info("--- [Admin] Admin token rejected, fetching a new one on next use ---");
+                token = null;
+            }
+        } finally {
+            tokenLock.unlock();
+        }
+    }
+
+    /**
+     * Drops the admin session after the server sent a request back to the login page.
+     * A session renewed meanwhile by another caller is kept.
+     */
+    public void invalidateSession(CookieFilter rejected) {
+        sessionLock.lock();
+        try {
+            if (session != null && session.value == rejected) {
+                log.info("--- [Admin] Admin session expired, logging in again on next use ---");
+                session = null;
+            }
+        } finally {
+            sessionLock.unlock();
+        }
+    }
+
+    private <T> T renew(ReentrantLock lock, Supplier<Credential<T>> current, Supplier<Credential<T>> fetch) {
+        lock.lock();
+        try {
+            // Whoever held the lock before us may already have renewed it
+            Credential<T> latest = current.get();
+            return usable(latest) ? latest.value : fetch.get().value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean usable(Credential<?> credential) {
+        return credential != null && Instant.now().plusSeconds(refreshAheadSeconds).isBefore(credential.expiresAt);
+    }
+
+    private String fetchToken() {
+        Response response = given()
+                .spec(defaultRequestSpec)
+                .baseUri(fedexConfig.getBaseUrl())
+                .contentType(ContentType.JSON)
+                .body("{\"username\": \"" + username + "\", \"password\": \"" + password + "\"}")
+                .post(adminTokenEndpoint);
+
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Failed to get Admin Token: " + response.asString());
+        }
+        return response.asString().replace("\"", "");
+    }
+
+    private CookieFilter login() {
+        log.info("--- [Admin] Bootstrapping Admin Session ---");
+        CookieFilter cookies = new CookieFilter();
+
+        String loginUrl = fedexConfig.getBaseUrl() + adminPath + adminLoginEndpoint;
+        Response pageResp = given().spec(defaultRequestSpec).baseUri(fedexConfig.getBaseUrl()).filter(cookies).get(loginUrl);
+        Matcher formKey = FORM_KEY.matcher(pageResp.asString());
+
+        Response loginResp = given()
+                .spec(defaultRequestSpec)
+                .baseUri(fedexConfig.getBaseUrl())
+                .filter(cookies)
+                .formParam("login[username]", username)
+                .formParam("login[password]", password)
+                .formParam("form_key", formKey.find() ? formKey.group(1) : "")
+                .post(loginUrl);
+
+        if (loginResp.statusCode() != 200 && loginResp.statusCode() != 302) {
+            throw new IllegalStateException("Admin Login failed! Status: " + loginResp.statusCode());
+        }
+        return cookies;
+    }
+
+    private static final class Credential<T> {
+        private final T value;
+        private final Instant expiresAt;
+
+        private Credential(T value, Duration ttl) {
+            this.value = value;
+            this.expiresAt = Instant.now().plus(ttl);
+        }
+    }
+}
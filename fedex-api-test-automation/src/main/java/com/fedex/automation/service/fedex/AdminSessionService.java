@@ -1,7 +1,6 @@
 package com.fedex.automation.service.fedex;
 
 import io.restassured.filter.cookie.CookieFilter;
-import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import lombok.extern.slf4j.Slf4j;
@@ -9,34 +8,32 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static io.restassured.RestAssured.given;
-import static org.junit.jupiter.api.Assertions.fail;
 
 @Slf4j
-@Service
+@Service // Stateless: the admin cookie session and bearer token live in AdminCredentialManager
 public class AdminSessionService {
 
+    private static final int RESOLVE_BATCH_SIZE = 100;
+    private static final Pattern SEND_URL_JSON = Pattern.compile("[\"']url[\"']\\s*:\\s*[\"']([^\"']*mirakl\\\\?/order\\\\?/send[^\"']*)[\"']");
+    private static final Pattern SEND_URL_SET_LOCATION = Pattern.compile("setLocation\\(['\"]([^'\"]*mirakl/order/send[^'\"]*)['\"]\\)");
+
     @Value("${admin.path}")
     private String adminPath;
 
-    @Value("${admin.username}")
-    private String username;
-
-    @Value("${admin.password}")
-    private String password;
-
-    @Value("${endpoint.admin.login}")
-    private String adminLoginEndpoint;
-
     @Value("${endpoint.admin.orders}")
     private String adminOrdersEndpoint;
 
-    @Value("${endpoint.admin.token}")
-    private String adminTokenEndpoint;
-
     @Value("${endpoint.admin.order.view}")
     private String adminOrderViewEndpoint;
 
@@ -46,49 +43,33 @@ public class AdminSessionService {
     @org.springframework.beans.factory.annotation.Autowired
     private com.fedex.automation.config.FedexConfig fedexConfig;
 
-    private final CookieFilter adminCookieFilter = new CookieFilter();
-    private String adminBearerToken;
+    @Autowired
+    private AdminCredentialManager credentialManager;
 
     public RequestSpecification adminRequest() {
+        return adminRequest(credentialManager.session());
+    }
+
+    private RequestSpecification adminRequest(CookieFilter session) {
         return given()
                 .spec(defaultRequestSpec)
                 .baseUri(fedexConfig.getBaseUrl())
-                .filter(adminCookieFilter);
+                .filter(session);
     }
 
+    /**
+     * Makes sure a logged-in admin session exists; logs in only if there is none or it is about to expire.
+     */
     public void bootstrapAdminSession() {
-        log.info("--- [Admin] Bootstrapping Admin Session ---");
-
-        String loginUrl = fedexConfig.getBaseUrl() + adminPath + adminLoginEndpoint;
-        Response pageResp = adminRequest().get(loginUrl);
-        String formKey = extractFormKey(pageResp.asString());
-
-        Response loginResp = adminRequest()
-                .formParam("login[username]", username)
-                .formParam("login[password]", password)
-                .formParam("form_key", formKey)
-                .post(loginUrl);
-
-        if (loginResp.statusCode() != 200 && loginResp.statusCode() != 302) {
-            fail("Admin Login failed! Status: " + loginResp.statusCode());
-        }
-        log.info("--- [Admin] Login Successful ---");
+        credentialManager.session();
     }
 
     public String resolveEntityId(String incrementId) {
-        if (adminBearerToken == null) {
-            getAdminBearerToken();
-        }
-
         log.info("Resolving Entity ID for Order #{}", incrementId);
 
-        Response response = given()
-                .spec(defaultRequestSpec)
-                .baseUri(fedexConfig.getBaseUrl())
-                .header("Authorization", "Bearer " + adminBearerToken)
+        Response response = searchOrders(request -> request
                 .queryParam("searchCriteria[filter_groups][0][filters][0][field]", "increment_id")
-                .queryParam("searchCriteria[filter_groups][0][filters][0][value]", incrementId)
-                .get(adminOrdersEndpoint);
+                .queryParam("searchCriteria[filter_groups][0][filters][0][value]", incrementId));
 
         int totalCount = response.jsonPath().getInt("total_count");
         if (totalCount == 0) {
@@ -100,44 +81,88 @@ public class AdminSessionService {
         return entityId;
     }
 
-    private void getAdminBearerToken() {
-        Response response = given()
-                .spec(defaultRequestSpec)
-                .baseUri(fedexConfig.getBaseUrl())
-                .contentType(ContentType.JSON)
-                .body("{\"username\": \"" + username + "\", \"password\": \"" + password + "\"}")
-                .post(adminTokenEndpoint);
+    /**
+     * Resolves many increment IDs with one searchCriteria "in" filter per chunk of up to 100 IDs.
+     * IDs that do not exist are left out of the result.
+     */
+    public Map<String, String> resolveEntityIds(Collection<String> incrementIds) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(incrementIds));
+        Map<String, String> entityIds = new LinkedHashMap<>();
+        for (int from = 0; from < distinct.size(); from += RESOLVE_BATCH_SIZE) {
+            List<String> chunk = distinct.subList(from, Math.min(from + RESOLVE_BATCH_SIZE, distinct.size()));
+            log.info("Resolving Entity IDs for {} orders in one call", chunk.size());
+
+            Response response = searchOrders(request -> request
+                    .queryParam("searchCriteria[filter_groups][0][filters][0][field]", "increment_id")
+                    .queryParam("searchCriteria[filter_groups][0][filters][0][value]", String.join(",", chunk))
+                    .queryParam("searchCriteria[filter_groups][0][filters][0][condition_type]", "in")
+                    .queryParam("searchCriteria[pageSize]", chunk.size())
+                    .queryParam("fields", "items[entity_id,increment_id],total_count"));
+
+            if (response.statusCode() != 200) {
+                throw new RuntimeException("Order search failed with HTTP " + response.statusCode() + ": " + response.asString());
+            }
+            List<Map<String, Object>> items = response.jsonPath().getList("items");
+            if (items != null) {
+                for (Map<String, Object> item : items) {
+                    entityIds.put(String.valueOf(item.get("increment_id")), String.valueOf(item.get("entity_id")));
+                }
+            }
+        }
+        log.info("Resolved {} of {} orders to Entity IDs", entityIds.size(), distinct.size());
+        return entityIds;
+    }
 
-        if (response.statusCode() != 200) {
-            throw new RuntimeException("Failed to get Admin Token: " + response.asString());
+    // GET /V1/orders with the shared admin token; a rejected token is renewed and the search retried once
+    private Response searchOrders(Function<RequestSpecification, RequestSpecification> criteria) {
+        Response response = null;
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            String token = credentialManager.bearerToken();
+            response = criteria.apply(given()
+                            .spec(defaultRequestSpec)
+                            .baseUri(fedexConfig.getBaseUrl())
+                            .header("Authorization", "Bearer " + token))
+                    .get(adminOrdersEndpoint);
+            if (response.statusCode() != 401) break;
+            credentialManager.invalidateToken(token);
         }
-        this.adminBearerToken = response.asString().replace("\"", "");
+        return response;
     }
 
     public String scrapeSendToMiraklUrl(String orderEntityId) {
-        String url = fedexConfig.getBaseUrl() + adminPath + adminOrderViewEndpoint + orderEntityId;
+        String url = orderViewUrl(orderEntityId);
         log.info("Accessing Order Page: {}", url);
 
-        Response response = adminRequest().get(url);
-        String html = response.asString();
+        CookieFilter session = credentialManager.session();
+        String html = adminRequest(session).get(url).asString();
+        if (isLoginPage(html)) {
+            // The admin session expired server-side before its expected lifetime
+            credentialManager.invalidateSession(session);
+            html = adminRequest().get(url).asString();
+        }
+        return extractSendToMiraklUrl(html, orderEntityId);
+    }
 
-        Pattern p = Pattern.compile("[\"']url[\"']\\s*:\\s*[\"']([^\"']*mirakl\\\\?/order\\\\?/send[^\"']*)[\"']");
-        Matcher m = p.matcher(html);
+    public String orderViewUrl(String orderEntityId) {
+        return fedexConfig.getBaseUrl() + adminPath + adminOrderViewEndpoint + orderEntityId;
+    }
 
+    /**
+     * Finds the "Send to Mirakl" URL on an admin order view page.
+     */
+    public static String extractSendToMiraklUrl(String html, String orderEntityId) {
+        Matcher m = SEND_URL_JSON.matcher(html);
         if (m.find()) {
             return m.group(1).replace("\\/", "/");
         }
-        Pattern p2 = Pattern.compile("setLocation\\(['\"]([^'\"]*mirakl/order/send[^'\"]*)['\"]\\)");
-        Matcher m2 = p2.matcher(html);
+        Matcher m2 = SEND_URL_SET_LOCATION.matcher(html);
         if(m2.find()) {
             return m2.group(1);
         }
         throw new RuntimeException("Could not find 'Send to Mirakl' URL on page for ID " + orderEntityId);
     }
 
-    private String extractFormKey(String html) {
-        Pattern p = Pattern.compile("form_key\"\\s+type=\"hidden\"\\s+value=\"([^\"]+)\"");
-        Matcher m = p.matcher(html);
-        return m.find() ? m.group(1) : "";
+    private static boolean isLoginPage(String html) {
+        return html.contains("name=\"login[username]\"");
     }
-}
\ No newline at end of file
+}
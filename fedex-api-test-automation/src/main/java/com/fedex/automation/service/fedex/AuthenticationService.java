@@ -1,90 +1,106 @@
 package com.fedex.automation.service.fedex;
 
+import com.fedex.automation.model.fedex.CustomerSession;
+import com.fedex.automation.service.cassette.CassetteStore;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.Cookie;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class AuthenticationService {
 
+    private final BrowserProvider browserProvider;
+    private final CassetteStore cassetteStore;
+
     @Value("${endpoint.auth.secure-login}")
     private String loginPageUrl;
 
-    public Map<String, String> login(String username, String password, Map<String, String> initialCookies) {
-        log.info("Starting Browser-based Auth Flow at: {}", loginPageUrl);
-
-        Map<String, String> restAssuredCookies = new HashMap<>();
-
-        List<String> launchArgs = List.of(
-                "--disable-blink-features=AutomationControlled"
-        );
+    /**
+     * Browser login that also records when the auth cookies expire, so callers can pool the session.
+     */
+    public CustomerSession authenticate(String username, String password) {
+        if (cassetteStore.isReplaying()) {
+            return cassetteStore.replaySession(username);
+        }
 
-        try (Playwright playwright = Playwright.create()) {
+        log.info("Starting Browser-based Auth Flow at: {}", loginPageUrl);
+        long start = System.currentTimeMillis();
 
-            BrowserType.LaunchOptions options = new BrowserType.LaunchOptions()
-                    .setHeadless(false)
-                    .setArgs(launchArgs)
-                    .setSlowMo(100);
+        try {
+            CustomerSession session = browserProvider.withNewContext(context -> loginInContext(context, username, password));
+            log.info("Browser login for {} took {} ms", username, System.currentTimeMillis() - start);
+            if (cassetteStore.isRecording()) cassetteStore.recordSession(session);
+            return session;
+        } catch (Exception e) {
+            log.error("Browser Login failed: {}", e.getMessage());
+            throw new RuntimeException("Browser Login Failed", e);
+        }
+    }
 
-            log.info("Launching browser with args: {}", launchArgs);
-            Browser browser = playwright.chromium().launch(options);
+    private CustomerSession loginInContext(BrowserContext context, String username, String password) {
+        Map<String, String> restAssuredCookies = new HashMap<>();
+        Instant authExpiry = null;
 
-            Browser.NewContextOptions contextOptions = new Browser.NewContextOptions()
-                    .setLocale("en-US")
-                    .setViewportSize(null);
+        Page page = context.newPage();
 
-            BrowserContext context = browser.newContext(contextOptions);
-            Page page = context.newPage();
+        log.info("Navigating to login page...");
+        page.navigate(loginPageUrl);
 
-            log.info("Navigating to login page...");
-            page.navigate(loginPageUrl);
+        handleCookieConsent(page);
 
-            handleCookieConsent(page);
+        log.info("Filling credentials...");
+        page.fill("#username", username);
+        page.fill("#password", password);
 
-            log.info("Filling credentials...");
-            page.fill("#username", username);
-            page.fill("#password", password);
+        log.info("Clicking login...");
+        page.click("#login_button");
 
-            log.info("Clicking login...");
-            page.click("#login_button");
+        log.info("Waiting for successful login state...");
+        try {
+            page.waitForCondition(() ->
+                            context.cookies().stream().anyMatch(c -> isAuthCookie(c.name)),
+                    new Page.WaitForConditionOptions().setTimeout(30000)
+            );
+        } catch (Exception e) {
+            log.error("Login timed out. Re-run with auth.browser.headless=false to inspect the browser.");
+            throw new RuntimeException("Timeout waiting for login cookies.", e);
+        }
 
-            log.info("Waiting for successful login state...");
-            try {
-                page.waitForCondition(() ->
-                                context.cookies().stream().anyMatch(c ->
-                                        c.name.contains("FDX_LOGIN") ||
-                                                c.name.equalsIgnoreCase("x-action-token") ||
-                                                c.name.equalsIgnoreCase("fdx_login")
-                                ),
-                        new Page.WaitForConditionOptions().setTimeout(30000)
-                );
-            } catch (Exception e) {
-                log.error("Login timed out. Check the open browser window for errors.");
-                throw new RuntimeException("Timeout waiting for login cookies.", e);
-            }
+        log.info("Login successful. Extracting cookies...");
 
-            log.info("Login successful. Extracting cookies...");
+        List<Cookie> playwrightCookies = context.cookies();
+        for (Cookie c : playwrightCookies) {
+            restAssuredCookies.put(c.name, c.value);
 
-            List<Cookie> playwrightCookies = context.cookies();
-            for (Cookie c : playwrightCookies) {
-                restAssuredCookies.put(c.name, c.value);
+            // Session cookies report expires = -1; only persistent auth cookies bound the session lifetime
+            if (isAuthCookie(c.name) && c.expires != null && c.expires > 0) {
+                Instant expiry = Instant.ofEpochMilli((long) (c.expires * 1000));
+                if (authExpiry == null || expiry.isBefore(authExpiry)) authExpiry = expiry;
             }
+        }
 
-            log.info("Extracted {} cookies.", restAssuredCookies.size());
+        log.info("Extracted {} cookies. Auth cookie expiry: {}", restAssuredCookies.size(), authExpiry != null ? authExpiry : "session");
 
-        } catch (Exception e) {
-            log.error("Browser Login failed: {}", e.getMessage());
-            throw new RuntimeException("Browser Login Failed", e);
-        }
+        return CustomerSession.builder()
+                .username(username)
+                .cookies(restAssuredCookies)
+                .loggedInAt(Instant.now())
+                .expiresAt(authExpiry)
+                .build();
+    }
 
-        return restAssuredCookies;
+    static boolean isAuthCookie(String name) {
+        return name.contains("FDX_LOGIN") || name.equalsIgnoreCase("x-action-token") || name.equalsIgnoreCase("fdx_login");
     }
 
     private void handleCookieConsent(Page page) {
@@ -0,0 +1,170 @@
+package com.fedex.automation.service.fedex;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Owns up to auth.browser.max-parallel Playwright/Chromium processes for the life of the Spring context.
+ * Playwright objects are not thread-safe, so each browser lives on its own dedicated thread; logins of different
+ * users run in parallel on different browsers. Browsers are launched only when every running one is busy,
+ * and callers get a fresh, isolated BrowserContext per unit of work.
+ */
+@Slf4j
+@Component
+public class BrowserProvider {
+
+    private static final List<String> LAUNCH_ARGS = List.of("--disable-blink-features=AutomationControlled");
+
+    @Value("${auth.browser.headless:true}")
+    private boolean headless;
+
+    @Value("${auth.browser.slow-mo-ms:0}")
+    private double slowMoMs;
+
+    // false = legacy behaviour (Playwright.create + launch on every call); useful for timing comparisons
+    @Value("${auth.browser.reuse:true}")
+    private boolean reuseBrowser;
+
+    @Value("${auth.browser.max-parallel:4}")
+    private int maxParallel;
+
+    // Most recently used first, so sequential logins keep reusing the same warm browser
+    private final BlockingDeque<BrowserWorker> idle = new LinkedBlockingDeque<>();
+    private final List<BrowserWorker> workers = new CopyOnWriteArrayList<>();
+
+    public <T> T withNewContext(Function<BrowserContext, T> work) {
+        BrowserWorker worker;
+        try {
+            worker = acquireWorker();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for browser", e);
+        }
+        try {
+            return worker.thread.submit(() -> worker.runInContext(work)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for browser", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new RuntimeException("Browser task failed", e.getCause());
+        } finally {
+            idle.offerFirst(worker);
+        }
+    }
+
+    private BrowserWorker acquireWorker() throws InterruptedException {
+        BrowserWorker worker = idle.pollFirst();
+        if (worker != null) return worker;
+        synchronized (workers) {
+            if (workers.size() < Math.max(1, maxParallel)) {
+                worker = new BrowserWorker(workers.size() + 1);
+                workers.add(worker);
+                return worker;
+            }
+        }
+        return idle.takeFirst();
+    }
+
+    // Separate so tests can run the provider without a Chromium install
+    Playwright createPlaywright() {
+        return Playwright.create();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("--- Shutting down {} shared browser(s) ---", workers.size());
+        for (BrowserWorker worker : workers) {
+            try {
+                worker.thread.submit(worker::closeBrowser).get(30, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                log.warn("Browser did not close cleanly: {}", e.getMessage());
+            } finally {
+                worker.thread.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * One Playwright driver and browser, only ever touched from its own thread.
+     */
+    private final class BrowserWorker {
+        private final int id;
+        private final ExecutorService thread;
+        private Playwright playwright;
+        private Browser browser;
+
+        private BrowserWorker(int id) {
+            this.id = id;
+            this.thread = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "playwright-browser-" + id);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        private <T> T runInContext(Function<BrowserContext, T> work) {
+            long start = System.nanoTime();
+            boolean launched = browser == null || !browser.isConnected();
+            if (launched) {
+                launchBrowser();
+            }
+
+            Browser.NewContextOptions contextOptions = new Browser.NewContextOptions()
+                    .setLocale("en-US")
+                    .setViewportSize(null);
+
+            BrowserContext context = browser.newContext(contextOptions);
+            log.info("Browser context ready in {} ms on browser {} ({})", (System.nanoTime() - start) / 1_000_000, id,
+                    launched ? "launched new browser" : "reused running browser");
+            try {
+                return work.apply(context);
+            } finally {
+                context.close();
+                if (!reuseBrowser) {
+                    closeBrowser();
+                }
+            }
+        }
+
+        private void launchBrowser() {
+            closeBrowser();
+            BrowserType.LaunchOptions options = new BrowserType.LaunchOptions()
+                    .setHeadless(headless)
+                    .setArgs(LAUNCH_ARGS)
+                    .setSlowMo(slowMoMs);
+
+            log.info("Launching browser {} (headless={}, slowMo={}ms) with args: {}", id, headless, slowMoMs, LAUNCH_ARGS);
+            playwright = createPlaywright();
+            browser = playwright.chromium().launch(options);
+        }
+
+        private void closeBrowser() {
+            try {
+                if (browser != null) browser.close();
+                if (playwright != null) playwright.close();
+            } catch (Exception e) {
+                log.warn("Browser shutdown error: {}", e.getMessage());
+            } finally {
+                browser = null;
+                playwright = null;
+            }
+        }
+    }
+}
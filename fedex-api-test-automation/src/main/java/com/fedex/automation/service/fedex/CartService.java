@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fedex.automation.constants.FedExConstants;
 import com.fedex.automation.model.fedex.CartContext;
+import com.fedex.automation.model.fedex.CartPageSnapshot;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import lombok.RequiredArgsConstructor;
@@ -13,8 +14,6 @@ import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,7 +25,6 @@ public class CartService {
     private final SessionService sessionService;
     private final ObjectMapper mapper = new ObjectMapper();
     private final ObjectMapper objectMapper;
-    private String cachedMaskedCartId;
 
     @Value("${endpoint.cart.get}")
     private String cartGetEndpoint;
@@ -83,16 +81,15 @@ public class CartService {
     public CartContext scrapeCartContext(String targetSku) {
         log.info("Scraping Cart Context, looking for SKU: {}", targetSku);
 
-        Response response = sessionService.authenticatedRequest().get(cartGetEndpoint);
-        String html = response.asString();
-        String jsonString = extractJsonConfig(html);
+        // One streaming pass over the cart page also refreshes form_key and the masked cart ID
+        CartPageSnapshot cartPage = sessionService.loadCartPage();
+        JsonNode root = cartPage.getCheckoutConfig();
 
-        if (jsonString == null) {
+        if (root == null) {
             fail("Could not find window.checkoutConfig on the cart page.");
         }
 
         try {
-            JsonNode root = objectMapper.readTree(jsonString);
             JsonNode quoteItemData = root.path("quoteItemData");
 
             String maskedQuoteId = root.path("quoteData").path("entity_id").asText();
@@ -132,45 +129,18 @@ public class CartService {
     }
 
     private String getOrFetchMaskedCartId() {
+        String cachedMaskedCartId = sessionService.getMaskedCartId();
         if (cachedMaskedCartId != null) return cachedMaskedCartId;
 
-        Response response = sessionService.authenticatedRequest().get(cartGetEndpoint);
-        String extractedId = extractMaskedIdRegex(response.body().asString());
+        String extractedId = sessionService.loadCartPage().getMaskedQuoteId();
 
         if (extractedId != null) {
-            this.cachedMaskedCartId = extractedId;
-            return cachedMaskedCartId;
+            return extractedId;
         } else {
             throw new RuntimeException("Failed to extract Masked Cart ID");
         }
     }
 
-    private String extractMaskedIdRegex(String html) {
-        Pattern pattern = Pattern.compile("\"maskedQuoteId\":\"([^\"]+)\"");
-        Matcher matcher = pattern.matcher(html);
-        return matcher.find() ? matcher.group(1) : null;
-    }
-
-    private String extractJsonConfig(String html) {
-        String marker = "window.checkoutConfig =";
-        int startIndex = html.indexOf(marker);
-        if (startIndex == -1) return null;
-
-        int openBraceIndex = html.indexOf("{", startIndex);
-        if (openBraceIndex == -1) return null;
-
-        int braceCount = 0;
-        for (int i = openBraceIndex; i < html.length(); i++) {
-            char c = html.charAt(i);
-            if (c == '{') braceCount++;
-            else if (c == '}') {
-                braceCount--;
-                if (braceCount == 0) return html.substring(openBraceIndex, i + 1);
-            }
-        }
-        return null;
-    }
-
     public void verifyItemInCart() {
         log.info("--- [Validation] Verifying Magento Cart via Section Load ---");
         long timestamp = System.currentTimeMillis();
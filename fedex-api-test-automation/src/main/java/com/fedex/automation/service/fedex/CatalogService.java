@@ -11,7 +11,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -26,27 +28,30 @@ public class CatalogService {
     // Spring injects all implementations into this map keyed by their @Component name ("1P", "3P")
     private final Map<String, ProductFilterStrategy> filterStrategies;
 
+    private static final String SEARCH_FILTER = """
+            filter: [
+                { attribute: "shared_catalogs", in: ["3"] },
+                { attribute: "is_pending_review", in: ["0", "2", "3"] }
+            ]""";
+
+    private static final String SEARCH_SELECTION = """
+            items {
+                product {
+                    sku name
+                }
+                productView {
+                    attributes { label name value }
+                }
+            }""";
+
+    // The phrase travels as a GraphQL variable, so names containing quotes or backslashes are safe
     private static final String GRAPHQL_QUERY_TEMPLATE = """
-            query productSearch {
-                productSearch(
-                    filter: [
-                        { attribute: "shared_catalogs", in: ["3"] },
-                        { attribute: "is_pending_review", in: ["0", "2", "3"] }
-                    ],
-                    phrase: "%s",
-                    page_size: 20
-                ) {
-                    items {
-                        product {
-                            sku name
-                        }
-                        productView {
-                            attributes { label name value }
-                        }
-                    }
+            query productSearch($phrase: String!) {
+                productSearch(%s, phrase: $phrase, page_size: 20) {
+                    %s
                 }
             }
-            """;
+            """.formatted(SEARCH_FILTER, SEARCH_SELECTION);
 
     /**
      * Searches for a product SKU using the specified Seller Model strategy.
@@ -55,22 +60,19 @@ public class CatalogService {
      * @return The found SKU.
      */
     public String searchProductSku(String productName, String sellerModel) {
-        String model = (sellerModel == null || sellerModel.isEmpty()) ? "3P" : sellerModel.toUpperCase();
+        String model = normalizeModel(sellerModel);
         log.info("--- Searching Catalog for '{}' using Strategy: {} ---", productName, model);
 
         // 1. Resolve Strategy
-        ProductFilterStrategy strategy = filterStrategies.get(model);
-        if (strategy == null) {
-            throw new IllegalArgumentException("No strategy found for Seller Model: " + model);
-        }
+        ProductFilterStrategy strategy = resolveStrategy(model);
 
         // 2. Execute API Call
-        String rawQuery = GRAPHQL_QUERY_TEMPLATE.formatted(productName);
-        GraphqlRequestBody requestBody = new GraphqlRequestBody(rawQuery, Collections.emptyMap());
+        GraphqlRequestBody requestBody = new GraphqlRequestBody(GRAPHQL_QUERY_TEMPLATE, Map.of("phrase", productName));
         Response response = apiClient.searchProducts(requestBody, defaultRequestSpec);
 
         // 3. Filter Results
-        return extractValidSku(response, productName, strategy);
+        JsonNode data = readData(response);
+        return extractValidSku(data.path("productSearch").path("items"), productName, strategy);
     }
 
     // Overload for backward compatibility (defaults to 3P)
@@ -78,7 +80,55 @@ public class CatalogService {
         return searchProductSku(productName, "3P");
     }
 
-    private String extractValidSku(Response response, String productName, ProductFilterStrategy strategy) {
+    /**
+     * Searches several products in a single GraphQL request (one aliased productSearch per name).
+     * @param sellerModelByName product name -> seller model ("1P"/"3P", null defaults to "3P"), in table order.
+     * @return product name -> SKU, in the same order.
+     */
+    public Map<String, String> searchProductSkus(Map<String, String> sellerModelByName) {
+        if (sellerModelByName.isEmpty()) return Map.of();
+        log.info("--- Searching Catalog for {} products in one request ---", sellerModelByName.size());
+
+        List<String> names = new ArrayList<>(sellerModelByName.keySet());
+        Map<String, Object> variables = new LinkedHashMap<>();
+        StringBuilder declarations = new StringBuilder();
+        StringBuilder selections = new StringBuilder();
+        for (int i = 0; i < names.size(); i++) {
+            String alias = "p" + i;
+            variables.put(alias, names.get(i));
+            if (i > 0) declarations.append(", ");
+            declarations.append("$").append(alias).append(": String!");
+            selections.append("    ").append(alias).append(": productSearch(").append(SEARCH_FILTER)
+                    .append(", phrase: $").append(alias).append(", page_size: 20) {\n")
+                    .append(SEARCH_SELECTION).append("\n    }\n");
+        }
+        String query = "query productSearch(" + declarations + ") {\n" + selections + "}\n";
+
+        Response response = apiClient.searchProducts(new GraphqlRequestBody(query, variables), defaultRequestSpec);
+        JsonNode data = readData(response);
+
+        Map<String, String> skus = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            String model = normalizeModel(sellerModelByName.get(name));
+            skus.put(name, extractValidSku(data.path("p" + i).path("items"), name, resolveStrategy(model)));
+        }
+        return skus;
+    }
+
+    private static String normalizeModel(String sellerModel) {
+        return (sellerModel == null || sellerModel.isEmpty()) ? "3P" : sellerModel.toUpperCase();
+    }
+
+    private ProductFilterStrategy resolveStrategy(String model) {
+        ProductFilterStrategy strategy = filterStrategies.get(model);
+        if (strategy == null) {
+            throw new IllegalArgumentException("No strategy found for Seller Model: " + model);
+        }
+        return strategy;
+    }
+
+    private JsonNode readData(Response response) {
         try {
             if (response.statusCode() != 200) {
                 log.error("API Error Body: {}", response.asString());
@@ -89,9 +139,16 @@ public class CatalogService {
             if (root.has("errors")) {
                 throw new RuntimeException("Adobe API Error: " + root.path("errors").toPrettyString());
             }
+            return root.path("data");
 
-            JsonNode items = root.path("data").path("productSearch").path("items");
+        } catch (Exception e) {
+            log.error("Error processing catalog response", e);
+            throw new RuntimeException("Failed to process Catalog response", e);
+        }
+    }
 
+    private String extractValidSku(JsonNode items, String productName, ProductFilterStrategy strategy) {
+        try {
             if (items.isEmpty()) {
                 throw new RuntimeException("No products found for phrase: " + productName);
             }
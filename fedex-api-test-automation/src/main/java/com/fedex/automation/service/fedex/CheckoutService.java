@@ -13,6 +13,7 @@ import org.springframework.stereotype.Service;
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -21,8 +22,12 @@ import static org.junit.jupiter.api.Assertions.fail;
 @RequiredArgsConstructor
 public class CheckoutService {
 
+    // A submit response without an order number that mentions encryption/decryption: the card was encrypted with a stale key
+    private static final Pattern ENCRYPTION_ERROR = Pattern.compile("(?i)(en|de)crypt");
+
     private final SessionService sessionService;
     private final ObjectMapper objectMapper;
+    private final EncryptionKeyProvider encryptionKeyProvider;
 
     @Value("${endpoint.shipping.estimate}")
     private String estimateEndpoint;
@@ -133,17 +138,28 @@ public class CheckoutService {
                     .formParam("data", objectMapper.writeValueAsString(request))
                     .post(submitOrderEndpoint);
 
-            return response.asString();
+            String body = response.asString();
+            if (isEncryptionRejection(body)) {
+                // The key may have rotated: the next fetchEncryptionKey() must not serve the cached one
+                log.warn("--- Order rejected with an encryption error; dropping the cached card encryption key ---");
+                encryptionKeyProvider.invalidate(sessionService.getBaseUrl());
+            }
+            return body;
         } catch (Exception e) {
             throw new RuntimeException("Error submitting order", e);
         }
     }
 
+    static boolean isEncryptionRejection(String body) {
+        return body != null && !body.contains("\"orderNumber\"") && ENCRYPTION_ERROR.matcher(body).find();
+    }
+
     public String fetchEncryptionKey() {
-        return sessionService.checkoutRequest()
+        // Cached per environment (checkout.encryption-key.ttl-seconds); the key is not session specific
+        return encryptionKeyProvider.getPublicKeyPem(sessionService.getBaseUrl(), () -> sessionService.checkoutRequest()
                 .header(FedExConstants.HEADER_X_REQUESTED_WITH, FedExConstants.VALUE_XMLHTTPREQUEST)
                 .get(encryptionKeyEndpoint)
-                .jsonPath().getString("encryption.key");
+                .jsonPath().getString("encryption.key"));
     }
 
     private String mapToJson(Object obj) {
@@ -0,0 +1,238 @@
+package com.fedex.automation.service.fedex;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fedex.automation.config.FedexConfig;
+import com.fedex.automation.model.fedex.CustomerSession;
+import io.restassured.http.Cookie;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Credential-keyed pool of authenticated customer sessions.
+ * A browser login happens once per user; later scenarios reuse the FDX_LOGIN/x-action-token cookies.
+ * Sessions close to expiry are validated in the background and re-logged in only if validation fails.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CustomerSessionPool {
+
+    // Magento per-visit cookies: every scenario bootstraps its own, so they are never pooled
+    private static final Set<String> SCENARIO_OWNED_COOKIES = Set.of("PHPSESSID", "form_key", "private_content_version");
+
+    private final AuthenticationService authenticationService;
+    private final RequestSpecification defaultRequestSpec;
+    private final FedexConfig fedexConfig;
+    private final ObjectMapper objectMapper;
+
+    @Value("${auth.session.pool.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.session.pool.refresh-ahead-seconds:300}")
+    private long refreshAheadSeconds;
+
+    @Value("${auth.session.pool.default-ttl-minutes:30}")
+    private long defaultTtlMinutes;
+
+    @Value("${auth.session.pool.validation-interval-seconds:60}")
+    private long validationIntervalSeconds;
+
+    @Value("${endpoint.customer.section.load}")
+    private String customerSectionLoadEndpoint;
+
+    private final Map<String, CustomerSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, String> passwords = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private ScheduledExecutorService refresher;
+
+    @PostConstruct
+    void startBackgroundRefresh() {
+        if (!enabled) return;
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "customer-session-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        refresher.scheduleWithFixedDelay(this::refreshExpiringSessions,
+                validationIntervalSeconds, validationIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stopBackgroundRefresh() {
+        if (refresher != null) refresher.shutdownNow();
+    }
+
+    /**
+     * Returns cookies for an authenticated session of this user, logging in only when no usable session is pooled.
+     */
+    public Map<String, String> acquire(String username, String password) {
+        if (!enabled) {
+            return authenticationService.authenticate(username, password).getCookies();
+        }
+
+        ReentrantLock lock = locks.computeIfAbsent(username, k -> new ReentrantLock());
+        lock.lock();
+        try {
+            CustomerSession current = sessions.get(username);
+            boolean samePassword = password.equals(passwords.get(username));
+
+            if (current != null && samePassword) {
+                if (!current.expiresWithin(refreshWindow())) {
+                    log.info("--- [Session Pool] Reusing pooled session for {} (expires {}) ---", username, current.getExpiresAt());
+                    return current.getCookies();
+                }
+                CustomerSession revalidated = revalidate(current);
+                if (revalidated != null) {
+                    return revalidated.getCookies();
+                }
+            }
+
+            return login(username, password).getCookies();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops a pooled session, e.g. after the server rejected it mid-scenario.
+     */
+    public void invalidate(String username) {
+        log.info("--- [Session Pool] Invalidating pooled session for {} ---", username);
+        sessions.remove(username);
+    }
+
+    /**
+     * True when a request sent with pooled cookies was refused: a 401, or a redirect to a login page.
+     */
+    static boolean isRejected(Response response) {
+        int status = response.statusCode();
+        if (status == 401) return true;
+        String location = response.getHeader("Location");
+        return status >= 300 && status < 400 && location != null && location.toLowerCase().contains("login");
+    }
+
+    void refreshExpiringSessions() {
+        for (String username : sessions.keySet()) {
+            ReentrantLock lock = locks.computeIfAbsent(username, k -> new ReentrantLock());
+            // Never block on a user a scenario is currently logging in
+            if (!lock.tryLock()) continue;
+            try {
+                CustomerSession current = sessions.get(username);
+                if (current == null || !current.expiresWithin(refreshWindow())) continue;
+
+                if (revalidate(current) == null) {
+                    log.info("--- [Session Pool] Background re-login for {} ---", username);
+                    login(username, passwords.get(username));
+                }
+            } catch (Exception e) {
+                log.warn("Background refresh failed for {}: {}", username, e.getMessage());
+                sessions.remove(username);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private CustomerSession login(String username, String password) {
+        log.info("--- [Session Pool] Browser login for {} ---", username);
+        CustomerSession fresh = authenticationService.authenticate(username, password);
+
+        Map<String, String> pooled = new HashMap<>(fresh.getCookies());
+        pooled.keySet().removeIf(SCENARIO_OWNED_COOKIES::contains);
+
+        boolean sliding = fresh.getExpiresAt() == null;
+        CustomerSession session = fresh.toBuilder()
+                .cookies(Map.copyOf(pooled))
+                .expiresAt(sliding ? Instant.now().plus(Duration.ofMinutes(defaultTtlMinutes)) : fresh.getExpiresAt())
+                .slidingExpiry(sliding)
+                .lastValidatedAt(Instant.now())
+                .build();
+
+        sessions.put(username, session);
+        passwords.put(username, password);
+        return session;
+    }
+
+    /**
+     * Validates the pooled cookies against the customer section endpoint.
+     * Returns the (possibly extended) session when still logged in, or null when a re-login is needed.
+     */
+    private CustomerSession revalidate(CustomerSession current) {
+        if (current.getExpiresAt() != null && Instant.now().isAfter(current.getExpiresAt())) {
+            return null;
+        }
+
+        try {
+            Response response = given()
+                    .spec(defaultRequestSpec)
+                    .baseUri(fedexConfig.getBaseUrl())
+                    .cookies(current.getCookies())
+                    .header("Accept", "application/json, text/javascript, */*; q=0.01")
+                    .queryParam("sections", "customer")
+                    .queryParam("force_new_section_timestamp", "true")
+                    .get(customerSectionLoadEndpoint);
+
+            if (response.statusCode() != 200 || !isLoggedIn(response.asString())) {
+                log.info("--- [Session Pool] Session for {} no longer valid (HTTP {}) ---", current.getUsername(), response.statusCode());
+                return null;
+            }
+
+            // The server may roll auth cookies forward; keep whatever it sent back along with the new expiry
+            Instant now = Instant.now();
+            Instant expiry = current.isSlidingExpiry() ? now.plus(Duration.ofMinutes(defaultTtlMinutes)) : current.getExpiresAt();
+            Map<String, String> cookies = new HashMap<>(current.getCookies());
+            for (Cookie cookie : response.getDetailedCookies()) {
+                if (SCENARIO_OWNED_COOKIES.contains(cookie.getName())) continue;
+                cookies.put(cookie.getName(), cookie.getValue());
+                if (AuthenticationService.isAuthCookie(cookie.getName()) && cookie.hasExpiryDate()) {
+                    expiry = cookie.getExpiryDate().toInstant();
+                }
+            }
+
+            CustomerSession refreshed = current.toBuilder()
+                    .cookies(Map.copyOf(cookies))
+                    .expiresAt(expiry)
+                    .lastValidatedAt(now)
+                    .build();
+            sessions.put(current.getUsername(), refreshed);
+            log.info("--- [Session Pool] Session for {} validated, usable until {} ---", current.getUsername(), refreshed.getExpiresAt());
+            return refreshed;
+        } catch (Exception e) {
+            log.warn("Session validation failed for {}: {}", current.getUsername(), e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean isLoggedIn(String body) {
+        try {
+            JsonNode customer = objectMapper.readTree(body).path("customer");
+            return !customer.path("fullname").asText("").isBlank() || !customer.path("firstname").asText("").isBlank();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private Duration refreshWindow() {
+        return Duration.ofSeconds(refreshAheadSeconds);
+    }
+}
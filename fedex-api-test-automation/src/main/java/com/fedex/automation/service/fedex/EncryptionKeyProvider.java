@@ -0,0 +1,45 @@
+package com.fedex.automation.service.fedex;
+
+import com.fedex.automation.utils.ExpiringCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Caches the card-encryption public key (PEM) per environment, so repeated orders and load runs don't call
+ * the encryptionkey endpoint every time. Only one caller per environment fetches when the entry is missing or
+ * expired; CheckoutService invalidates the entry when an order is rejected for an encryption error (key rotation).
+ */
+@Slf4j
+@Service
+public class EncryptionKeyProvider {
+
+    private ExpiringCache<String, String> pemCache;
+
+    @Value("${checkout.encryption-key.ttl-seconds:600}")
+    void setTtlSeconds(long ttlSeconds) {
+        this.pemCache = new ExpiringCache<>(Duration.ofSeconds(ttlSeconds));
+    }
+
+    /**
+     * @param baseUrl environment the key belongs to (cache key)
+     * @param fetcher performs the actual encryptionkey call on a miss
+     */
+    public String getPublicKeyPem(String baseUrl, Supplier<String> fetcher) {
+        return pemCache.getOrLoad(baseUrl, url -> {
+            String pem = fetcher.get();
+            if (pem == null || pem.isBlank()) {
+                throw new IllegalStateException("Encryption key endpoint returned no key for " + url);
+            }
+            log.info("Fetched card encryption key for {}", url);
+            return pem;
+        });
+    }
+
+    public void invalidate(String baseUrl) {
+        pemCache.invalidate(baseUrl);
+    }
+}
@@ -1,15 +1,27 @@
 package com.fedex.automation.service.fedex;
 
+import com.fedex.automation.utils.BoundedFanOut;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MiraklAdminTriggerService {
 
     private final AdminSessionService adminSessionService;
+    private final BoundedFanOut fanOut;
+
+    @Value("${mirakl.send.max-concurrency:4}")
+    private int maxConcurrency;
 
     public void triggerSendToMirakl(String orderIncrementId) {
         // 1. Login
@@ -32,4 +44,81 @@ public class MiraklAdminTriggerService {
         log.info("--- [Admin] Order successfully sent to Mirakl ---");
     }
 
-}
\ No newline at end of file
+    /**
+     * Sends many orders with one admin login and one order search, then scrapes and triggers each order's
+     * send URL concurrently (at most {@code mirakl.send.max-concurrency} at a time).
+     * One order failing does not stop the others; check the per-order outcomes in the result.
+     */
+    public BatchSendResult triggerSendToMirakl(List<String> orderIncrementIds) {
+        long start = System.nanoTime();
+        List<String> incrementIds = new ArrayList<>(new LinkedHashSet<>(orderIncrementIds));
+        log.info("--- [Admin] Sending {} orders to Mirakl ---", incrementIds.size());
+
+        adminSessionService.bootstrapAdminSession();
+        Map<String, String> entityIds = adminSessionService.resolveEntityIds(incrementIds);
+
+        List<String> found = incrementIds.stream().filter(entityIds::containsKey).toList();
+        List<SendOutcome> sent = fanOut.map(found, id -> id, id -> send(id, entityIds.get(id)), maxConcurrency);
+
+        List<SendOutcome> outcomes = new ArrayList<>();
+        int next = 0;
+        for (String incrementId : incrementIds) {
+            if (entityIds.containsKey(incrementId)) {
+                outcomes.add(sent.get(next++));
+            } else {
+                outcomes.add(new SendOutcome(incrementId, null, SendStatus.NOT_FOUND, "No order with this increment ID", 0));
+            }
+        }
+
+        BatchSendResult result = new BatchSendResult(outcomes, (System.nanoTime() - start) / 1_000_000);
+        log.info(String.format("%-20s %-10s %-10s %8s  %s", "order", "entity", "status", "ms", "error"));
+        outcomes.forEach(o -> log.info(String.format("%-20s %-10s %-10s %8d  %s", o.getIncrementId(),
+                o.getEntityId() == null ? "-" : o.getEntityId(), o.getStatus(), o.getMillis(), o.getError() == null ? "" : o.getError())));
+        log.info("--- [Admin] Sent {} of {} orders to Mirakl in {} ms (max {} concurrent) ---",
+                result.getSent(), outcomes.size(), result.getElapsedMillis(), maxConcurrency);
+        return result;
+    }
+
+    private SendOutcome send(String incrementId, String entityId) {
+        long start = System.nanoTime();
+        try {
+            String secureUrl = adminSessionService.scrapeSendToMiraklUrl(entityId);
+            int status = adminSessionService.adminRequest().get(secureUrl).statusCode();
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            return status == 200
+                    ? new SendOutcome(incrementId, entityId, SendStatus.SENT, null, millis)
+                    : new SendOutcome(incrementId, entityId, SendStatus.FAILED, "Send returned HTTP " + status, millis);
+        } catch (RuntimeException e) {
+            return new SendOutcome(incrementId, entityId, SendStatus.FAILED, e.getMessage(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    public enum SendStatus {
+        SENT, NOT_FOUND, FAILED
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class SendOutcome {
+        private final String incrementId;
+        private final String entityId;
+        private final SendStatus status;
+        private final String error;
+        private final long millis;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class BatchSendResult {
+        private final List<SendOutcome> outcomes;
+        private final long elapsedMillis;
+
+        public long getSent() {
+            return outcomes.stream().filter(o -> o.getStatus() == SendStatus.SENT).count();
+        }
+
+        public List<SendOutcome> getFailures() {
+            return outcomes.stream().filter(o -> o.getStatus() != SendStatus.SENT).toList();
+        }
+    }
+}
@@ -3,20 +3,25 @@ package com.fedex.automation.service.fedex;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fedex.automation.model.fedex.product.MenuHierarchyResponse;
 import com.fedex.automation.model.fedex.product.StaticProductResponse;
-import io.restassured.response.Response;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProductCatalogFlowService {
 
-    private final SessionService sessionService;
+    private final StaticContentCache staticContentCache;
     private final ObjectMapper objectMapper;
 
+    // Base ID -> menu detail, rebuilt only when the cached hierarchy body changes
+    private volatile MenuIndex menuIndex;
+
     @Value("${base.url.www}")
     private String wwwBaseUrl;
 
@@ -29,29 +34,37 @@ public class ProductCatalogFlowService {
     public MenuHierarchyResponse.ProductMenuDetail resolveProductMenuDetailFromSku(String sku) {
         String normalizedId = sku.split("-")[0];
         log.info("Normalized SKU [{}] to Base ID [{}]", sku, normalizedId);
-        log.info("Fetching Menu Hierarchy to resolve Product ID for Base ID: {}", normalizedId);
-
-        Response response = sessionService.authenticatedRequest()
-                .baseUri(wwwBaseUrl)
-                .header("accept", "*/*")
-                .header("sec-fetch-site", "same-site")
-                .get(menuHierarchyEndpoint);
-
-        response.then().statusCode(200);
+        log.info("Resolving Product ID for Base ID {} from the (cached) Menu Hierarchy", normalizedId);
 
-        try {
-            MenuHierarchyResponse menuHierarchy = objectMapper.readValue(response.asString(), MenuHierarchyResponse.class);
+        MenuHierarchyResponse.ProductMenuDetail matchedDetail = menuIndex().get(normalizedId);
+        if (matchedDetail == null) {
+            throw new RuntimeException("Could not find matching menu detail for ID: " + normalizedId);
+        }
 
-            MenuHierarchyResponse.ProductMenuDetail matchedDetail = menuHierarchy.getProductMenuDetails().stream()
-                    .filter(detail -> normalizedId.equals(detail.getId()))
-                    .findFirst()
-                    .orElseThrow(() -> new RuntimeException("Could not find matching menu detail for ID: " + normalizedId));
+        log.info("Successfully resolved Product ID [{}] and Version [{}] from Menu Details.",
+                matchedDetail.getProductId(), matchedDetail.getVersion());
 
-            log.info("Successfully resolved Product ID [{}] and Version [{}] from Menu Details.",
-                    matchedDetail.getProductId(), matchedDetail.getVersion());
+        return matchedDetail;
+    }
 
-            return matchedDetail;
+    private Map<String, MenuHierarchyResponse.ProductMenuDetail> menuIndex() {
+        String body = staticContentCache.get(wwwBaseUrl, menuHierarchyEndpoint);
+        MenuIndex current = menuIndex;
+        if (current != null && current.sourceBody == body) {
+            return current.byId;
+        }
 
+        try {
+            MenuHierarchyResponse menuHierarchy = objectMapper.readValue(body, MenuHierarchyResponse.class);
+            Map<String, MenuHierarchyResponse.ProductMenuDetail> byId = new HashMap<>();
+            for (MenuHierarchyResponse.ProductMenuDetail detail : menuHierarchy.getProductMenuDetails()) {
+                if (detail.getId() != null) {
+                    byId.putIfAbsent(detail.getId(), detail); // keep first match, as the old linear search did
+                }
+            }
+            menuIndex = new MenuIndex(body, Map.copyOf(byId));
+            log.info("Indexed {} menu hierarchy entries", byId.size());
+            return byId;
         } catch (Exception e) {
             log.error("Failed to parse Menu Hierarchy Response.", e);
             throw new RuntimeException("Error parsing menu hierarchy", e);
@@ -74,19 +87,23 @@ public class ProductCatalogFlowService {
         log.info("Fetching Static Product Details for ID: {} with Version: '{}' from Domain: {}. Path: {}",
                 productId, version, wwwBaseUrl, path);
 
-        Response response = sessionService.authenticatedRequest()
-                .baseUri(wwwBaseUrl)
-                .header("accept", "*/*")
-                .header("sec-fetch-site", "same-site")
-                .get(path);
-
-        response.then().statusCode(200);
+        String body = staticContentCache.get(wwwBaseUrl, path);
 
         try {
-            return objectMapper.readValue(response.asString(), StaticProductResponse.class);
+            return objectMapper.readValue(body, StaticProductResponse.class);
         } catch (Exception e) {
-            log.error("Failed to parse StaticProductResponse. Body: {}", response.asString());
+            log.error("Failed to parse StaticProductResponse. Body: {}", body);
             throw new RuntimeException("Error parsing product details", e);
         }
     }
+
+    private static final class MenuIndex {
+        private final String sourceBody;
+        private final Map<String, MenuHierarchyResponse.ProductMenuDetail> byId;
+
+        private MenuIndex(String sourceBody, Map<String, MenuHierarchyResponse.ProductMenuDetail> byId) {
+            this.sourceBody = sourceBody;
+            this.byId = byId;
+        }
+    }
 }
\ No newline at end of file
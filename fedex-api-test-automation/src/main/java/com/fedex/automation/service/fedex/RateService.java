@@ -3,7 +3,6 @@ package com.fedex.automation.service.fedex;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import lombok.RequiredArgsConstructor;
@@ -11,7 +10,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.InputStream;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -22,7 +21,8 @@ import static org.junit.jupiter.api.Assertions.fail;
 public class RateService {
 
     private final SessionService sessionService;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TemplateRegistry templateRegistry;
+    private final ObjectMapper objectMapper;
 
     @Value("${endpoint.rate.product}")
     private String rateEndpoint;
@@ -31,15 +31,9 @@ public class RateService {
         log.info("--- [Call 2] Executing Internal Rate API before Configuration ---");
 
         try {
-            // Load the static Expected Rate JSON template
-            InputStream is = getClass().getClassLoader().getResourceAsStream("templates/1P_TemplateRateRequest.json");
-            if (is == null) throw new IllegalArgumentException("Template file not found: templates/1P_TemplateRateRequest.json");
-
-            ObjectNode rateRequestPayload = (ObjectNode) objectMapper.readTree(is);
-
-            // Dynamically inject the instanceId to prevent missing property errors
-            ObjectNode firstProduct = (ObjectNode) rateRequestPayload.at("/rateRequest/products/0");
-            firstProduct.put("instanceId", System.currentTimeMillis());
+            // Static Expected Rate template; the instanceId is injected to prevent missing property errors
+            JsonNode rateRequestPayload = templateRegistry.instance(TemplateRegistry.RATE_REQUEST,
+                    Map.of("instanceId", System.currentTimeMillis()));
 
             Response response = sessionService.authenticatedRequest()
                     .contentType(ContentType.JSON)
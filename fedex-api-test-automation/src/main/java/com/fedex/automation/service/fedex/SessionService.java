@@ -1,16 +1,21 @@
 package com.fedex.automation.service.fedex;
 
+import com.fedex.automation.model.fedex.CartPageSnapshot;
+import com.fedex.automation.utils.CartPageScanner;
 import io.cucumber.spring.ScenarioScope;
+import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static io.restassured.RestAssured.given;
 
@@ -19,11 +24,15 @@ import static io.restassured.RestAssured.given;
 @ScenarioScope // Instructs Spring to attempt creating a fresh bean per scenario
 public class SessionService {
 
+    // Also sent by StaticContentCache, which fetches without a session
+    public static final String BROWSER_USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/145.0.0.0 Safari/537.36 Edg/145.0.0.0";
+    private static final String CART_PAGE_PATH = "/default/checkout/cart/";
+
     @Autowired
     private RequestSpecification defaultRequestSpec;
 
     @Autowired
-    private AuthenticationService authenticationService;
+    private CustomerSessionPool customerSessionPool;
 
     @org.springframework.beans.factory.annotation.Autowired
     private com.fedex.automation.config.FedexConfig fedexConfig;
@@ -33,7 +42,14 @@ public class SessionService {
     @Getter
     private String formKey;
 
-    private static final Pattern FORM_KEY_INPUT_PATTERN = Pattern.compile("form_key\"\\s+type=\"hidden\"\\s+value=\"([^\"]+)\"");
+    // Scenario-owned cart cache (previously held on the CartService singleton)
+    @Getter
+    @Setter
+    private String maskedCartId;
+
+    // Last cart page load: one fetch serves form_key, maskedQuoteId and checkoutConfig
+    @Getter
+    private CartPageSnapshot cartPage;
 
     /**
      * ABSOLUTE STATE CLEAR: Call this at the start of every test case
@@ -43,19 +59,38 @@ public class SessionService {
         log.info("--- [Scenario Setup] Wiping previous Session State (Cookies & FormKey) ---");
         this.sessionCookies.clear();
         this.formKey = null;
+        this.maskedCartId = null;
+        this.cartPage = null;
     }
 
     public void login(String username, String password) {
         log.info("--- Performing Login for User: {} ---", username);
         if (sessionCookies.isEmpty()) bootstrapSession();
 
-        Map<String, String> authCookies = authenticationService.login(username, password, sessionCookies);
-        if (authCookies != null && !authCookies.isEmpty()) {
-            this.sessionCookies.putAll(authCookies);
+        // Pooled: only the first scenario for this user pays the browser login
+        Map<String, String> authCookies = applyAuthCookies(username, customerSessionPool.acquire(username, password));
+
+        // The bootstrap doubles as a check that the server still accepts the pooled cookies
+        Response cart = authenticatedRequest().redirects().follow(false).get(CART_PAGE_PATH);
+        if (CustomerSessionPool.isRejected(cart)) {
+            log.info("--- Pooled session for {} was rejected (HTTP {}), logging in again ---", username, cart.statusCode());
+            customerSessionPool.invalidate(username);
+            authCookies.keySet().forEach(sessionCookies::remove);
+            applyAuthCookies(username, customerSessionPool.acquire(username, password));
+            bootstrapSession();
+        } else if (cart.statusCode() == 200) {
+            applyCartPage(cart);
         } else {
+            bootstrapSession();
+        }
+    }
+
+    private Map<String, String> applyAuthCookies(String username, Map<String, String> authCookies) {
+        if (authCookies == null || authCookies.isEmpty()) {
             throw new RuntimeException("Login failed for user " + username);
         }
-        bootstrapSession();
+        this.sessionCookies.putAll(authCookies);
+        return authCookies;
     }
 
     /**
@@ -64,7 +99,7 @@ public class SessionService {
     private RequestSpecification buildBaseRequest(Map<String, String> extraCookies, String refererUrl, String originUrl, String secFetchSite) {
         RequestSpecification spec = given()
                 .spec(defaultRequestSpec)
-                .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/145.0.0.0 Safari/537.36 Edg/145.0.0.0")
+                .header("User-Agent", BROWSER_USER_AGENT)
                 .header("Referer", refererUrl)
                 .header("sec-fetch-dest", "empty")
                 .header("sec-fetch-mode", "cors")
@@ -125,29 +160,49 @@ public class SessionService {
 
     public void bootstrapSession() {
         try {
-            var response = authenticatedRequest().get("/default/checkout/cart/").then().extract().response();
+            loadCartPage();
+        } catch (Exception e) {
+            log.warn("Bootstrap request failed: {}", e.getMessage());
+        }
+    }
 
-            if (response.getCookies() != null && !response.getCookies().isEmpty()) {
-                this.sessionCookies.putAll(response.getCookies());
+    /**
+     * Fetches /checkout/cart/ once and scans it in a single pass, refreshing the session cookies, form_key and masked
+     * cart ID from it. RestAssured has already buffered the body (the filters need it), so the scan reads those bytes;
+     * it saves decoding the page into a String and running a regex per value, not the download buffer.
+     */
+    public CartPageSnapshot loadCartPage() {
+        return applyCartPage(authenticatedRequest().get(CART_PAGE_PATH).then().extract().response());
+    }
 
-                // Avoid plaintext secret logging; only show masked values at DEBUG
-                if (this.sessionCookies.containsKey("PHPSESSID") && log.isDebugEnabled()) {
-                    log.debug("Extracted PHPSESSID (masked): {}", maskSecret(this.sessionCookies.get("PHPSESSID")));
-                }
+    private CartPageSnapshot applyCartPage(Response response) {
+        if (response.getCookies() != null && !response.getCookies().isEmpty()) {
+            this.sessionCookies.putAll(response.getCookies());
+
+            // Avoid plaintext secret logging; only show masked values at DEBUG
+            if (this.sessionCookies.containsKey("PHPSESSID") && log.isDebugEnabled()) {
+                log.debug("Extracted PHPSESSID (masked): {}", maskSecret(this.sessionCookies.get("PHPSESSID")));
             }
+        }
 
-            Matcher inputMatcher = FORM_KEY_INPUT_PATTERN.matcher(response.getBody().asString());
-            if (inputMatcher.find()) {
-                this.formKey = inputMatcher.group(1);
+        try (InputStream body = response.asInputStream()) {
+            this.cartPage = CartPageScanner.scan(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read cart page", e);
+        }
+
+        if (cartPage.getFormKey() != null) {
+            this.formKey = cartPage.getFormKey();
 
-                // Avoid plaintext secret logging; only show masked values at DEBUG
-                if (log.isDebugEnabled()) {
-                    log.debug("Extracted form_key (masked): {}", maskSecret(this.formKey));
-                }
+            // Avoid plaintext secret logging; only show masked values at DEBUG
+            if (log.isDebugEnabled()) {
+                log.debug("Extracted form_key (masked): {}", maskSecret(this.formKey));
             }
-        } catch (Exception e) {
-            log.warn("Bootstrap request failed: {}", e.getMessage());
         }
+        if (cartPage.getMaskedQuoteId() != null) {
+            this.maskedCartId = cartPage.getMaskedQuoteId();
+        }
+        return cartPage;
     }
 
     private String maskSecret(String value) {
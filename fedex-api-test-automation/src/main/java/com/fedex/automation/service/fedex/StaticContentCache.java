@@ -0,0 +1,173 @@
+package com.fedex.automation.service.fedex;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fedex.automation.config.FedexConfig;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Shared cache for static CDN content (menu hierarchy, product-{id}.json).
+ * Entries are served from memory inside the revalidation window; after that a conditional GET
+ * (If-None-Match / If-Modified-Since) is sent and a 304 keeps the cached body.
+ * One fetch per URL at a time, so parallel scenarios never download the same file twice.
+ * Optionally persisted to disk so the next run starts warm (and still revalidates).
+ * Requests carry the browser headers of SessionService (the CDN may refuse other clients) but no session
+ * cookies: the content is the same for every user, which is what makes it shareable.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StaticContentCache {
+
+    private final RequestSpecification defaultRequestSpec;
+    private final ObjectMapper objectMapper;
+    private final FedexConfig fedexConfig;
+
+    @Value("${static.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${static.cache.revalidate-seconds:300}")
+    private long revalidateSeconds;
+
+    @Value("${static.cache.disk.enabled:false}")
+    private boolean diskEnabled;
+
+    @Value("${static.cache.dir:target/static-cache}")
+    private String cacheDir;
+
+    private final Map<String, CachedContent> entries = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the body of {@code baseUri + path}, downloading or revalidating only when needed.
+     * The same String instance is returned while the content is unchanged.
+     */
+    public String get(String baseUri, String path) {
+        String url = baseUri + path;
+        if (!enabled) {
+            return fetch(baseUri, path, null).body;
+        }
+
+        CachedContent cached = entries.get(url);
+        if (isFresh(cached)) return cached.body;
+
+        ReentrantLock lock = locks.computeIfAbsent(url, k -> new ReentrantLock());
+        lock.lock();
+        try {
+            cached = entries.get(url);
+            if (isFresh(cached)) return cached.body;
+            if (cached == null && diskEnabled) cached = readFromDisk(url);
+
+            CachedContent current = fetch(baseUri, path, cached);
+            entries.put(url, current);
+            if (diskEnabled && (cached == null || current.body != cached.body)) writeToDisk(url, current);
+            return current.body;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isFresh(CachedContent cached) {
+        return cached != null && Instant.now().isBefore(cached.validatedAt.plus(Duration.ofSeconds(revalidateSeconds)));
+    }
+
+    private CachedContent fetch(String baseUri, String path, CachedContent cached) {
+        String siteUrl = fedexConfig.getBaseUrl();
+        RequestSpecification request = given()
+                .spec(defaultRequestSpec)
+                .baseUri(baseUri)
+                .header("User-Agent", SessionService.BROWSER_USER_AGENT)
+                .header("Referer", siteUrl + "/")
+                .header("Origin", siteUrl)
+                .header("sec-fetch-dest", "empty")
+                .header("sec-fetch-mode", "cors")
+                .header("accept", "*/*")
+                .header("sec-fetch-site", "same-site");
+
+        if (cached != null && cached.etag != null) request.header("If-None-Match", cached.etag);
+        if (cached != null && cached.lastModified != null) request.header("If-Modified-Since", cached.lastModified);
+
+        Response response = request.get(path);
+
+        if (cached != null && response.statusCode() == 304) {
+            log.info("Static content not modified (304): {}", path);
+            return new CachedContent(cached.body, cached.etag, cached.lastModified, Instant.now());
+        }
+
+        response.then().statusCode(200);
+        log.info("Static content downloaded ({} bytes): {}", response.asByteArray().length, path);
+        return new CachedContent(response.asString(), response.getHeader("ETag"), response.getHeader("Last-Modified"), Instant.now());
+    }
+
+    private CachedContent readFromDisk(String url) {
+        try {
+            Path file = diskPath(url);
+            if (!Files.exists(file)) return null;
+
+            Map<?, ?> entry = objectMapper.readValue(file.toFile(), Map.class);
+            if (!url.equals(entry.get("url")) || !(entry.get("body") instanceof String body)) return null;
+            // Validated "never": the first use always revalidates against the CDN
+            return new CachedContent(body, (String) entry.get("etag"), (String) entry.get("lastModified"), Instant.EPOCH);
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable disk cache entry for {}: {}", url, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToDisk(String url, CachedContent content) {
+        try {
+            Files.createDirectories(Path.of(cacheDir));
+            Map<String, String> entry = new LinkedHashMap<>();
+            entry.put("url", url);
+            entry.put("etag", content.etag);
+            entry.put("lastModified", content.lastModified);
+            entry.put("body", content.body);
+
+            // Body and validators live in one file published by a single atomic move,
+            // so a parallel run never pairs a new body with an old ETag (or reads a half-written entry)
+            Path tmp = Files.createTempFile(Path.of(cacheDir), "entry", ".tmp");
+            objectMapper.writeValue(tmp.toFile(), entry);
+            Files.move(tmp, diskPath(url), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            log.warn("Could not persist static content for {}: {}", url, e.getMessage());
+        }
+    }
+
+    private Path diskPath(String url) throws Exception {
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+        return Path.of(cacheDir, HexFormat.of().formatHex(hash, 0, 16) + ".json");
+    }
+
+    private static final class CachedContent {
+        private final String body;
+        private final String etag;
+        private final String lastModified;
+        private final Instant validatedAt;
+
+        private CachedContent(String body, String etag, String lastModified, Instant validatedAt) {
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.validatedAt = validatedAt;
+        }
+    }
+}
@@ -13,13 +13,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.InputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
@@ -33,6 +33,7 @@ public class TemplateConfiguratorService {
     private final ObjectMapper objectMapper;
     private final SessionService sessionService;
     private final TestContext testContext;
+    private final TemplateRegistry templateRegistry;
 
     @Value("${fedex.api.gateway.base-uri}")
     private String apiGatewayUri;
@@ -81,12 +82,7 @@ public class TemplateConfiguratorService {
         log.info("--- [Action] Creating Configurator Session [SKU: {}, ProductID: {}] ---", sku, productId);
 
         try {
-            InputStream is = getClass().getClassLoader().getResourceAsStream("templates/1P_ConfiguratorSessionsTemplate.json");
-            if (is == null) throw new IllegalArgumentException("Template file not found.");
-
-            ObjectNode payloadNode = (ObjectNode) objectMapper.readTree(is);
-            ObjectNode productSelector = (ObjectNode) payloadNode.at("/configuratorSessionParameters/configuratorOptions/productSelector");
-            productSelector.put("productId", sku);
+            ObjectNode payloadNode = templateRegistry.instance(TemplateRegistry.CONFIGURATOR_SESSION, Map.of("productId", sku));
 
             // Fetch the base structure (15 valid features) to prevent backend rule invalidation
             ObjectNode baseProductNode = (ObjectNode) payloadNode.at("/configuratorSessionParameters/configuratorOptions/product");
@@ -94,8 +90,7 @@ public class TemplateConfiguratorService {
             // Build strictly typed overrides from API Source of Truth
             ObjectNode dynamicProductNode = buildDynamicProductNode(baseProductNode, testContext.getStaticProductDetails(), Collections.emptyMap());
 
-            ObjectNode configOptions = (ObjectNode) payloadNode.at("/configuratorSessionParameters/configuratorOptions");
-            configOptions.set("product", dynamicProductNode);
+            templateRegistry.set(payloadNode, "/configuratorSessionParameters/configuratorOptions/product", dynamicProductNode);
 
             testContext.setCurrentConfiguredProductNode(dynamicProductNode);
 
@@ -201,19 +196,6 @@ public class TemplateConfiguratorService {
     public void createConfiguratorState(String templatePrefix, Map<String, String> bddFeatures) throws Exception {
         log.info("--- [Action] Creating Configurator State ---");
 
-        ObjectNode payload = objectMapper.createObjectNode();
-        ObjectNode configParams = payload.putObject("configuratorStateParameters");
-
-        configParams.put("configuratorSessionId", testContext.getSessionId());
-        if (testContext.getCurrentSku() != null) {
-            configParams.put("integratorProductReference", testContext.getCurrentSku());
-        }
-        configParams.put("expressCheckoutButtonSelected", false);
-        configParams.put("isEditable", true);
-        configParams.putArray("errors");
-        configParams.putArray("customDocumentDetails");
-        configParams.put("changeProduct", false);
-
         // Apply dynamic BDD overrides to the clean base template
         ObjectNode baseProductNode = testContext.getCurrentConfiguredProductNode();
         ObjectNode productNode = buildDynamicProductNode(baseProductNode, testContext.getStaticProductDetails(), bddFeatures);
@@ -222,9 +204,16 @@ public class TemplateConfiguratorService {
         productNode.put("minDPI", "150.0");
         productNode.put("proofRequired", false);
 
-        linkDocumentsToStateProductNode(productNode, configParams);
+        // A null SKU drops integratorProductReference from the payload
+        Map<String, Object> bindings = new HashMap<>();
+        bindings.put("sessionId", testContext.getSessionId());
+        bindings.put("sku", testContext.getCurrentSku());
+        bindings.put("product", productNode);
+        ObjectNode payload = templateRegistry.instance(TemplateRegistry.CONFIGURATOR_STATE, bindings);
 
-        configParams.set("product", productNode);
+        // instance() binds a copy of productNode, so the documents are linked on the copy that is sent
+        ObjectNode stateParams = (ObjectNode) payload.get("configuratorStateParameters");
+        linkDocumentsToStateProductNode((ObjectNode) stateParams.get("product"), stateParams);
 
         Response response = sessionService.configuratorRequest(baseUrlWww, baseUrlWww + "/fxo-client-modules/redirect/print-products/configure")
                 .baseUri(apiGatewayUri)
@@ -252,8 +241,9 @@ public class TemplateConfiguratorService {
     /**
      * Engine that builds the Product Node mimicking the FedEx UI exactly by parsing the Domain Source of Truth
      * mapping between visual feature names and their strict internal properties/Long IDs.
+     * Package-private for the JMH benchmarks (src/jmh/java).
      */
-    private ObjectNode buildDynamicProductNode(ObjectNode baseProductNode, StaticProduct staticProduct, Map<String, String> bddFeatures) {
+    ObjectNode buildDynamicProductNode(ObjectNode baseProductNode, StaticProduct staticProduct, Map<String, String> bddFeatures) {
         ObjectNode productNode = baseProductNode.deepCopy();
 
         // Ensure IDs remain numerical to appease Magento validation
@@ -355,25 +345,12 @@ public class TemplateConfiguratorService {
         String printReadyDocId = testContext.getPrintReadyDocId();
 
         if (originalDocId != null && printReadyDocId != null) {
-            ArrayNode contentAssoc = productNode.putArray("contentAssociations");
-
             String contentReqId = "1483999952979"; // UI standard fallback
             StaticProduct staticProduct = testContext.getStaticProductDetails();
             if (staticProduct != null && staticProduct.getContentRequirements() != null && !staticProduct.getContentRequirements().isEmpty()) {
                 contentReqId = staticProduct.getContentRequirements().get(0).getId();
             }
 
-            ObjectNode docAssoc = objectMapper.createObjectNode();
-            docAssoc.put("parentContentReference", originalDocId);
-            docAssoc.put("contentReference", printReadyDocId);
-            docAssoc.put("contentType", "application/pdf");
-            docAssoc.put("fileSizeBytes", 0);
-            docAssoc.put("fileName", "SimpleText.pdf");
-            docAssoc.put("printReady", true);
-            docAssoc.put("contentReqId", Long.parseLong(contentReqId));
-            docAssoc.put("name", productNode.path("name").asText("Multi Sheet"));
-            docAssoc.put("purpose", "MAIN_CONTENT");
-
             // Pull sizing dynamically based on mapped attributes
             double width = 8.5;
             double height = 11.0;
@@ -382,40 +359,27 @@ public class TemplateConfiguratorService {
                 if ("DEFAULT_IMAGE_HEIGHT".equals(prop.path("name").asText())) height = prop.path("value").asDouble(11.0);
             }
 
-            ArrayNode pageGroups = docAssoc.putArray("pageGroups");
-            ObjectNode pg = objectMapper.createObjectNode();
-            pg.put("start", 1).put("end", 1);
-
-            // Format cleanly avoiding strictly typed mismatch downstream (e.g. 11 vs 11.0)
-            if (width == (long) width) pg.put("width", (long) width);
-            else pg.put("width", width);
-
-            if (height == (long) height) pg.put("height", (long) height);
-            else pg.put("height", height);
-
-            pg.put("orientation", "PORTRAIT");
-            pageGroups.add(pg);
-            docAssoc.put("physicalContent", false);
-
-            contentAssoc.add(docAssoc);
-
-            ObjectNode userWorkspace = configParams.putObject("userWorkspace");
-            ArrayNode files = userWorkspace.putArray("files");
-
-            // Fix the precision mismatch that crashes parser schemas
-            String formattedTime = DateTimeFormatter.ISO_INSTANT.format(Instant.now().truncatedTo(ChronoUnit.MILLIS));
-
-            ObjectNode fileNode = objectMapper.createObjectNode();
-            fileNode.put("name", "SimpleText.pdf");
-            fileNode.put("id", originalDocId);
-            fileNode.put("size", 27028);
-            fileNode.put("uploadDateTime", formattedTime);
-
-            files.add(fileNode);
-            userWorkspace.putArray("projects");
+            ObjectNode content = templateRegistry.instance(TemplateRegistry.DOCUMENT_CONTENT, Map.of(
+                    "originalDocId", originalDocId,
+                    "printReadyDocId", printReadyDocId,
+                    "contentReqId", Long.parseLong(contentReqId),
+                    "name", productNode.path("name").asText("Multi Sheet"),
+                    // Format cleanly avoiding strictly typed mismatch downstream (e.g. 11 vs 11.0)
+                    "width", wholeOrDecimal(width),
+                    "height", wholeOrDecimal(height),
+                    // Fix the precision mismatch that crashes parser schemas
+                    "uploadDateTime", DateTimeFormatter.ISO_INSTANT.format(Instant.now().truncatedTo(ChronoUnit.MILLIS))));
+
+            productNode.putArray("contentAssociations").add(content.get("contentAssociation"));
+            configParams.set("userWorkspace", content.get("userWorkspace"));
         }
     }
 
+    private static Object wholeOrDecimal(double value) {
+        if (value == (long) value) return (long) value;
+        return value;
+    }
+
     /**
      * Forces standard whole numbers into integer format strings to match FedEx UI
      * e.g., "11.0" -> "11", "8.5" -> "8.5"
@@ -0,0 +1,204 @@
+package com.fedex.automation.service.fedex;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.DoubleNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * JSON request templates (classpath templates/*.json), parsed and validated once at startup.
+ * The parsed trees are never handed out: {@link #instance} returns a deep copy with its "${name}" placeholders bound,
+ * so scenarios can mutate their copy freely. A placeholder is a string value that is exactly "${name}";
+ * it is replaced by a typed node (number, boolean, text or a whole sub-tree), or removed from its object when bound to null.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TemplateRegistry {
+
+    public static final String RATE_REQUEST = "1P_TemplateRateRequest";
+    public static final String CONFIGURATOR_SESSION = "1P_ConfiguratorSessionsTemplate";
+    public static final String CONFIGURATOR_STATE = "1P_ConfiguratorStateTemplate";
+    public static final String DOCUMENT_CONTENT = "1P_DocumentContentTemplate";
+
+    private static final String LOCATION = "classpath*:templates/*.json";
+    private static final Pattern PLACEHOLDER = Pattern.compile("^\\$\\{([A-Za-z][A-Za-z0-9_]*)}$");
+    private static final Map<String, JsonPointer> POINTERS = new ConcurrentHashMap<>();
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Template> templates = new HashMap<>();
+
+    @PostConstruct
+    void load() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver(getClass().getClassLoader()).getResources(LOCATION);
+        for (Resource resource : resources) {
+            String name = resource.getFilename().substring(0, resource.getFilename().length() - ".json".length());
+            try (InputStream in = resource.getInputStream()) {
+                JsonNode tree = objectMapper.readTree(in);
+                if (!(tree instanceof ObjectNode root)) {
+                    throw new IllegalStateException("Template " + name + " must be a JSON object");
+                }
+                Map<String, List<Slot>> slots = new LinkedHashMap<>();
+                collectPlaceholders(root, JsonPointer.empty(), name, slots);
+                templates.put(name, new Template(root, slots));
+            } catch (IOException e) {
+                throw new IllegalStateException("Template " + resource.getFilename() + " is not valid JSON: " + e.getMessage(), e);
+            }
+        }
+        log.info("--- [Templates] Loaded {} request templates: {} ---", templates.size(), new TreeSet<>(templates.keySet()));
+    }
+
+    /**
+     * Deep copy of a template with every placeholder bound. Fails when a placeholder is left unbound
+     * or a binding names a placeholder the template does not have.
+     */
+    public ObjectNode instance(String name, Map<String, ?> bindings) {
+        Template template = templates.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("Template not found: templates/" + name + ".json");
+        }
+
+        Set<String> unbound = new TreeSet<>(template.slots.keySet());
+        unbound.removeAll(bindings.keySet());
+        if (!unbound.isEmpty()) {
+            throw new IllegalStateException("Template " + name + " has unbound placeholders: " + unbound);
+        }
+
+        ObjectNode copy = template.tree.deepCopy();
+        bindings.forEach((placeholder, value) -> {
+            List<Slot> slots = template.slots.get(placeholder);
+            if (slots == null) {
+                throw new IllegalArgumentException("Template " + name + " has no placeholder ${" + placeholder + "}");
+            }
+            JsonNode node = toNode(value);
+            for (Slot slot : slots) {
+                // A bound sub-tree is copied too, so the instance never aliases the caller's node (or itself)
+                slot.apply(copy.at(slot.parent), node == null ? null : node.deepCopy());
+            }
+        });
+        return copy;
+    }
+
+    /**
+     * Sets the value at a JSON pointer (parent must exist), e.g. set(payload, "/rateRequest/products/0/instanceId", 123L).
+     * Pointers are compiled once and reused.
+     */
+    public JsonNode set(JsonNode root, String pointer, Object value) {
+        JsonPointer compiled = POINTERS.computeIfAbsent(pointer, JsonPointer::compile);
+        JsonNode parent = root.at(compiled.head());
+        if (parent instanceof ObjectNode object) {
+            object.set(compiled.last().getMatchingProperty(), toNode(value));
+        } else if (parent instanceof ArrayNode array && compiled.last().getMatchingIndex() >= 0) {
+            array.set(compiled.last().getMatchingIndex(), toNode(value));
+        } else {
+            throw new IllegalArgumentException("No object or array at the parent of " + pointer);
+        }
+        return root;
+    }
+
+    private void collectPlaceholders(JsonNode node, JsonPointer path, String template, Map<String, List<Slot>> slots) {
+        if (node instanceof ObjectNode object) {
+            object.properties().forEach(e -> {
+                JsonNode child = e.getValue();
+                String placeholder = placeholderName(child, template);
+                if (placeholder != null) {
+                    slots.computeIfAbsent(placeholder, k -> new ArrayList<>()).add(new Slot(path, e.getKey(), -1));
+                } else {
+                    collectPlaceholders(child, path.appendProperty(e.getKey()), template, slots);
+                }
+            });
+        } else if (node instanceof ArrayNode array) {
+            for (int i = 0; i < array.size(); i++) {
+                String placeholder = placeholderName(array.get(i), template);
+                if (placeholder != null) {
+                    slots.computeIfAbsent(placeholder, k -> new ArrayList<>()).add(new Slot(path, null, i));
+                } else {
+                    collectPlaceholders(array.get(i), path.appendIndex(i), template, slots);
+                }
+            }
+        }
+    }
+
+    private static String placeholderName(JsonNode node, String template) {
+        if (!node.isTextual() || !node.textValue().startsWith("${")) return null;
+        Matcher m = PLACEHOLDER.matcher(node.textValue());
+        if (!m.matches()) {
+            throw new IllegalStateException("Template " + template + " has a malformed placeholder: " + node.textValue());
+        }
+        return m.group(1);
+    }
+
+    private JsonNode toNode(Object value) {
+        return switch (value) {
+            case null -> null;
+            case JsonNode node -> node;
+            case String text -> TextNode.valueOf(text);
+            case Long number -> LongNode.valueOf(number);
+            case Integer number -> IntNode.valueOf(number);
+            case Double number -> DoubleNode.valueOf(number);
+            case Boolean flag -> BooleanNode.valueOf(flag);
+            default -> objectMapper.valueToTree(value);
+        };
+    }
+
+    private static final class Template {
+        private final ObjectNode tree;
+        private final Map<String, List<Slot>> slots;
+
+        private Template(ObjectNode tree, Map<String, List<Slot>> slots) {
+            this.tree = tree;
+            this.slots = slots;
+        }
+    }
+
+    /**
+     * Where a placeholder sits: its parent container plus the field name (objects) or index (arrays).
+     */
+    private static final class Slot {
+        private final JsonPointer parent;
+        private final String field;
+        private final int index;
+
+        private Slot(JsonPointer parent, String field, int index) {
+            this.parent = parent;
+            this.field = field;
+            this.index = index;
+        }
+
+        void apply(JsonNode container, JsonNode value) {
+            if (container instanceof ObjectNode object) {
+                if (value == null) object.remove(field);
+                else object.set(field, value);
+            } else if (container instanceof ArrayNode array) {
+                array.set(index, value == null ? NullNode.getInstance() : value);
+            }
+        }
+    }
+}
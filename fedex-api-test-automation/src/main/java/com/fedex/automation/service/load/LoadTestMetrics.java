@@ -0,0 +1,75 @@
+package com.fedex.automation.service.load;
+
+import com.fedex.automation.utils.LatencyHistogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Per-step latency histograms and error counters shared by all virtual users.
+ */
+public class LoadTestMetrics {
+
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final Map<String, Integer> stepOrder = new ConcurrentHashMap<>();
+    private final LongAdder completedIterations = new LongAdder();
+    private final LongAdder failedIterations = new LongAdder();
+
+    public <T> T time(String step, Supplier<T> action) {
+        stepOrder.putIfAbsent(step, stepOrder.size());
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } catch (RuntimeException | AssertionError e) {
+            errors.computeIfAbsent(step, k -> new LongAdder()).increment();
+            throw e;
+        } finally {
+            latencies.computeIfAbsent(step, k -> new LatencyHistogram()).recordNanos(System.nanoTime() - start);
+        }
+    }
+
+    public void time(String step, Runnable action) {
+        time(step, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public void iterationCompleted() {
+        completedIterations.increment();
+    }
+
+    public void iterationFailed() {
+        failedIterations.increment();
+    }
+
+    public long getCompletedIterations() {
+        return completedIterations.sum();
+    }
+
+    public long getFailedIterations() {
+        return failedIterations.sum();
+    }
+
+    /**
+     * Steps in the order they were first executed, each with throughput, error count and latency percentiles.
+     */
+    public Map<String, Map<String, Object>> stepSummaries(double elapsedSeconds) {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        stepOrder.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .forEach(entry -> {
+                    LatencyHistogram histogram = latencies.get(entry.getKey());
+                    if (histogram == null) return;
+                    Map<String, Object> summary = new LinkedHashMap<>(histogram.summary());
+                    summary.put("errors", errors.getOrDefault(entry.getKey(), new LongAdder()).sum());
+                    summary.put("throughputPerSec", Math.round(histogram.getCount() / Math.max(elapsedSeconds, 0.001) * 100.0) / 100.0);
+                    result.put(entry.getKey(), summary);
+                });
+        return result;
+    }
+}
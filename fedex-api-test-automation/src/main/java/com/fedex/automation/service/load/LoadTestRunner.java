@@ -0,0 +1,122 @@
+package com.fedex.automation.service.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fedex.automation.config.HostRateLimiter;
+import com.fedex.automation.config.LoadTestConfig;
+import com.fedex.automation.config.PooledHttpClientFactory;
+import com.fedex.automation.utils.EndpointMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load-generation mode: drives the 3P checkout chain with N virtual users on virtual threads.
+ * Users start evenly across the ramp-up window; a shared pacer caps iteration starts at the target rate.
+ * Only active with load.enabled=true (see README "Load Generation").
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "load.enabled", havingValue = "true")
+public class LoadTestRunner implements ApplicationRunner {
+
+    private final LoadTestConfig config;
+    private final VirtualUserFactory virtualUserFactory;
+    private final ThreePCheckoutFlow checkoutFlow;
+    private final ObjectMapper objectMapper;
+    private final PooledHttpClientFactory pooledHttpClientFactory;
+    private final HostRateLimiter hostRateLimiter;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        log.info("--- [Load] Starting: {} VUs, ramp-up {}s, duration {}s, target {} iterations/s, product '{}' ---",
+                config.getVirtualUsers(), config.getRampUpSeconds(), config.getDurationSeconds(),
+                config.getTargetRatePerSecond(), config.getProductName());
+
+        LoadTestMetrics metrics = new LoadTestMetrics();
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+        long intervalNanos = config.getTargetRatePerSecond() > 0 ? (long) (1_000_000_000L / config.getTargetRatePerSecond()) : 0;
+        AtomicLong nextSlot = new AtomicLong(startNanos);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.getVirtualUsers(); i++) {
+                int vuId = i + 1;
+                long startDelayNanos = TimeUnit.SECONDS.toNanos(config.getRampUpSeconds()) * i / Math.max(config.getVirtualUsers(), 1);
+                executor.submit(() -> runVirtualUser(vuId, startNanos + startDelayNanos, endNanos, intervalNanos, nextSlot, metrics));
+            }
+        }
+
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        writeReport(metrics, elapsedSeconds);
+    }
+
+    private void runVirtualUser(int vuId, long startAtNanos, long endNanos, long intervalNanos, AtomicLong nextSlot, LoadTestMetrics metrics) {
+        parkUntil(startAtNanos);
+        VirtualUser vu = virtualUserFactory.create(vuId);
+
+        while (System.nanoTime() < endNanos) {
+            if (intervalNanos > 0) {
+                long slot = nextSlot.getAndAdd(intervalNanos);
+                if (slot >= endNanos) break;
+                parkUntil(slot);
+            }
+
+            try {
+                checkoutFlow.placeOrder(vu, config, metrics);
+                metrics.iterationCompleted();
+            } catch (RuntimeException | AssertionError e) {
+                metrics.iterationFailed();
+                log.warn("[VU-{}] Iteration failed: {}", vuId, e.getMessage());
+            }
+        }
+    }
+
+    private static void parkUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private void writeReport(LoadTestMetrics metrics, double elapsedSeconds) throws Exception {
+        Map<String, Map<String, Object>> steps = metrics.stepSummaries(elapsedSeconds);
+
+        log.info("--- [Load] Finished in {}s: {} orders placed, {} failed iterations ({} orders/s) ---",
+                String.format("%.1f", elapsedSeconds), metrics.getCompletedIterations(), metrics.getFailedIterations(),
+                String.format("%.2f", metrics.getCompletedIterations() / elapsedSeconds));
+        log.info(String.format("%-18s %8s %7s %9s %9s %9s %9s %9s", "step", "count", "errors", "ops/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        steps.forEach((step, s) -> log.info(String.format("%-18s %8s %7s %9s %9s %9s %9s %9s",
+                step, s.get("count"), s.get("errors"), s.get("throughputPerSec"), s.get("p50Ms"), s.get("p95Ms"), s.get("p99Ms"), s.get("maxMs"))));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("virtualUsers", config.getVirtualUsers());
+        report.put("rampUpSeconds", config.getRampUpSeconds());
+        report.put("targetRatePerSecond", config.getTargetRatePerSecond());
+        report.put("elapsedSeconds", Math.round(elapsedSeconds * 10.0) / 10.0);
+        report.put("completedIterations", metrics.getCompletedIterations());
+        report.put("failedIterations", metrics.getFailedIterations());
+        report.put("ordersPerSecond", Math.round(metrics.getCompletedIterations() / elapsedSeconds * 100.0) / 100.0);
+        report.put("steps", steps);
+        report.put("connections", pooledHttpClientFactory.summary());
+        report.put("rateLimits", hostRateLimiter.summary());
+        report.put("throttling", EndpointMetrics.throttlingSummary());
+
+        File reportFile = new File(config.getReportFile());
+        if (reportFile.getParentFile() != null) reportFile.getParentFile().mkdirs();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile, report);
+        log.info("--- [Load] Report written to {} ---", reportFile.getAbsolutePath());
+    }
+}
@@ -0,0 +1,105 @@
+package com.fedex.automation.service.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fedex.automation.config.LoadTestConfig;
+import com.fedex.automation.model.fedex.*;
+import com.fedex.automation.service.fedex.CatalogService;
+import com.fedex.automation.service.mirakl.OfferService;
+import com.fedex.automation.utils.FedExEncryptionUtil;
+import com.fedex.automation.utils.TestDataFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * The 3P checkout chain from CommonCheckoutSteps, expressed against a single VirtualUser
+ * so it can run outside Cucumber. Every step is timed under its own name.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ThreePCheckoutFlow {
+
+    private final CatalogService catalogService;
+    private final OfferService offerService;
+    private final ObjectMapper objectMapper;
+
+    public String placeOrder(VirtualUser vu, LoadTestConfig config, LoadTestMetrics metrics) {
+        return placeOrder(vu, config.getProductName(), config.getQuantity(), config.getShippingMethod(), metrics, () -> {
+        });
+    }
+
+    /**
+     * @param beforeSubmit runs right before the order is submitted, the first point at which a real order may exist
+     */
+    public String placeOrder(VirtualUser vu, String productName, String quantity, String shippingMethod,
+                             LoadTestMetrics metrics, Runnable beforeSubmit) {
+        Map<String, String> address = TestDataFactory.getDefaultAddressMap();
+        Map<String, String> payment = TestDataFactory.getDefaultPaymentMap();
+
+        metrics.time("bootstrap", () -> {
+            vu.getSessionService().clearSession();
+            vu.getSessionService().bootstrapSession();
+            if (vu.getSessionService().getFormKey() == null) {
+                throw new IllegalStateException("Form Key must be extracted");
+            }
+        });
+
+        String sku = metrics.time("search", () -> catalogService.searchProductSku(productName, "3P"));
+        String offerId = metrics.time("offer", () -> offerService.getOfferIdForProduct(sku));
+
+        metrics.time("add_to_cart", () -> vu.getCartService().addToCart(sku, quantity, offerId));
+        CartContext cart = metrics.time("scrape_cart", () -> vu.getCartService().scrapeCartContext(sku));
+        String quoteIdToUse = isNullOrEmpty(cart.getMaskedQuoteId()) ? cart.getQuoteId() : cart.getMaskedQuoteId();
+
+        EstimateShipMethodResponse[] methods = metrics.time("estimate_shipping",
+                () -> vu.getCheckoutService().estimateShipping(quoteIdToUse, TestDataFactory.createEstimateRequest(address)));
+        EstimateShipMethodResponse selected = Arrays.stream(methods)
+                .filter(m -> m.getMethodCode().equalsIgnoreCase(shippingMethod))
+                .findFirst()
+                .orElse(methods[0]);
+
+        JsonNode rate = metrics.time("delivery_rate",
+                () -> vu.getCheckoutService().getDeliveryRate(TestDataFactory.createRateForm(selected, "3P", address)));
+        metrics.time("create_quote",
+                () -> vu.getCheckoutService().createQuote(TestDataFactory.buildQuotePayload(rate, selected, address)));
+        metrics.time("pay_rate", () -> vu.getCheckoutService().callPayRate());
+
+        String publicKey = metrics.time("encryption_key", () -> vu.getCheckoutService().fetchEncryptionKey());
+        String encryptedCard = URLDecoder.decode(FedExEncryptionUtil.encryptCreditCard(
+                payment.get("cardNumber"), payment.get("expMonth"), payment.get("expYear"), payment.get("cvv"), publicKey), StandardCharsets.UTF_8);
+
+        SubmitOrderRequest orderRequest = TestDataFactory.createOrderRequest(encryptedCard, payment, address);
+        beforeSubmit.run();
+        String responseBody = metrics.time("submit_order", () -> {
+            String body = vu.getCheckoutService().submitOrder(orderRequest, cart.getQuoteId());
+            if (extractOrderNumber(body) == null) {
+                throw new IllegalStateException("Order Submission Failed: no unified_data_layer.orderNumber");
+            }
+            return body;
+        });
+
+        String orderNumber = extractOrderNumber(responseBody);
+        log.info("[VU-{}] Order placed: {}", vu.getId(), orderNumber);
+        return orderNumber;
+    }
+
+    private String extractOrderNumber(String responseBody) {
+        try {
+            String orderNumber = objectMapper.readTree(responseBody).path("unified_data_layer").path("orderNumber").asText();
+            return isNullOrEmpty(orderNumber) ? null : orderNumber;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private boolean isNullOrEmpty(String str) {
+        return str == null || str.trim().isEmpty();
+    }
+}
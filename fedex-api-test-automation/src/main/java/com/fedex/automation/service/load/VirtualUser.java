@@ -0,0 +1,19 @@
+package com.fedex.automation.service.load;
+
+import com.fedex.automation.service.fedex.CartService;
+import com.fedex.automation.service.fedex.CheckoutService;
+import com.fedex.automation.service.fedex.SessionService;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * One simulated shopper: its own cookie jar/form_key plus the services bound to it.
+ */
+@Getter
+@RequiredArgsConstructor
+public class VirtualUser {
+    private final int id;
+    private final SessionService sessionService;
+    private final CartService cartService;
+    private final CheckoutService checkoutService;
+}
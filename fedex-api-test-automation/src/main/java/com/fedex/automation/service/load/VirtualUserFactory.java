@@ -0,0 +1,36 @@
+package com.fedex.automation.service.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fedex.automation.service.fedex.CartService;
+import com.fedex.automation.service.fedex.CheckoutService;
+import com.fedex.automation.service.fedex.EncryptionKeyProvider;
+import com.fedex.automation.service.fedex.SessionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds per-VU service graphs. SessionService is @ScenarioScope and only resolvable inside a Cucumber
+ * scenario, so load mode wires plain instances itself (fields and @Value endpoints are injected as usual).
+ */
+@Component
+@RequiredArgsConstructor
+public class VirtualUserFactory {
+
+    private final AutowireCapableBeanFactory beanFactory;
+    private final ObjectMapper objectMapper;
+    private final EncryptionKeyProvider encryptionKeyProvider;
+
+    public VirtualUser create(int id) {
+        SessionService sessionService = new SessionService();
+        beanFactory.autowireBean(sessionService);
+
+        CartService cartService = new CartService(sessionService, objectMapper);
+        beanFactory.autowireBean(cartService);
+
+        CheckoutService checkoutService = new CheckoutService(sessionService, objectMapper, encryptionKeyProvider);
+        beanFactory.autowireBean(checkoutService);
+
+        return new VirtualUser(id, sessionService, cartService, checkoutService);
+    }
+}
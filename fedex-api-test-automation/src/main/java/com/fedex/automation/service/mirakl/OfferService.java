@@ -4,13 +4,20 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fedex.automation.config.MiraklConfig;
 import com.fedex.automation.model.mirakl.MiraklShopOffersResponse;
+import com.fedex.automation.utils.ExpiringCache;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static io.restassured.RestAssured.given;
@@ -26,15 +33,62 @@ public class OfferService {
     @Autowired
     private RequestSpecification defaultRequestSpec; // Inject
 
+    // Mirakl P11 accepts up to 100 product IDs per call
+    private static final int MAX_PRODUCT_IDS_PER_CALL = 100;
+
+    private ExpiringCache<String, String> offerIdCache;
+
+    @Value("${mirakl.offer.cache-ttl-seconds:60}")
+    void setOfferCacheTtlSeconds(long ttlSeconds) {
+        this.offerIdCache = new ExpiringCache<>(Duration.ofSeconds(ttlSeconds));
+    }
+
     public String getOfferIdForProduct(String sku) {
         log.info("--- Fetching Offer ID from Mirakl for SKU: '{}' ---", sku);
+        return getOfferIdsForProducts(List.of(sku)).get(sku);
+    }
+
+    /**
+     * Resolves offer IDs for many SKUs with as few Mirakl calls as possible (product_ids accepts a list).
+     * Results are cached briefly so repeated Scenario Outline examples don't hit Mirakl again.
+     *
+     * @return SKU -> offer ID, in the order of {@code skus}
+     * @throws RuntimeException if any SKU has no product or no offer
+     */
+    public Map<String, String> getOfferIdsForProducts(List<String> skus) {
+        List<String> distinctSkus = skus.stream().distinct().toList();
+        Map<String, String> resolved = new HashMap<>(offerIdCache.getAll(distinctSkus));
+
+        List<String> missing = distinctSkus.stream().filter(sku -> !resolved.containsKey(sku)).toList();
+        if (!missing.isEmpty()) {
+            log.info("--- Fetching Offer IDs from Mirakl for {} SKU(s) ({} served from cache) ---", missing.size(), resolved.size());
+        }
+
+        for (int from = 0; from < missing.size(); from += MAX_PRODUCT_IDS_PER_CALL) {
+            List<String> batch = missing.subList(from, Math.min(from + MAX_PRODUCT_IDS_PER_CALL, missing.size()));
+            Map<String, String> fetched = fetchOfferIds(batch);
+            fetched.forEach(offerIdCache::put);
+            resolved.putAll(fetched);
+        }
+
+        Map<String, String> ordered = new LinkedHashMap<>();
+        for (String sku : skus) {
+            String offerId = resolved.get(sku);
+            if (offerId == null) {
+                throw new RuntimeException("No offers found in Mirakl response for SKU: " + sku);
+            }
+            ordered.put(sku, offerId);
+        }
+        return ordered;
+    }
 
+    private Map<String, String> fetchOfferIds(List<String> skus) {
         Response response = given()
                 .spec(defaultRequestSpec) // <--- Applies cURL filter & Relaxed SSL
                 .baseUri(miraklConfig.getBaseUrl())
                 .header("Authorization", miraklConfig.getApiKey())
                 .header("Accept", "application/json")
-                .queryParam("product_ids", sku)
+                .queryParam("product_ids", String.join(",", skus))
                 .get(miraklConfig.getOffersEndpoint())
                 .then()
                 .statusCode(200)
@@ -46,18 +100,26 @@ public class OfferService {
             JsonNode products = root.path("products");
 
             if (products.isEmpty()) {
-                throw new RuntimeException("No products found in Mirakl response for SKU: " + sku);
+                throw new RuntimeException("No products found in Mirakl response for SKU(s): " + skus);
             }
 
-            JsonNode offers = products.get(0).path("offers");
-            if (offers.isEmpty()) {
-                throw new RuntimeException("No offers found in Mirakl response for SKU: " + sku);
+            // Map each product back to the requested SKU; a single-SKU request keeps the old "first product" behaviour
+            Map<String, String> offerIds = new HashMap<>();
+            for (JsonNode product : products) {
+                String productSku = product.path("product_sku").asText(null);
+                if (productSku == null && skus.size() == 1) productSku = skus.getFirst();
+
+                JsonNode offers = product.path("offers");
+                if (productSku != null && !offers.isEmpty() && skus.contains(productSku)) {
+                    offerIds.putIfAbsent(productSku, offers.get(0).path("offer_id").asText());
+                }
             }
 
-            String offerId = offers.get(0).path("offer_id").asText();
-            log.info("Found Offer ID: {}", offerId);
-            return offerId;
+            log.info("Found Offer IDs: {}", offerIds);
+            return offerIds;
 
+        } catch (RuntimeException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to parse Mirakl API response", e);
         }
@@ -3,12 +3,13 @@ package com.fedex.automation.service.printful;
 import com.fedex.automation.config.FedexConfig;
 import com.fedex.automation.config.PrintfulConfig;
 import com.fedex.automation.model.printful.*;
+import com.fedex.automation.utils.AdaptivePoller;
+import com.fedex.automation.utils.PagedIterator;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.awaitility.Awaitility;
-import org.awaitility.core.ConditionTimeoutException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
@@ -23,6 +24,11 @@ public class PrintfulApparelService {
     private final RequestSpecification defaultRequestSpec;
     private final PrintfulConfig printfulConfig;
     private final FedexConfig fedexConfig;
+    private final AdaptivePoller poller;
+
+    // Printful v2 accepts at most 100 items per page
+    @Value("${printful.catalog.page-size:100}")
+    private int catalogPageSize;
 
     public Response executePunchout(String sku, String offerId, String shopSku) {
         String punchoutPath = String.format("/default/marketplacepunchout/index/index/sku/%s/offer_id/%s/seller_sku/%s/", sku, offerId, shopSku);
@@ -56,50 +62,38 @@ public class PrintfulApparelService {
 
 
     public boolean validateSession(String sessionId, String phpSessId, String formKey) {
-        log.info("--- Validating Custom Apparel Session for Session ID: {} (with Awaitility Polling) ---", sessionId);
+        log.info("--- Validating Custom Apparel Session for Session ID: {} (adaptive polling) ---", sessionId);
         String requestBody = String.format("{\"sessionId\":\"%s\"}", sessionId);
 
-        try {
-            // Awaitility will execute the code inside until() until it returns true,
-            // or until the timeout is reached.
-            Awaitility.await()
-                    .atMost(Duration.ofSeconds(printfulConfig.getRetryTimeoutSeconds()))
-                    .pollInterval(Duration.ofSeconds(printfulConfig.getRetryIntervalSeconds()))
-                    .until(() -> {
-                        log.info("Polling Custom Apparel Session Validation API...");
-
-                        Response response = given()
-                                .spec(defaultRequestSpec)
-                                .baseUri(printfulConfig.getCustomApparelBaseUrl())
-                                .header("Accept", "application/json")
-                                .header("Content-Type", "application/json")
-                                .cookie("PHPSESSID", phpSessId)
-                                .cookie("form_key", formKey)
-                                .body(requestBody)
-                                .post(printfulConfig.getValidateSessionEndpoint());
-
-                        // If the third party returns a 5xx or 4xx, we don't crash, we just tell Awaitility to retry
-                        if (response.statusCode() != 200) {
-                            log.warn("Received HTTP {} from validation API. Retrying...", response.statusCode());
-                            return false;
-                        }
-
-                        // Check if the body actually says "true"
-                        boolean isValid = Boolean.parseBoolean(response.asString().trim());
-                        if (!isValid) {
-                            log.warn("Session returned false. It may still be generating. Retrying...");
-                        }
-
-                        return isValid;
-                    });
-
-            // If Awaitility finishes without throwing an exception, it successfully returned true!
-            return true;
-
-        } catch (ConditionTimeoutException e) {
+        boolean valid = poller.until("apparel.session.validate", Duration.ofSeconds(printfulConfig.getRetryTimeoutSeconds()),
+                () -> given()
+                        .spec(defaultRequestSpec)
+                        .baseUri(printfulConfig.getCustomApparelBaseUrl())
+                        .header("Accept", "application/json")
+                        .header("Content-Type", "application/json")
+                        .cookie("PHPSESSID", phpSessId)
+                        .cookie("form_key", formKey)
+                        .body(requestBody)
+                        .post(printfulConfig.getValidateSessionEndpoint()),
+                response -> {
+                    // If the third party returns a 5xx or 4xx, we don't crash, we just poll again
+                    if (response.statusCode() != 200) {
+                        log.warn("Received HTTP {} from validation API. Retrying...", response.statusCode());
+                        return false;
+                    }
+
+                    // Check if the body actually says "true"
+                    boolean isValid = Boolean.parseBoolean(response.asString().trim());
+                    if (!isValid) {
+                        log.warn("Session returned false. It may still be generating. Retrying...");
+                    }
+                    return isValid;
+                });
+
+        if (!valid) {
             log.error("Session validation failed: Timed out after {} seconds of retrying.", printfulConfig.getRetryTimeoutSeconds());
-            return false;
         }
+        return valid;
     }
 
     public AuthNonceResponse generateNonce(String phpSessId, String formKey) {
@@ -236,49 +230,67 @@ public class PrintfulApparelService {
     }
 
     public void fileLibraryGetUploadedFile(String nonce, String temporaryFileKey) {
-        log.info("--- Verifying Uploaded File in Printful Library (with Awaitility Polling) ---");
+        log.info("--- Verifying Uploaded File in Printful Library (adaptive polling) ---");
         String requestBody = String.format("{\"temporaryFileKey\":\"%s\"}", temporaryFileKey);
 
-        try {
-            Awaitility.await()
-                    .atMost(Duration.ofSeconds(printfulConfig.getRetryTimeoutSeconds()))
-                    .pollInterval(Duration.ofSeconds(printfulConfig.getRetryIntervalSeconds()))
-                    .until(() -> {
-                        log.info("Polling Printful File Library for temporaryFileKey: {}...", temporaryFileKey);
-
-                        Response response = given()
-                                .spec(defaultRequestSpec)
-                                .baseUri(printfulConfig.getPrintfulWebBaseUrl())
-                                .header("Authorization", "Bearer " + nonce)
-                                .contentType("application/json")
-                                .body(requestBody)
-                                .post("/rpc/embedded-designer-rpc/file-library-get-uploaded-file");
-
-                        if (response.statusCode() != 200) {
-                            log.warn("Received HTTP {} from file verification API. Retrying...", response.statusCode());
-                            return false;
-                        }
-
-                        // Parse the JSON. If Printful is still processing, it returns {"result": {"success": 0}}
-                        Integer successFlag = response.jsonPath().get("result.success");
-                        if (successFlag != null && successFlag == 0) {
-                            log.warn("Printful is still processing the file (success: 0). Retrying...");
-                            return false;
-                        }
-
-                        log.info("File successfully verified by Printful!");
-                        return true;
-                    });
-
-        } catch (ConditionTimeoutException e) {
+        boolean verified = poller.until("printful.file-library.uploaded-file", Duration.ofSeconds(printfulConfig.getRetryTimeoutSeconds()),
+                () -> {
+                    log.info("Polling Printful File Library for temporaryFileKey: {}...", temporaryFileKey);
+                    return given()
+                            .spec(defaultRequestSpec)
+                            .baseUri(printfulConfig.getPrintfulWebBaseUrl())
+                            .header("Authorization", "Bearer " + nonce)
+                            .contentType("application/json")
+                            .body(requestBody)
+                            .post("/rpc/embedded-designer-rpc/file-library-get-uploaded-file");
+                },
+                response -> {
+                    if (response.statusCode() != 200) {
+                        log.warn("Received HTTP {} from file verification API. Retrying...", response.statusCode());
+                        return false;
+                    }
+
+                    // Parse the JSON. If Printful is still processing, it returns {"result": {"success": 0}}
+                    Integer successFlag = response.jsonPath().get("result.success");
+                    if (successFlag != null && successFlag == 0) {
+                        log.warn("Printful is still processing the file (success: 0). Retrying...");
+                        return false;
+                    }
+
+                    log.info("File successfully verified by Printful!");
+                    return true;
+                });
+
+        if (!verified) {
             String message = "File verification failed: Timed out after " + printfulConfig.getRetryTimeoutSeconds() + " seconds of retrying.";
             log.error(message);
-            throw new IllegalStateException(message, e);
+            throw new IllegalStateException(message);
         }
     }
 
-    public PrintfulCatalogResponse getCatalogProducts(String categoryId) {
-        log.info("--- Fetching Printful Catalog Products for Category ID: {} ---", categoryId);
+    /**
+     * All products of a category, requested page by page as the iterator is consumed.
+     * PrintfulCatalogCache keeps the result for the run; prefer it over calling this per scenario.
+     */
+    public PagedIterator<PrintfulCatalogResponse.CatalogProduct> iterateCatalogProducts(String categoryId) {
+        return new PagedIterator<>(catalogPageSize, (offset, limit) -> {
+            PrintfulCatalogResponse page = getCatalogProducts(categoryId, offset, limit);
+            return new PagedIterator.Page<>(page.getData(), page.getPaging() == null ? null : page.getPaging().getTotal());
+        });
+    }
+
+    /**
+     * All variants of a product, requested page by page as the iterator is consumed.
+     */
+    public PagedIterator<PrintfulCatalogVariantsResponse.CatalogVariant> iterateCatalogVariants(String productId) {
+        return new PagedIterator<>(catalogPageSize, (offset, limit) -> {
+            PrintfulCatalogVariantsResponse page = getCatalogVariants(productId, offset, limit);
+            return new PagedIterator.Page<>(page.getData(), page.getPaging() == null ? null : page.getPaging().getTotal());
+        });
+    }
+
+    public PrintfulCatalogResponse getCatalogProducts(String categoryId, int offset, int limit) {
+        log.info("--- Fetching Printful Catalog Products for Category ID: {} (offset {}, limit {}) ---", categoryId, offset, limit);
 
         return given()
                 .spec(defaultRequestSpec) // <--- THIS triggers your framework's CurlLoggingFilter
@@ -286,6 +298,8 @@ public class PrintfulApparelService {
                 .header("Authorization", "Bearer " + printfulConfig.getPrintfulApiToken())
                 .header("X-PF-Store-ID", printfulConfig.getPrintfulStoreId())
                 .queryParam("category_ids", categoryId)
+                .queryParam("offset", offset)
+                .queryParam("limit", limit)
                 .get("/v2/catalog-products")
                 .then()
                 .statusCode(200)
@@ -293,15 +307,16 @@ public class PrintfulApparelService {
                 .as(PrintfulCatalogResponse.class);
     }
 
-    public PrintfulCatalogVariantsResponse getCatalogVariants(String productId) {
-        log.info("--- Fetching Printful Catalog Variants for Product ID: {} ---", productId);
+    public PrintfulCatalogVariantsResponse getCatalogVariants(String productId, int offset, int limit) {
+        log.info("--- Fetching Printful Catalog Variants for Product ID: {} (offset {}, limit {}) ---", productId, offset, limit);
 
         return given()
                 .spec(defaultRequestSpec)
                 .baseUri(printfulConfig.getPrintfulApiBaseUrl()) // Targets API host from config
                 .header("Authorization", "Bearer " + printfulConfig.getPrintfulApiToken())
                 .header("X-PF-Store-ID", printfulConfig.getPrintfulStoreId())
-                .queryParam("limit", 100)
+                .queryParam("offset", offset)
+                .queryParam("limit", limit)
                 .get("/v2/catalog-products/" + productId + "/catalog-variants")
                 .then()
                 .statusCode(200)
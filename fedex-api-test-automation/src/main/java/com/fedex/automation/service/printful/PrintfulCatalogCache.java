@@ -0,0 +1,195 @@
+package com.fedex.automation.service.printful;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fedex.automation.model.printful.PrintfulCatalogResponse.CatalogProduct;
+import com.fedex.automation.model.printful.PrintfulCatalogVariantsResponse.CatalogVariant;
+import com.fedex.automation.utils.LazyPagedList;
+import com.fedex.automation.utils.PagedIterator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Shared cache of the Printful v2 catalog: the products of a category and the variants of a product, kept once per
+ * TTL and reused by every scenario of the run. Entries are lazy: pages are fetched only as far as callers read
+ * (see LazyPagedList), and every caller shares the pages already fetched.
+ * One entry per key at a time, so parallel scenarios never fetch the same page twice.
+ * Optionally persisted to disk once fully read; a disk entry older than the TTL is ignored.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PrintfulCatalogCache {
+
+    private final PrintfulApparelService printfulApparelService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${printful.catalog.cache-ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    @Value("${printful.catalog.cache.disk.enabled:false}")
+    private boolean diskEnabled;
+
+    @Value("${printful.catalog.cache.dir:target/printful-catalog-cache}")
+    private String cacheDir;
+
+    private final Map<String, CachedEntry> entries = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * The products of the category, in catalog order; pages are fetched as the stream is consumed.
+     */
+    public LazyPagedList<CatalogProduct> products(String categoryId) {
+        JavaType type = objectMapper.getTypeFactory().constructCollectionType(List.class, CatalogProduct.class);
+        return get("products-category-" + categoryId, "category " + categoryId, type,
+                () -> printfulApparelService.iterateCatalogProducts(categoryId), items -> items);
+    }
+
+    /**
+     * The variants of the product, indexed by color and size as they are fetched.
+     */
+    public VariantIndex variants(String productId) {
+        JavaType type = objectMapper.getTypeFactory().constructCollectionType(List.class, CatalogVariant.class);
+        return get("variants-product-" + productId, "product " + productId, type,
+                () -> printfulApparelService.iterateCatalogVariants(productId), VariantIndex::new);
+    }
+
+    /**
+     * The cached value for {@code key}, or {@code build} applied to a fresh disk entry or to a new lazy list of pages.
+     */
+    @SuppressWarnings("unchecked")
+    private <T, R> R get(String key, String what, JavaType type, Supplier<PagedIterator<T>> pages, Function<LazyPagedList<T>, R> build) {
+        CachedEntry cached = entries.get(key);
+        if (isFresh(cached)) return (R) cached.value;
+
+        ReentrantLock lock = locks.computeIfAbsent(key, k -> new ReentrantLock());
+        lock.lock();
+        try {
+            // Whoever held the lock before us may already have created it
+            cached = entries.get(key);
+            if (isFresh(cached)) return (R) cached.value;
+            if (diskEnabled) {
+                CachedEntry stored = readFromDisk(key, type);
+                if (isFresh(stored)) {
+                    List<T> items = (List<T>) stored.value;
+                    cached = new CachedEntry(build.apply(LazyPagedList.of(items)), stored.storedAt);
+                    entries.put(key, cached);
+                    log.info("--- [Printful Catalog] Loaded {} items for {} from disk ---", items.size(), key);
+                    return (R) cached.value;
+                }
+            }
+
+            Instant createdAt = Instant.now();
+            PagedIterator<T> iterator = pages.get();
+            LazyPagedList<T> items = new LazyPagedList<>(iterator, all -> {
+                log.info("--- [Printful Catalog] Read all {} items of {} in {} page(s) ---", all.size(), what, iterator.getPagesFetched());
+                if (diskEnabled && ttlSeconds > 0) writeToDisk(key, all, createdAt);
+            });
+            CachedEntry current = new CachedEntry(build.apply(items), createdAt);
+            if (ttlSeconds > 0) entries.put(key, current);
+            return (R) current.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isFresh(CachedEntry cached) {
+        return cached != null && Instant.now().isBefore(cached.storedAt.plus(Duration.ofSeconds(ttlSeconds)));
+    }
+
+    // The entry's value is the plain item list here; get() builds the cached value from it
+    private CachedEntry readFromDisk(String key, JavaType type) {
+        Path file = Path.of(cacheDir, key + ".json");
+        if (!Files.exists(file)) return null;
+        try {
+            JsonNode node = objectMapper.readTree(file.toFile());
+            List<?> items = objectMapper.convertValue(node.get("items"), type);
+            return new CachedEntry(items, Instant.ofEpochMilli(node.path("storedAt").asLong()));
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable Printful catalog cache file {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, List<?> items, Instant storedAt) {
+        try {
+            Files.createDirectories(Path.of(cacheDir));
+            ObjectNode node = objectMapper.createObjectNode().put("storedAt", storedAt.toEpochMilli());
+            node.set("items", objectMapper.valueToTree(items));
+
+            // Write to a temp file and move, so a parallel run never reads a half-written entry
+            Path tmp = Files.createTempFile(Path.of(cacheDir), key, ".tmp");
+            objectMapper.writeValue(tmp.toFile(), node);
+            Files.move(tmp, Path.of(cacheDir, key + ".json"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            log.warn("Could not persist Printful catalog entry {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static final class CachedEntry {
+        private final Object value;
+        private final Instant storedAt;
+
+        private CachedEntry(Object value, Instant storedAt) {
+            this.value = value;
+            this.storedAt = storedAt;
+        }
+    }
+
+    /**
+     * Variants of one product with constant-time lookup by color and size (both case-insensitive).
+     * A lookup that misses indexes further variants, fetching pages only until the variant is found.
+     */
+    public static class VariantIndex {
+        private final LazyPagedList<CatalogVariant> variants;
+        // Guarded by this; holds the first `indexed` variants
+        private final Map<String, CatalogVariant> byColorAndSize = new HashMap<>();
+        private int indexed;
+
+        public VariantIndex(LazyPagedList<CatalogVariant> variants) {
+            this.variants = variants;
+        }
+
+        public synchronized Optional<CatalogVariant> find(String color, String size) {
+            String key = key(color, size);
+            CatalogVariant variant;
+            while (!byColorAndSize.containsKey(key) && (variant = variants.get(indexed)) != null) {
+                // Keep the first variant when the catalog lists the same color/size twice
+                byColorAndSize.putIfAbsent(key(variant.getColor(), variant.getSize()), variant);
+                indexed++;
+            }
+            return Optional.ofNullable(byColorAndSize.get(key));
+        }
+
+        public List<CatalogVariant> getVariants() {
+            return variants.toList();
+        }
+
+        private static String key(String color, String size) {
+            return normalize(color) + "|" + normalize(size);
+        }
+
+        private static String normalize(String value) {
+            return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -8,8 +8,20 @@ public interface VendorSearchStrategy {
      */
     Vendor getVendor();
 
+    /**
+     * Resolves the SKU for a product without touching the scenario context, so it can run on a lookup thread.
+     */
+    String resolveSku(String productName);
+
+    /**
+     * Stores a resolved SKU in the scenario context (call from the step thread).
+     */
+    void saveToContext(String productName, String sku);
+
     /**
      * The specific implementation for how this vendor searches for products.
      */
-    void searchProduct(String productName);
-}
\ No newline at end of file
+    default void searchProduct(String productName) {
+        saveToContext(productName, resolveSku(productName));
+    }
+}
@@ -22,12 +22,15 @@ public class CbbSearchStrategy implements VendorSearchStrategy {
     }
 
     @Override
-    public void searchProduct(String productName) {
+    public String resolveSku(String productName) {
         log.info("Executing CBB-specific search for: {}", productName);
 
         // CBB is a 3P vendor, so we pass "3P" to the CatalogService
-        String sku = catalogService.searchProductSku(productName, "3P");
+        return catalogService.searchProductSku(productName, "3P");
+    }
 
+    @Override
+    public void saveToContext(String productName, String sku) {
         // Store it in the decoupled context list
         TestContext.ProductItemContext itemContext = new TestContext.ProductItemContext();
         itemContext.setProductName(productName);
@@ -22,12 +22,15 @@ public class FedexSearchStrategy implements VendorSearchStrategy {
     }
 
     @Override
-    public void searchProduct(String productName) {
+    public String resolveSku(String productName) {
         log.info("Executing Fedex-specific search for: {}", productName);
 
         // Fedex is a 1P vendor
-        String sku = catalogService.searchProductSku(productName, "1P");
+        return catalogService.searchProductSku(productName, "1P");
+    }
 
+    @Override
+    public void saveToContext(String productName, String sku) {
         // Store it in the decoupled context list
         TestContext.ProductItemContext itemContext = new TestContext.ProductItemContext();
         itemContext.setProductName(productName);
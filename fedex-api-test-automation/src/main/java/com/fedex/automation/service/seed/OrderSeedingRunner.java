@@ -0,0 +1,31 @@
+package com.fedex.automation.service.seed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command-line entry point for order seeding: mvn -Pseed test-compile spring-boot:run
+ * "-Dspring-boot.run.arguments=--seed.orders=300 --seed.concurrency=6". Run the same command again to resume.
+ * Only active with seed.enabled=true (see README "Order Seeding").
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "seed.enabled", havingValue = "true")
+public class OrderSeedingRunner implements ApplicationRunner {
+
+    private final OrderSeedingService orderSeedingService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        OrderSeedingService.SeedResult result = orderSeedingService.seed();
+        if (result.getOrderNumbers().size() < result.getRequested()) {
+            log.warn("--- [Seed] Only {} of {} orders exist; run again to retry the failed ones ---",
+                    result.getOrderNumbers().size(), result.getRequested());
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.fedex.automation.service.seed;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fedex.automation.config.SeedConfig;
+import com.fedex.automation.service.load.LoadTestMetrics;
+import com.fedex.automation.service.load.ThreePCheckoutFlow;
+import com.fedex.automation.service.load.VirtualUser;
+import com.fedex.automation.service.load.VirtualUserFactory;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Places real 3P orders in bulk through the same checkout chain as load mode (ThreePCheckoutFlow), for downstream
+ * Mirakl/fulfillment testing. Orders are numbered 1..N and every state change is appended to a JSONL file as it
+ * happens, so an interrupted run can be resumed:
+ * - PLACED orders are never placed again;
+ * - an order that reached SUBMITTING without a PLACED line may exist on the server, so it is reported as uncertain
+ * and skipped rather than risk a duplicate (delete its lines to place it again);
+ * - FAILED orders (failed before submission) are retried.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderSeedingService {
+
+    static final String SUBMITTING = "SUBMITTING";
+    static final String PLACED = "PLACED";
+    static final String FAILED = "FAILED";
+    static final String UNCERTAIN = "UNCERTAIN";
+
+    private final SeedConfig config;
+    private final VirtualUserFactory virtualUserFactory;
+    private final ThreePCheckoutFlow checkoutFlow;
+    private final ObjectMapper objectMapper;
+
+    public SeedResult seed() {
+        return seed(config.getOrders(), Path.of(config.getOutputFile()));
+    }
+
+    /**
+     * Makes sure {@code orders} orders exist in {@code output}, placing only the ones missing from earlier runs.
+     */
+    public SeedResult seed(int orders, Path output) {
+        Map<Integer, JsonNode> previous = readLatestStates(output);
+        List<String> orderNumbers = Collections.synchronizedList(new ArrayList<>());
+        Queue<Integer> pending = new ConcurrentLinkedQueue<>();
+        int alreadyPlaced = 0;
+        List<Integer> uncertain = new ArrayList<>();
+
+        for (int seq = 1; seq <= orders; seq++) {
+            JsonNode state = previous.get(seq);
+            String status = state == null ? null : state.path("status").asText();
+            if (PLACED.equals(status)) {
+                alreadyPlaced++;
+                orderNumbers.add(state.path("orderNumber").asText());
+            } else if (SUBMITTING.equals(status) || UNCERTAIN.equals(status)) {
+                uncertain.add(seq);
+            } else {
+                pending.add(seq);
+            }
+        }
+
+        log.info("--- [Seed] {} orders wanted in {}: {} already placed, {} uncertain (skipped), {} to place with {} workers ---",
+                orders, output.toAbsolutePath(), alreadyPlaced, uncertain.size(), pending.size(), config.getConcurrency());
+        if (!uncertain.isEmpty()) {
+            log.warn("--- [Seed] Orders {} were being submitted when a previous run stopped; check them manually ---", uncertain);
+        }
+
+        LoadTestMetrics metrics = new LoadTestMetrics();
+        JsonlLog jsonl = new JsonlLog(output, objectMapper);
+        jsonl.terminatePartialLine();
+        long intervalNanos = config.getRatePerSecond() > 0 ? (long) (1_000_000_000L / config.getRatePerSecond()) : 0;
+        AtomicLong nextSlot = new AtomicLong(System.nanoTime());
+        int toPlace = pending.size();
+
+        List<Future<?>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 1; w <= Math.min(config.getConcurrency(), toPlace); w++) {
+                int workerId = w;
+                workers.add(executor.submit(() -> runWorker(workerId, pending, intervalNanos, nextSlot, metrics, jsonl, orderNumbers, uncertain)));
+            }
+        }
+        // close() waited for every worker; one that died (e.g. the seed log became unwritable) must not go unnoticed
+        IllegalStateException failure = null;
+        for (Future<?> worker : workers) {
+            if (worker.state() != Future.State.FAILED) continue;
+            if (failure == null) {
+                failure = new IllegalStateException("Seeding stopped early; check " + output.toAbsolutePath() + " before resuming",
+                        worker.exceptionNow());
+            } else {
+                failure.addSuppressed(worker.exceptionNow());
+            }
+        }
+        if (failure != null) {
+            log.error("--- [Seed] {}: {} ---", failure.getMessage(), failure.getCause().toString());
+            throw failure;
+        }
+
+        SeedResult result = new SeedResult(orders, alreadyPlaced, (int) metrics.getCompletedIterations(),
+                (int) metrics.getFailedIterations(), List.copyOf(uncertain), List.copyOf(orderNumbers));
+        log.info("--- [Seed] Done: {} placed now, {} in total, {} failed, {} uncertain ---",
+                result.getPlacedNow(), result.getOrderNumbers().size(), result.getFailed(), result.getUncertain().size());
+        return result;
+    }
+
+    private void runWorker(int workerId, Queue<Integer> pending, long intervalNanos, AtomicLong nextSlot,
+                           LoadTestMetrics metrics, JsonlLog jsonl, List<String> orderNumbers, List<Integer> uncertain) {
+        VirtualUser vu = virtualUserFactory.create(workerId);
+        Integer seq;
+        while ((seq = pending.poll()) != null) {
+            int order = seq;
+            for (int attempt = 1; attempt <= config.getMaxAttempts(); attempt++) {
+                if (intervalNanos > 0) parkUntil(nextSlot.getAndAdd(intervalNanos));
+
+                AtomicBoolean submitting = new AtomicBoolean();
+                int currentAttempt = attempt;
+                try {
+                    String orderNumber = checkoutFlow.placeOrder(vu, config.getProductName(), config.getQuantity(),
+                            config.getShippingMethod(), metrics, () -> {
+                                jsonl.append(order, SUBMITTING, currentAttempt, null, null);
+                                submitting.set(true);
+                            });
+                    jsonl.append(order, PLACED, attempt, orderNumber, null);
+                    orderNumbers.add(orderNumber);
+                    metrics.iterationCompleted();
+                    log.info("[Seed-{}] Order {} placed: {}", workerId, order, orderNumber);
+                    break;
+                } catch (RuntimeException | AssertionError e) {
+                    if (submitting.get()) {
+                        // The order may exist server-side; never retry it automatically
+                        jsonl.append(order, UNCERTAIN, attempt, null, e.getMessage());
+                        synchronized (uncertain) {
+                            uncertain.add(order);
+                        }
+                        metrics.iterationFailed();
+                        log.warn("[Seed-{}] Order {} failed during submission, not retrying: {}", workerId, order, e.getMessage());
+                        break;
+                    }
+                    jsonl.append(order, FAILED, attempt, null, e.getMessage());
+                    log.warn("[Seed-{}] Order {} attempt {}/{} failed: {}", workerId, order, attempt, config.getMaxAttempts(), e.getMessage());
+                    if (attempt == config.getMaxAttempts()) metrics.iterationFailed();
+                }
+            }
+        }
+    }
+
+    /**
+     * Latest line per order number; a PLACED line is final. Unreadable lines (e.g. cut off by a kill) are skipped.
+     */
+    Map<Integer, JsonNode> readLatestStates(Path output) {
+        Map<Integer, JsonNode> states = new TreeMap<>();
+        if (!Files.isRegularFile(output)) return states;
+        try {
+            for (String line : Files.readAllLines(output, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) continue;
+                JsonNode node;
+                try {
+                    node = objectMapper.readTree(line);
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable seed log line: {}", line);
+                    continue;
+                }
+                int seq = node.path("seq").asInt(-1);
+                JsonNode current = states.get(seq);
+                if (seq > 0 && (current == null || !PLACED.equals(current.path("status").asText()))) {
+                    states.put(seq, node);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read seed log " + output, e);
+        }
+        return states;
+    }
+
+    private static void parkUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * Append-only JSONL writer; each line is synced to disk before the call returns.
+     */
+    private static final class JsonlLog {
+        private final Path file;
+        private final ObjectMapper objectMapper;
+
+        private JsonlLog(Path file, ObjectMapper objectMapper) {
+            this.file = file;
+            this.objectMapper = objectMapper;
+        }
+
+        // A run killed mid-write leaves a partial last line; start the next record on a line of its own
+        synchronized void terminatePartialLine() {
+            try (SeekableByteChannel channel = Files.newByteChannel(file, StandardOpenOption.READ)) {
+                if (channel.size() == 0) return;
+                ByteBuffer last = ByteBuffer.allocate(1);
+                channel.position(channel.size() - 1).read(last);
+                if (last.get(0) != '\n') {
+                    Files.writeString(file, System.lineSeparator(), StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+                }
+            } catch (NoSuchFileException e) {
+                // first run
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read seed log " + file, e);
+            }
+        }
+
+        synchronized void append(int seq, String status, int attempt, String orderNumber, String error) {
+            ObjectNode line = objectMapper.createObjectNode()
+                    .put("seq", seq)
+                    .put("status", status)
+                    .put("attempt", attempt)
+                    .put("at", Instant.now().toString());
+            if (orderNumber != null) line.put("orderNumber", orderNumber);
+            if (error != null) line.put("error", error);
+            try {
+                if (file.getParent() != null) Files.createDirectories(file.getParent());
+                Files.writeString(file, objectMapper.writeValueAsString(line) + System.lineSeparator(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not append to seed log " + file, e);
+            }
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class SeedResult {
+        private final int requested;
+        private final int alreadyPlaced;
+        private final int placedNow;
+        private final int failed;
+        private final List<Integer> uncertain;
+        private final List<String> orderNumbers;
+    }
+}
@@ -0,0 +1,102 @@
+package com.fedex.automation.utils;
+
+import com.fedex.automation.config.PollingConfig;
+import io.restassured.response.Response;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Polls an asynchronous backend until it reports ready. The first check runs immediately; after that the wait grows
+ * exponentially (poll.initial-interval-ms x poll.multiplier, capped at poll.max-interval-ms) with random jitter so
+ * parallel scenarios do not poll in lockstep. A Retry-After header on a not-ready response is honored as the minimum
+ * wait. Time-to-ready and attempts per target are recorded in EndpointMetrics under "polls".
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdaptivePoller {
+
+    private final PollingConfig config;
+
+    /**
+     * Calls {@code call} until {@code ready} accepts its response or {@code timeout} runs out.
+     * Exceptions thrown by the call are not retried.
+     *
+     * @param target name the histogram is kept under, e.g. "printful.file-library"
+     * @return true when ready, false on timeout
+     */
+    public boolean until(String target, Duration timeout, Supplier<Response> call, Predicate<Response> ready) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        int attempts = 0;
+
+        while (true) {
+            attempts++;
+            Response response = call.get();
+            if (ready.test(response)) {
+                long elapsed = System.nanoTime() - start;
+                EndpointMetrics.recordPoll(target, elapsed, attempts, true);
+                log.info("--- [Poll] {} ready after {} attempt(s) in {} ms ---", target, attempts, TimeUnit.NANOSECONDS.toMillis(elapsed));
+                return true;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                EndpointMetrics.recordPoll(target, System.nanoTime() - start, attempts, false);
+                log.warn("--- [Poll] {} not ready after {} attempt(s) in {} s ---", target, attempts, timeout.toSeconds());
+                return false;
+            }
+
+            long waitMillis = Math.max(backoffMillis(attempts), retryAfterMillis(response.getHeader("Retry-After")));
+            sleep(Math.min(TimeUnit.MILLISECONDS.toNanos(waitMillis), remaining));
+        }
+    }
+
+    /**
+     * Jittered wait before the next check, after {@code attempts} checks have failed.
+     */
+    long backoffMillis(int attempts) {
+        double base = config.getInitialIntervalMs() * Math.pow(config.getMultiplier(), attempts - 1);
+        double capped = Math.min(base, config.getMaxIntervalMs());
+        double jitter = Math.min(Math.max(config.getJitter(), 0), 1);
+        return Math.round(capped * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+    }
+
+    /**
+     * Retry-After as delta-seconds or an HTTP date; 0 when absent or unparseable.
+     */
+    public static long retryAfterMillis(String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) return 0;
+        String value = retryAfter.trim();
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(Long.parseLong(value), 0));
+        } catch (NumberFormatException ignored) {
+            // not delta-seconds, try an HTTP date
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(Duration.between(ZonedDateTime.now(at.getZone()), at).toMillis(), 0);
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while polling", e);
+        }
+    }
+}
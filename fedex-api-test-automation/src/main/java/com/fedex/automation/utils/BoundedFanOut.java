@@ -0,0 +1,109 @@
+package com.fedex.automation.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Runs independent per-item lookups (catalog search, offer lookup, menu resolution...) concurrently
+ * on virtual threads, at most {@code lookup.fanout.max-concurrency} at a time.
+ * Results come back in input order; the first lookup to fail cancels the rest and is rethrown naming its item.
+ * Lookups must not touch scenario-scoped beans (TestContext): merge results on the calling thread.
+ */
+@Slf4j
+@Component
+public class BoundedFanOut {
+
+    @Value("${lookup.fanout.max-concurrency:4}")
+    private int maxConcurrency;
+
+    public <T, R> List<R> map(List<T> items, Function<T, String> describe, Function<T, R> lookup) {
+        return map(items, describe, lookup, maxConcurrency);
+    }
+
+    /**
+     * Same as {@link #map(List, Function, Function)} with a caller-specific limit instead of the shared one.
+     */
+    public <T, R> List<R> map(List<T> items, Function<T, String> describe, Function<T, R> lookup, int maxConcurrency) {
+        if (items.size() <= 1 || maxConcurrency <= 1) {
+            List<R> results = new ArrayList<>(items.size());
+            for (T item : items) {
+                try {
+                    results.add(lookup.apply(item));
+                } catch (RuntimeException | AssertionError e) {
+                    throw failure(describe.apply(item), e);
+                }
+            }
+            return results;
+        }
+
+        Object[] results = new Object[items.size()];
+        Semaphore permits = new Semaphore(maxConcurrency);
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("lookup-", 0).factory());
+        CompletionService<Integer> completion = new ExecutorCompletionService<>(executor);
+        StepCallTrace.Step step = StepCallTrace.current();
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < items.size(); i++) {
+                int index = i;
+                completion.submit(() -> {
+                    permits.acquire();
+                    try {
+                        results[index] = StepCallTrace.within(step, () -> lookup.apply(items.get(index)));
+                        return index;
+                    } catch (RuntimeException | AssertionError e) {
+                        throw new ItemFailure(index, e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+
+            // Completion order, so the earliest failure is the one reported
+            for (int done = 0; done < items.size(); done++) {
+                try {
+                    completion.take().get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof ItemFailure itemFailure) {
+                        throw failure(describe.apply(items.get(itemFailure.index)), itemFailure.getCause());
+                    }
+                    throw new IllegalStateException("Lookup failed: " + e.getCause(), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for lookups", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info("Resolved {} lookups in {} ms (max {} concurrent)", items.size(), (System.nanoTime() - start) / 1_000_000, maxConcurrency);
+        @SuppressWarnings("unchecked")
+        List<R> ordered = (List<R>) Arrays.asList(results);
+        return ordered;
+    }
+
+    private static IllegalStateException failure(String item, Throwable cause) {
+        return new IllegalStateException("Lookup failed for " + item + ": " + cause.getMessage(), cause);
+    }
+
+    private static final class ItemFailure extends RuntimeException {
+        private final int index;
+
+        private ItemFailure(int index, Throwable cause) {
+            super(cause);
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.fedex.automation.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fedex.automation.model.fedex.CartPageSnapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Single-pass scanner over the cart page HTML stream. Pulls form_key, maskedQuoteId and the
+ * window.checkoutConfig object without building the whole page as a String: markers are searched chunk by chunk,
+ * and checkoutConfig is handed straight to a streaming JSON parser at its opening brace.
+ * Stops reading as soon as all three values are found. Works on any InputStream; SessionService passes the
+ * already-buffered response body, so the saving there is the page String and regex passes, not network memory.
+ */
+public final class CartPageScanner {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false);
+
+    private static final String FORM_KEY_MARKER = "form_key\"";
+    private static final String MASKED_QUOTE_ID_MARKER = "\"maskedQuoteId\":\"";
+    private static final String CHECKOUT_CONFIG_MARKER = "window.checkoutConfig =";
+    private static final int MAX_MARKER_LENGTH = CHECKOUT_CONFIG_MARKER.length();
+
+    // Same shape the old regex accepted: form_key"  type="hidden"  value="..."
+    private static final Pattern FORM_KEY_TAIL = Pattern.compile("^\\s+type=\"hidden\"\\s+value=\"([^\"]+)\"");
+    private static final int LOOKAHEAD = 256;
+    private static final int MAX_VALUE_LENGTH = 512;
+
+    private CartPageScanner() {
+    }
+
+    public static CartPageSnapshot scan(InputStream body) throws IOException {
+        ByteSource in = new ByteSource(body);
+        String formKey = null;
+        String maskedQuoteId = null;
+        JsonNode checkoutConfig = null;
+
+        while (formKey == null || maskedQuoteId == null || checkoutConfig == null) {
+            // Markers are ASCII, so a Latin-1 view of the buffered bytes keeps offsets 1:1 and gets intrinsic indexOf
+            String window = in.window();
+            String marker = null;
+            int at = -1;
+            for (String candidate : new String[]{
+                    formKey == null ? FORM_KEY_MARKER : null,
+                    maskedQuoteId == null ? MASKED_QUOTE_ID_MARKER : null,
+                    checkoutConfig == null ? CHECKOUT_CONFIG_MARKER : null}) {
+                if (candidate == null) continue;
+                int index = window.indexOf(candidate);
+                if (index >= 0 && (at < 0 || index < at)) {
+                    at = index;
+                    marker = candidate;
+                }
+            }
+
+            if (marker == null) {
+                // Keep a marker-sized tail so a marker split across reads is still found
+                if (!in.refill(MAX_MARKER_LENGTH - 1)) break;
+                continue;
+            }
+
+            in.skip(at + marker.length());
+            if (marker == FORM_KEY_MARKER) {
+                formKey = readFormKey(in);
+            } else if (marker == MASKED_QUOTE_ID_MARKER) {
+                maskedQuoteId = readUntilQuote(in);
+            } else {
+                checkoutConfig = readJsonObject(in);
+                if (maskedQuoteId == null && checkoutConfig != null) {
+                    JsonNode embedded = checkoutConfig.findValue("maskedQuoteId");
+                    if (embedded != null && embedded.isTextual()) maskedQuoteId = embedded.asText();
+                }
+            }
+        }
+
+        return CartPageSnapshot.builder()
+                .formKey(formKey)
+                .maskedQuoteId(maskedQuoteId)
+                .checkoutConfig(checkoutConfig)
+                .build();
+    }
+
+    private static String readFormKey(ByteSource in) throws IOException {
+        // Peek only: the bytes are scanned again for the other markers
+        Matcher matcher = FORM_KEY_TAIL.matcher(in.peek(LOOKAHEAD));
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static String readUntilQuote(ByteSource in) throws IOException {
+        ByteArrayOutputStream value = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1 && b != '"') {
+            if (value.size() >= MAX_VALUE_LENGTH) return null;
+            value.write(b);
+        }
+        // A page cut off inside the value has no closing quote: don't report a partial ID
+        return b == -1 ? null : value.toString(StandardCharsets.UTF_8);
+    }
+
+    private static JsonNode readJsonObject(ByteSource in) throws IOException {
+        int b;
+        while ((b = in.read()) != -1 && Character.isWhitespace(b)) {
+            // skip to the opening brace
+        }
+        if (b != '{') {
+            if (b != -1) in.unread();
+            return null;
+        }
+        in.unread();
+
+        ByteArrayInputStream buffered = in.drainBuffer();
+        try (JsonParser parser = MAPPER.createParser(new SequenceInputStream(buffered, in.stream()))) {
+            JsonNode node;
+            try {
+                node = MAPPER.readTree(parser);
+            } catch (JsonProcessingException e) {
+                // Malformed or cut-off object: treat it like a page without checkoutConfig and keep scanning
+                node = null;
+            }
+            // The parser reads ahead in blocks: give back whatever it buffered past the closing brace
+            ByteArrayOutputStream unread = new ByteArrayOutputStream();
+            parser.releaseBuffered(unread);
+            buffered.transferTo(unread);
+            in.pushBack(unread.toByteArray());
+            return node;
+        }
+    }
+
+    /**
+     * Buffered byte reader with peek and push-back over the response stream.
+     */
+    private static final class ByteSource {
+        private final InputStream in;
+        private byte[] buf = new byte[8192];
+        private int pos;
+        private int limit;
+
+        private ByteSource(InputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * Latin-1 view of the bytes buffered but not yet consumed (reads a chunk first if none are).
+         */
+        String window() throws IOException {
+            if (pos == limit) fill();
+            return new String(buf, pos, limit - pos, StandardCharsets.ISO_8859_1);
+        }
+
+        void skip(int n) {
+            pos += n;
+        }
+
+        /**
+         * Drops the window except its last {@code keep} bytes and reads the next chunk behind them.
+         * @return false at end of stream
+         */
+        boolean refill(int keep) throws IOException {
+            int kept = Math.min(keep, limit - pos);
+            System.arraycopy(buf, limit - kept, buf, 0, kept);
+            pos = 0;
+            limit = kept;
+            int read = in.read(buf, limit, buf.length - limit);
+            if (read <= 0) return false;
+            limit += read;
+            return true;
+        }
+
+        int read() throws IOException {
+            if (pos == limit && !fill()) return -1;
+            return buf[pos++] & 0xFF;
+        }
+
+        void unread() {
+            pos--;
+        }
+
+        /**
+         * Up to {@code n} upcoming bytes (fewer at end of stream) as ISO-8859-1 text, without consuming them.
+         */
+        String peek(int n) throws IOException {
+            if (limit - pos < n) {
+                System.arraycopy(buf, pos, buf, 0, limit - pos);
+                limit -= pos;
+                pos = 0;
+                int read;
+                while (limit < n && (read = in.read(buf, limit, buf.length - limit)) > 0) {
+                    limit += read;
+                }
+            }
+            return new String(buf, pos, Math.min(n, limit - pos), StandardCharsets.ISO_8859_1);
+        }
+
+        ByteArrayInputStream drainBuffer() {
+            ByteArrayInputStream remaining = new ByteArrayInputStream(buf, pos, limit - pos);
+            pos = limit;
+            return remaining;
+        }
+
+        InputStream stream() {
+            return in;
+        }
+
+        void pushBack(byte[] bytes) {
+            byte[] merged = new byte[Math.max(buf.length, bytes.length + limit - pos)];
+            System.arraycopy(bytes, 0, merged, 0, bytes.length);
+            System.arraycopy(buf, pos, merged, bytes.length, limit - pos);
+            limit = bytes.length + limit - pos;
+            pos = 0;
+            buf = merged;
+        }
+
+        private boolean fill() throws IOException {
+            int read = in.read(buf, 0, buf.length);
+            pos = 0;
+            limit = Math.max(read, 0);
+            return read > 0;
+        }
+    }
+}
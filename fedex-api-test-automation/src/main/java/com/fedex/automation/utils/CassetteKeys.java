@@ -0,0 +1,153 @@
+package com.fedex.automation.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Builds the cassette key of an HTTP call: method + endpoint template + hash of the normalized request.
+ * The recording filter (client side) and the replay stub (server side) both end up here, so a request
+ * normalizes to the same key whether it is read from a RestAssured spec or from the raw bytes on the wire.
+ */
+public final class CassetteKeys {
+
+    private static final ObjectMapper SORTED_MAPPER = JsonMapper.builder()
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    private CassetteKeys() {
+    }
+
+    public static String key(String method, String template, String normalizedRequest) {
+        return method.toUpperCase() + " " + template + " " + hash(normalizedRequest);
+    }
+
+    /**
+     * @param query       name=value pairs from the query string (already decoded), any order, duplicates allowed
+     * @param contentType request content type, or null
+     * @param body        raw request body, or null
+     * @param formParams  form fields when the body has not been encoded yet (client side), otherwise null
+     * @param volatileFields field/param names whose values change on every run (form_key, timestamps, ...)
+     */
+    public static String normalize(Collection<String> query, String contentType, String body,
+                                   Map<String, ?> formParams, Set<String> volatileFields) {
+        StringBuilder normalized = new StringBuilder();
+        for (String pair : new TreeSet<>(query)) {
+            if (!volatileFields.contains(nameOf(pair))) normalized.append('?').append(pair).append('\n');
+        }
+
+        String type = contentType == null ? "" : contentType.toLowerCase();
+        if (type.startsWith("multipart/")) {
+            // Boundaries and file bytes differ per run; the endpoint template alone identifies an upload
+            return normalized.toString();
+        }
+        if (formParams != null && !formParams.isEmpty()) {
+            normalized.append(normalizeForm(formParams, volatileFields));
+        } else if (body != null && !body.isBlank()) {
+            if (type.contains("x-www-form-urlencoded")) {
+                normalized.append(normalizeForm(parseForm(body), volatileFields));
+            } else if (type.contains("json") || body.trim().startsWith("{") || body.trim().startsWith("[")) {
+                normalized.append(normalizeJson(body, volatileFields));
+            } else {
+                normalized.append(body.trim());
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Splits a raw (still encoded) query or form string into decoded name=value pairs.
+     */
+    public static List<String> decodePairs(String raw) {
+        List<String> pairs = new ArrayList<>();
+        if (raw == null || raw.isEmpty()) return pairs;
+        for (String pair : raw.split("&")) {
+            if (pair.isEmpty()) continue;
+            int equals = pair.indexOf('=');
+            String name = decode(equals >= 0 ? pair.substring(0, equals) : pair);
+            String value = equals >= 0 ? decode(pair.substring(equals + 1)) : "";
+            pairs.add(name + "=" + value);
+        }
+        return pairs;
+    }
+
+    private static Map<String, Object> parseForm(String body) {
+        Map<String, Object> form = new LinkedHashMap<>();
+        for (String pair : decodePairs(body)) {
+            int equals = pair.indexOf('=');
+            // Repeated fields (street[]) collapse into one sorted line, same as a List value on the client side
+            form.merge(pair.substring(0, equals), pair.substring(equals + 1), (a, b) -> a + "," + b);
+        }
+        return form;
+    }
+
+    private static String normalizeForm(Map<String, ?> form, Set<String> volatileFields) {
+        Set<String> lines = new TreeSet<>();
+        form.forEach((name, value) -> {
+            if (volatileFields.contains(name)) return;
+            List<String> values = new ArrayList<>();
+            for (Object v : value instanceof Collection<?> multi ? multi : List.of(String.valueOf(value))) {
+                values.addAll(List.of(String.valueOf(v).split(",")));
+            }
+            values.sort(null);
+            lines.add(name + "=" + String.join(",", values));
+        });
+        return String.join("\n", lines);
+    }
+
+    private static String normalizeJson(String body, Set<String> volatileFields) {
+        try {
+            JsonNode tree = SORTED_MAPPER.readTree(body);
+            strip(tree, volatileFields);
+            return SORTED_MAPPER.writeValueAsString(SORTED_MAPPER.treeToValue(tree, Object.class));
+        } catch (Exception e) {
+            return body.trim();
+        }
+    }
+
+    private static void strip(JsonNode node, Set<String> volatileFields) {
+        if (node instanceof ObjectNode object) {
+            object.remove(volatileFields);
+        }
+        Iterator<JsonNode> children = node.elements();
+        while (children.hasNext()) strip(children.next(), volatileFields);
+    }
+
+    private static String nameOf(String pair) {
+        int equals = pair.indexOf('=');
+        return equals >= 0 ? pair.substring(0, equals) : pair;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return value;
+        }
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.fedex.automation.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fedex.automation.service.cassette.CassetteScope;
+import com.fedex.automation.service.cassette.CassetteStore;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * With cassette.mode=record, writes every request/response pair going through defaultRequestSpec to the cassette store.
+ * With cassette.mode=replay, only tags each request with its scenario so the stub server keeps a separate position per scenario;
+ * the responses themselves come from the stub. A no-op otherwise.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CassetteRecordingFilter implements Filter {
+
+    private final CassetteStore cassetteStore;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (cassetteStore.isReplaying()) {
+            requestSpec.header(CassetteStore.SCOPE_HEADER, CassetteScope.current());
+        }
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (!cassetteStore.isRecording()) return response;
+
+        try {
+            List<Map.Entry<String, String>> headers = new ArrayList<>();
+            for (Header header : response.getHeaders()) {
+                headers.add(Map.entry(header.getName(), header.getValue()));
+            }
+            cassetteStore.record(requestSpec.getMethod(), requestSpec.getURI(), normalizedRequest(requestSpec),
+                    response.getStatusCode(), headers, response.getContentType(), response.asByteArray());
+        } catch (Exception e) {
+            log.warn("Could not record {} {}: {}", requestSpec.getMethod(), requestSpec.getURI(), e.getMessage());
+        }
+        return response;
+    }
+
+    // The scenario of the current step (also carried onto BoundedFanOut threads); outside Cucumber, the calling thread
+    @SuppressWarnings("unchecked")
+    private String normalizedRequest(FilterableRequestSpecification requestSpec) throws Exception {
+        // getURI() may or may not carry the query params already; the key de-duplicates them
+        List<String> query = new ArrayList<>(CassetteKeys.decodePairs(URI.create(requestSpec.getURI()).getRawQuery()));
+        requestSpec.getQueryParams().forEach((name, value) -> query.add(name + "=" + value));
+
+        Object body = requestSpec.getBody();
+        String rawBody = switch (body) {
+            case null -> null;
+            case String text -> text;
+            case byte[] bytes -> new String(bytes, StandardCharsets.UTF_8);
+            default -> objectMapper.writeValueAsString(body);
+        };
+        // RestAssured declares Map<String, String> but multi-value params come back as Lists
+        Map<String, Object> formParams = (Map<String, Object>) (Map) requestSpec.getFormParams();
+        return CassetteKeys.normalize(query, requestSpec.getContentType(), rawBody, formParams, cassetteStore.getVolatileFields());
+    }
+}
@@ -0,0 +1,153 @@
+package com.fedex.automation.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.fedex.automation.model.fedex.ConfiguredCartItemPayload;
+import com.fedex.automation.model.fedex.ConfiguredCartItemPayload.Choice;
+import com.fedex.automation.model.fedex.ConfiguredCartItemPayload.ConfiguredProduct;
+import com.fedex.automation.model.fedex.ConfiguredCartItemPayload.ContentAssociation;
+import com.fedex.automation.model.fedex.ConfiguredCartItemPayload.Feature;
+import com.fedex.automation.model.fedex.ConfiguredCartItemPayload.FxoProductInstance;
+import com.fedex.automation.model.fedex.ConfiguredCartItemPayload.PageGroup;
+import com.fedex.automation.model.fedex.ConfiguredCartItemPayload.Property;
+import com.fedex.automation.model.fedex.ConfiguredCartItemPayload.Workspace;
+
+import java.util.List;
+
+/**
+ * Builds the 1P "Flyers-Canva" configured add-to-cart payload. Every static section is serialized once when the class
+ * loads; per item only the IDs, quantity, instanceId and partner product are written by one shared ObjectWriter.
+ * The output is pinned byte-for-byte by ConfiguredCartItemPayloadsTest.
+ */
+public final class ConfiguredCartItemPayloads {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectWriter WRITER = MAPPER.writerFor(ConfiguredCartItemPayload.class);
+
+    private static final String EMPTY_ARRAY = "[]";
+
+    private static final String FEATURES = serialize(List.of(
+            new Feature(1448981549109L, "Paper Size", new Choice(1463685362954L, "5.5x8.5", List.of(
+                    new Property(1571841122054L, "DISPLAY_HEIGHT", "8.5"),
+                    new Property(1571841164815L, "DISPLAY_WIDTH", "5.5"),
+                    new Property(1449069906033L, "MEDIA_HEIGHT", "8.74"),
+                    new Property(1449069908929L, "MEDIA_WIDTH", "5.74")))),
+            new Feature(1448981549269L, "Sides", new Choice(1448988124560L, "Single-Sided", List.of(
+                    new Property(1461774376168L, "SIDE", "SINGLE"),
+                    new Property(1471294217799L, "SIDE_VALUE", "1")))),
+            new Feature(1448984679218L, "Orientation", new Choice(1449000016192L, "Vertical", List.of(
+                    new Property(1453260266287L, "PAGE_ORIENTATION", "PORTRAIT")))),
+            new Feature(1448981549741L, "Paper Type", new Choice(1448988664295L, "Laser (32 lb.)", List.of(
+                    new Property(1450324098012L, "MEDIA_TYPE", "E32"),
+                    new Property(1453234015081L, "PAPER_COLOR", "#FFFFFF")))),
+            new Feature(1448981549581L, "Print Color", new Choice(1448988600611L, "Full Color", List.of(
+                    new Property(1453242778807L, "PRINT_COLOR", "COLOR"))))));
+
+    // Product properties before and after PRODUCT_QTY_SET, the only one that follows the quantity
+    private static final RawValue PROPERTIES_HEAD = rawElements(List.of(
+            new Property(1453895478444L, "MIN_DPI", "150.0")));
+    private static final long PRODUCT_QTY_SET_ID = 1464709502522L;
+    private static final RawValue PROPERTIES_TAIL = rawElements(List.of(
+            new Property(1750254073200L, "TEMPLATE_VENDOR_CODE", null),
+            new Property(1455050109631L, "DEFAULT_IMAGE_HEIGHT", "8.74"),
+            new Property(1614715469176L, "IMPOSE_TEMPLATE_ID", "12"),
+            new Property(1568041487844L, "VENDOR_TEMPLATE", "YES"),
+            new Property(1453243262198L, "ENCODE_QUALITY", "100"),
+            new Property(1455050109636L, "DEFAULT_IMAGE_WIDTH", "5.74"),
+            new Property(1453242488328L, "ZOOM_PERCENTAGE", "60"),
+            new Property(1453894861756L, "LOCK_CONTENT_ORIENTATION", "true"),
+            new Property(1470151626854L, "SYSTEM_SI", "ATTENTION:Use the following instructions...")));
+
+    // Canva design the flyer is printed from
+    private static final String DESIGN_ID = "DAHBgu3RDPo";
+    private static final String CONTENT_ASSOCIATIONS = serialize(List.of(ContentAssociation.builder()
+            .parentContentReference("217c4306-0b65-11f1-8038-2da085f260c2")
+            .contentReference("22be444d-0b65-11f1-b14d-e291ef64be46")
+            .contentType("application/pdf")
+            .fileSizeBytes(0)
+            .fileName("Untitled Design")
+            .printReady(true)
+            .contentReqId(1455709847200L)
+            .name("Front_Side")
+            .purpose("SINGLE_SHEET_FRONT")
+            .pageGroups(List.of(new PageGroup(1, 1, 5.74, 8.74, "PORTRAIT")))
+            .physicalContent(false)
+            .build()));
+
+    private static final String USER_WORKSPACE = serialize(new Workspace(List.of(), List.of()));
+    private static final String FXO_PRODUCT_INSTANCE = serialize(new FxoProductInstance(List.of("25", "50", "100", "250", "500", "1000")));
+
+    private ConfiguredCartItemPayloads() {
+    }
+
+    public static ConfiguredCartItemPayload build(String sku, String partnerProductId, int quantity,
+                                                  String configuratorStateId, String configuratorSessionId,
+                                                  String expirationDateTime, long instanceId) {
+        ConfiguredProduct product = ConfiguredProduct.builder()
+                .id(1568921842428L)
+                .version(1)
+                .name("Flyers-Canva")
+                .qty(quantity)
+                .priceable(true)
+                .features(FEATURES)
+                .properties(List.of(PROPERTIES_HEAD, new Property(PRODUCT_QTY_SET_ID, "PRODUCT_QTY_SET", String.valueOf(quantity)), PROPERTIES_TAIL))
+                .pageExceptions(EMPTY_ARRAY)
+                .proofRequired(false)
+                .instanceId(instanceId)
+                .userProductName("Flyers-Canva-Auto")
+                .inserts(EMPTY_ARRAY)
+                .exceptions(EMPTY_ARRAY)
+                .addOns(EMPTY_ARRAY)
+                .contentAssociations(CONTENT_ASSOCIATIONS)
+                .productionContentAssociations(EMPTY_ARRAY)
+                .products(EMPTY_ARRAY)
+                .externalSkus(EMPTY_ARRAY)
+                .outSourced(false)
+                .contextKeys(EMPTY_ARRAY)
+                .designId(DESIGN_ID)
+                .partnerProductId(partnerProductId)
+                .build();
+
+        return ConfiguredCartItemPayload.builder()
+                .configuratorStateId(configuratorStateId)
+                .expirationDateTime(expirationDateTime)
+                .customDocumentDetails(EMPTY_ARRAY)
+                .editable(true)
+                .product(product)
+                .integratorProductReference(sku)
+                .configuratorSessionId(configuratorSessionId)
+                .expressCheckoutButtonSelected(false)
+                .userWorkspace(USER_WORKSPACE)
+                .errors(EMPTY_ARRAY)
+                .changeProduct(false)
+                .loggedInUser(false)
+                .fxoProductInstance(FXO_PRODUCT_INSTANCE)
+                .build();
+    }
+
+    public static String toJson(ConfiguredCartItemPayload payload) {
+        try {
+            return WRITER.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize 1P add-to-cart payload", e);
+        }
+    }
+
+    private static String serialize(Object value) {
+        try {
+            return MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to pre-serialize static payload section", e);
+        }
+    }
+
+    /**
+     * Array elements without the surrounding brackets, written verbatim in place of one list entry.
+     */
+    private static RawValue rawElements(List<Property> properties) {
+        String array = serialize(properties);
+        return new RawValue(array.substring(1, array.length() - 1));
+    }
+}
@@ -0,0 +1,139 @@
+package com.fedex.automation.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Pure formatting/masking helpers behind CurlLoggingFilter. Works on plain snapshots
+ * (no RestAssured objects), so it can run on a background logging thread.
+ */
+public final class CurlCommandFormatter {
+
+    private static final Set<String> SENSITIVE_HEADERS = Set.of("authorization", "cookie");
+    private static final Set<String> SENSITIVE_COOKIES = Set.of("phpsessid", "form_key");
+    private static final String SEPARATOR = "--------------------------------------------------------------------------------";
+
+    private CurlCommandFormatter() {
+    }
+
+    /**
+     * @param headers      header name/value pairs in request order
+     * @param cookies      explicit request cookies (name -> value), may be empty
+     * @param body         raw request body, or null
+     * @param formParams   form params (values may be Lists for multi-value fields), used when body is null
+     * @param maxBodyBytes body cap; a negative value means no limit
+     */
+    public static String toCurl(String method, String fullUrl, List<Map.Entry<String, String>> headers,
+                                Map<String, String> cookies, String body, Map<String, Object> formParams, int maxBodyBytes) {
+        StringBuilder curl = new StringBuilder("\n").append(SEPARATOR).append("\n");
+        curl.append("curl --location --request ").append(method);
+        curl.append(" ").append(quote(fullUrl));
+
+        // Headers
+        for (Map.Entry<String, String> header : headers) {
+            String headerName = header.getKey();
+            if ("Cookie".equalsIgnoreCase(headerName)) {
+                if (cookies.isEmpty()) {
+                    curl.append(" \\\n--header ").append(quote("Cookie: " + maskCookieHeader(header.getValue())));
+                }
+                continue; // log explicit cookies below when present
+            }
+            String headerValue = isSensitiveHeader(headerName) ? maskValue(header.getValue()) : header.getValue();
+            curl.append(" \\\n--header ").append(quote(headerName + ": " + headerValue));
+        }
+
+        // Cookies
+        if (!cookies.isEmpty()) {
+            String cookieString = cookies.entrySet().stream()
+                    .map(c -> c.getKey() + "=" + (isSensitiveCookie(c.getKey()) ? maskValue(c.getValue()) : c.getValue()))
+                    .collect(Collectors.joining("; "));
+            curl.append(" \\\n--header ").append(quote("Cookie: " + cookieString));
+        }
+
+        // Body or Form Params
+        if (body != null) {
+            curl.append(" \\\n--data-raw ").append(quote(truncate(body, maxBodyBytes)));
+        } else if (formParams != null && !formParams.isEmpty()) {
+            StringBuilder formString = new StringBuilder();
+            for (Map.Entry<String, Object> entry : formParams.entrySet()) {
+                if (entry.getValue() instanceof List<?> values) {
+                    // Multi-value fields like 'street[]'
+                    for (Object v : values) {
+                        if (!formString.isEmpty()) formString.append("&");
+                        formString.append(entry.getKey()).append("=").append(v);
+                    }
+                } else {
+                    if (!formString.isEmpty()) formString.append("&");
+                    formString.append(entry.getKey()).append("=").append(entry.getValue());
+                }
+            }
+            curl.append(" \\\n--data-raw ").append(quote(truncate(formString.toString(), maxBodyBytes)));
+        }
+
+        curl.append("\n").append(SEPARATOR);
+        return curl.toString();
+    }
+
+    /**
+     * Single-quotes {@code value} for a POSIX shell; an embedded ' becomes '\''.
+     */
+    static String quote(String value) {
+        return "'" + value.replace("'", "'\\''") + "'";
+    }
+
+    public static String maskValue(String value) {
+        if (value == null || value.isBlank() || value.length() <= 4) {
+            return "****";
+        }
+        return "****" + value.substring(value.length() - 4);
+    }
+
+    public static String maskCookieHeader(String cookieHeaderValue) {
+        if (cookieHeaderValue == null || cookieHeaderValue.isBlank()) {
+            return "";
+        }
+        StringBuilder masked = new StringBuilder();
+        for (String pair : cookieHeaderValue.split(";")) {
+            String trimmed = pair.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int equalsIndex = trimmed.indexOf('=');
+            String name = equalsIndex > 0 ? trimmed.substring(0, equalsIndex) : trimmed;
+            String value = equalsIndex > 0 ? trimmed.substring(equalsIndex + 1) : "";
+            if (!masked.isEmpty()) {
+                masked.append("; ");
+            }
+            masked.append(name).append("=").append(isSensitiveCookie(name) ? maskValue(value) : value);
+        }
+        return masked.toString();
+    }
+
+    /**
+     * Cuts {@code text} to at most {@code maxBytes} UTF-8 bytes (never splitting a character) and notes how much was dropped.
+     */
+    public static String truncate(String text, int maxBytes) {
+        if (text == null || maxBytes < 0 || text.length() <= maxBytes / 4) return text;
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= maxBytes) return text;
+
+        int end = maxBytes;
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) end--; // back off to a character boundary
+        return new String(bytes, 0, end, StandardCharsets.UTF_8) + "... [truncated " + (bytes.length - end) + " bytes]";
+    }
+
+    public static boolean isPrintable(String contentType) {
+        return contentType != null && (contentType.contains("json") || contentType.contains("xml") || contentType.contains("text"));
+    }
+
+    private static boolean isSensitiveHeader(String headerName) {
+        return headerName != null && SENSITIVE_HEADERS.contains(headerName.toLowerCase());
+    }
+
+    private static boolean isSensitiveCookie(String cookieName) {
+        return cookieName != null && SENSITIVE_COOKIES.contains(cookieName.toLowerCase());
+    }
+}
@@ -1,139 +1,173 @@
 package com.fedex.automation.utils;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.restassured.filter.Filter;
 import io.restassured.filter.FilterContext;
+import io.restassured.http.Cookie;
 import io.restassured.http.Header;
 import io.restassured.response.Response;
 import io.restassured.specification.FilterableRequestSpecification;
 import io.restassured.specification.FilterableResponseSpecification;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class CurlLoggingFilter implements Filter {
 
+    private static final ObjectMapper PRETTY_MAPPER = new ObjectMapper();
+
     @Value("${logging.curl.enabled:false}")
     private boolean curlEnabled;
 
-    private static final Set<String> SENSITIVE_HEADERS = Set.of("authorization", "cookie");
-    private static final Set<String> SENSITIVE_COOKIES = Set.of("phpsessid", "form_key");
+    // Format and write logs on a background thread instead of the request thread
+    @Value("${logging.curl.async:true}")
+    private boolean async;
+
+    // Cap for logged request/response bodies on successful calls; failures are always logged in full (-1 = no cap)
+    @Value("${logging.curl.max-body-bytes:4096}")
+    private int maxBodyBytes;
+
+    // Log 1 in N successful calls (1 = all); failures are always logged
+    @Value("${logging.curl.sample-rate:1}")
+    private int sampleRate;
+
+    @Value("${logging.curl.queue-capacity:1000}")
+    private int queueCapacity;
+
+    private final AtomicLong successfulCalls = new AtomicLong();
+    private final LongAdder droppedEntries = new LongAdder();
+    private volatile ThreadPoolExecutor logExecutor;
 
     @Override
     public Response filter(FilterableRequestSpecification requestSpec,
                            FilterableResponseSpecification responseSpec,
                            FilterContext ctx) {
 
-        if (curlEnabled && log.isDebugEnabled()) {
-            logCurl(requestSpec);
-        } else {
+        boolean debug = log.isDebugEnabled();
+        if (!debug || !curlEnabled) {
             log.info("Request: {} {}", requestSpec.getMethod(), buildFullUrl(requestSpec));
         }
+        if (!debug) {
+            return ctx.next(requestSpec, responseSpec);
+        }
 
-        Response response = ctx.next(requestSpec, responseSpec);
+        // Cheap, immutable copy of what we need; the expensive formatting happens later
+        RequestSnapshot request = curlEnabled ? RequestSnapshot.of(requestSpec, buildFullUrl(requestSpec)) : null;
 
-        if (log.isDebugEnabled()) {
-            log.debug("Response Status: {} {}", response.getStatusCode(), response.getStatusLine());
-            if (isPrintable(response.getContentType())) {
-                log.debug("Response Body:\n{}", response.getBody().asPrettyString());
-            }
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (RuntimeException e) {
+            String failure = "Request failed: " + e.getMessage();
+            dispatch(() -> writeEntry(request, null, failure, true));
+            throw e;
+        }
+
+        boolean failed = response.getStatusCode() >= 400;
+        if (!failed && !isSampled()) {
+            return response;
         }
 
+        ResponseSnapshot snapshot = ResponseSnapshot.of(response);
+        dispatch(() -> writeEntry(request, snapshot, null, failed));
         return response;
     }
 
-    private void logCurl(FilterableRequestSpecification requestSpec) {
-        StringBuilder curl = new StringBuilder("\n--------------------------------------------------------------------------------\n");
-        curl.append("curl --location --request ").append(requestSpec.getMethod());
+    private boolean isSampled() {
+        return sampleRate <= 1 || successfulCalls.getAndIncrement() % sampleRate == 0;
+    }
 
-        String fullUrl = buildFullUrl(requestSpec);
-        curl.append(" '").append(fullUrl).append("'");
+    private void writeEntry(RequestSnapshot request, ResponseSnapshot response, String failure, boolean failed) {
+        int bodyCap = failed ? -1 : maxBodyBytes;
 
-        // Headers
-        for (Header header : requestSpec.getHeaders()) {
-            String headerName = header.getName();
-            if ("Cookie".equalsIgnoreCase(headerName)) {
-                if (requestSpec.getCookies().asList().isEmpty()) {
-                    String maskedCookieHeader = maskCookieHeader(header.getValue());
-                    curl.append(" \\\n--header 'Cookie: ").append(maskedCookieHeader).append("'");
-                }
-                continue; // log cookies from requestSpec.getCookies() below when present
-            }
-            String headerValue = header.getValue();
-            if (isSensitiveHeader(headerName)) {
-                headerValue = maskValue(headerValue);
-            }
-            curl.append(" \\\n--header '").append(headerName).append(": ").append(headerValue).append("'");
-        }
-
-        // Cookies
-        if (!requestSpec.getCookies().asList().isEmpty()) {
-            String cookieString = requestSpec.getCookies().asList().stream()
-                    .map(c -> c.getName() + "=" + (isSensitiveCookie(c.getName()) ? maskValue(c.getValue()) : c.getValue()))
-                    .collect(Collectors.joining("; "));
-            curl.append(" \\\n--header 'Cookie: ").append(cookieString).append("'");
-        }
-
-        // Body or Form Params
-        // 1. Check Body (JSON/Raw)
-        if (requestSpec.getBody() != null) {
-            String body = requestSpec.getBody().toString().replace("'", "'\\''");
-            curl.append(" \\\n--data-raw '").append(body).append("'");
-        }
-        // 2. Check Form Params (x-www-form-urlencoded) - FIX: Handle ArrayList values & incorrect Generic Type
-        else if (!requestSpec.getFormParams().isEmpty()) {
-            StringBuilder formString = new StringBuilder();
-
-            // CRITICAL FIX: RestAssured interface says Map<String, String>, but implementation returns Map<String, Object>.
-            // We strictly cast to Map<String, Object> to avoid ClassCastException when value is a List.
-            @SuppressWarnings("unchecked")
-            Map<String, Object> formParams = (Map<String, Object>) (Map) requestSpec.getFormParams();
-
-            for (Map.Entry<String, Object> entry : formParams.entrySet()) {
-                String key = entry.getKey();
-                Object value = entry.getValue();
-
-                if (value instanceof List) {
-                    // Handle multi-value fields like 'street[]'
-                    for (Object v : (List<?>) value) {
-                        if (formString.length() > 0) formString.append("&");
-                        formString.append(key).append("=").append(v);
-                    }
-                } else {
-                    // Handle standard single value fields
-                    if (formString.length() > 0) formString.append("&");
-                    formString.append(key).append("=").append(value);
-                }
-            }
-            curl.append(" \\\n--data-raw '").append(formString).append("'");
+        if (request != null) {
+            log.debug(CurlCommandFormatter.toCurl(request.method, request.fullUrl, request.headers,
+                    request.cookies, request.body, request.formParams, bodyCap));
+        }
+        if (failure != null) {
+            log.debug(failure);
+            return;
         }
 
-        curl.append("\n--------------------------------------------------------------------------------");
-        log.debug(curl.toString());
+        log.debug("Response Status: {} {}", response.statusCode, response.statusLine);
+        if (CurlCommandFormatter.isPrintable(response.contentType) && response.body != null) {
+            String body = new String(response.body, StandardCharsets.UTF_8);
+            // Pretty-print JSON only when it will be logged whole; large pages are logged raw and capped
+            if (response.contentType.contains("json") && (bodyCap < 0 || response.body.length <= bodyCap)) {
+                body = prettyJson(body);
+            }
+            log.debug("Response Body:\n{}", CurlCommandFormatter.truncate(body, bodyCap));
+        }
     }
 
-    private boolean isSensitiveHeader(String headerName) {
-        return headerName != null && SENSITIVE_HEADERS.contains(headerName.toLowerCase());
+    private void dispatch(Runnable entry) {
+        if (!async) {
+            entry.run();
+            return;
+        }
+        try {
+            executor().execute(entry);
+        } catch (RejectedExecutionException e) {
+            droppedEntries.increment();
+        }
     }
 
-    private boolean isSensitiveCookie(String cookieName) {
-        return cookieName != null && SENSITIVE_COOKIES.contains(cookieName.toLowerCase());
+    private ThreadPoolExecutor executor() {
+        ThreadPoolExecutor executor = logExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                if (logExecutor == null) {
+                    // Single thread keeps entries in request order; a full queue drops entries rather than blocking callers
+                    logExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                            new ArrayBlockingQueue<>(queueCapacity), r -> {
+                        Thread t = new Thread(r, "curl-logger");
+                        t.setDaemon(true);
+                        return t;
+                    }, new ThreadPoolExecutor.AbortPolicy());
+                }
+                executor = logExecutor;
+            }
+        }
+        return executor;
     }
 
-    private String maskValue(String value) {
-        if (value == null || value.isBlank()) {
-            return "****";
+    @PreDestroy
+    public void flush() {
+        ThreadPoolExecutor executor = logExecutor;
+        if (executor == null) return;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (droppedEntries.sum() > 0) {
+            log.warn("Curl logger dropped {} entries (queue full); raise logging.curl.queue-capacity or sample-rate", droppedEntries.sum());
         }
-        if (value.length() <= 4) {
-            return "****";
+    }
+
+    private String prettyJson(String json) {
+        try {
+            return PRETTY_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(PRETTY_MAPPER.readTree(json));
+        } catch (Exception e) {
+            return json;
         }
-        return "****" + value.substring(value.length() - 4);
     }
 
     private String buildFullUrl(FilterableRequestSpecification requestSpec) {
@@ -154,33 +188,48 @@ public class CurlLoggingFilter implements Filter {
         return url;
     }
 
-    private boolean isPrintable(String contentType) {
-        return contentType != null && (contentType.contains("json") || contentType.contains("xml") || contentType.contains("text"));
-    }
-
-    private String maskCookieHeader(String cookieHeaderValue) {
-        if (cookieHeaderValue == null || cookieHeaderValue.isBlank()) {
-            return "";
-        }
-        String[] pairs = cookieHeaderValue.split(";");
-        StringBuilder masked = new StringBuilder();
-        for (String pair : pairs) {
-            String trimmed = pair.trim();
-            if (trimmed.isEmpty()) {
-                continue;
-            }
-            int equalsIndex = trimmed.indexOf('=');
-            String name = equalsIndex > 0 ? trimmed.substring(0, equalsIndex) : trimmed;
-            String value = equalsIndex > 0 ? trimmed.substring(equalsIndex + 1) : "";
-            if (masked.length() > 0) {
-                masked.append("; ");
+    private static final class RequestSnapshot {
+        private String method;
+        private String fullUrl;
+        private List<Map.Entry<String, String>> headers;
+        private Map<String, String> cookies;
+        private String body;
+        private Map<String, Object> formParams;
+
+        @SuppressWarnings("unchecked")
+        static RequestSnapshot of(FilterableRequestSpecification requestSpec, String fullUrl) {
+            RequestSnapshot snapshot = new RequestSnapshot();
+            snapshot.method = requestSpec.getMethod();
+            snapshot.fullUrl = fullUrl;
+            snapshot.headers = new ArrayList<>();
+            for (Header header : requestSpec.getHeaders()) {
+                snapshot.headers.add(Map.entry(header.getName(), header.getValue()));
             }
-            if (isSensitiveCookie(name)) {
-                masked.append(name).append("=").append(maskValue(value));
-            } else {
-                masked.append(name).append("=").append(value);
+            snapshot.cookies = new LinkedHashMap<>();
+            for (Cookie cookie : requestSpec.getCookies()) {
+                snapshot.cookies.put(cookie.getName(), cookie.getValue());
             }
+            Object body = requestSpec.getBody();
+            snapshot.body = body != null ? body.toString() : null;
+            // RestAssured declares Map<String, String> but multi-value params come back as Lists
+            snapshot.formParams = new LinkedHashMap<>((Map<String, Object>) (Map) requestSpec.getFormParams());
+            return snapshot;
+        }
+    }
+
+    private static final class ResponseSnapshot {
+        private int statusCode;
+        private String statusLine;
+        private String contentType;
+        private byte[] body;
+
+        static ResponseSnapshot of(Response response) {
+            ResponseSnapshot snapshot = new ResponseSnapshot();
+            snapshot.statusCode = response.getStatusCode();
+            snapshot.statusLine = response.getStatusLine();
+            snapshot.contentType = response.getContentType();
+            snapshot.body = CurlCommandFormatter.isPrintable(snapshot.contentType) ? response.asByteArray() : null;
+            return snapshot;
         }
-        return masked.toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,171 @@
+package com.fedex.automation.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide per-endpoint HTTP statistics, fed by EndpointTimingFilter.
+ * Static on purpose: the end-of-run reporter is a Cucumber plugin and lives outside the Spring context.
+ */
+public final class EndpointMetrics {
+
+    private static final Map<String, EndpointStats> STATS = new ConcurrentHashMap<>();
+    private static final Map<String, PollStats> POLLS = new ConcurrentHashMap<>();
+    private static final Map<String, ThrottleStats> THROTTLES = new ConcurrentHashMap<>();
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private EndpointMetrics() {
+    }
+
+    public static void record(String method, String endpoint, long elapsedNanos, int status, long responseBytes) {
+        EndpointStats stats = STATS.computeIfAbsent(method + " " + endpoint, k -> new EndpointStats());
+        stats.latency.recordNanos(elapsedNanos);
+        stats.statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+        stats.responseBytes.add(Math.max(responseBytes, 0));
+    }
+
+    /**
+     * One AdaptivePoller run: total time until ready (or until it gave up) and the number of checks it took.
+     */
+    public static void recordPoll(String target, long elapsedNanos, int attempts, boolean ready) {
+        PollStats stats = POLLS.computeIfAbsent(target, k -> new PollStats());
+        (ready ? stats.timeToReady : stats.timedOut).recordNanos(elapsedNanos);
+        stats.attempts.add(attempts);
+    }
+
+    /**
+     * One request sent through HostRateLimiter: how long it waited for the host's rate limit, and whether it got a 429.
+     */
+    public static void recordThrottle(String host, long waitNanos, boolean tooManyRequests) {
+        ThrottleStats stats = THROTTLES.computeIfAbsent(host, k -> new ThrottleStats());
+        stats.requests.increment();
+        if (waitNanos > 0) stats.waits.recordNanos(waitNanos);
+        if (tooManyRequests) stats.tooManyRequests.increment();
+    }
+
+    public static boolean isEmpty() {
+        return STATS.isEmpty() && POLLS.isEmpty() && THROTTLES.isEmpty();
+    }
+
+    public static void reset() {
+        STATS.clear();
+        POLLS.clear();
+        THROTTLES.clear();
+    }
+
+    /**
+     * Endpoints ordered by total time spent, so the calls that dominate scenario time come first.
+     */
+    public static Map<String, Object> summary() {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        STATS.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<String, EndpointStats> e) -> e.getValue().latency.getTotalMillis()).reversed())
+                .forEach(e -> endpoints.put(e.getKey(), e.getValue().toMap()));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("generatedAt", Instant.now().toString());
+        summary.put("totalCalls", STATS.values().stream().mapToLong(s -> s.latency.getCount()).sum());
+        summary.put("endpoints", endpoints);
+        if (!POLLS.isEmpty()) {
+            Map<String, Object> polls = new TreeMap<>();
+            POLLS.forEach((target, stats) -> polls.put(target, stats.toMap()));
+            summary.put("polls", polls);
+        }
+        if (!THROTTLES.isEmpty()) {
+            summary.put("throttling", throttlingSummary());
+        }
+        return summary;
+    }
+
+    /**
+     * Per host: requests, how many had to wait for the rate limit and for how long, and 429s received.
+     * Hosts that waited longest come first.
+     */
+    public static Map<String, Object> throttlingSummary() {
+        Map<String, Object> throttling = new LinkedHashMap<>();
+        THROTTLES.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<String, ThrottleStats> e) -> e.getValue().waits.getTotalMillis()).reversed())
+                .forEach(e -> throttling.put(e.getKey(), e.getValue().toMap()));
+        return throttling;
+    }
+
+    public static byte[] summaryJson() {
+        try {
+            return MAPPER.writeValueAsBytes(summary());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize endpoint metrics", e);
+        }
+    }
+
+    public static File writeSummary(File target) {
+        try {
+            if (target.getParentFile() != null) target.getParentFile().mkdirs();
+            MAPPER.writeValue(target, summary());
+            return target;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write endpoint metrics to " + target, e);
+        }
+    }
+
+    private static final class EndpointStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder responseBytes = new LongAdder();
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>(latency.summary());
+            map.put("totalMs", Math.round(latency.getTotalMillis()));
+            Map<String, Long> statusCounts = new TreeMap<>();
+            statuses.forEach((status, count) -> statusCounts.put(String.valueOf(status), count.sum()));
+            map.put("statuses", statusCounts);
+            long count = Math.max(latency.getCount(), 1);
+            map.put("totalResponseBytes", responseBytes.sum());
+            map.put("avgResponseBytes", responseBytes.sum() / count);
+            return map;
+        }
+    }
+
+    private static final class PollStats {
+        private final LatencyHistogram timeToReady = new LatencyHistogram();
+        private final LatencyHistogram timedOut = new LatencyHistogram();
+        private final LongAdder attempts = new LongAdder();
+
+        Map<String, Object> toMap() {
+            long runs = Math.max(timeToReady.getCount() + timedOut.getCount(), 1);
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("ready", timeToReady.getCount());
+            map.put("timedOut", timedOut.getCount());
+            map.put("avgAttempts", Math.round(attempts.sum() * 100.0 / runs) / 100.0);
+            map.put("timeToReady", timeToReady.summary());
+            return map;
+        }
+    }
+
+    private static final class ThrottleStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder tooManyRequests = new LongAdder();
+        private final LatencyHistogram waits = new LatencyHistogram();
+
+        Map<String, Object> toMap() {
+            long total = Math.max(requests.sum(), 1);
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("requests", requests.sum());
+            map.put("throttled", waits.getCount());
+            map.put("throttledPct", Math.round(waits.getCount() * 1000.0 / total) / 10.0);
+            map.put("waitTotalMs", Math.round(waits.getTotalMillis()));
+            map.put("status429", tooManyRequests.sum());
+            map.put("waitMs", waits.summary());
+            return map;
+        }
+    }
+}
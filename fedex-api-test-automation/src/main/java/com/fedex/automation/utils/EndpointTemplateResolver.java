@@ -0,0 +1,160 @@
+package com.fedex.automation.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maps a concrete request URL back to the logical endpoint property it came from
+ * (e.g. /default/rest/default/V1/guest-carts/09Zk.../estimate-shipping-methods -> endpoint.shipping.estimate),
+ * so metrics are grouped per endpoint instead of per URL with IDs in it.
+ */
+@Slf4j
+@Component
+public class EndpointTemplateResolver {
+
+    private static final Pattern ENDPOINT_KEY = Pattern.compile("^(endpoint|mirakl\\.endpoint|apparel\\.endpoint)\\..+");
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{[^}]+}");
+    private static final Pattern ID_SEGMENT = Pattern.compile("^(\\d+|[0-9a-fA-F-]{16,}|(?=.*\\d)[A-Za-z0-9_-]{20,})$");
+    private static final int MAX_CACHED_PATHS = 10_000;
+
+    private final List<Template> templates = new ArrayList<>();
+    private final Map<String, String> resolved = new ConcurrentHashMap<>();
+
+    public EndpointTemplateResolver(Environment environment) {
+        for (String key : endpointKeys(environment)) {
+            String value = environment.getProperty(key);
+            if (value == null || value.isBlank()) continue;
+            Template template = Template.of(key, value);
+            if (template.literalLength() > 0) templates.add(template);
+        }
+        // Most specific (longest literal) template wins when several match
+        templates.sort(Comparator.comparingInt(Template::literalLength).reversed());
+        log.debug("Endpoint template resolver loaded {} templates", templates.size());
+    }
+
+    /**
+     * @return the endpoint property name, or a normalized host+path (IDs replaced by {id}) when nothing matches.
+     */
+    public String resolve(String url) {
+        String path = pathOf(url);
+        String cached = resolved.get(path);
+        if (cached != null) return cached;
+
+        String key = templates.stream()
+                .filter(t -> t.matches(path))
+                .map(Template::key)
+                .findFirst()
+                .orElseGet(() -> normalize(url));
+
+        if (resolved.size() < MAX_CACHED_PATHS) resolved.put(path, key);
+        return key;
+    }
+
+    private static Set<String> endpointKeys(Environment environment) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (environment instanceof ConfigurableEnvironment configurable) {
+            configurable.getPropertySources().forEach(source -> {
+                if (source instanceof EnumerablePropertySource<?> enumerable) {
+                    for (String name : enumerable.getPropertyNames()) {
+                        if (ENDPOINT_KEY.matcher(name).matches()) keys.add(name);
+                    }
+                }
+            });
+        }
+        return keys;
+    }
+
+    private static String pathOf(String url) {
+        try {
+            String path = URI.create(url).getRawPath();
+            return path == null || path.isEmpty() ? "/" : path;
+        } catch (Exception e) {
+            int query = url.indexOf('?');
+            return query >= 0 ? url.substring(0, query) : url;
+        }
+    }
+
+    static String normalize(String url) {
+        String host = "";
+        String path = url;
+        try {
+            URI uri = URI.create(url);
+            host = uri.getHost() != null ? uri.getHost() : "";
+            path = uri.getRawPath() != null ? uri.getRawPath() : "";
+        } catch (Exception ignored) {
+            // fall back to the raw string, without its query
+            int query = url.indexOf('?');
+            if (query >= 0) path = url.substring(0, query);
+        }
+
+        StringBuilder normalized = new StringBuilder(host);
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) continue;
+            normalized.append('/').append(ID_SEGMENT.matcher(segment).matches() ? "{id}" : segment);
+        }
+        return normalized.toString();
+    }
+
+    private static final class Template {
+        private final String key;
+        private final Pattern pattern;
+        private final int literalLength;
+
+        private Template(String key, Pattern pattern, int literalLength) {
+            this.key = key;
+            this.pattern = pattern;
+            this.literalLength = literalLength;
+        }
+
+        static Template of(String key, String value) {
+            String path = value;
+            if (value.startsWith("http://") || value.startsWith("https://")) {
+                int pathStart = value.indexOf('/', value.indexOf("//") + 2);
+                path = pathStart >= 0 ? value.substring(pathStart) : "/";
+            }
+
+            String trimmed = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+            StringBuilder regex = new StringBuilder("^.*?");
+            int literal = 0;
+            int last = 0;
+            Matcher m = PLACEHOLDER.matcher(trimmed);
+            while (m.find()) {
+                regex.append(Pattern.quote(trimmed.substring(last, m.start()))).append("[^/]+?");
+                literal += m.start() - last;
+                last = m.end();
+            }
+            regex.append(Pattern.quote(trimmed.substring(last)));
+            literal += trimmed.length() - last;
+
+            // Templates ending in "/" are often prefixes with an ID appended (e.g. order_id/{id})
+            regex.append(path.endsWith("/") ? "(?:/[^/]*)?/?$" : "/?$");
+            return new Template(key, Pattern.compile(regex.toString()), literal);
+        }
+
+        String key() {
+            return key;
+        }
+
+        int literalLength() {
+            return literalLength;
+        }
+
+        boolean matches(String path) {
+            return pattern.matcher(path).matches();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.fedex.automation.utils;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records latency, status and response size of every call, keyed by logical endpoint template,
+ * and attributes the call to the running Cucumber step (StepCallTrace).
+ * Registered last in defaultRequestSpec so it times the wire call, not the logging filters.
+ */
+@Component
+@RequiredArgsConstructor
+public class EndpointTimingFilter implements Filter {
+
+    private final EndpointTemplateResolver templateResolver;
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        int status = -1;
+        long bytes = 0;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            status = response.getStatusCode();
+            bytes = responseSize(response);
+            return response;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            String endpoint = templateResolver.resolve(requestSpec.getURI());
+            EndpointMetrics.record(requestSpec.getMethod(), endpoint, elapsed, status, bytes);
+            StepCallTrace.recordCall(requestSpec.getMethod(), endpoint, start, elapsed, status);
+        }
+    }
+
+    private long responseSize(Response response) {
+        String contentLength = response.getHeader("Content-Length");
+        if (contentLength != null) {
+            try {
+                return Long.parseLong(contentLength.trim());
+            } catch (NumberFormatException ignored) {
+                // fall through to the buffered body
+            }
+        }
+        byte[] body = response.asByteArray();
+        return body != null ? body.length : 0;
+    }
+}
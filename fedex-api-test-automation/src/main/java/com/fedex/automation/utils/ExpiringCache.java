@@ -0,0 +1,90 @@
+package com.fedex.automation.utils;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Minimal thread-safe key/value cache where every entry expires a fixed time after it was stored.
+ * Expired entries are dropped lazily on read.
+ */
+public class ExpiringCache<K, V> {
+
+    private final Duration ttl;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, ReentrantLock> loadLocks = new ConcurrentHashMap<>();
+
+    public ExpiringCache(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) return null;
+        if (System.nanoTime() - entry.storedAtNanos > ttl.toNanos()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * @return the non-expired subset of {@code keys}, in iteration order of {@code keys}
+     */
+    public Map<K, V> getAll(Collection<K> keys) {
+        Map<K, V> found = new LinkedHashMap<>();
+        for (K key : keys) {
+            V value = get(key);
+            if (value != null) found.put(key, value);
+        }
+        return found;
+    }
+
+    /**
+     * Returns the cached value, or loads and stores it on a miss. Concurrent callers missing the same key
+     * wait for a single load instead of each running {@code loader}; other keys are not blocked.
+     */
+    public V getOrLoad(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value != null) return value;
+
+        ReentrantLock lock = loadLocks.computeIfAbsent(key, k -> new ReentrantLock());
+        lock.lock();
+        try {
+            value = get(key);
+            if (value != null) return value;
+            value = loader.apply(key);
+            if (value != null) put(key, value);
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(K key, V value) {
+        if (ttl.isZero() || ttl.isNegative()) return;
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long storedAtNanos;
+
+        private Entry(V value, long storedAtNanos) {
+            this.value = value;
+            this.storedAtNanos = storedAtNanos;
+        }
+    }
+}
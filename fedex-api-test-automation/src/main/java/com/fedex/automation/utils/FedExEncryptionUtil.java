@@ -4,9 +4,15 @@ import javax.crypto.Cipher;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.security.KeyFactory;
+import java.security.MessageDigest;
 import java.security.PublicKey;
 import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -23,6 +29,19 @@ public final class FedExEncryptionUtil {
             "-----BEGIN ([A-Z0-9\\s]+)-----([\\s\\S]*?)-----END \\1-----"
     );
 
+    // Parsed keys by SHA-256 of the PEM text: the endpoint returns the same PEM for every order
+    private static final Map<String, PublicKey> PUBLIC_KEYS = new ConcurrentHashMap<>();
+    private static final int MAX_CACHED_KEYS = 16;
+
+    // Cipher is not thread-safe; each thread keeps its own instance and re-inits it per key
+    private static final ThreadLocal<Cipher> CIPHERS = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(CIPHER_TRANSFORMATION);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cipher " + CIPHER_TRANSFORMATION + " is not available", e);
+        }
+    });
+
     private FedExEncryptionUtil() {
         // utility class
     }
@@ -43,25 +62,67 @@ public final class FedExEncryptionUtil {
             // 1. Build the specific payload string expected by the gateway
             String payload = buildLegacyPayload(ccNumber, month, year, cvv);
 
-            // 2. Parse the Key
-            PublicKey publicKey = parsePublicKey(publicKeyPEM);
+            // 2. Resolve the Key (parsed once per distinct PEM)
+            PublicKey publicKey = cachedPublicKey(publicKeyPEM);
 
-            // 3. Encrypt using OAEP + SHA-1
-            Cipher cipher = Cipher.getInstance(CIPHER_TRANSFORMATION);
-            cipher.init(Cipher.ENCRYPT_MODE, publicKey);
-            byte[] encryptedBytes = cipher.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+            // 3-5. Encrypt using OAEP + SHA-1, Base64 and URL encode
+            return encryptPayload(CIPHERS.get(), publicKey, payload);
 
-            // 4. Base64 Encode
-            String rawBase64 = Base64.getEncoder().encodeToString(encryptedBytes);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to encrypt credit card data", e);
+        }
+    }
+
+    /**
+     * Encrypts many cards with one key lookup and one cipher (e.g. seeding or load runs).
+     * Each map uses the payment keys from the feature files: cardNumber, expMonth, expYear, cvv.
+     * @return URL-Encoded Base64 encrypted strings, in input order
+     */
+    public static List<String> encryptCreditCards(List<Map<String, String>> cards, String publicKeyPEM) {
+        try {
+            PublicKey publicKey = cachedPublicKey(publicKeyPEM);
+            Cipher cipher = CIPHERS.get();
 
-            // 5. URL Encode (Prevents '+' corruption during transmission)
-            return URLEncoder.encode(rawBase64, StandardCharsets.UTF_8);
+            List<String> encrypted = new ArrayList<>(cards.size());
+            for (Map<String, String> card : cards) {
+                String payload = buildLegacyPayload(card.get("cardNumber"), card.get("expMonth"), card.get("expYear"), card.get("cvv"));
+                encrypted.add(encryptPayload(cipher, publicKey, payload));
+            }
+            return encrypted;
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to encrypt credit card data", e);
         }
     }
 
+    private static String encryptPayload(Cipher cipher, PublicKey publicKey, String payload) throws Exception {
+        // OAEP draws a fresh random seed on every init, so re-initialising is required (and cheap)
+        cipher.init(Cipher.ENCRYPT_MODE, publicKey);
+        byte[] encryptedBytes = cipher.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+
+        // Base64 Encode
+        String rawBase64 = Base64.getEncoder().encodeToString(encryptedBytes);
+
+        // URL Encode (Prevents '+' corruption during transmission)
+        return URLEncoder.encode(rawBase64, StandardCharsets.UTF_8);
+    }
+
+    static PublicKey cachedPublicKey(String publicKeyPEM) throws Exception {
+        String fingerprint = fingerprint(required(publicKeyPEM, "publicKeyPEM").trim());
+        PublicKey cached = PUBLIC_KEYS.get(fingerprint);
+        if (cached != null) return cached;
+
+        PublicKey parsed = parsePublicKey(publicKeyPEM);
+        if (PUBLIC_KEYS.size() >= MAX_CACHED_KEYS) PUBLIC_KEYS.clear();
+        PUBLIC_KEYS.put(fingerprint, parsed);
+        return parsed;
+    }
+
+    private static String fingerprint(String pem) throws Exception {
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(pem.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(hash);
+    }
+
     /**
      * Replicates JS Logic: 'M' + ccNum + '=' + YY + MM + ':' + CVV
      */
@@ -0,0 +1,97 @@
+package com.fedex.automation.utils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The items of a PagedIterator, kept as they are read: every stream() replays what is already downloaded and
+ * pulls further pages only as far as its consumer goes, so a lookup that matches on page 1 never fetches page 2.
+ * Shared between threads; one thread fetches a page at a time and the others wait for it.
+ */
+public class LazyPagedList<T> {
+
+    private final PagedIterator<T> pages;
+    private final Consumer<List<T>> onComplete;
+    // Guarded by this
+    private final List<T> loaded = new ArrayList<>();
+    private boolean complete;
+
+    /**
+     * {@code onComplete} is called once, with every item, when the last page has been read.
+     */
+    public LazyPagedList(PagedIterator<T> pages, Consumer<List<T>> onComplete) {
+        this.pages = pages;
+        this.onComplete = onComplete;
+    }
+
+    private LazyPagedList(List<T> items) {
+        this.pages = null;
+        this.onComplete = null;
+        this.loaded.addAll(items);
+        this.complete = true;
+    }
+
+    /**
+     * A list whose items are all known already (e.g. read back from disk).
+     */
+    public static <T> LazyPagedList<T> of(List<T> items) {
+        return new LazyPagedList<>(items);
+    }
+
+    /**
+     * The item at {@code index}, fetching pages until it is loaded; null past the last item.
+     */
+    public synchronized T get(int index) {
+        while (loaded.size() <= index && !complete) {
+            if (pages.hasNext()) {
+                loaded.add(pages.next());
+            } else {
+                complete = true;
+                onComplete.accept(List.copyOf(loaded));
+            }
+        }
+        return index < loaded.size() ? loaded.get(index) : null;
+    }
+
+    public boolean isEmpty() {
+        return get(0) == null;
+    }
+
+    public Stream<T> stream() {
+        Iterator<T> iterator = new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return get(next) != null;
+            }
+
+            @Override
+            public T next() {
+                T item = get(next);
+                if (item == null) throw new NoSuchElementException();
+                next++;
+                return item;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Every item, downloading the remaining pages first.
+     */
+    public List<T> toList() {
+        return stream().toList();
+    }
+
+    public synchronized boolean isComplete() {
+        return complete;
+    }
+}
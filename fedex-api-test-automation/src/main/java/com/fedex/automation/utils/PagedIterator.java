@@ -0,0 +1,84 @@
+package com.fedex.automation.utils;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates an offset/limit paginated API one page at a time: the next page is requested only when the
+ * items of the current one have been consumed, so a caller that stops early never downloads the rest.
+ * When the API reports a total, iteration ends once it has been reached (or on an empty page), so a server that
+ * caps the page below the requested size is still read to the end; without a total it ends on a short page.
+ */
+public class PagedIterator<T> implements Iterator<T> {
+
+    private final PageFetcher<T> fetcher;
+    private final int pageSize;
+    private Iterator<T> current = List.<T>of().iterator();
+    private int offset;
+    private int pagesFetched;
+    private boolean lastPage;
+
+    public PagedIterator(int pageSize, PageFetcher<T> fetcher) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1, was " + pageSize);
+        }
+        this.pageSize = pageSize;
+        this.fetcher = fetcher;
+    }
+
+    public static <T> Stream<T> stream(int pageSize, PageFetcher<T> fetcher) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                new PagedIterator<>(pageSize, fetcher), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext() && !lastPage) {
+            Page<T> page = fetcher.fetch(offset, pageSize);
+            List<T> items = page.getItems() == null ? List.of() : page.getItems();
+            pagesFetched++;
+            offset += items.size();
+            lastPage = page.getTotal() != null
+                    ? items.isEmpty() || offset >= page.getTotal()
+                    : items.size() < pageSize;
+            current = items.iterator();
+        }
+        return current.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return current.next();
+    }
+
+    public int getPagesFetched() {
+        return pagesFetched;
+    }
+
+    /**
+     * Fetches the items at {@code offset}, at most {@code limit} of them.
+     */
+    @FunctionalInterface
+    public interface PageFetcher<T> {
+        Page<T> fetch(int offset, int limit);
+    }
+
+    /**
+     * One page of items, with the total across all pages when the API reports it.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Page<T> {
+        private final List<T> items;
+        private final Integer total;
+    }
+}
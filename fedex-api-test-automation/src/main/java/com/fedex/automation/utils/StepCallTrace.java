@@ -0,0 +1,124 @@
+package com.fedex.automation.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Associates HTTP calls with the Cucumber step that issued them. The step-timing plugin opens a {@link Step} on the
+ * thread running the step and EndpointTimingFilter appends every call made on that thread to it.
+ * Work handed to other threads (BoundedFanOut) carries the step along with {@link #within}.
+ * Static on purpose, like EndpointMetrics: the plugin lives outside the Spring context.
+ */
+public final class StepCallTrace {
+
+    private static final ThreadLocal<Step> CURRENT = new ThreadLocal<>();
+
+    private StepCallTrace() {
+    }
+
+    public static void begin(Step step) {
+        CURRENT.set(step);
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static Step current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs {@code work} on the current thread as part of {@code step} (null = no step), restoring what was there before.
+     */
+    public static <R> R within(Step step, Supplier<R> work) {
+        Step previous = CURRENT.get();
+        CURRENT.set(step);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) CURRENT.remove();
+            else CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * {@code startNanos} is the call's System.nanoTime() start, so calls fanned out in parallel can be told apart
+     * from calls made one after another.
+     */
+    public static void recordCall(String method, String endpoint, long startNanos, long elapsedNanos, int status) {
+        Step step = CURRENT.get();
+        if (step != null) {
+            step.calls.add(new Call(method + " " + endpoint, startNanos, elapsedNanos, status));
+        }
+    }
+
+    /**
+     * HTTP calls of one step execution. Calls can arrive from several threads at once.
+     */
+    public static final class Step {
+        private final Queue<Call> calls = new ConcurrentLinkedQueue<>();
+
+        public List<Call> getCalls() {
+            return new ArrayList<>(calls);
+        }
+
+        /**
+         * Wall-clock time with at least one call in flight: the union of the call intervals, so parallel calls count
+         * once instead of adding up past the step's own duration.
+         */
+        public long getHttpWallNanos() {
+            List<Call> byStart = getCalls();
+            byStart.sort(Comparator.comparingLong(Call::getStartNanos));
+
+            long covered = 0;
+            long spanStart = Long.MIN_VALUE;
+            long spanEnd = Long.MIN_VALUE;
+            for (Call call : byStart) {
+                long end = call.startNanos + call.elapsedNanos;
+                if (call.startNanos > spanEnd) {
+                    covered += spanEnd - spanStart;
+                    spanStart = call.startNanos;
+                    spanEnd = end;
+                } else {
+                    spanEnd = Math.max(spanEnd, end);
+                }
+            }
+            return covered + spanEnd - spanStart;
+        }
+    }
+
+    public static final class Call {
+        private final String endpoint;
+        private final long startNanos;
+        private final long elapsedNanos;
+        private final int status;
+
+        private Call(String endpoint, long startNanos, long elapsedNanos, int status) {
+            this.endpoint = endpoint;
+            this.startNanos = startNanos;
+            this.elapsedNanos = elapsedNanos;
+            this.status = status;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+    }
+}
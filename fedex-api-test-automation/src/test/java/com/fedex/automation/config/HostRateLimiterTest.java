@@ -0,0 +1,165 @@
+package com.fedex.automation.config;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bucket arithmetic on a fake clock (T0 + n ms), and how a 429 response is turned into a pause.
+ */
+class HostRateLimiterTest {
+
+    private static final long T0 = 1_000_000_000_000L;
+
+    @Test
+    void burstIsSpentThenTokensArriveAtTheRate() {
+        HostRateLimiter.Bucket bucket = new HostRateLimiter.Bucket(2, 5, T0);
+
+        for (int i = 0; i < 5; i++) assertEquals(0, bucket.tryAcquire(T0));
+        assertEquals(500_000_000L, bucket.tryAcquire(T0), "empty bucket waits for one token at 2/s");
+        assertEquals(250_000_000L, bucket.tryAcquire(at(250)), "half a token has arrived");
+        assertEquals(0, bucket.tryAcquire(at(500)));
+        assertEquals(500_000_000L, bucket.tryAcquire(at(500)));
+    }
+
+    @Test
+    void idleTimeRefillsOnlyUpToTheBurst() {
+        HostRateLimiter.Bucket bucket = new HostRateLimiter.Bucket(2, 5, T0);
+        for (int i = 0; i < 5; i++) bucket.tryAcquire(T0);
+
+        for (int i = 0; i < 5; i++) assertEquals(0, bucket.tryAcquire(at(60_000)));
+        assertTrue(bucket.tryAcquire(at(60_000)) > 0);
+    }
+
+    @Test
+    void tooManyRequestsPausesAndHalvesTheRateOncePerPause() {
+        HostRateLimiter.Bucket bucket = new HostRateLimiter.Bucket(4, 4, T0);
+
+        assertEquals(2.0, bucket.onTooManyRequests(2000, T0));
+        assertEquals(2.0, bucket.onTooManyRequests(1000, at(10)), "same burst, already paused");
+        assertEquals(1_500_000_000L, bucket.tryAcquire(at(500)), "paused until T0 + 2 s");
+        // The pause also empties the bucket: the first token arrives 1/rate after it ends
+        assertEquals(500_000_000L, bucket.tryAcquire(at(2000)));
+        assertEquals(0, bucket.tryAcquire(at(2500)));
+
+        assertEquals(1.0, bucket.onTooManyRequests(0, at(3000)), "a new pause halves again");
+    }
+
+    @Test
+    void rateRecoversStepByStepUpToTheCeiling() {
+        HostRateLimiter.Bucket bucket = new HostRateLimiter.Bucket(1, 1, T0);
+        bucket.onTooManyRequests(0, T0);
+        assertEquals(0.5, bucket.toMap(T0).get("currentPerSecond"));
+
+        for (int i = 0; i < 3; i++) bucket.onResponse(null, null, at(100));
+        assertEquals(0.8, bucket.toMap(T0).get("currentPerSecond"));
+        for (int i = 0; i < 10; i++) bucket.onResponse(null, null, at(100));
+        assertEquals(1.0, bucket.toMap(T0).get("currentPerSecond"));
+    }
+
+    @Test
+    void rateHeadersSpreadTheRemainingWindow() {
+        HostRateLimiter.Bucket bucket = new HostRateLimiter.Bucket(10, 10, T0);
+
+        bucket.onResponse(6.0, 4.0, T0);
+        assertEquals(1.5, bucket.toMap(T0).get("currentPerSecond"));
+
+        bucket.onResponse(0.0, 3.0, T0);
+        assertEquals(3000L, bucket.toMap(T0).get("pausedMs"), "nothing left: wait for the reset");
+        assertEquals(3_000_000_000L, bucket.tryAcquire(T0));
+    }
+
+    @Test
+    void unlimitedHostStartsFromItsObservedRateAfterA429() {
+        HostRateLimiter.Bucket bucket = new HostRateLimiter.Bucket(Double.POSITIVE_INFINITY, 1, T0);
+        for (int i = 0; i < 12; i++) assertEquals(0, bucket.tryAcquire(at(i * 10)));
+
+        assertEquals(6.0, bucket.onTooManyRequests(1000, at(200)));
+        assertEquals("unlimited", bucket.toMap(T0).get("configuredPerSecond"));
+    }
+
+    @Test
+    void unlimitedHostIsUnlimitedAgainAfterAQuietWindow() {
+        HostRateLimiter.Bucket bucket = new HostRateLimiter.Bucket(Double.POSITIVE_INFINITY, 1, T0);
+        for (int i = 0; i < 12; i++) bucket.tryAcquire(at(i * 10));
+        bucket.onTooManyRequests(1000, at(200));
+
+        bucket.onResponse(null, null, at(5_000));
+        assertEquals(6.1, bucket.toMap(T0).get("currentPerSecond"), "soon after the 429 the rate only steps up");
+        bucket.onResponse(null, null, at(31_200));
+        assertEquals("unlimited", bucket.toMap(T0).get("currentPerSecond"), "30 s after the pause ended");
+        assertEquals(0, bucket.tryAcquire(at(31_200)));
+    }
+
+    @Test
+    void configuredRateIsRestoredAfterAQuietWindow() {
+        HostRateLimiter.Bucket bucket = new HostRateLimiter.Bucket(4, 4, T0);
+        bucket.onTooManyRequests(0, T0);
+        bucket.onTooManyRequests(0, at(10));
+
+        bucket.onResponse(null, null, at(29_000));
+        assertEquals(1.1, bucket.toMap(T0).get("currentPerSecond"));
+        bucket.onTooManyRequests(0, at(29_500));
+        bucket.onResponse(null, null, at(40_000));
+        assertEquals(0.65, bucket.toMap(T0).get("currentPerSecond"), "a new 429 restarts the window");
+        bucket.onResponse(null, null, at(59_500));
+        assertEquals(4.0, bucket.toMap(T0).get("currentPerSecond"));
+    }
+
+    @Test
+    void retryAfterSecondsAndDatesArePaused() {
+        HostRateLimiter limiter = limiter();
+
+        assertEquals(7000, limiter.pauseMillis(tooManyRequests("Retry-After", "7"), 1));
+
+        String inThirtySeconds = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(30));
+        long dateMillis = limiter.pauseMillis(tooManyRequests("Retry-After", inThirtySeconds), 1);
+        assertTrue(dateMillis > 28_000 && dateMillis <= 30_000, "was " + dateMillis);
+    }
+
+    @Test
+    void rateLimitResetIsUsedWithoutRetryAfter() {
+        HostRateLimiter limiter = limiter();
+
+        assertEquals(2500, limiter.pauseMillis(tooManyRequests("X-RateLimit-Reset", "2.5"), 1));
+        assertEquals(2500, limiter.pauseMillis(tooManyRequests("Retry-After", "soon", "X-RateLimit-Reset", "2.5"), 1));
+
+        long epochSecond = System.currentTimeMillis() / 1000 + 20;
+        long epochMillis = limiter.pauseMillis(tooManyRequests("X-RateLimit-Reset", String.valueOf(epochSecond)), 1);
+        assertTrue(epochMillis > 18_000 && epochMillis <= 20_000, "was " + epochMillis);
+    }
+
+    @Test
+    void withoutHeadersTheDefaultPauseDoubles() {
+        HostRateLimiter limiter = limiter();
+
+        assertEquals(1000, limiter.pauseMillis(tooManyRequests(), 1));
+        assertEquals(4000, limiter.pauseMillis(tooManyRequests(), 3));
+        assertEquals(1000L << 10, limiter.pauseMillis(tooManyRequests(), 50), "doubling stops after 10 retries");
+        assertEquals(1000, limiter.pauseMillis(tooManyRequests("Retry-After", "not a date"), 1));
+    }
+
+    private static HostRateLimiter limiter() {
+        RateLimitConfig config = new RateLimitConfig();
+        config.setEnabled(true);
+        config.setDefaultPauseMs(1000);
+        return new HostRateLimiter(config);
+    }
+
+    private static HttpResponse tooManyRequests(String... headers) {
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 429, "Too Many Requests");
+        for (int i = 0; i < headers.length; i += 2) response.addHeader(headers[i], headers[i + 1]);
+        return response;
+    }
+
+    private static long at(long millis) {
+        return T0 + millis * 1_000_000L;
+    }
+}
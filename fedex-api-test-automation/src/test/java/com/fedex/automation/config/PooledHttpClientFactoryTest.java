@@ -0,0 +1,250 @@
+package com.fedex.automation.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the pooled clients against a local stub that records which client socket served each request,
+ * so connection reuse and per-host caps can be seen from the server side as well as in summary().
+ */
+class PooledHttpClientFactoryTest {
+
+    private static final String HOST = "127.0.0.1";
+
+    @TempDir
+    Path dir;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile long delayMillis;
+    private PooledHttpClientFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        serverExecutor = Executors.newFixedThreadPool(16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (factory != null) factory.shutdown();
+        if (server != null) server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void sequentialRequestsReuseOneConnection() throws Exception {
+        String baseUri = start(HttpServer.create(new InetSocketAddress(HOST, 0), 0), "http");
+        factory = factory(16, "");
+
+        for (int i = 0; i < 5; i++) {
+            get(baseUri);
+        }
+
+        assertEquals(1, clientPorts.size(), "every request came in on the same socket");
+        Map<String, Object> host = hostSummary();
+        assertEquals(5L, host.get("requests"));
+        assertEquals(1L, host.get("connectionsOpened"));
+        assertEquals(0.8, host.get("reuseRatio"));
+        assertEquals(0L, factory.summary().get("tlsHandshakes"));
+    }
+
+    @Test
+    void droppingAPerRequestClientKeepsTheSharedPool() throws Exception {
+        String baseUri = start(HttpServer.create(new InetSocketAddress(HOST, 0), 0), "http");
+        factory = factory(16, "");
+        get(baseUri);
+
+        factory.createHttpClient().getConnectionManager().shutdown();
+        get(baseUri);
+
+        assertEquals(1, clientPorts.size(), "the pooled connection survived the discarded client");
+        assertEquals(1L, hostSummary().get("connectionsOpened"));
+    }
+
+    @Test
+    void hostLimitCapsConcurrentConnections() throws Exception {
+        String baseUri = start(HttpServer.create(new InetSocketAddress(HOST, 0), 0), "http");
+        factory = factory(16, HOST + "=2");
+        delayMillis = 100;
+
+        ExecutorService callers = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 6; i++) calls.add(callers.submit(() -> get(baseUri)));
+            for (Future<?> call : calls) call.get(10, TimeUnit.SECONDS);
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(2, maxInFlight.get());
+        assertEquals(2, clientPorts.size());
+        assertEquals(2L, hostSummary().get("connectionsOpened"));
+        assertEquals(6L, hostSummary().get("requests"));
+    }
+
+    @Test
+    void unreadBodyDoesNotHoldTheConnection() throws Exception {
+        String baseUri = start(HttpServer.create(new InetSocketAddress(HOST, 0), 0), "http");
+        factory = factory(1, "");
+
+        HttpClient client = factory.createHttpClient();
+        HttpResponse unread = client.execute(new HttpGet(baseUri + "/ping"));
+        assertFalse(unread.getEntity().isStreaming(), "the body was buffered");
+
+        // With one connection per host this lease would time out if the first body still held it
+        HttpResponse next = factory.createHttpClient().execute(new HttpGet(baseUri + "/ping"));
+        assertEquals("pong", EntityUtils.toString(next.getEntity()));
+        assertEquals("pong", EntityUtils.toString(unread.getEntity()));
+        assertEquals(1, clientPorts.size());
+    }
+
+    @Test
+    void tlsConnectionsHandshakeOnceAndAreReused() throws Exception {
+        HttpsServer https = HttpsServer.create(new InetSocketAddress(HOST, 0), 0);
+        https.setHttpsConfigurator(new HttpsConfigurator(serverContext()));
+        String baseUri = start(https, "https");
+        factory = factory(16, "");
+
+        for (int i = 0; i < 3; i++) {
+            get(baseUri);
+        }
+
+        assertEquals(1L, factory.summary().get("tlsHandshakes"));
+        assertEquals(1L, hostSummary().get("connectionsOpened"));
+        assertEquals(0.667, hostSummary().get("reuseRatio"));
+    }
+
+    @Test
+    void reportIsWrittenAtShutdown() throws Exception {
+        String baseUri = start(HttpServer.create(new InetSocketAddress(HOST, 0), 0), "http");
+        factory = factory(16, "");
+        get(baseUri);
+
+        factory.shutdown();
+        factory = null;
+
+        Map<?, ?> report = new ObjectMapper().readValue(dir.resolve("http-connections.json").toFile(), Map.class);
+        assertEquals(1, report.get("requests"));
+        assertEquals(1, report.get("connectionsOpened"));
+        assertEquals(0.0, report.get("reuseRatio"));
+    }
+
+    private String start(HttpServer stub, String scheme) {
+        server = stub;
+        server.createContext("/ping", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            respond(exchange, "pong");
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+        return scheme + "://" + HOST + ":" + server.getAddress().getPort();
+    }
+
+    private PooledHttpClientFactory factory(int maxPerHost, String hostLimits) {
+        HttpPoolConfig config = new HttpPoolConfig();
+        config.setEnabled(true);
+        config.setMaxTotal(64);
+        config.setMaxPerHost(maxPerHost);
+        config.setHostLimits(hostLimits);
+        config.setConnectTimeoutMs(2000);
+        config.setReadTimeoutMs(5000);
+        config.setLeaseTimeoutMs(1000);
+        config.setKeepAliveSeconds(30);
+        config.setIdleEvictSeconds(30);
+        config.setReportFile(dir.resolve("http-connections.json").toString());
+        return new PooledHttpClientFactory(config, new ObjectMapper(), mock(HostRateLimiter.class));
+    }
+
+    private void get(String baseUri) {
+        RestAssured.given()
+                .config(RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig().httpClientFactory(factory)))
+                .baseUri(baseUri)
+                .get("/ping")
+                .then().statusCode(200);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> hostSummary() {
+        return (Map<String, Object>) ((Map<String, Object>) factory.summary().get("hosts")).get(HOST);
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // A throwaway self-signed key from the JDK's keytool; the pool trusts every certificate
+    private SSLContext serverContext() throws Exception {
+        Path keyStore = dir.resolve("server.p12");
+        Process keytool = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "keytool").toString(),
+                "-genkeypair", "-alias", "stub", "-keyalg", "RSA", "-keysize", "2048", "-validity", "1",
+                "-dname", "CN=" + HOST, "-storetype", "PKCS12", "-keystore", keyStore.toString(),
+                "-storepass", "changeit", "-keypass", "changeit")
+                .redirectErrorStream(true)
+                .start();
+        assertTrue(keytool.waitFor(60, TimeUnit.SECONDS) && keytool.exitValue() == 0,
+                new String(keytool.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+
+        KeyStore store = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(keyStore)) {
+            store.load(in, "changeit".toCharArray());
+        }
+        KeyManagerFactory keys = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keys.init(store, "changeit".toCharArray());
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keys.getKeyManagers(), null, null);
+        return context;
+    }
+}
@@ -0,0 +1,23 @@
+package com.fedex.automation.glue;
+
+import com.fedex.automation.service.cassette.CassetteScope;
+import io.cucumber.java.After;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+
+/**
+ * Scopes cassette replay to the running scenario. Parallel workers run many scenarios on one pooled thread,
+ * so the thread name alone would let scenarios consume each other's recorded interactions.
+ */
+public class CassetteScopeHooks {
+
+    @Before(order = 0)
+    public void beginScope(Scenario scenario) {
+        CassetteScope.begin(scenario.getId());
+    }
+
+    @After(order = 0)
+    public void endScope() {
+        CassetteScope.end();
+    }
+}
@@ -0,0 +1,146 @@
+package com.fedex.automation.runner;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.ClasspathResourceSource;
+import org.junit.platform.engine.support.descriptor.FilePosition;
+import org.junit.platform.engine.support.descriptor.FileSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps only this CI node's share of the scenarios: mvn test -Dshard.index=2 -Dshard.count=3 (index is 1-based).
+ * Scenarios are dealt longest-first onto the shard with the least total duration so far, using the durations in
+ * shard-timings.json (see ShardTimings); scenarios without history count as the median known duration.
+ * Every node sees the same scenarios and timings, so the shards are disjoint and together cover the whole suite.
+ * Registered through META-INF/services; without shard.count (or with 1) everything runs.
+ */
+@Slf4j
+public class DurationShardFilter implements PostDiscoveryFilter {
+
+    static final String INDEX_PROPERTY = "shard.index";
+    static final String COUNT_PROPERTY = "shard.count";
+
+    private static final double NO_HISTORY_MILLIS = 60_000;
+
+    private final int index;
+    private final int count;
+    // Assignment per discovered tree, since the suite engine may run discovery again for its nested engine
+    private final Map<UniqueId, Set<UniqueId>> selectedByRoot = new ConcurrentHashMap<>();
+
+    public DurationShardFilter() {
+        this(Integer.getInteger(INDEX_PROPERTY, 1), Integer.getInteger(COUNT_PROPERTY, 1));
+    }
+
+    DurationShardFilter(int index, int count) {
+        if (count < 1 || index < 1 || index > count) {
+            throw new IllegalArgumentException("Invalid shard " + index + "/" + count + ": expected 1 <= shard.index <= shard.count");
+        }
+        this.index = index;
+        this.count = count;
+    }
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (count == 1 || !descriptor.isTest()) {
+            return FilterResult.included("not sharded");
+        }
+        TestDescriptor root = root(descriptor);
+        Set<UniqueId> selected = selectedByRoot.computeIfAbsent(root.getUniqueId(), id -> assign(root));
+        return selected.contains(descriptor.getUniqueId())
+                ? FilterResult.included("shard " + index + "/" + count)
+                : FilterResult.excluded("belongs to another shard");
+    }
+
+    private Set<UniqueId> assign(TestDescriptor root) {
+        List<TestDescriptor> tests = new ArrayList<>();
+        collectTests(root, tests);
+
+        Map<String, Double> history = ShardTimings.load(ShardTimings.file());
+        double fallback = median(history.values());
+        List<Scenario> scenarios = new ArrayList<>();
+        for (TestDescriptor test : tests) {
+            String key = timingKey(test);
+            scenarios.add(new Scenario(test.getUniqueId(), key, history.getOrDefault(key, fallback)));
+        }
+        scenarios.sort(Comparator.comparingDouble((Scenario s) -> s.millis).reversed().thenComparing(s -> s.key));
+
+        // Longest processing time first: each scenario goes to the currently lightest shard (lowest index on ties)
+        double[] load = new double[count];
+        PriorityQueue<Integer> shards = new PriorityQueue<>(Comparator.comparingDouble((Integer s) -> load[s]).thenComparing(s -> s));
+        for (int s = 0; s < count; s++) shards.add(s);
+
+        Set<UniqueId> selected = new HashSet<>();
+        int mine = 0;
+        for (Scenario scenario : scenarios) {
+            int shard = shards.poll();
+            load[shard] += scenario.millis;
+            shards.add(shard);
+            if (shard == index - 1) {
+                selected.add(scenario.id);
+                mine++;
+            }
+        }
+
+        double total = 0;
+        for (double l : load) total += l;
+        log.info("--- [Shard] {}/{}: {} of {} scenarios, ~{} s of ~{} s ({} with timing history) ---", index, count, mine,
+                scenarios.size(), Math.round(load[index - 1] / 1000), Math.round(total / 1000),
+                scenarios.stream().filter(s -> history.containsKey(s.key)).count());
+        return selected;
+    }
+
+    private static TestDescriptor root(TestDescriptor descriptor) {
+        TestDescriptor root = descriptor;
+        while (root.getParent().isPresent()) root = root.getParent().get();
+        return root;
+    }
+
+    private static void collectTests(TestDescriptor descriptor, List<TestDescriptor> tests) {
+        if (descriptor.isTest()) tests.add(descriptor);
+        descriptor.getChildren().forEach(child -> collectTests(child, tests));
+    }
+
+    private static String timingKey(TestDescriptor test) {
+        Optional<TestSource> source = test.getSource();
+        if (source.isPresent() && source.get() instanceof ClasspathResourceSource classpath && classpath.getPosition().isPresent()) {
+            return ShardTimings.key(classpath.getClasspathResourceName(), classpath.getPosition().map(FilePosition::getLine).get());
+        }
+        if (source.isPresent() && source.get() instanceof FileSource file && file.getPosition().isPresent()) {
+            return ShardTimings.key(file.getFile().toURI().toString(), file.getPosition().map(FilePosition::getLine).get());
+        }
+        return test.getUniqueId().toString();
+    }
+
+    private static double median(Collection<Double> values) {
+        if (values.isEmpty()) return NO_HISTORY_MILLIS;
+        List<Double> sorted = new ArrayList<>(values);
+        sorted.sort(null);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private static final class Scenario {
+        private final UniqueId id;
+        private final String key;
+        private final double millis;
+
+        private Scenario(UniqueId id, String key, double millis) {
+            this.id = id;
+            this.key = key;
+            this.millis = millis;
+        }
+    }
+}
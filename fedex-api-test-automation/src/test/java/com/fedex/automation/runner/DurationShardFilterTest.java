@@ -0,0 +1,159 @@
+package com.fedex.automation.runner;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
+import org.junit.platform.engine.support.descriptor.ClasspathResourceSource;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import org.junit.platform.engine.support.descriptor.FilePosition;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the filter of every shard over the same fake Cucumber tree (4 features of 5 scenarios), as each CI node would.
+ */
+class DurationShardFilterTest {
+
+    @TempDir
+    Path dir;
+
+    private final Map<String, Double> history = new HashMap<>();
+    private EngineDescriptor engine;
+    private List<TestDescriptor> scenarios;
+
+    @BeforeEach
+    void buildSuite() {
+        engine = new EngineDescriptor(UniqueId.forEngine("cucumber"), "Cucumber");
+        scenarios = new ArrayList<>();
+        for (int f = 1; f <= 4; f++) {
+            String resource = "features/feature" + f + ".feature";
+            FeatureDescriptor feature = new FeatureDescriptor(engine.getUniqueId().append("feature", resource), resource, null);
+            engine.addChild(feature);
+            for (int line = 3; line <= 19; line += 4) {
+                ScenarioDescriptor scenario = new ScenarioDescriptor(feature.getUniqueId().append("scenario", "" + line), resource, line);
+                feature.addChild(scenario);
+                scenarios.add(scenario);
+            }
+        }
+        System.setProperty(ShardTimings.FILE_PROPERTY, dir.resolve("timings.json").toString());
+    }
+
+    @AfterEach
+    void clearTimingFile() {
+        System.clearProperty(ShardTimings.FILE_PROPERTY);
+    }
+
+    @Test
+    void shardsAreDisjointAndCoverEveryScenario() {
+        // Half the scenarios have history, from 1 s to 10 s; the rest count as the median
+        for (int i = 0; i < scenarios.size(); i += 2) {
+            history.put(key(scenarios.get(i)), 1000.0 * (1 + i % 10));
+        }
+        ShardTimings.update(ShardTimings.file(), history);
+
+        for (int count = 1; count <= 5; count++) {
+            List<Set<UniqueId>> shards = new ArrayList<>();
+            for (int index = 1; index <= count; index++) {
+                shards.add(selected(new DurationShardFilter(index, count)));
+            }
+
+            Set<UniqueId> all = new HashSet<>();
+            int total = 0;
+            for (Set<UniqueId> shard : shards) {
+                all.addAll(shard);
+                total += shard.size();
+            }
+            assertEquals(scenarios.size(), total, count + " shards overlap");
+            assertEquals(scenarios.size(), all.size(), count + " shards miss a scenario");
+        }
+    }
+
+    @Test
+    void withoutHistoryEveryShardGetsAFairCount() {
+        for (int index = 1; index <= 3; index++) {
+            int size = selected(new DurationShardFilter(index, 3)).size();
+            assertTrue(size == 6 || size == 7, "shard " + index + " got " + size + " of 20");
+        }
+    }
+
+    @Test
+    void longScenariosAreSpreadAcrossShards() {
+        for (TestDescriptor scenario : scenarios) history.put(key(scenario), 1000.0);
+        history.put(key(scenarios.get(0)), 20_000.0);
+        history.put(key(scenarios.get(1)), 20_000.0);
+        ShardTimings.update(ShardTimings.file(), history);
+
+        Set<UniqueId> first = selected(new DurationShardFilter(1, 2));
+        Set<UniqueId> second = selected(new DurationShardFilter(2, 2));
+
+        assertTrue(first.contains(scenarios.get(0).getUniqueId()) ^ first.contains(scenarios.get(1).getUniqueId()));
+        assertEquals(58_000.0, millis(first) + millis(second));
+        assertEquals(millis(first), millis(second), "18 x 1 s split evenly behind the two 20 s scenarios");
+    }
+
+    @Test
+    void containersAreAlwaysIncluded() {
+        DurationShardFilter filter = new DurationShardFilter(2, 3);
+
+        assertTrue(filter.apply(engine).included());
+        engine.getChildren().forEach(feature -> assertTrue(filter.apply(feature).included()));
+    }
+
+    @Test
+    void invalidShardIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new DurationShardFilter(0, 3));
+        assertThrows(IllegalArgumentException.class, () -> new DurationShardFilter(4, 3));
+        assertThrows(IllegalArgumentException.class, () -> new DurationShardFilter(1, 0));
+    }
+
+    private Set<UniqueId> selected(DurationShardFilter filter) {
+        Set<UniqueId> selected = new HashSet<>();
+        for (TestDescriptor scenario : scenarios) {
+            if (filter.apply(scenario).included()) selected.add(scenario.getUniqueId());
+        }
+        return selected;
+    }
+
+    private double millis(Set<UniqueId> shard) {
+        return scenarios.stream().filter(s -> shard.contains(s.getUniqueId())).mapToDouble(s -> history.get(key(s))).sum();
+    }
+
+    private static String key(TestDescriptor scenario) {
+        ClasspathResourceSource source = (ClasspathResourceSource) scenario.getSource().orElseThrow();
+        return ShardTimings.key(source.getClasspathResourceName(), source.getPosition().orElseThrow().getLine());
+    }
+
+    private static class FeatureDescriptor extends AbstractTestDescriptor {
+        FeatureDescriptor(UniqueId id, String resource, FilePosition position) {
+            super(id, resource, ClasspathResourceSource.from(resource, position));
+        }
+
+        @Override
+        public Type getType() {
+            return Type.CONTAINER;
+        }
+    }
+
+    private static class ScenarioDescriptor extends AbstractTestDescriptor {
+        ScenarioDescriptor(UniqueId id, String resource, int line) {
+            super(id, "line " + line, ClasspathResourceSource.from(resource, FilePosition.from(line)));
+        }
+
+        @Override
+        public Type getType() {
+            return Type.TEST;
+        }
+    }
+}
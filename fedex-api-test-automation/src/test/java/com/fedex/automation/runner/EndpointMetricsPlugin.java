@@ -0,0 +1,75 @@
+package com.fedex.automation.runner;
+
+import com.fedex.automation.utils.EndpointMetrics;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes the per-endpoint latency summary collected by EndpointTimingFilter when the run finishes,
+ * and publishes it to Allure as a "Run Metrics" entry carrying the JSON attachment.
+ * Usage: com.fedex.automation.runner.EndpointMetricsPlugin[:target/endpoint-latency.json]
+ */
+@Slf4j
+public class EndpointMetricsPlugin implements ConcurrentEventListener {
+
+    private final File summaryFile;
+
+    public EndpointMetricsPlugin() {
+        this("target/endpoint-latency.json");
+    }
+
+    public EndpointMetricsPlugin(String summaryPath) {
+        this.summaryFile = new File(summaryPath);
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunFinished.class, event -> publish());
+    }
+
+    private void publish() {
+        if (EndpointMetrics.isEmpty()) return;
+
+        File written = EndpointMetrics.writeSummary(summaryFile);
+        log.info("--- Endpoint latency summary written to {} ---", written.getAbsolutePath());
+
+        try {
+            attachToAllure(EndpointMetrics.summaryJson());
+        } catch (Exception e) {
+            log.warn("Could not attach endpoint latency summary to Allure: {}", e.getMessage());
+        }
+    }
+
+    // Scenarios are closed by now, so the summary gets its own synthetic result to hang the attachment on
+    private void attachToAllure(byte[] json) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String uuid = UUID.randomUUID().toString();
+
+        TestResult result = new TestResult()
+                .setUuid(uuid)
+                .setHistoryId("endpoint-latency-summary")
+                .setName("HTTP endpoint latency summary")
+                .setFullName("Run Metrics: HTTP endpoint latency summary")
+                .setStatus(Status.PASSED)
+                .setLabels(List.of(
+                        new Label().setName("suite").setValue("Run Metrics"),
+                        new Label().setName("feature").setValue("Run Metrics")));
+
+        lifecycle.scheduleTestCase(result);
+        lifecycle.startTestCase(uuid);
+        lifecycle.addAttachment("endpoint-latency.json", "application/json", "json", json);
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+    }
+}
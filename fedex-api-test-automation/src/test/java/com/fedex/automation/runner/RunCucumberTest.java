@@ -13,6 +13,8 @@ import static io.cucumber.junit.platform.engine.Constants.PLUGIN_PROPERTY_NAME;
 @SelectClasspathResource("features")
 @ConfigurationParameter(key = GLUE_PROPERTY_NAME, value = "com.fedex.automation.glue, com.fedex.automation.steps")
 // Added the Allure plugin here:
-@ConfigurationParameter(key = PLUGIN_PROPERTY_NAME, value = "pretty, html:target/cucumber-reports.html, io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm")
+@ConfigurationParameter(key = PLUGIN_PROPERTY_NAME, value = "pretty, html:target/cucumber-reports.html, json:target/cucumber.json, io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm, "
+        + "com.fedex.automation.runner.EndpointMetricsPlugin:target/endpoint-latency.json, "
+        + "com.fedex.automation.runner.StepTimingPlugin:target/step-timing.json")
 public class RunCucumberTest {
 }
\ No newline at end of file
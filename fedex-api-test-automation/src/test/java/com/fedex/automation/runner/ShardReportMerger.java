@@ -0,0 +1,128 @@
+package com.fedex.automation.runner;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Combines the reports of a sharded run (one target/ directory per CI node) into one:
+ * - allure-results/ of every shard copied into &lt;out&gt;/allure-results (result files have unique names);
+ * - cucumber.json merged per feature into &lt;out&gt;/cucumber.json;
+ * - scenario durations from each step-timing.json blended into the shard timing file, so the next split is better.
+ * Usage: mvn -Pshard-merge test-compile exec:exec -Dshard.merge.out=target/merged -Dshard.reports="node1/target node2/target"
+ */
+@Slf4j
+public final class ShardReportMerger {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private ShardReportMerger() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: ShardReportMerger <output dir> <shard target dir>...");
+        }
+        Path out = Path.of(args[0]);
+        List<Path> shards = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) shards.add(Path.of(args[i]));
+        Files.createDirectories(out);
+
+        int allureFiles = mergeAllureResults(shards, out.resolve("allure-results"));
+        int features = mergeCucumberJson(shards, out.resolve("cucumber.json"));
+        mergeTimings(shards);
+
+        log.info("--- [Shard] Merged {} shard(s) into {}: {} Allure result files, {} features ---",
+                shards.size(), out.toAbsolutePath(), allureFiles, features);
+    }
+
+    private static int mergeAllureResults(List<Path> shards, Path target) throws IOException {
+        Files.createDirectories(target);
+        int copied = 0;
+        for (Path shard : shards) {
+            Path results = shard.resolve("allure-results");
+            if (!Files.isDirectory(results)) {
+                log.warn("No allure-results in {}", shard);
+                continue;
+            }
+            try (Stream<Path> files = Files.list(results)) {
+                for (Path file : files.filter(Files::isRegularFile).toList()) {
+                    // environment.properties and friends are the same on every node, so last one wins
+                    Files.copy(file, target.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                    copied++;
+                }
+            }
+        }
+        return copied;
+    }
+
+    /**
+     * Shards split a feature's scenarios, so features with the same uri are folded into one, scenarios in line order.
+     */
+    private static int mergeCucumberJson(List<Path> shards, Path target) throws IOException {
+        Map<String, ObjectNode> features = new TreeMap<>();
+        for (Path shard : shards) {
+            File json = shard.resolve("cucumber.json").toFile();
+            if (!json.isFile()) {
+                log.warn("No cucumber.json in {}", shard);
+                continue;
+            }
+            for (JsonNode feature : MAPPER.readTree(json)) {
+                ObjectNode merged = features.get(feature.path("uri").asText());
+                if (merged == null) {
+                    features.put(feature.path("uri").asText(), (ObjectNode) feature.deepCopy());
+                } else if (feature.path("elements") instanceof ArrayNode elements) {
+                    merged.withArray("elements").addAll(elements);
+                }
+            }
+        }
+
+        ArrayNode report = MAPPER.createArrayNode();
+        for (ObjectNode feature : features.values()) {
+            List<JsonNode> elements = new ArrayList<>();
+            feature.withArray("elements").forEach(elements::add);
+            elements.sort(Comparator.comparingInt(e -> e.path("line").asInt()));
+            feature.putArray("elements").addAll(elements);
+            report.add(feature);
+        }
+        MAPPER.writeValue(target.toFile(), report);
+        return features.size();
+    }
+
+    private static void mergeTimings(List<Path> shards) throws IOException {
+        Map<String, Double> durations = new LinkedHashMap<>();
+        for (Path shard : shards) {
+            File json = shard.resolve("step-timing.json").toFile();
+            if (!json.isFile()) continue;
+
+            double shardMillis = 0;
+            int count = 0;
+            for (JsonNode scenario : MAPPER.readTree(json).path("scenarios")) {
+                String status = scenario.path("status").asText();
+                if (scenario.hasNonNull("timingKey") && ("PASSED".equals(status) || "FAILED".equals(status))) {
+                    durations.put(scenario.get("timingKey").asText(), scenario.path("durationMs").asDouble());
+                }
+                shardMillis += scenario.path("durationMs").asDouble();
+                count++;
+            }
+            log.info("--- [Shard] {}: {} scenarios, {} s ---", shard, count, Math.round(shardMillis / 1000));
+        }
+        ShardTimings.update(ShardTimings.file(), durations);
+    }
+}
@@ -0,0 +1,82 @@
+package com.fedex.automation.runner;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Historical scenario durations used to balance shards, keyed "features/&lt;file&gt;.feature:&lt;line&gt;"
+ * (the line of the Scenario, or of the Examples row for an Outline). Kept outside target/ so it survives mvn clean;
+ * each run blends its durations in, so one slow run does not swing the split.
+ */
+@Slf4j
+public final class ShardTimings {
+
+    public static final String FILE_PROPERTY = "shard.timing-file";
+    public static final String DEFAULT_FILE = "shard-timings.json";
+
+    private static final double NEW_RUN_WEIGHT = 0.5;
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private ShardTimings() {
+    }
+
+    public static File file() {
+        return new File(System.getProperty(FILE_PROPERTY, DEFAULT_FILE));
+    }
+
+    /**
+     * Stable key for a scenario, whether Cucumber reports it as classpath:, file: or a plain path.
+     */
+    public static String key(String uri, int line) {
+        String path = uri.replace('\\', '/');
+        if (path.startsWith("classpath:")) path = path.substring("classpath:".length());
+        int features = path.lastIndexOf("/features/");
+        if (features >= 0) path = path.substring(features + 1);
+        while (path.startsWith("/")) path = path.substring(1);
+        return path + ":" + line;
+    }
+
+    /**
+     * Durations in milliseconds; empty when the file does not exist yet or cannot be read.
+     */
+    public static Map<String, Double> load(File file) {
+        if (!file.isFile()) return new TreeMap<>();
+        try {
+            return new TreeMap<>(MAPPER.readValue(file, new TypeReference<Map<String, Double>>() {
+            }));
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable shard timing file {}: {}", file, e.getMessage());
+            return new TreeMap<>();
+        }
+    }
+
+    /**
+     * Blends the durations of a run into the file (written atomically, so concurrent readers never see half a file).
+     */
+    public static synchronized void update(File file, Map<String, Double> runDurations) {
+        if (runDurations.isEmpty()) return;
+        Map<String, Double> timings = load(file);
+        runDurations.forEach((key, millis) -> timings.merge(key, millis,
+                (previous, latest) -> Math.round((previous * (1 - NEW_RUN_WEIGHT) + latest * NEW_RUN_WEIGHT) * 10) / 10.0));
+        try {
+            Path target = file.getAbsoluteFile().toPath();
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), file.getName(), ".tmp");
+            MAPPER.writeValue(temp.toFile(), timings);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("--- [Shard] Updated {} scenario timings in {} ---", runDurations.size(), target);
+        } catch (IOException e) {
+            log.warn("Could not update shard timing file {}: {}", file, e.getMessage());
+        }
+    }
+}
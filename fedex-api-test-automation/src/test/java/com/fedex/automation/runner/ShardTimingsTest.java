@@ -0,0 +1,75 @@
+package com.fedex.automation.runner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardTimingsTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void firstRunIsStoredAsIs() {
+        File file = dir.resolve("timings.json").toFile();
+
+        ShardTimings.update(file, Map.of("features/a.feature:3", 1200.0));
+
+        assertEquals(Map.of("features/a.feature:3", 1200.0), ShardTimings.load(file));
+    }
+
+    @Test
+    void laterRunsAreBlendedHalfAndHalf() {
+        File file = dir.resolve("timings.json").toFile();
+        ShardTimings.update(file, Map.of("features/a.feature:3", 1000.0, "features/b.feature:7", 500.0));
+
+        ShardTimings.update(file, Map.of("features/a.feature:3", 3000.0));
+        ShardTimings.update(file, Map.of("features/a.feature:3", 1000.0, "features/c.feature:9", 10.05));
+
+        Map<String, Double> timings = ShardTimings.load(file);
+        // 1000 -> (1000 + 3000) / 2 = 2000 -> (2000 + 1000) / 2 = 1500
+        assertEquals(1500.0, timings.get("features/a.feature:3"));
+        assertEquals(500.0, timings.get("features/b.feature:7"), "scenarios not in the run keep their history");
+        assertEquals(10.05, timings.get("features/c.feature:9"), "new scenarios are stored unrounded");
+    }
+
+    @Test
+    void blendIsRoundedToATenthOfAMillisecond() {
+        File file = dir.resolve("timings.json").toFile();
+        ShardTimings.update(file, Map.of("features/a.feature:3", 100.0));
+
+        ShardTimings.update(file, Map.of("features/a.feature:3", 100.33));
+
+        assertEquals(100.2, ShardTimings.load(file).get("features/a.feature:3"));
+    }
+
+    @Test
+    void missingOrUnreadableFileLoadsEmpty() throws Exception {
+        assertTrue(ShardTimings.load(dir.resolve("missing.json").toFile()).isEmpty());
+
+        Path broken = Files.writeString(dir.resolve("broken.json"), "{\"features/a.feature:3\": ");
+        assertTrue(ShardTimings.load(broken.toFile()).isEmpty());
+    }
+
+    @Test
+    void emptyRunDoesNotCreateTheFile() {
+        File file = dir.resolve("timings.json").toFile();
+
+        ShardTimings.update(file, Map.of());
+
+        assertFalse(file.exists());
+    }
+
+    @Test
+    void keyIgnoresHowCucumberReportsTheUri() {
+        assertEquals("features/a.feature:3", ShardTimings.key("classpath:features/a.feature", 3));
+        assertEquals("features/a.feature:3", ShardTimings.key("file:/C:/repo/src/test/resources/features/a.feature", 3));
+        assertEquals("features/a.feature:3", ShardTimings.key("src\\test\\resources\\features\\a.feature", 3));
+    }
+}
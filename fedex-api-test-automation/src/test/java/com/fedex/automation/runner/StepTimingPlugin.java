@@ -0,0 +1,252 @@
+package com.fedex.automation.runner;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fedex.automation.utils.LatencyHistogram;
+import com.fedex.automation.utils.StepCallTrace;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Times every step and the HTTP calls it issued (via StepCallTrace), then writes target/step-timing.json at the end:
+ * - "steps": per step definition, so all Scenario Outline examples of "I retrieve the delivery rate" add up together,
+ * ordered by total wall-clock time;
+ * - "scenarios": per scenario, every step in order plus the critical path (the slowest steps that cover 80% of its time).
+ * Each scenario carries its shard timing key; ShardReportMerger blends the durations into the file DurationShardFilter reads.
+ * Usage: com.fedex.automation.runner.StepTimingPlugin[:target/step-timing.json]
+ */
+@Slf4j
+public class StepTimingPlugin implements ConcurrentEventListener {
+
+    private static final double CRITICAL_PATH_SHARE = 0.8;
+    private static final int TABLE_ROWS = 15;
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final File reportFile;
+    private final Map<UUID, List<StepRun>> running = new ConcurrentHashMap<>();
+    private final Map<String, StepAggregate> aggregates = new ConcurrentHashMap<>();
+    private final Queue<Map<String, Object>> scenarios = new ConcurrentLinkedQueue<>();
+
+    public StepTimingPlugin() {
+        this("target/step-timing.json");
+    }
+
+    public StepTimingPlugin(String reportPath) {
+        this.reportFile = new File(reportPath);
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        // Concurrent listeners get step events on the thread running the step, which is what StepCallTrace keys on
+        publisher.registerHandlerFor(TestStepStarted.class, event -> StepCallTrace.begin(new StepCallTrace.Step()));
+        publisher.registerHandlerFor(TestStepFinished.class, this::stepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::scenarioFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> publish());
+    }
+
+    private void stepFinished(TestStepFinished event) {
+        StepCallTrace.Step trace = StepCallTrace.current();
+        StepCallTrace.end();
+
+        StepRun run = new StepRun(describe(event.getTestStep()), definition(event.getTestStep()),
+                event.getResult().getDuration().toNanos(), event.getResult().getStatus().name(),
+                trace != null ? trace.getCalls() : List.of(), trace != null ? trace.getHttpWallNanos() : 0);
+        running.computeIfAbsent(event.getTestCase().getId(), k -> new ArrayList<>()).add(run);
+
+        StepAggregate aggregate = aggregates.computeIfAbsent(run.definition, k -> new StepAggregate());
+        aggregate.duration.recordNanos(run.nanos);
+        aggregate.httpNanos.add(run.httpNanos);
+        run.calls.forEach(call -> aggregate.calls.computeIfAbsent(call.getEndpoint(), k -> new LatencyHistogram())
+                .recordNanos(call.getElapsedNanos()));
+    }
+
+    private void scenarioFinished(TestCaseFinished event) {
+        TestCase testCase = event.getTestCase();
+        List<StepRun> steps = running.remove(testCase.getId());
+        if (steps == null) steps = List.of();
+        long total = event.getResult().getDuration().toNanos();
+
+        String timingKey = ShardTimings.key(testCase.getUri().toString(), testCase.getLocation().getLine());
+
+        Map<String, Object> scenario = new LinkedHashMap<>();
+        scenario.put("name", testCase.getName());
+        scenario.put("location", testCase.getUri() + ":" + testCase.getLocation().getLine());
+        scenario.put("timingKey", timingKey);
+        scenario.put("status", event.getResult().getStatus().name());
+        scenario.put("durationMs", millis(total));
+        scenario.put("criticalPath", criticalPath(steps, total));
+        scenario.put("steps", steps.stream().map(StepRun::toMap).toList());
+        scenarios.add(scenario);
+    }
+
+    /**
+     * Slowest steps first until they account for 80% of the scenario's wall-clock time.
+     */
+    private static List<Map<String, Object>> criticalPath(List<StepRun> steps, long total) {
+        List<StepRun> slowestFirst = new ArrayList<>(steps);
+        slowestFirst.sort(Comparator.comparingLong((StepRun s) -> s.nanos).reversed());
+
+        List<Map<String, Object>> path = new ArrayList<>();
+        long covered = 0;
+        for (StepRun step : slowestFirst) {
+            if (total > 0 && covered >= total * CRITICAL_PATH_SHARE) break;
+            covered += step.nanos;
+
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("step", step.text);
+            entry.put("ms", millis(step.nanos));
+            entry.put("sharePct", percent(step.nanos, total));
+            entry.put("httpMs", millis(step.httpNanos));
+            step.calls.stream().max(Comparator.comparingLong(StepCallTrace.Call::getElapsedNanos))
+                    .ifPresent(call -> entry.put("slowestCall", call.getEndpoint() + " " + millis(call.getElapsedNanos()) + " ms"));
+            path.add(entry);
+        }
+        return path;
+    }
+
+    private void publish() {
+        if (aggregates.isEmpty()) return;
+
+        double allSteps = aggregates.values().stream().mapToDouble(a -> a.duration.getTotalMillis()).sum();
+        List<Map<String, Object>> steps = new ArrayList<>();
+        aggregates.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<String, StepAggregate> e) -> e.getValue().duration.getTotalMillis()).reversed())
+                .forEach(e -> steps.add(e.getValue().toMap(e.getKey(), allSteps)));
+
+        log.info("--- [Step Timing] Slowest steps across {} scenario(s) ---", scenarios.size());
+        log.info(String.format("%-60s %6s %10s %6s %9s %9s", "step", "count", "total ms", "share", "p95 ms", "http ms"));
+        steps.stream().limit(TABLE_ROWS).forEach(s -> log.info(String.format("%-60s %6s %10s %5s%% %9s %9s",
+                abbreviate((String) s.get("step")), s.get("count"), s.get("totalMs"), s.get("sharePct"), s.get("p95Ms"), s.get("httpMs"))));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("scenarioCount", scenarios.size());
+        report.put("steps", steps);
+        report.put("scenarios", new ArrayList<>(scenarios));
+        try {
+            if (reportFile.getParentFile() != null) reportFile.getParentFile().mkdirs();
+            MAPPER.writeValue(reportFile, report);
+            log.info("--- Step timing report written to {} ---", reportFile.getAbsolutePath());
+        } catch (IOException e) {
+            log.warn("Could not write step timing report: {}", e.getMessage());
+        }
+    }
+
+    private static String describe(TestStep step) {
+        if (step instanceof PickleStepTestStep pickle) {
+            return pickle.getStep().getKeyword().trim() + " " + pickle.getStep().getText();
+        }
+        return definition(step);
+    }
+
+    // Aggregation key: the step definition's expression, shared by every Outline example
+    private static String definition(TestStep step) {
+        if (step instanceof PickleStepTestStep pickle) {
+            return pickle.getPattern() != null ? pickle.getPattern() : pickle.getStep().getText();
+        }
+        if (step instanceof HookTestStep hook) {
+            String location = hook.getCodeLocation();
+            int args = location.indexOf('(');
+            return hook.getHookType() + " hook " + (args > 0 ? location.substring(0, args) : location);
+        }
+        return step.getCodeLocation();
+    }
+
+    private static String abbreviate(String text) {
+        return text.length() <= 60 ? text : text.substring(0, 57) + "...";
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static double percent(long part, long total) {
+        return total <= 0 ? 0 : Math.round(part * 1000.0 / total) / 10.0;
+    }
+
+    private static final class StepRun {
+        private final String text;
+        private final String definition;
+        private final long nanos;
+        private final String status;
+        private final List<StepCallTrace.Call> calls;
+        // Wall time with a call in flight; parallel calls are not added up
+        private final long httpNanos;
+
+        private StepRun(String text, String definition, long nanos, String status, List<StepCallTrace.Call> calls, long httpNanos) {
+            this.text = text;
+            this.definition = definition;
+            this.nanos = nanos;
+            this.status = status;
+            this.calls = calls;
+            this.httpNanos = httpNanos;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("step", text);
+            map.put("ms", millis(nanos));
+            map.put("status", status);
+            map.put("httpMs", millis(httpNanos));
+            map.put("calls", calls.stream().map(call -> {
+                Map<String, Object> c = new LinkedHashMap<>();
+                c.put("endpoint", call.getEndpoint());
+                c.put("ms", millis(call.getElapsedNanos()));
+                c.put("status", call.getStatus());
+                return c;
+            }).toList());
+            return map;
+        }
+    }
+
+    private static final class StepAggregate {
+        private final LatencyHistogram duration = new LatencyHistogram();
+        private final LongAdder httpNanos = new LongAdder();
+        private final Map<String, LatencyHistogram> calls = new ConcurrentHashMap<>();
+
+        Map<String, Object> toMap(String step, double allStepsMillis) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("step", step);
+            map.putAll(duration.summary());
+            map.put("totalMs", Math.round(duration.getTotalMillis()));
+            map.put("sharePct", allStepsMillis <= 0 ? 0 : Math.round(duration.getTotalMillis() * 1000 / allStepsMillis) / 10.0);
+            map.put("httpMs", Math.round(httpNanos.sum() / 1_000_000.0));
+
+            Map<String, Object> endpoints = new LinkedHashMap<>();
+            calls.entrySet().stream()
+                    .sorted(Comparator.comparingDouble((Map.Entry<String, LatencyHistogram> e) -> e.getValue().getTotalMillis()).reversed())
+                    .forEach(e -> {
+                        Map<String, Object> call = new LinkedHashMap<>();
+                        call.put("count", e.getValue().getCount());
+                        call.put("totalMs", Math.round(e.getValue().getTotalMillis()));
+                        call.put("meanMs", Math.round(e.getValue().getMeanMillis() * 100) / 100.0);
+                        endpoints.put(e.getKey(), call);
+                    });
+            map.put("calls", endpoints);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.fedex.automation.runner;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fedex.automation.utils.StepCallTrace;
+import io.cucumber.plugin.event.Event;
+import io.cucumber.plugin.event.EventHandler;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Location;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.Step;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Feeds the plugin synthetic step and scenario events, recording HTTP calls in between the way EndpointTimingFilter does.
+ */
+class StepTimingPluginTest {
+
+    private static final long MS = 1_000_000L;
+    private static final String RATE_PATTERN = "I retrieve the delivery rate for {string}";
+
+    @TempDir
+    Path dir;
+
+    private final Map<Class<?>, List<EventHandler<?>>> handlers = new HashMap<>();
+    private Path report;
+
+    @BeforeEach
+    void setUp() {
+        report = dir.resolve("step-timing.json");
+        new StepTimingPlugin(report.toString()).setEventPublisher(new EventPublisher() {
+            @Override
+            public <T> void registerHandlerFor(Class<T> eventType, EventHandler<T> handler) {
+                handlers.computeIfAbsent(eventType, k -> new ArrayList<>()).add(handler);
+            }
+
+            @Override
+            public <T> void removeHandlerFor(Class<T> eventType, EventHandler<T> handler) {
+                handlers.getOrDefault(eventType, new ArrayList<>()).remove(handler);
+            }
+        });
+    }
+
+    @Test
+    void outlineExamplesAggregateUnderOneStepDefinition() throws Exception {
+        TestCase ground = scenario("Rate for GROUND", 12);
+        step(ground, "Given", "I retrieve the delivery rate for \"GROUND\"", RATE_PATTERN, 400, call(0, 300));
+        finish(ground, 400);
+        TestCase express = scenario("Rate for EXPRESS", 13);
+        step(express, "Given", "I retrieve the delivery rate for \"EXPRESS\"", RATE_PATTERN, 600, call(0, 500));
+        finish(express, 600);
+
+        JsonNode steps = publish().path("steps");
+
+        assertEquals(1, steps.size());
+        assertEquals(RATE_PATTERN, steps.at("/0/step").asText());
+        assertEquals(2, steps.at("/0/count").asInt());
+        assertEquals(1000, steps.at("/0/totalMs").asLong());
+        assertEquals(800, steps.at("/0/httpMs").asLong());
+        assertEquals(2, steps.at("/0/calls/GET ~1rates/count").asInt());
+    }
+
+    @Test
+    void parallelCallsAreReportedAsWallTime() throws Exception {
+        TestCase lookup = scenario("Parallel lookups", 20);
+        // Three 100 ms lookups started together, and a 50 ms call after them: 150 ms with a call in flight
+        step(lookup, "When", "I look up 3 products", "I look up {int} products", 200,
+                call(0, 100), call(0, 100), call(0, 100), call(100, 50));
+        finish(lookup, 200);
+
+        JsonNode report = publish();
+
+        assertEquals(150.0, report.at("/scenarios/0/steps/0/httpMs").asDouble());
+        assertEquals(4, report.at("/scenarios/0/steps/0/calls").size());
+        assertEquals(150, report.at("/steps/0/httpMs").asLong());
+    }
+
+    @Test
+    void criticalPathStopsOnceEightyPercentIsCovered() throws Exception {
+        TestCase checkout = scenario("Checkout", 30);
+        step(checkout, "Given", "I add the product to the cart", "I add the product to the cart", 300);
+        step(checkout, "When", "I place the order", "I place the order", 500, call(0, 450));
+        step(checkout, "Then", "the order is confirmed", "the order is confirmed", 50);
+        step(checkout, "And", "the cart is empty", "the cart is empty", 150);
+        finish(checkout, 1000);
+
+        JsonNode path = publish().at("/scenarios/0/criticalPath");
+
+        // 500 ms covers 50%, adding 300 ms reaches 80%: the 150 ms and 50 ms steps stay off the path
+        assertEquals(2, path.size());
+        assertEquals("When I place the order", path.at("/0/step").asText());
+        assertEquals(50.0, path.at("/0/sharePct").asDouble());
+        assertEquals(450.0, path.at("/0/httpMs").asDouble());
+        assertEquals("GET /rates 450.0 ms", path.at("/0/slowestCall").asText());
+        assertEquals("Given I add the product to the cart", path.at("/1/step").asText());
+    }
+
+    private JsonNode publish() throws Exception {
+        fire(new TestRunFinished(Instant.now(), new Result(Status.PASSED, Duration.ZERO, null)));
+        return new ObjectMapper().readTree(report.toFile());
+    }
+
+    private void step(TestCase testCase, String keyword, String text, String pattern, long millis, long[]... calls) {
+        Step gherkinStep = mock(Step.class);
+        when(gherkinStep.getKeyword()).thenReturn(keyword + " ");
+        when(gherkinStep.getText()).thenReturn(text);
+        PickleStepTestStep testStep = mock(PickleStepTestStep.class);
+        when(testStep.getStep()).thenReturn(gherkinStep);
+        when(testStep.getPattern()).thenReturn(pattern);
+
+        fire(new TestStepStarted(Instant.now(), testCase, testStep));
+        for (long[] call : calls) {
+            StepCallTrace.recordCall("GET", "/rates", call[0] * MS, call[1] * MS, 200);
+        }
+        fire(new TestStepFinished(Instant.now(), testCase, testStep, new Result(Status.PASSED, Duration.ofMillis(millis), null)));
+    }
+
+    private void finish(TestCase testCase, long millis) {
+        fire(new TestCaseFinished(Instant.now(), testCase, new Result(Status.PASSED, Duration.ofMillis(millis), null)));
+    }
+
+    private static TestCase scenario(String name, int line) {
+        TestCase testCase = mock(TestCase.class);
+        when(testCase.getId()).thenReturn(UUID.randomUUID());
+        when(testCase.getName()).thenReturn(name);
+        when(testCase.getUri()).thenReturn(URI.create("classpath:features/rates.feature"));
+        when(testCase.getLocation()).thenReturn(new Location(line, 3));
+        return testCase;
+    }
+
+    private static long[] call(long startMillis, long elapsedMillis) {
+        return new long[]{startMillis, elapsedMillis};
+    }
+
+    @SuppressWarnings("unchecked")
+    private void fire(Event event) {
+        handlers.getOrDefault(event.getClass(), List.of()).forEach(h -> ((EventHandler<Event>) h).receive(event));
+    }
+}
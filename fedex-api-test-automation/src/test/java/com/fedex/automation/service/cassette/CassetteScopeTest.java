@@ -0,0 +1,36 @@
+package com.fedex.automation.service.cassette;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The scenario scope follows the fan-out threads a step starts, and falls back to the thread name outside a scenario.
+ */
+class CassetteScopeTest {
+
+    @AfterEach
+    void tearDown() {
+        CassetteScope.end();
+    }
+
+    @Test
+    void virtualThreadsStartedInAScenarioShareItsScope() throws Exception {
+        CassetteScope.begin("scenario-1");
+        try (ExecutorService lookups = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("lookup-", 0).factory())) {
+            assertEquals("scenario-1", lookups.submit(CassetteScope::current).get());
+        }
+    }
+
+    @Test
+    void outsideAScenarioTheThreadNameIsTheScope() {
+        CassetteScope.begin("scenario-1");
+        CassetteScope.end();
+
+        assertEquals(Thread.currentThread().getName(), CassetteScope.current());
+    }
+}
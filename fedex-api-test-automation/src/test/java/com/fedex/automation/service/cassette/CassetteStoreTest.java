@@ -0,0 +1,77 @@
+package com.fedex.automation.service.cassette;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fedex.automation.utils.EndpointTemplateResolver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CassetteStoreTest {
+
+    private static final String CART_URL = "https://staging2.office.fedex.com/default/checkout/cart/";
+
+    @TempDir
+    Path cassetteDir;
+
+    @Test
+    void recordingIsWrittenOnceAtFlush() throws Exception {
+        CassetteStore recorder = store("record");
+        recorder.record("GET", CART_URL, "", 200, List.of(), "text/html", bytes("empty cart"));
+        recorder.record("GET", CART_URL, "", 200, List.of(), "text/html", bytes("one item"));
+
+        assertEquals(0, cassetteFiles());
+        recorder.flush();
+        assertEquals(1, cassetteFiles());
+    }
+
+    @Test
+    void eachScopeReplaysFromTheFirstRecording() throws Exception {
+        CassetteStore recorder = store("record");
+        recorder.record("GET", CART_URL, "", 200, List.of(), "text/html", bytes("empty cart"));
+        recorder.record("GET", CART_URL, "", 200, List.of(), "text/html", bytes("one item"));
+        recorder.flush();
+
+        CassetteStore replayer = store("replay");
+        replayer.loadForReplay();
+        String stubUrl = "http://127.0.0.1:12345/default/checkout/cart/";
+
+        assertEquals("empty cart", body(replayer.replay("GET", stubUrl, "", "scenario-a")));
+        assertEquals("empty cart", body(replayer.replay("GET", stubUrl, "", "scenario-b")));
+        assertEquals("one item", body(replayer.replay("GET", stubUrl, "", "scenario-a")));
+        assertEquals("one item", body(replayer.replay("GET", stubUrl, "", "scenario-a")), "the last recording repeats");
+        assertEquals("one item", body(replayer.replay("GET", stubUrl, "", "scenario-b")));
+        assertNull(replayer.replay("GET", "http://127.0.0.1:12345/never/recorded", "", "scenario-a"));
+    }
+
+    private CassetteStore store(String mode) {
+        CassetteStore store = new CassetteStore(new EndpointTemplateResolver(new StandardEnvironment()), new ObjectMapper());
+        ReflectionTestUtils.setField(store, "mode", mode);
+        ReflectionTestUtils.setField(store, "cassetteDir", cassetteDir.toString());
+        ReflectionTestUtils.setField(store, "volatileFields", Set.of("form_key"));
+        return store;
+    }
+
+    private long cassetteFiles() throws Exception {
+        try (Stream<Path> files = Files.walk(cassetteDir)) {
+            return files.filter(p -> p.toString().endsWith(".json")).count();
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String body(CassetteStore.Interaction interaction) {
+        return new String(interaction.getBody(), StandardCharsets.UTF_8);
+    }
+}
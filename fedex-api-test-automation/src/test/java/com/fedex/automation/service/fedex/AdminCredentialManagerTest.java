@@ -0,0 +1,146 @@
+package com.fedex.automation.service.fedex;
+
+import com.fedex.automation.config.FedexConfig;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.builder.RequestSpecBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the token lifecycle against a local token endpoint that counts its calls and answers slowly,
+ * so concurrent callers really do overlap while a fetch is in flight.
+ */
+class AdminCredentialManagerTest {
+
+    private static final String TOKEN_PATH = "/rest/V1/integration/admin/token";
+    private static final int CALLERS = 12;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final AtomicInteger fetches = new AtomicInteger();
+    private AdminCredentialManager manager;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(TOKEN_PATH, exchange -> {
+            byte[] body = ("\"token-" + fetches.incrementAndGet() + "\"").getBytes(StandardCharsets.UTF_8);
+            sleep(200);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        serverExecutor = Executors.newFixedThreadPool(CALLERS);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        FedexConfig fedexConfig = new FedexConfig();
+        fedexConfig.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        manager = new AdminCredentialManager(new RequestSpecBuilder().build(), fedexConfig);
+        ReflectionTestUtils.setField(manager, "adminTokenEndpoint", TOKEN_PATH);
+        ReflectionTestUtils.setField(manager, "username", "admin");
+        ReflectionTestUtils.setField(manager, "password", "secret");
+        ReflectionTestUtils.setField(manager, "tokenTtlSeconds", 3600L);
+        ReflectionTestUtils.setField(manager, "refreshAheadSeconds", 60L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneFetch() throws Exception {
+        List<String> tokens = concurrently(() -> manager.bearerToken());
+
+        assertEquals(1, fetches.get());
+        assertEquals(Set.of("token-1"), Set.copyOf(tokens));
+        assertEquals("token-1", manager.bearerToken(), "a fresh token is served without another fetch");
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void tokenInsideTheRefreshAheadWindowIsRenewed() {
+        // Expires 30 s from now, inside the 60 s refresh-ahead window the moment it arrives
+        ReflectionTestUtils.setField(manager, "tokenTtlSeconds", 30L);
+
+        assertEquals("token-1", manager.bearerToken());
+        assertEquals("token-2", manager.bearerToken());
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    void staleInvalidateKeepsATokenRenewedMeanwhile() {
+        String rejected = manager.bearerToken();
+        manager.invalidateToken(rejected);
+        String renewed = manager.bearerToken();
+
+        // A second caller reports the same old token after the first one already renewed it
+        manager.invalidateToken(rejected);
+
+        assertEquals("token-2", renewed);
+        assertEquals("token-2", manager.bearerToken());
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    void callersRejectedTogetherTriggerOneRenewal() throws Exception {
+        String rejected = manager.bearerToken();
+
+        List<String> tokens = concurrently(() -> {
+            manager.invalidateToken(rejected);
+            return manager.bearerToken();
+        });
+
+        assertEquals(Set.of("token-2"), Set.copyOf(tokens));
+        assertEquals(2, fetches.get());
+    }
+
+    private List<String> concurrently(Callable<String> call) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(CALLERS);
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(callers.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            List<String> results = new ArrayList<>();
+            for (Future<String> future : futures) results.add(future.get(30, TimeUnit.SECONDS));
+            return results;
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.fedex.automation.service.fedex;
+
+import com.fedex.automation.config.FedexConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.builder.RequestSpecBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Resolves order increment IDs against a local /V1/orders stub that knows only the even-numbered orders.
+ */
+class AdminSessionServiceTest {
+
+    private static final String ORDERS_PATH = "/rest/V1/orders";
+
+    private HttpServer server;
+    private final List<Map<String, String>> searches = new CopyOnWriteArrayList<>();
+    private final List<String> tokens = new CopyOnWriteArrayList<>();
+    private volatile String acceptedToken = "token-1";
+    private AdminCredentialManager credentialManager;
+    private AdminSessionService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(ORDERS_PATH, this::searchOrders);
+        server.start();
+
+        FedexConfig fedexConfig = new FedexConfig();
+        fedexConfig.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        credentialManager = mock(AdminCredentialManager.class);
+        when(credentialManager.bearerToken()).thenReturn("token-1");
+
+        service = new AdminSessionService();
+        ReflectionTestUtils.setField(service, "adminOrdersEndpoint", ORDERS_PATH);
+        ReflectionTestUtils.setField(service, "defaultRequestSpec", new RequestSpecBuilder().build());
+        ReflectionTestUtils.setField(service, "fedexConfig", fedexConfig);
+        ReflectionTestUtils.setField(service, "credentialManager", credentialManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void idsAreSearchedInChunksOfOneHundred() {
+        List<String> ids = IntStream.range(0, 250).mapToObj(AdminSessionServiceTest::incrementId).collect(Collectors.toList());
+        ids.addAll(ids.subList(0, 10));
+
+        Map<String, String> entityIds = service.resolveEntityIds(ids);
+
+        assertEquals(List.of(100, 100, 50), searches.stream().map(s -> s.get("value").split(",").length).toList());
+        assertEquals(List.of("100", "100", "50"), searches.stream().map(s -> s.get("pageSize")).toList());
+        assertTrue(searches.stream().allMatch(s -> "in".equals(s.get("condition_type")) && "increment_id".equals(s.get("field"))));
+        assertEquals(incrementId(100), searches.get(1).get("value").split(",")[0], "chunks keep the input order");
+
+        assertEquals(125, entityIds.size(), "orders the search does not return are left out");
+        assertEquals("7", entityIds.get(incrementId(7 * 2)));
+        assertFalse(entityIds.containsKey(incrementId(7)));
+    }
+
+    @Test
+    void rejectedTokenIsRenewedAndTheChunkRetried() {
+        acceptedToken = "token-2";
+        doAnswer(invocation -> {
+            when(credentialManager.bearerToken()).thenReturn("token-2");
+            return null;
+        }).when(credentialManager).invalidateToken("token-1");
+
+        Map<String, String> entityIds = service.resolveEntityIds(List.of(incrementId(2), incrementId(3)));
+
+        assertEquals(Map.of(incrementId(2), "1"), entityIds);
+        assertEquals(List.of("Bearer token-1", "Bearer token-2"), tokens);
+        verify(credentialManager).invalidateToken("token-1");
+    }
+
+    private void searchOrders(HttpExchange exchange) throws IOException {
+        tokens.add(exchange.getRequestHeaders().getFirst("Authorization"));
+        if (!("Bearer " + acceptedToken).equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+            respond(exchange, 401, "{\"message\":\"The consumer isn't authorized to access %resources.\"}");
+            return;
+        }
+        Map<String, String> search = criteria(exchange.getRequestURI().getRawQuery());
+        searches.add(search);
+
+        List<String> items = new ArrayList<>();
+        for (String id : search.get("value").split(",")) {
+            int n = Integer.parseInt(id.substring(4));
+            if (n % 2 == 0) {
+                items.add("{\"entity_id\":" + n / 2 + ",\"increment_id\":\"" + id + "\"}");
+            }
+        }
+        respond(exchange, 200, "{\"items\":[" + String.join(",", items) + "],\"total_count\":" + items.size() + "}");
+    }
+
+    // searchCriteria[filter_groups][0][filters][0][value] -> value, searchCriteria[pageSize] -> pageSize
+    private static Map<String, String> criteria(String rawQuery) {
+        Map<String, String> criteria = new LinkedHashMap<>();
+        for (String pair : rawQuery.split("&")) {
+            String[] parts = pair.split("=", 2);
+            String name = URLDecoder.decode(parts[0], StandardCharsets.UTF_8);
+            String key = name.substring(name.lastIndexOf('[') + 1, name.length() - 1);
+            criteria.put(name.startsWith("searchCriteria") ? key : name, URLDecoder.decode(parts[1], StandardCharsets.UTF_8));
+        }
+        return criteria;
+    }
+
+    private static String incrementId(int n) {
+        return "2010" + String.format("%06d", n);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.fedex.automation.service.fedex;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs BrowserProvider against mocked Playwright drivers: each "login" holds its context for LOGIN_MILLIS,
+ * standing in for the page navigation of a real browser login.
+ */
+@Slf4j
+class BrowserProviderTest {
+
+    private static final int LOGINS = 8;
+    private static final int MAX_PARALLEL = 4;
+    private static final long LOGIN_MILLIS = 200;
+
+    private final AtomicInteger launches = new AtomicInteger();
+    // Playwright driver -> threads that used it; Playwright objects must stay on one thread
+    private final Map<Playwright, Set<String>> driverThreads = new ConcurrentHashMap<>();
+    private BrowserProvider provider;
+
+    @AfterEach
+    void shutdown() {
+        if (provider != null) provider.shutdown();
+    }
+
+    @Test
+    void sequentialLoginsReuseOneBrowser() {
+        provider = provider(MAX_PARALLEL);
+
+        for (int i = 0; i < 3; i++) {
+            provider.withNewContext(context -> "done");
+        }
+
+        assertEquals(1, launches.get());
+    }
+
+    @Test
+    void concurrentLoginsRunInParallelUpToTheLimit() throws Exception {
+        long serialMillis = runLogins(provider(1));
+        provider.shutdown();
+        launches.set(0);
+        driverThreads.clear();
+
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        provider = provider(MAX_PARALLEL);
+        long parallelMillis = runLogins(provider, active, maxActive);
+
+        log.info("--- [Browser Pool] {} simulated logins of {} ms: {} ms on 1 browser, {} ms on up to {} browsers ---",
+                LOGINS, LOGIN_MILLIS, serialMillis, parallelMillis, MAX_PARALLEL);
+        assertEquals(MAX_PARALLEL, maxActive.get());
+        assertEquals(MAX_PARALLEL, launches.get());
+        assertTrue(parallelMillis < serialMillis / 2, "parallel " + parallelMillis + " ms vs serial " + serialMillis + " ms");
+        driverThreads.values().forEach(threads -> assertEquals(1, threads.size(), "Driver used from " + threads));
+    }
+
+    private long runLogins(BrowserProvider provider) throws Exception {
+        return runLogins(provider, new AtomicInteger(), new AtomicInteger());
+    }
+
+    private long runLogins(BrowserProvider provider, AtomicInteger active, AtomicInteger maxActive) throws Exception {
+        ExecutorService scenarios = Executors.newFixedThreadPool(LOGINS);
+        long start = System.nanoTime();
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < LOGINS; i++) {
+                results.add(scenarios.submit(() -> provider.withNewContext(context -> {
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(LOGIN_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    active.decrementAndGet();
+                    return Thread.currentThread().getName();
+                })));
+            }
+            for (Future<String> result : results) {
+                assertTrue(result.get(10, TimeUnit.SECONDS).startsWith("playwright-browser-"));
+            }
+        } finally {
+            scenarios.shutdownNow();
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private BrowserProvider provider(int maxParallel) {
+        BrowserProvider browserProvider = new BrowserProvider() {
+            @Override
+            Playwright createPlaywright() {
+                return fakePlaywright();
+            }
+        };
+        ReflectionTestUtils.setField(browserProvider, "headless", true);
+        ReflectionTestUtils.setField(browserProvider, "reuseBrowser", true);
+        ReflectionTestUtils.setField(browserProvider, "maxParallel", maxParallel);
+        provider = browserProvider;
+        return browserProvider;
+    }
+
+    private Playwright fakePlaywright() {
+        launches.incrementAndGet();
+        Playwright playwright = mock(Playwright.class);
+        BrowserType chromium = mock(BrowserType.class);
+        Browser browser = mock(Browser.class);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        driverThreads.put(playwright, threads);
+
+        when(playwright.chromium()).thenReturn(chromium);
+        when(chromium.launch(any())).thenReturn(browser);
+        when(browser.isConnected()).thenReturn(true);
+        when(browser.newContext(any(Browser.NewContextOptions.class))).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return mock(BrowserContext.class);
+        });
+        return playwright;
+    }
+}
@@ -0,0 +1,120 @@
+package com.fedex.automation.service.fedex;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fedex.automation.model.fedex.CustomerSession;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pool behaviour without a browser: AuthenticationService is replaced by a counting fake that hands out
+ * a new FDX_LOGIN cookie per login.
+ */
+class CustomerSessionPoolTest {
+
+    private static final int WORKERS = 16;
+
+    private final Map<String, AtomicInteger> logins = new ConcurrentHashMap<>();
+    private CustomerSessionPool pool;
+
+    @BeforeEach
+    void createPool() {
+        AuthenticationService authenticationService = mock(AuthenticationService.class);
+        when(authenticationService.authenticate(anyString(), anyString())).thenAnswer(invocation -> {
+            String username = invocation.getArgument(0);
+            int login = logins.computeIfAbsent(username, k -> new AtomicInteger()).incrementAndGet();
+            Thread.sleep(100); // a browser login is slow; other callers must wait for it, not start their own
+            return CustomerSession.builder()
+                    .username(username)
+                    .cookies(Map.of("FDX_LOGIN", username + "-" + login, "PHPSESSID", "visit-" + login))
+                    .loggedInAt(Instant.now())
+                    .expiresAt(Instant.now().plus(Duration.ofHours(1)))
+                    .build();
+        });
+
+        pool = new CustomerSessionPool(authenticationService, null, null, new ObjectMapper());
+        ReflectionTestUtils.setField(pool, "enabled", true);
+        ReflectionTestUtils.setField(pool, "refreshAheadSeconds", 300L);
+        ReflectionTestUtils.setField(pool, "defaultTtlMinutes", 30L);
+    }
+
+    @Test
+    void concurrentScenariosShareOneLoginPerUser() throws Exception {
+        CyclicBarrier start = new CyclicBarrier(WORKERS);
+        ExecutorService executor = Executors.newFixedThreadPool(WORKERS);
+        try {
+            List<Future<Map<String, String>>> results = new ArrayList<>();
+            for (int i = 0; i < WORKERS; i++) {
+                String username = i % 2 == 0 ? "alice" : "bob";
+                results.add(executor.submit(() -> {
+                    start.await(5, TimeUnit.SECONDS);
+                    return pool.acquire(username, "secret");
+                }));
+            }
+            for (int i = 0; i < WORKERS; i++) {
+                Map<String, String> cookies = results.get(i).get(10, TimeUnit.SECONDS);
+                String username = i % 2 == 0 ? "alice" : "bob";
+                assertEquals(username + "-1", cookies.get("FDX_LOGIN"));
+                assertFalse(cookies.containsKey("PHPSESSID"), "Per-visit cookies must not be pooled");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, logins.get("alice").get());
+        assertEquals(1, logins.get("bob").get());
+    }
+
+    @Test
+    void invalidatedSessionIsLoggedInAgain() {
+        assertEquals("alice-1", pool.acquire("alice", "secret").get("FDX_LOGIN"));
+        assertEquals("alice-1", pool.acquire("alice", "secret").get("FDX_LOGIN"));
+
+        pool.invalidate("alice");
+
+        assertEquals("alice-2", pool.acquire("alice", "secret").get("FDX_LOGIN"));
+        assertEquals(2, logins.get("alice").get());
+    }
+
+    @Test
+    void changedPasswordLogsInAgain() {
+        pool.acquire("alice", "secret");
+        pool.acquire("alice", "rotated");
+
+        assertEquals(2, logins.get("alice").get());
+    }
+
+    @Test
+    void rejectionIsA401OrARedirectToLogin() {
+        assertTrue(CustomerSessionPool.isRejected(response(401, null)));
+        assertTrue(CustomerSessionPool.isRejected(response(302, "https://www.fedex.com/secure-login/?redirectUrl=cart")));
+        assertFalse(CustomerSessionPool.isRejected(response(302, "https://staging2.office.fedex.com/default/checkout/")));
+        assertFalse(CustomerSessionPool.isRejected(response(200, null)));
+    }
+
+    private static Response response(int status, String location) {
+        Response response = mock(Response.class);
+        when(response.statusCode()).thenReturn(status);
+        when(response.getHeader("Location")).thenReturn(location);
+        return response;
+    }
+}
@@ -0,0 +1,111 @@
+package com.fedex.automation.service.fedex;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncryptionKeyProviderTest {
+
+    private final AtomicInteger fetches = new AtomicInteger();
+    private EncryptionKeyProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = new EncryptionKeyProvider();
+        provider.setTtlSeconds(600);
+    }
+
+    @Test
+    void concurrentCallersFetchOnce() throws Exception {
+        int threads = 8;
+        CyclicBarrier start = new CyclicBarrier(threads);
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> keys = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                keys.add(callers.submit(() -> {
+                    start.await(5, TimeUnit.SECONDS);
+                    return provider.getPublicKeyPem("https://env1", () -> {
+                        sleep(100);
+                        return "pem-" + fetches.incrementAndGet();
+                    });
+                }));
+            }
+            for (Future<String> key : keys) assertEquals("pem-1", key.get(10, TimeUnit.SECONDS));
+        } finally {
+            callers.shutdownNow();
+        }
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void slowFetchForOneEnvironmentDoesNotBlockAnother() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> slow = caller.submit(() -> provider.getPublicKeyPem("https://env1", () -> {
+                await(release);
+                return "pem-env1";
+            }));
+
+            assertEquals("pem-env2", provider.getPublicKeyPem("https://env2", () -> "pem-env2"));
+            release.countDown();
+            assertEquals("pem-env1", slow.get(5, TimeUnit.SECONDS));
+        } finally {
+            caller.shutdownNow();
+        }
+    }
+
+    @Test
+    void invalidateFetchesTheRotatedKey() {
+        assertEquals("pem-1", provider.getPublicKeyPem("https://env1", () -> "pem-" + fetches.incrementAndGet()));
+        assertEquals("pem-1", provider.getPublicKeyPem("https://env1", () -> "pem-" + fetches.incrementAndGet()));
+
+        provider.invalidate("https://env1");
+
+        assertEquals("pem-2", provider.getPublicKeyPem("https://env1", () -> "pem-" + fetches.incrementAndGet()));
+    }
+
+    @Test
+    void blankKeyIsRejectedAndNotCached() {
+        assertThrows(IllegalStateException.class, () -> provider.getPublicKeyPem("https://env1", () -> " "));
+
+        assertEquals("pem", provider.getPublicKeyPem("https://env1", () -> "pem"));
+    }
+
+    @Test
+    void onlyEncryptionErrorsWithoutAnOrderNumberInvalidateTheKey() {
+        assertTrue(CheckoutService.isEncryptionRejection("{\"error\":true,\"message\":\"Unable to decrypt card data\"}"));
+        assertTrue(CheckoutService.isEncryptionRejection("Encryption failed"));
+        assertFalse(CheckoutService.isEncryptionRejection("{\"error\":true,\"message\":\"Card declined\"}"));
+        assertFalse(CheckoutService.isEncryptionRejection("{\"unified_data_layer\":{\"orderNumber\":\"2010\",\"note\":\"encrypted\"}}"));
+        assertFalse(CheckoutService.isEncryptionRejection(null));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
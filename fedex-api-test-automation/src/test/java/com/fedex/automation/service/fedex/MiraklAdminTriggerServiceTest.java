@@ -0,0 +1,78 @@
+package com.fedex.automation.service.fedex;
+
+import com.fedex.automation.service.fedex.MiraklAdminTriggerService.BatchSendResult;
+import com.fedex.automation.service.fedex.MiraklAdminTriggerService.SendOutcome;
+import com.fedex.automation.service.fedex.MiraklAdminTriggerService.SendStatus;
+import com.fedex.automation.utils.BoundedFanOut;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Batch send with a mocked admin session: one order sends, one has no send button, one is rejected and one does not exist.
+ */
+class MiraklAdminTriggerServiceTest {
+
+    private AdminSessionService adminSessionService;
+    private MiraklAdminTriggerService service;
+
+    @BeforeEach
+    void setUp() {
+        adminSessionService = mock(AdminSessionService.class);
+        when(adminSessionService.resolveEntityIds(anyList())).thenReturn(Map.of("1001", "11", "1002", "12", "1003", "13"));
+        when(adminSessionService.scrapeSendToMiraklUrl(anyString())).thenAnswer(invocation -> "/mirakl/order/send/" + invocation.getArgument(0));
+        when(adminSessionService.scrapeSendToMiraklUrl("12")).thenThrow(new IllegalStateException("No 'Send to Mirakl' button for order 12"));
+
+        RequestSpecification adminRequest = mock(RequestSpecification.class);
+        when(adminRequest.get(anyString())).thenAnswer(invocation -> response(
+                invocation.getArgument(0, String.class).endsWith("/13") ? 500 : 200));
+        when(adminSessionService.adminRequest()).thenReturn(adminRequest);
+
+        BoundedFanOut fanOut = new BoundedFanOut();
+        ReflectionTestUtils.setField(fanOut, "maxConcurrency", 4);
+        service = new MiraklAdminTriggerService(adminSessionService, fanOut);
+        ReflectionTestUtils.setField(service, "maxConcurrency", 2);
+    }
+
+    @Test
+    void everyOrderGetsItsOwnOutcomeInInputOrder() {
+        BatchSendResult result = service.triggerSendToMirakl(List.of("1001", "1002", "1003", "1004", "1001"));
+
+        List<SendOutcome> outcomes = result.getOutcomes();
+        assertEquals(List.of("1001", "1002", "1003", "1004"), outcomes.stream().map(SendOutcome::getIncrementId).toList());
+        assertEquals(List.of(SendStatus.SENT, SendStatus.FAILED, SendStatus.FAILED, SendStatus.NOT_FOUND),
+                outcomes.stream().map(SendOutcome::getStatus).toList());
+        assertEquals("11", outcomes.get(0).getEntityId());
+        assertEquals("No 'Send to Mirakl' button for order 12", outcomes.get(1).getError());
+        assertEquals("Send returned HTTP 500", outcomes.get(2).getError());
+        assertNull(outcomes.get(3).getEntityId());
+
+        assertEquals(1, result.getSent());
+        assertEquals(3, result.getFailures().size());
+    }
+
+    @Test
+    void oneLoginAndOneSearchForTheWholeBatch() {
+        service.triggerSendToMirakl(List.of("1001", "1002", "1003", "1004", "1001"));
+
+        verify(adminSessionService, times(1)).bootstrapAdminSession();
+        verify(adminSessionService, times(1)).resolveEntityIds(List.of("1001", "1002", "1003", "1004"));
+        verify(adminSessionService, never()).resolveEntityId(anyString());
+        verify(adminSessionService, times(3)).scrapeSendToMiraklUrl(anyString());
+    }
+
+    private static Response response(int status) {
+        Response response = mock(Response.class);
+        when(response.statusCode()).thenReturn(status);
+        return response;
+    }
+}
@@ -0,0 +1,182 @@
+package com.fedex.automation.service.fedex;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fedex.automation.config.FedexConfig;
+import com.fedex.automation.config.HostRateLimiter;
+import com.fedex.automation.config.HttpPoolConfig;
+import com.fedex.automation.config.PooledHttpClientFactory;
+import com.fedex.automation.config.RateLimitConfig;
+import com.fedex.automation.config.RestConfig;
+import com.fedex.automation.service.cassette.CassetteStore;
+import com.fedex.automation.utils.CassetteRecordingFilter;
+import com.fedex.automation.utils.CurlLoggingFilter;
+import com.fedex.automation.utils.EndpointTemplateResolver;
+import com.fedex.automation.utils.EndpointTimingFilter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Simulates parallel scenarios against a local stub: every "scenario" gets its own SessionService
+ * (as @ScenarioScope does in a parallel Cucumber run) sharing the singleton defaultRequestSpec.
+ * Each worker must only ever send back the PHPSESSID/form_key the stub handed to it.
+ */
+class SessionServiceIsolationTest {
+
+    private static final int WORKERS = 8;
+    private static final int REQUESTS_PER_WORKER = 10;
+    private static final int POOL_MAX_PER_HOST = 4;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final AtomicInteger sessionCounter = new AtomicInteger();
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+
+        // Bootstrap endpoint: issues a unique session cookie and form_key per call
+        server.createContext("/default/checkout/cart/", exchange -> {
+            int id = sessionCounter.incrementAndGet();
+            exchange.getResponseHeaders().add("Set-Cookie", "PHPSESSID=sess-" + id + "; path=/");
+            respond(exchange, "<input name=\"form_key\" type=\"hidden\" value=\"fk-" + id + "\" />");
+        });
+
+        // Echo endpoint: returns whatever Cookie header the client sent
+        server.createContext("/echo", exchange -> {
+            String cookie = exchange.getRequestHeaders().getFirst("Cookie");
+            respond(exchange, cookie == null ? "" : cookie);
+        });
+
+        serverExecutor = Executors.newFixedThreadPool(WORKERS);
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void concurrentSessionsNeverLeakCookiesOrFormKeys() throws Exception {
+        EndpointTemplateResolver templateResolver = new EndpointTemplateResolver(new StandardEnvironment());
+        PooledHttpClientFactory pool = new PooledHttpClientFactory(poolConfig(), new ObjectMapper(), new HostRateLimiter(rateLimitConfig()));
+        RequestSpecification sharedSpec = new RestConfig(curlLoggingFilter(), new EndpointTimingFilter(templateResolver),
+                new CassetteRecordingFilter(new CassetteStore(templateResolver, new ObjectMapper()), new ObjectMapper()), pool).defaultRequestSpec();
+        FedexConfig fedexConfig = new FedexConfig();
+        fedexConfig.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+
+        // The shared pipeline must not rely on process-wide RestAssured state
+        assertTrue(RestAssured.filters().isEmpty(), "RestAssured.filters must stay empty; filters belong on the spec");
+
+        CyclicBarrier startTogether = new CyclicBarrier(WORKERS);
+        ExecutorService workers = Executors.newFixedThreadPool(WORKERS);
+        List<Future<String>> results = new ArrayList<>();
+
+        for (int i = 0; i < WORKERS; i++) {
+            results.add(workers.submit(() -> {
+                SessionService session = new SessionService();
+                ReflectionTestUtils.setField(session, "defaultRequestSpec", sharedSpec);
+                ReflectionTestUtils.setField(session, "fedexConfig", fedexConfig);
+
+                startTogether.await(10, TimeUnit.SECONDS);
+                session.clearSession();
+                session.bootstrapSession();
+
+                String formKey = session.getFormKey();
+                assertNotNull(formKey, "Bootstrap should capture a form_key");
+                String sessionId = "sess-" + formKey.substring("fk-".length());
+
+                for (int r = 0; r < REQUESTS_PER_WORKER; r++) {
+                    String echoed = session.authenticatedRequest().get("/echo").asString();
+                    assertTrue(echoed.contains("PHPSESSID=" + sessionId), "Own session cookie missing: " + echoed);
+                    assertTrue(echoed.contains("form_key=" + formKey), "Own form_key missing: " + echoed);
+                    assertEquals(1, echoed.split("PHPSESSID=", -1).length - 1, "Foreign session cookie leaked: " + echoed);
+                    assertEquals(1, echoed.split("form_key=", -1).length - 1, "Foreign form_key leaked: " + echoed);
+                }
+                return formKey;
+            }));
+        }
+
+        List<String> formKeys = new ArrayList<>();
+        for (Future<String> result : results) {
+            formKeys.add(result.get(60, TimeUnit.SECONDS));
+        }
+        workers.shutdownNow();
+
+        assertEquals(WORKERS, formKeys.stream().distinct().count(), "Every scenario should own a distinct form_key");
+
+        // Every scenario shares the keep-alive pool, which is capped below the number of workers
+        Map<String, Object> connections = pool.summary();
+        assertEquals((long) WORKERS * (REQUESTS_PER_WORKER + 1), connections.get("requests"));
+        assertTrue((long) connections.get("connectionsOpened") <= POOL_MAX_PER_HOST,
+                "Pooled connections should be reused, got " + connections);
+    }
+
+    private static HttpPoolConfig poolConfig() {
+        HttpPoolConfig config = new HttpPoolConfig();
+        config.setEnabled(true);
+        config.setMaxTotal(POOL_MAX_PER_HOST);
+        config.setMaxPerHost(POOL_MAX_PER_HOST);
+        config.setHostLimits("");
+        config.setConnectTimeoutMs(5000);
+        config.setReadTimeoutMs(10000);
+        config.setLeaseTimeoutMs(10000);
+        config.setKeepAliveSeconds(30);
+        config.setIdleEvictSeconds(30);
+        return config;
+    }
+
+    // Enabled without host limits: requests pass through the limiter but are never held back
+    private static CurlLoggingFilter curlLoggingFilter() {
+        CurlLoggingFilter filter = new CurlLoggingFilter();
+        ReflectionTestUtils.setField(filter, "async", true);
+        ReflectionTestUtils.setField(filter, "maxBodyBytes", 4096);
+        ReflectionTestUtils.setField(filter, "sampleRate", 1);
+        ReflectionTestUtils.setField(filter, "queueCapacity", 1000);
+        return filter;
+    }
+
+    private static RateLimitConfig rateLimitConfig() {
+        RateLimitConfig config = new RateLimitConfig();
+        config.setEnabled(true);
+        config.setHosts("");
+        config.setMaxRetries(3);
+        config.setMaxWaitMs(10000);
+        config.setDefaultPauseMs(100);
+        return config;
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=UTF-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.fedex.automation.service.fedex;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fedex.automation.config.FedexConfig;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.builder.RequestSpecBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs StaticContentCache against a local CDN stub serving one versioned file with an ETag,
+ * answering 304 when the client already has the current version.
+ */
+class StaticContentCacheTest {
+
+    private static final String PATH = "/menu.json";
+
+    @TempDir
+    Path dir;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private String baseUri;
+    private final List<Headers> requests = new CopyOnWriteArrayList<>();
+    private volatile int version = 1;
+    private volatile long delayMillis;
+    private volatile int notModified;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(PATH, exchange -> {
+            requests.add(exchange.getRequestHeaders());
+            sleep(delayMillis);
+            String etag = "\"v" + version + "\"";
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified++;
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().add("ETag", etag);
+            exchange.getResponseHeaders().add("Last-Modified", "Wed, 01 Jan 2025 00:00:0" + version + " GMT");
+            respond(exchange, "{\"version\":" + version + "}");
+        });
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverExecutor);
+        server.start();
+        baseUri = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void freshEntryIsServedFromMemory() {
+        StaticContentCache cache = cache(300, false);
+
+        String first = cache.get(baseUri, PATH);
+        String second = cache.get(baseUri, PATH);
+
+        assertEquals("{\"version\":1}", first);
+        assertSame(first, second);
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void staleEntryIsRevalidatedAndA304KeepsTheBody() {
+        StaticContentCache cache = cache(0, false);
+
+        String first = cache.get(baseUri, PATH);
+        String second = cache.get(baseUri, PATH);
+
+        assertSame(first, second, "304 keeps the cached instance");
+        assertEquals(2, requests.size());
+        assertEquals(1, notModified);
+        assertNull(requests.get(0).getFirst("If-None-Match"));
+        assertEquals("\"v1\"", requests.get(1).getFirst("If-None-Match"));
+        assertEquals("Wed, 01 Jan 2025 00:00:01 GMT", requests.get(1).getFirst("If-Modified-Since"));
+    }
+
+    @Test
+    void changedContentReplacesTheBody() {
+        StaticContentCache cache = cache(0, false);
+        cache.get(baseUri, PATH);
+
+        version = 2;
+
+        assertEquals("{\"version\":2}", cache.get(baseUri, PATH));
+        assertEquals(0, notModified);
+    }
+
+    @Test
+    void concurrentCallersShareOneDownload() throws Exception {
+        StaticContentCache cache = cache(300, false);
+        delayMillis = 200;
+        int threads = 8;
+        CyclicBarrier start = new CyclicBarrier(threads);
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        List<String> bodies = new ArrayList<>();
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(callers.submit(() -> {
+                    start.await(5, TimeUnit.SECONDS);
+                    return cache.get(baseUri, PATH);
+                }));
+            }
+            for (Future<String> result : results) bodies.add(result.get(10, TimeUnit.SECONDS));
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(1, requests.size());
+        bodies.forEach(body -> assertSame(bodies.get(0), body));
+    }
+
+    @Test
+    void diskEntryWarmsTheNextRunWhichStillRevalidates() throws Exception {
+        cache(300, true).get(baseUri, PATH);
+        assertEquals(1, jsonFiles().size());
+
+        // A new instance stands in for the next run: it sends the stored validators and gets a 304
+        String body = cache(300, true).get(baseUri, PATH);
+
+        assertEquals("{\"version\":1}", body);
+        assertEquals(2, requests.size());
+        assertEquals("\"v1\"", requests.get(1).getFirst("If-None-Match"));
+        assertEquals(1, notModified);
+    }
+
+    @Test
+    void unreadableDiskEntryIsIgnored() throws Exception {
+        cache(300, true).get(baseUri, PATH);
+        Files.writeString(jsonFiles().get(0), "{\"url\":");
+
+        assertEquals("{\"version\":1}", cache(300, true).get(baseUri, PATH));
+        assertNull(requests.get(1).getFirst("If-None-Match"), "nothing to revalidate");
+        assertEquals("{\"version\":1}", new ObjectMapper().readTree(jsonFiles().get(0).toFile()).path("body").asText(),
+                "the entry is written again");
+    }
+
+    @Test
+    void requestsCarryBrowserHeadersButNoSessionCookies() {
+        cache(300, false).get(baseUri, PATH);
+
+        Headers headers = requests.get(0);
+        assertEquals(SessionService.BROWSER_USER_AGENT, headers.getFirst("User-Agent"));
+        assertEquals("https://staging.example/", headers.getFirst("Referer"));
+        assertNull(headers.getFirst("Cookie"));
+    }
+
+    @Test
+    void disabledCacheAlwaysDownloads() {
+        StaticContentCache cache = cache(300, false);
+        ReflectionTestUtils.setField(cache, "enabled", false);
+
+        cache.get(baseUri, PATH);
+        cache.get(baseUri, PATH);
+
+        assertEquals(2, requests.size());
+        assertNull(requests.get(1).getFirst("If-None-Match"));
+    }
+
+    private StaticContentCache cache(long revalidateSeconds, boolean diskEnabled) {
+        FedexConfig fedexConfig = new FedexConfig();
+        fedexConfig.setBaseUrl("https://staging.example");
+        StaticContentCache cache = new StaticContentCache(new RequestSpecBuilder().build(), new ObjectMapper(), fedexConfig);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "revalidateSeconds", revalidateSeconds);
+        ReflectionTestUtils.setField(cache, "diskEnabled", diskEnabled);
+        ReflectionTestUtils.setField(cache, "cacheDir", dir.toString());
+        return cache;
+    }
+
+    private List<Path> jsonFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.toString().endsWith(".json")).toList();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
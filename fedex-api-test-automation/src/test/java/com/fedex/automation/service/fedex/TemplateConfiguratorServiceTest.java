@@ -0,0 +1,113 @@
+package com.fedex.automation.service.fedex;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fedex.automation.context.TestContext;
+import com.fedex.automation.model.fedex.product.StaticProductResponse.StaticProduct;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Posts a configurator state to a local gateway stub and checks the payload that reaches it.
+ */
+class TemplateConfiguratorServiceTest {
+
+    private static final String STATES_PATH = "/application/fedexoffice/v2/configuratorstates";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HttpServer server;
+    private volatile JsonNode sentPayload;
+    private TemplateConfiguratorService service;
+    private TestContext testContext;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(STATES_PATH, exchange -> {
+            sentPayload = objectMapper.readTree(exchange.getRequestBody());
+            byte[] body = "{\"output\":{\"configuratorState\":{\"configuratorStateId\":\"state-1\"}}}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        TemplateRegistry registry = new TemplateRegistry(objectMapper);
+        registry.load();
+        SessionService sessionService = mock(SessionService.class);
+        when(sessionService.configuratorRequest(anyString(), anyString())).thenAnswer(invocation -> RestAssured.given());
+        testContext = new TestContext();
+        service = new TemplateConfiguratorService(objectMapper, sessionService, testContext, registry);
+
+        ReflectionTestUtils.setField(service, "apiGatewayUri", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(service, "configStatesEndpoint", STATES_PATH);
+        ReflectionTestUtils.setField(service, "baseUrlWww", "https://www.office.fedex.com");
+        ReflectionTestUtils.setField(service, "headerClientId", "client_id");
+        ReflectionTestUtils.setField(service, "apiGatewayClientId", "gateway-client");
+        ReflectionTestUtils.setField(service, "paramClientName", "ClientName");
+        ReflectionTestUtils.setField(service, "integratorIdPod2", "POD2.0");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void uploadedDocumentsAreLinkedInTheSentPayload() throws Exception {
+        givenConfiguredProduct();
+        testContext.setOriginalDocId("orig-1");
+        testContext.setPrintReadyDocId("ready-1");
+
+        service.createConfiguratorState("1P", Map.of());
+
+        JsonNode params = sentPayload.path("configuratorStateParameters");
+        assertEquals("orig-1", params.at("/product/contentAssociations/0/parentContentReference").asText(), sentPayload.toString());
+        assertEquals("ready-1", params.at("/product/contentAssociations/0/contentReference").asText());
+        assertEquals("orig-1", params.at("/userWorkspace/files/0/id").asText());
+        assertEquals("state-1", testContext.getConfiguratorStateId());
+    }
+
+    @Test
+    void withoutDocumentsNothingIsLinked() throws Exception {
+        givenConfiguredProduct();
+
+        service.createConfiguratorState("1P", Map.of());
+
+        JsonNode params = sentPayload.path("configuratorStateParameters");
+        assertFalse(params.path("product").has("contentAssociations"));
+        assertFalse(params.has("userWorkspace"));
+        assertEquals("session-1", params.path("configuratorSessionId").asText());
+    }
+
+    private void givenConfiguredProduct() throws IOException {
+        StaticProduct staticProduct = new StaticProduct();
+        staticProduct.setId("1456773326927");
+        staticProduct.setName("Multi Sheet");
+        staticProduct.setVersion(2);
+        staticProduct.setFeatures(List.of());
+        testContext.setStaticProductDetails(staticProduct);
+        testContext.setCurrentConfiguredProductNode((ObjectNode) objectMapper.readTree("{\"features\":[],\"qty\":1}"));
+        testContext.setSessionId("session-1");
+        testContext.setCurrentSku("sku-1");
+    }
+}
@@ -0,0 +1,106 @@
+package com.fedex.automation.service.fedex;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the real templates under src/test/resources/templates.
+ */
+class TemplateRegistryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private TemplateRegistry registry;
+
+    @BeforeEach
+    void loadTemplates() throws Exception {
+        registry = new TemplateRegistry(objectMapper);
+        registry.load();
+    }
+
+    @Test
+    void instanceBindsTypedValues() {
+        ObjectNode content = registry.instance(TemplateRegistry.DOCUMENT_CONTENT, documentBindings());
+
+        assertEquals("orig-1", content.at("/contentAssociation/parentContentReference").asText());
+        assertEquals("orig-1", content.at("/userWorkspace/files/0/id").asText(), "a placeholder used twice is bound everywhere");
+        assertTrue(content.at("/contentAssociation/pageGroups/0/width").isDouble());
+        assertEquals(8.5, content.at("/contentAssociation/pageGroups/0/width").doubleValue());
+        assertFalse(content.toString().contains("${"), content.toString());
+    }
+
+    @Test
+    void nullBindingRemovesTheField() {
+        Map<String, Object> bindings = documentBindings();
+        bindings.put("uploadDateTime", null);
+
+        ObjectNode content = registry.instance(TemplateRegistry.DOCUMENT_CONTENT, bindings);
+
+        assertFalse(content.at("/userWorkspace/files/0").has("uploadDateTime"));
+        assertTrue(content.at("/userWorkspace/files/0").has("id"));
+    }
+
+    @Test
+    void instancesNeverShareNodes() throws Exception {
+        JsonNode product = objectMapper.readTree("{\"id\":\"1456773326927\",\"qty\":1}");
+
+        ObjectNode first = registry.instance(TemplateRegistry.CONFIGURATOR_STATE,
+                Map.of("sessionId", "s-1", "sku", "sku-1", "product", product));
+        ((ObjectNode) first.at("/configuratorStateParameters")).put("configuratorSessionId", "changed");
+        ((ObjectNode) first.at("/configuratorStateParameters/product")).put("qty", 99);
+        ObjectNode second = registry.instance(TemplateRegistry.CONFIGURATOR_STATE,
+                Map.of("sessionId", "s-2", "sku", "sku-1", "product", product));
+
+        assertEquals("s-2", second.at("/configuratorStateParameters/configuratorSessionId").asText());
+        assertEquals(1, second.at("/configuratorStateParameters/product/qty").asInt());
+        assertEquals(1, product.path("qty").asInt(), "the caller's node is not modified");
+    }
+
+    @Test
+    void missingTemplateIsRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> registry.instance("1P_NoSuchTemplate", Map.of()));
+
+        assertEquals("Template not found: templates/1P_NoSuchTemplate.json", e.getMessage());
+    }
+
+    @Test
+    void unboundAndUnknownPlaceholdersAreRejected() {
+        IllegalStateException unbound = assertThrows(IllegalStateException.class,
+                () -> registry.instance(TemplateRegistry.CONFIGURATOR_STATE, Map.of("sessionId", "s-1")));
+        assertEquals("Template 1P_ConfiguratorStateTemplate has unbound placeholders: [product, sku]", unbound.getMessage());
+
+        IllegalArgumentException unknown = assertThrows(IllegalArgumentException.class,
+                () -> registry.instance(TemplateRegistry.RATE_REQUEST, Map.of("instanceId", 1L, "typo", 2L)));
+        assertEquals("Template 1P_TemplateRateRequest has no placeholder ${typo}", unknown.getMessage());
+    }
+
+    @Test
+    void setWritesThroughAJsonPointer() {
+        ObjectNode rate = registry.instance(TemplateRegistry.RATE_REQUEST, Map.of("instanceId", 42L));
+
+        registry.set(rate, "/rateRequest/products/0/qty", 3);
+
+        assertEquals(3, rate.at("/rateRequest/products/0/qty").intValue());
+        assertThrows(IllegalArgumentException.class, () -> registry.set(rate, "/rateRequest/missing/qty", 3));
+    }
+
+    private static Map<String, Object> documentBindings() {
+        Map<String, Object> bindings = new HashMap<>();
+        bindings.put("originalDocId", "orig-1");
+        bindings.put("printReadyDocId", "ready-1");
+        bindings.put("contentReqId", "req-1");
+        bindings.put("name", "SimpleText.pdf");
+        bindings.put("width", 8.5);
+        bindings.put("height", 11.0);
+        bindings.put("uploadDateTime", "2025-01-01T00:00:00Z");
+        return bindings;
+    }
+}
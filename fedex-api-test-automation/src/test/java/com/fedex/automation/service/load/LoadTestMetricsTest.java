@@ -0,0 +1,80 @@
+package com.fedex.automation.service.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadTestMetricsTest {
+
+    @Test
+    void stepsAreReportedInFirstExecutionOrder() {
+        LoadTestMetrics metrics = new LoadTestMetrics();
+        metrics.time("search", () -> "sku");
+        metrics.time("bootstrap", () -> {
+        });
+        metrics.time("search", () -> "sku");
+
+        Map<String, Map<String, Object>> steps = metrics.stepSummaries(1);
+
+        assertEquals(List.of("search", "bootstrap"), List.copyOf(steps.keySet()));
+        assertEquals(2L, steps.get("search").get("count"));
+        assertEquals(2.0, steps.get("search").get("throughputPerSec"));
+    }
+
+    @Test
+    void percentilesSeparateTheSlowOutlier() {
+        LoadTestMetrics metrics = new LoadTestMetrics();
+        for (int i = 0; i < 20; i++) metrics.time("offer", () -> sleep(2));
+        metrics.time("offer", () -> sleep(100));
+
+        Map<String, Object> offer = metrics.stepSummaries(2).get("offer");
+
+        assertEquals(21L, offer.get("count"));
+        assertTrue((double) offer.get("p50Ms") < 50, "p50 " + offer.get("p50Ms"));
+        assertTrue((double) offer.get("p99Ms") >= 100, "p99 " + offer.get("p99Ms"));
+        assertTrue((double) offer.get("maxMs") >= 100, "max " + offer.get("maxMs"));
+        assertEquals(10.5, offer.get("throughputPerSec"));
+    }
+
+    @Test
+    void failedStepsAreTimedCountedAndRethrown() {
+        LoadTestMetrics metrics = new LoadTestMetrics();
+        metrics.time("submit_order", () -> "ok");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> metrics.time("submit_order", () -> {
+                    throw new IllegalStateException("no order number");
+                }));
+        assertThrows(AssertionError.class, () -> metrics.time("submit_order", () -> {
+            throw new AssertionError("status 500");
+        }));
+
+        assertEquals("no order number", thrown.getMessage());
+        Map<String, Object> submit = metrics.stepSummaries(1).get("submit_order");
+        assertEquals(3L, submit.get("count"));
+        assertEquals(2L, submit.get("errors"));
+    }
+
+    @Test
+    void iterationsAreCountedSeparatelyFromSteps() {
+        LoadTestMetrics metrics = new LoadTestMetrics();
+        metrics.iterationCompleted();
+        metrics.iterationCompleted();
+        metrics.iterationFailed();
+
+        assertEquals(2, metrics.getCompletedIterations());
+        assertEquals(1, metrics.getFailedIterations());
+        assertTrue(metrics.stepSummaries(1).isEmpty());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.fedex.automation.service.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fedex.automation.config.HostRateLimiter;
+import com.fedex.automation.config.LoadTestConfig;
+import com.fedex.automation.config.PooledHttpClientFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs LoadTestRunner for about a second against a stub checkout flow that times one 5 ms "order" step.
+ */
+class LoadTestRunnerTest {
+
+    private static final long MS = 1_000_000L;
+
+    @TempDir
+    Path dir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Integer, Long> userCreatedAt = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Long> iterationStarts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private long startNanos;
+
+    @Test
+    void usersStartAcrossTheRampUp() throws Exception {
+        LoadTestConfig config = config(4, 0);
+
+        run(config, 0);
+
+        // 4 users over 1 s: one every 250 ms
+        for (int vu = 1; vu <= 4; vu++) {
+            long offset = userCreatedAt.get(vu) - startNanos;
+            assertTrue(offset >= (vu - 1) * 250 * MS, "VU " + vu + " started after " + offset / MS + " ms");
+            assertTrue(offset < ((vu - 1) * 250 + 200) * MS, "VU " + vu + " started after " + offset / MS + " ms");
+        }
+    }
+
+    @Test
+    void targetRateCapsIterationStarts() throws Exception {
+        // 20 iterations/s for 1 s: one slot every 50 ms, shared by all users
+        run(config(4, 20), 0);
+
+        List<Long> starts = new ArrayList<>(iterationStarts);
+        starts.sort(null);
+        assertTrue(starts.size() >= 18 && starts.size() <= 20, starts.size() + " iterations");
+        for (int i = 0; i < starts.size(); i++) {
+            assertTrue(starts.get(i) - startNanos >= i * 50 * MS, "iteration " + i + " started early");
+        }
+    }
+
+    @Test
+    void reportAggregatesStepsAndFailures() throws Exception {
+        LoadTestConfig config = config(2, 20);
+
+        run(config, 3);
+
+        JsonNode report = objectMapper.readTree(dir.resolve("load-report.json").toFile());
+        long completed = report.path("completedIterations").asLong();
+        long failed = report.path("failedIterations").asLong();
+        assertEquals(calls.get(), completed + failed);
+        assertEquals(calls.get() / 3, failed, "every third iteration fails");
+        JsonNode order = report.path("steps").path("order");
+        assertEquals(calls.get(), order.path("count").asLong());
+        assertEquals(failed, order.path("errors").asLong());
+        assertTrue(order.path("p50Ms").asDouble() >= 5, "p50 " + order.path("p50Ms"));
+    }
+
+    private LoadTestConfig config(int virtualUsers, double ratePerSecond) {
+        LoadTestConfig config = new LoadTestConfig();
+        config.setVirtualUsers(virtualUsers);
+        config.setRampUpSeconds(1);
+        config.setDurationSeconds(1);
+        config.setTargetRatePerSecond(ratePerSecond);
+        config.setProductName("Book Rings");
+        config.setReportFile(dir.resolve("load-report.json").toString());
+        return config;
+    }
+
+    /**
+     * @param failEvery every n-th iteration throws (0 = never)
+     */
+    private void run(LoadTestConfig config, int failEvery) throws Exception {
+        VirtualUserFactory users = mock(VirtualUserFactory.class);
+        when(users.create(anyInt())).thenAnswer(invocation -> {
+            userCreatedAt.put(invocation.getArgument(0), System.nanoTime());
+            return mock(VirtualUser.class);
+        });
+
+        ThreePCheckoutFlow flow = mock(ThreePCheckoutFlow.class);
+        doAnswer(invocation -> {
+            iterationStarts.add(System.nanoTime());
+            int call = calls.incrementAndGet();
+            LoadTestMetrics metrics = invocation.getArgument(2);
+            return metrics.time("order", () -> {
+                sleep(5);
+                if (failEvery > 0 && call % failEvery == 0) throw new IllegalStateException("order " + call + " failed");
+                return "ORD-" + call;
+            });
+        }).when(flow).placeOrder(any(), any(LoadTestConfig.class), any());
+
+        PooledHttpClientFactory pool = mock(PooledHttpClientFactory.class);
+        when(pool.summary()).thenReturn(Map.of());
+        HostRateLimiter rateLimiter = mock(HostRateLimiter.class);
+        when(rateLimiter.summary()).thenReturn(Map.of());
+
+        LoadTestRunner runner = new LoadTestRunner(config, users, flow, objectMapper, pool, rateLimiter);
+        startNanos = System.nanoTime();
+        runner.run(null);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
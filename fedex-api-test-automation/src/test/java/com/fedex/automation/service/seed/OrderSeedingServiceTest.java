@@ -0,0 +1,136 @@
+package com.fedex.automation.service.seed;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fedex.automation.config.SeedConfig;
+import com.fedex.automation.service.load.ThreePCheckoutFlow;
+import com.fedex.automation.service.load.VirtualUser;
+import com.fedex.automation.service.load.VirtualUserFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Resume logic of the seed log, with the checkout flow mocked: each "order" is numbered ORD-&lt;n&gt; in placement order.
+ */
+class OrderSeedingServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private final ThreePCheckoutFlow checkoutFlow = mock(ThreePCheckoutFlow.class);
+    private final AtomicInteger placed = new AtomicInteger();
+    private Path output;
+    private OrderSeedingService service;
+
+    @BeforeEach
+    void setUp() {
+        SeedConfig config = new SeedConfig();
+        config.setConcurrency(1);
+        config.setRatePerSecond(0);
+        config.setMaxAttempts(2);
+        config.setProductName("Book Rings");
+        config.setQuantity("1");
+        config.setShippingMethod("FREE_GROUND_US");
+
+        VirtualUserFactory virtualUserFactory = mock(VirtualUserFactory.class);
+        when(virtualUserFactory.create(anyInt())).thenReturn(mock(VirtualUser.class));
+        when(checkoutFlow.placeOrder(any(), anyString(), anyString(), anyString(), any(), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(5).run();
+            return "ORD-" + placed.incrementAndGet();
+        });
+
+        output = dir.resolve("seeded-orders.jsonl");
+        service = new OrderSeedingService(config, virtualUserFactory, checkoutFlow, new ObjectMapper());
+    }
+
+    @Test
+    void latestLineWinsUntilAnOrderIsPlaced() throws Exception {
+        Files.writeString(output, """
+                {"seq":1,"status":"SUBMITTING","attempt":1}
+                {"seq":1,"status":"PLACED","attempt":1,"orderNumber":"2010000001"}
+                {"seq":1,"status":"FAILED","attempt":2}
+                {"seq":2,"status":"FAILED","attempt":1}
+                {"seq":2,"status":"SUBMITTING","attempt":2}
+
+                {"seq":3,"status":"SUBMITTING","attempt":1}
+                {"seq":3,"status":"UNCERTAIN","attempt":1,"error":"timeout"}
+                {"seq":4,"status":"FAILED","attempt":3}
+                """);
+
+        Map<Integer, JsonNode> states = service.readLatestStates(output);
+
+        assertEquals("PLACED", states.get(1).path("status").asText(), "PLACED is final");
+        assertEquals("2010000001", states.get(1).path("orderNumber").asText());
+        assertEquals("SUBMITTING", states.get(2).path("status").asText());
+        assertEquals("UNCERTAIN", states.get(3).path("status").asText());
+        assertEquals("FAILED", states.get(4).path("status").asText());
+    }
+
+    @Test
+    void truncatedLastLineIsSkipped() throws Exception {
+        Files.writeString(output, """
+                {"seq":1,"status":"PLACED","attempt":1,"orderNumber":"2010000001"}
+                {"seq":2,"status":"FAILED","attempt":1}
+                {"seq":2,"status":"PLA""");
+
+        Map<Integer, JsonNode> states = service.readLatestStates(output);
+
+        assertEquals(List.of(1, 2), List.copyOf(states.keySet()));
+        assertEquals("FAILED", states.get(2).path("status").asText());
+    }
+
+    @Test
+    void missingLogMeansNothingWasPlaced() {
+        assertTrue(service.readLatestStates(output).isEmpty());
+    }
+
+    @Test
+    void resumeSkipsPlacedHoldsBackUncertainAndRetriesFailed() throws Exception {
+        Files.writeString(output, """
+                {"seq":1,"status":"PLACED","attempt":1,"orderNumber":"2010000001"}
+                {"seq":2,"status":"SUBMITTING","attempt":1}
+                {"seq":3,"status":"UNCERTAIN","attempt":1}
+                {"seq":4,"status":"FAILED","attempt":2}
+                {"seq":5,"status":"SUBMI""");
+
+        OrderSeedingService.SeedResult result = service.seed(6, output);
+
+        // 4 (failed before submission), 5 (cut off mid-line) and 6 (never started) are placed; 2 and 3 may exist already
+        assertEquals(1, result.getAlreadyPlaced());
+        assertEquals(3, result.getPlacedNow());
+        assertEquals(List.of(2, 3), result.getUncertain());
+        assertEquals(List.of("2010000001", "ORD-1", "ORD-2", "ORD-3"), result.getOrderNumbers());
+
+        Map<Integer, JsonNode> states = service.readLatestStates(output);
+        assertEquals("ORD-1", states.get(4).path("orderNumber").asText());
+        assertEquals("ORD-2", states.get(5).path("orderNumber").asText());
+        assertEquals("SUBMITTING", states.get(2).path("status").asText());
+    }
+
+    @Test
+    void workerThatCannotWriteTheLogFailsTheRun() throws Exception {
+        // The order goes through, then the log becomes unwritable: neither PLACED nor UNCERTAIN can be recorded
+        doAnswer(invocation -> {
+            Files.createDirectories(output);
+            return "ORD-1";
+        }).when(checkoutFlow).placeOrder(any(), anyString(), anyString(), anyString(), any(), any());
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> service.seed(1, output));
+        assertNotNull(e.getCause());
+    }
+}
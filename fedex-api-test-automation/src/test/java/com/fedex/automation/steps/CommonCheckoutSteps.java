@@ -18,6 +18,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -52,28 +54,51 @@ public class CommonCheckoutSteps {
         List<Map<String, String>> rows = table.asMaps(String.class, String.class);
         testContext.getSearchedProducts().clear();
 
+        // Search every product of the table in one catalog round trip
+        Map<String, String> sellerModelByName = new LinkedHashMap<>();
         for (Map<String, String> row : rows) {
             String productName = row.get("productName");
             String sellerModel = row.getOrDefault("sellerModel", "3P");
-
             log.info("--- Processing Search: {} (Model: {}) ---", productName, sellerModel);
+            // Later steps look products up by name only, so one name cannot stand for two seller models
+            String previous = sellerModelByName.putIfAbsent(productName, sellerModel);
+            if (previous != null && !previous.equalsIgnoreCase(sellerModel)) {
+                throw new IllegalArgumentException("Product '" + productName + "' is listed with seller models "
+                        + previous + " and " + sellerModel + "; use one row per product");
+            }
+        }
+        Map<String, String> skusByName = catalogService.searchProductSkus(sellerModelByName);
 
-            String sku = catalogService.searchProductSku(productName, sellerModel);
+        List<TestContext.ProductItemContext> items = new ArrayList<>();
+        for (Map<String, String> row : rows) {
+            String productName = row.get("productName");
+            String sellerModel = row.getOrDefault("sellerModel", "3P");
+
+            String sku = skusByName.get(productName);
             assertNotNull(sku, "SKU not found for: " + productName);
 
             TestContext.ProductItemContext itemContext = new TestContext.ProductItemContext();
             itemContext.setProductName(productName);
             itemContext.setSku(sku);
             itemContext.setSellerModel(sellerModel);
+            items.add(itemContext);
+        }
+
+        // Resolve every 3P offer in one Mirakl call instead of one call per row
+        List<String> threePSkus = items.stream()
+                .filter(item -> "3P".equalsIgnoreCase(item.getSellerModel()))
+                .map(TestContext.ProductItemContext::getSku)
+                .toList();
+        Map<String, String> offerIds = threePSkus.isEmpty() ? Map.of() : offerService.getOfferIdsForProducts(threePSkus);
 
-            if ("3P".equalsIgnoreCase(sellerModel)) {
-                String offerId = offerService.getOfferIdForProduct(sku);
-                itemContext.setOfferId(offerId);
+        for (TestContext.ProductItemContext itemContext : items) {
+            if ("3P".equalsIgnoreCase(itemContext.getSellerModel())) {
+                itemContext.setOfferId(offerIds.get(itemContext.getSku()));
             }
 
             testContext.getSearchedProducts().add(itemContext);
-            testContext.setCurrentSku(sku);
-            testContext.setSellerModel(sellerModel);
+            testContext.setCurrentSku(itemContext.getSku());
+            testContext.setSellerModel(itemContext.getSellerModel());
             if (itemContext.getOfferId() != null) testContext.setCurrentOfferId(itemContext.getOfferId());
         }
     }
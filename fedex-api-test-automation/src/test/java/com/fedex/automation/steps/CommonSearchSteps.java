@@ -3,19 +3,20 @@ package com.fedex.automation.steps;
 import com.fedex.automation.enums.Vendor;
 import com.fedex.automation.service.search.SearchStrategyFactory;
 import com.fedex.automation.service.search.VendorSearchStrategy;
+import com.fedex.automation.utils.BoundedFanOut;
 import io.cucumber.datatable.DataTable;
 import io.cucumber.java.en.When;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
-import java.util.Map;
 
 @Slf4j
 @RequiredArgsConstructor
 public class CommonSearchSteps {
 
     private final SearchStrategyFactory searchStrategyFactory;
+    private final BoundedFanOut boundedFanOut;
 
     // The Regex automatically matches the Enum values!
     @When("^I search for the following (PRINTFUL|ESSENDANT|COMPANYBOX|FEDEX|NAVITOR) products:$")
@@ -25,13 +26,15 @@ public class CommonSearchSteps {
         // 1. Get the correct implementation dynamically
         VendorSearchStrategy searchStrategy = searchStrategyFactory.getStrategy(vendor);
 
-        // 2. Extract products and execute the search
-        List<Map<String, String>> products = dataTable.asMaps(String.class, String.class);
-        for (Map<String, String> product : products) {
-            String productName = product.get("category");
+        // 2. Extract products and run the searches concurrently (they are independent of each other)
+        List<String> productNames = dataTable.asMaps(String.class, String.class).stream()
+                .map(product -> product.get("category"))
+                .toList();
+        List<String> skus = boundedFanOut.map(productNames, name -> "product '" + name + "'", searchStrategy::resolveSku);
 
-            // Delegate the actual search logic to the specific vendor strategy
-            searchStrategy.searchProduct(productName);
+        // 3. Merge into the scenario context in DataTable order
+        for (int i = 0; i < productNames.size(); i++) {
+            searchStrategy.saveToContext(productNames.get(i), skus.get(i));
         }
     }
 }
\ No newline at end of file
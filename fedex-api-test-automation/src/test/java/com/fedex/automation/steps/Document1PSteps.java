@@ -5,6 +5,7 @@ import com.fedex.automation.context.TestContext;
 import com.fedex.automation.model.fedex.product.MenuHierarchyResponse;
 import com.fedex.automation.model.fedex.product.StaticProductResponse;
 import com.fedex.automation.service.fedex.*;
+import com.fedex.automation.utils.BoundedFanOut;
 import io.cucumber.datatable.DataTable;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.When;
@@ -24,6 +25,7 @@ public class Document1PSteps {
     @Autowired private RateService rateService;
     @Autowired private TemplateConfiguratorService templateConfiguratorService;
     @Autowired private TestContext testContext;
+    @Autowired private BoundedFanOut boundedFanOut;
 
     @When("I search for the 1P product {string}")
     public void iSearchForThe1PProduct(String productName) {
@@ -90,7 +92,14 @@ public class Document1PSteps {
     public void iConfigureAndAddTheFollowing1PCustomDocumentsToTheCart(DataTable dataTable) throws Exception {
         List<Map<String, String>> rows = dataTable.asMaps(String.class, String.class);
 
-        for (Map<String, String> row : rows) {
+        // Steps 1-3 (search, menu resolution, product details) are independent per row: prefetch them concurrently
+        List<ResolvedProduct> resolvedProducts = boundedFanOut.map(rows,
+                row -> "1P product '" + row.get("productName") + "'",
+                row -> resolveProduct(row.get("productName")));
+
+        for (int i = 0; i < rows.size(); i++) {
+            Map<String, String> row = rows.get(i);
+            ResolvedProduct resolved = resolvedProducts.get(i);
             String productName = row.get("productName");
             String documentName = row.get("documentName");
             int quantity = Integer.parseInt(row.get("quantity"));
@@ -103,19 +112,12 @@ public class Document1PSteps {
 
             log.info("--- Orchestrating E2E Add to Cart for: {} (Qty: {}) ---", productName, quantity);
 
-            // 1. Search
-            String sku = catalogService.searchProductSku(productName, "1P");
-            testContext.setCurrentSku(sku);
+            // 1-3. Apply the prefetched Search, Product ID & Version and Domain Details
+            testContext.setCurrentSku(resolved.sku);
             testContext.setSellerModel("1P");
-
-            // 2. Resolve Product ID & Version Dynamically
-            MenuHierarchyResponse.ProductMenuDetail detail = productCatalogFlowService.resolveProductMenuDetailFromSku(sku);
-            testContext.setCurrentProductId(detail.getProductId());
-            testContext.setCurrentProductVersion(detail.getVersion());
-
-            // 3. Fetch Domain Details (The Source of Truth) utilizing Version
-            StaticProductResponse response = productCatalogFlowService.getProductDetails(detail.getProductId(), detail.getVersion());
-            testContext.setStaticProductDetails(response.getProduct());
+            testContext.setCurrentProductId(resolved.detail.getProductId());
+            testContext.setCurrentProductVersion(resolved.detail.getVersion());
+            testContext.setStaticProductDetails(resolved.details.getProduct());
 
             // 4. Create & Search Configurator Session
             templateConfiguratorService.createConfiguratorSession();
@@ -135,4 +137,23 @@ public class Document1PSteps {
             log.info("--- Successfully added {} to cart ---", productName);
         }
     }
+
+    private ResolvedProduct resolveProduct(String productName) {
+        String sku = catalogService.searchProductSku(productName, "1P");
+        MenuHierarchyResponse.ProductMenuDetail detail = productCatalogFlowService.resolveProductMenuDetailFromSku(sku);
+        StaticProductResponse details = productCatalogFlowService.getProductDetails(detail.getProductId(), detail.getVersion());
+        return new ResolvedProduct(sku, detail, details);
+    }
+
+    private static final class ResolvedProduct {
+        private final String sku;
+        private final MenuHierarchyResponse.ProductMenuDetail detail;
+        private final StaticProductResponse details;
+
+        private ResolvedProduct(String sku, MenuHierarchyResponse.ProductMenuDetail detail, StaticProductResponse details) {
+            this.sku = sku;
+            this.detail = detail;
+            this.details = details;
+        }
+    }
 }
\ No newline at end of file
@@ -3,13 +3,15 @@ package com.fedex.automation.steps;
 import com.fedex.automation.config.MiraklConfig;
 import com.fedex.automation.constants.PrintfulConstants;
 import com.fedex.automation.context.TestContext;
+import com.fedex.automation.model.mirakl.MiraklShopOffersResponse;
 import com.fedex.automation.model.printful.AuthNonceResponse;
-import com.fedex.automation.model.printful.PrintfulCatalogVariantsResponse;
 import com.fedex.automation.model.printful.PrintfulCheckoutRequest;
 import com.fedex.automation.model.printful.PrintfulFileCallbackResponse;
 import com.fedex.automation.model.printful.PrintfulVariant;
 import com.fedex.automation.service.mirakl.OfferService;
 import com.fedex.automation.service.printful.PrintfulApparelService;
+import com.fedex.automation.service.printful.PrintfulCatalogCache;
+import com.fedex.automation.utils.BoundedFanOut;
 import com.fedex.automation.utils.PrintfulCheckoutHelper;
 import com.fedex.automation.utils.PrintfulExtractorUtil;
 import com.fedex.automation.utils.PrintfulPayloadMapper;
@@ -34,9 +36,11 @@ public class PrintfulSteps {
 
     private final OfferService offerService;
     private final PrintfulApparelService printfulApparelService;
+    private final PrintfulCatalogCache printfulCatalogCache;
     private final TestContext testContext;
     private final MiraklConfig miraklConfig;
     private final TestResourceProvider testResourceProvider;
+    private final BoundedFanOut boundedFanOut;
 
     private static final String TEST_IMAGE_PATH = "testdata/random.jpg";
     private static final String TEST_IMAGE_NAME = "random.jpg";
@@ -45,6 +49,7 @@ public class PrintfulSteps {
     public void iResolveTheMiraklOfferDetails(DataTable dataTable) {
         List<Map<String, String>> products = dataTable.asMaps(String.class, String.class);
 
+        List<String> skus = new ArrayList<>();
         for (Map<String, String> product : products) {
             String productName = product.get("category");
             log.info("--- Resolving Mirakl Offer for Product: {} ---", productName);
@@ -53,20 +58,29 @@ public class PrintfulSteps {
             if (sku == null) {
                 throw new IllegalStateException("Failed to find SKU for product name: " + productName);
             }
+            skus.add(sku);
+        }
 
-            try {
-                var offer = offerService.getOfferFromShop(miraklConfig.getPrintfulShopId(), sku);
-                testContext.setCurrentSku(sku);
-                testContext.setCurrentOfferId(String.valueOf(offer.getOfferId()));
-                testContext.setShopSku(offer.getShopSku());
-                testContext.setShopId(offer.getShopId());
-
-                log.info("Resolved Offer ID: {} and Shop SKU: {} and Shop Id: {} for Printful SKU: {}",
-                        testContext.getCurrentOfferId(), testContext.getShopSku(), testContext.getShopId(), sku);
-            } catch (Exception e) {
-                log.error("Failed to fetch Mirakl offer data for SKU {}.", sku, e);
-                throw new IllegalStateException("Failed to dynamically fetch Mirakl offer data. Halting test.", e);
-            }
+        // Offer lookups are independent: fetch them concurrently, then apply in DataTable order
+        List<MiraklShopOffersResponse.MiraklOffer> offers;
+        try {
+            offers = boundedFanOut.map(skus, sku -> "SKU " + sku,
+                    sku -> offerService.getOfferFromShop(miraklConfig.getPrintfulShopId(), sku));
+        } catch (Exception e) {
+            log.error("Failed to fetch Mirakl offer data.", e);
+            throw new IllegalStateException("Failed to dynamically fetch Mirakl offer data. Halting test.", e);
+        }
+
+        for (int i = 0; i < skus.size(); i++) {
+            String sku = skus.get(i);
+            var offer = offers.get(i);
+            testContext.setCurrentSku(sku);
+            testContext.setCurrentOfferId(String.valueOf(offer.getOfferId()));
+            testContext.setShopSku(offer.getShopSku());
+            testContext.setShopId(offer.getShopId());
+
+            log.info("Resolved Offer ID: {} and Shop SKU: {} and Shop Id: {} for Printful SKU: {}",
+                    testContext.getCurrentOfferId(), testContext.getShopSku(), testContext.getShopId(), sku);
         }
     }
 
@@ -309,15 +323,15 @@ public class PrintfulSteps {
 
         log.info("--- Configuring Printful Variant: {} - {} using Category ID: {} ---", expectedProductName, expectedColor, categoryId);
 
-        // Fetch the Catalog (This will log the cURL via defaultRequestSpec)
-        var catalogResponse = printfulApparelService.getCatalogProducts(categoryId);
+        // Shared by all scenarios; pages are fetched only until a product matches
+        var catalogProducts = printfulCatalogCache.products(categoryId);
 
-        if (catalogResponse == null || catalogResponse.getData() == null || catalogResponse.getData().isEmpty()) {
-            throw new IllegalStateException("Printful Catalog API returned an empty or null response for Category ID: " + categoryId);
+        if (catalogProducts.isEmpty()) {
+            throw new IllegalStateException("Printful Catalog API returned no products for Category ID: " + categoryId);
         }
 
         // Filter the JSON Data for the matching product
-        var matchedProduct = catalogResponse.getData().stream()
+        var matchedProduct = catalogProducts.stream()
                 .filter(p -> !p.isDiscontinued()) // Must not be discontinued
                 .filter(p -> p.getName() != null && p.getName().startsWith(expectedProductName)) // Name must start with the BDD input
                 .filter(p -> p.getColors() != null && p.getColors().stream().anyMatch(c -> c.getName().equalsIgnoreCase(expectedColor))) // Must contain the target color
@@ -373,19 +387,14 @@ public class PrintfulSteps {
         Map<String, Integer> selectedQuantities = testContext.getPrintfulSelectedQuantities();
 
         // (This uses the code from the previous iteration to build 'baseCheckoutVariants')
-        var variantsResponse = printfulApparelService.getCatalogVariants(productId);
-        List<PrintfulCatalogVariantsResponse.CatalogVariant> colorVariants = variantsResponse.getData().stream()
-                .filter(v -> targetColor.equalsIgnoreCase(v.getColor()))
-                .toList();
+        var variantIndex = printfulCatalogCache.variants(productId);
 
         List<PrintfulVariant> baseCheckoutVariants = new ArrayList<>();
         // Preserve input order to keep the "main variant" aligned with the DataTable
         for (Map.Entry<String, Integer> entry : selectedQuantities.entrySet()) {
             String size = entry.getKey();
             Integer quantity = entry.getValue();
-            var matchedVariant = colorVariants.stream()
-                    .filter(v -> size.equalsIgnoreCase(v.getSize()))
-                    .findFirst()
+            var matchedVariant = variantIndex.find(targetColor, size)
                     .orElseThrow(() -> new IllegalStateException("Missing variant ID for size: " + size));
             baseCheckoutVariants.add(PrintfulVariant.builder()
                     .variantId(matchedVariant.getId())
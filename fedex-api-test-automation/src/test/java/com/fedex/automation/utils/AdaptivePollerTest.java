@@ -0,0 +1,75 @@
+package com.fedex.automation.utils;
+
+import com.fedex.automation.config.PollingConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptivePollerTest {
+
+    @Test
+    void backoffGrowsByTheMultiplierUntilTheCap() {
+        AdaptivePoller poller = poller(100, 2.0, 1000, 0);
+
+        assertEquals(100, poller.backoffMillis(1));
+        assertEquals(200, poller.backoffMillis(2));
+        assertEquals(400, poller.backoffMillis(3));
+        assertEquals(800, poller.backoffMillis(4));
+        assertEquals(1000, poller.backoffMillis(5));
+        assertEquals(1000, poller.backoffMillis(2_000), "huge attempt counts must not overflow past the cap");
+    }
+
+    @Test
+    void jitterOnlyShortensTheWait() {
+        AdaptivePoller halfJitter = poller(100, 2.0, 1000, 0.5);
+        AdaptivePoller clamped = poller(100, 2.0, 1000, 3.0);
+
+        for (int i = 0; i < 1_000; i++) {
+            long wait = halfJitter.backoffMillis(3);
+            assertTrue(wait >= 200 && wait <= 400, "jittered wait " + wait);
+            long full = clamped.backoffMillis(10);
+            assertTrue(full >= 0 && full <= 1000, "jitter above 1 is clamped, got " + full);
+        }
+    }
+
+    @Test
+    void retryAfterInSeconds() {
+        assertEquals(3_000, AdaptivePoller.retryAfterMillis("3"));
+        assertEquals(2_000, AdaptivePoller.retryAfterMillis(" 2 "));
+        assertEquals(0, AdaptivePoller.retryAfterMillis("0"));
+        assertEquals(0, AdaptivePoller.retryAfterMillis("-5"));
+    }
+
+    @Test
+    void retryAfterAsHttpDate() {
+        String inThirtySeconds = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(30));
+        String inThePast = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).minusMinutes(5));
+
+        long wait = AdaptivePoller.retryAfterMillis(inThirtySeconds);
+
+        // The header has whole-second precision
+        assertTrue(wait > 28_000 && wait <= 30_000, "wait " + wait);
+        assertEquals(0, AdaptivePoller.retryAfterMillis(inThePast));
+    }
+
+    @Test
+    void missingOrUnparseableRetryAfterIsIgnored() {
+        assertEquals(0, AdaptivePoller.retryAfterMillis(null));
+        assertEquals(0, AdaptivePoller.retryAfterMillis(" "));
+        assertEquals(0, AdaptivePoller.retryAfterMillis("soon"));
+        assertEquals(0, AdaptivePoller.retryAfterMillis("2026-01-01T00:00:00Z"));
+    }
+
+    private static AdaptivePoller poller(long initialMs, double multiplier, long maxMs, double jitter) {
+        PollingConfig config = new PollingConfig();
+        config.setInitialIntervalMs(initialMs);
+        config.setMultiplier(multiplier);
+        config.setMaxIntervalMs(maxMs);
+        config.setJitter(jitter);
+        return new AdaptivePoller(config);
+    }
+}
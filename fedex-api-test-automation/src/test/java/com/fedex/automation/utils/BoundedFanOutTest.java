@@ -0,0 +1,106 @@
+package com.fedex.automation.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedFanOutTest {
+
+    private final BoundedFanOut fanOut = fanOut(3);
+
+    @Test
+    void neverRunsMoreThanTheLimitAndKeepsInputOrder() {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        List<Integer> items = IntStream.range(0, 12).boxed().toList();
+
+        List<String> results = fanOut.map(items, String::valueOf, item -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            sleep(50L * (12 - item)); // later items finish first
+            active.decrementAndGet();
+            return "sku-" + item;
+        });
+
+        assertEquals(items.stream().map(i -> "sku-" + i).toList(), results);
+        assertEquals(3, maxActive.get());
+    }
+
+    @Test
+    void explicitLimitOverridesTheSharedOne() {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+
+        fanOut.map(List.of(1, 2, 3, 4, 5, 6), String::valueOf, item -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            sleep(50);
+            return active.decrementAndGet();
+        }, 6);
+
+        assertEquals(6, maxActive.get());
+    }
+
+    @Test
+    void firstFailureIsRethrownNamingItsItemAndCancelsTheRest() {
+        Set<Integer> started = ConcurrentHashMap.newKeySet();
+        List<Integer> items = IntStream.range(0, 20).boxed().toList();
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () ->
+                fanOut.map(items, item -> "product " + item, item -> {
+                    started.add(item);
+                    if (item == 1) throw new IllegalArgumentException("no offer");
+                    sleep(200);
+                    return item;
+                }));
+
+        assertEquals("Lookup failed for product 1: no offer", failure.getMessage());
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+        assertTrue(started.size() < items.size(), "Queued lookups should be cancelled, started " + started.size());
+    }
+
+    @Test
+    void assertionFailuresPropagateToo() {
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () ->
+                fanOut.map(List.of("a", "b"), item -> item, item -> {
+                    assertNotEquals("b", item, "SKU not found");
+                    return item;
+                }));
+
+        assertTrue(failure.getMessage().startsWith("Lookup failed for b: SKU not found"), failure.getMessage());
+        assertInstanceOf(AssertionError.class, failure.getCause());
+    }
+
+    @Test
+    void singleItemOrLimitOfOneRunsOnTheCallingThread() {
+        String caller = Thread.currentThread().getName();
+
+        assertEquals(List.of(caller), fanOut.map(List.of("x"), item -> item, item -> Thread.currentThread().getName()));
+        assertEquals(List.of(caller, caller), fanOut.map(List.of("x", "y"), item -> item,
+                item -> Thread.currentThread().getName(), 1));
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () ->
+                fanOut.map(List.of("x"), item -> "item " + item, item -> {
+                    throw new IllegalStateException("boom");
+                }));
+        assertEquals("Lookup failed for item x: boom", failure.getMessage());
+    }
+
+    private static BoundedFanOut fanOut(int maxConcurrency) {
+        BoundedFanOut fanOut = new BoundedFanOut();
+        ReflectionTestUtils.setField(fanOut, "maxConcurrency", maxConcurrency);
+        return fanOut;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.fedex.automation.utils;
+
+import com.fedex.automation.model.fedex.CartPageSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartPageScannerTest {
+
+    private static final String FORM_KEY_INPUT = "<input name=\"form_key\" type=\"hidden\" value=\"fk123ABC\" />";
+    private static final String QUOTE_SCRIPT = "<script>var cart = {\"maskedQuoteId\":\"mq-42\"};</script>";
+    private static final String CONFIG_SCRIPT =
+            "<script>window.checkoutConfig = {\"quoteData\":{\"entity_id\":\"7\"},\"text\":\"a } brace\"};</script>";
+
+    @Test
+    void findsAllThreeValues() throws IOException {
+        CartPageSnapshot snapshot = scan(page(FORM_KEY_INPUT, QUOTE_SCRIPT, CONFIG_SCRIPT));
+
+        assertEquals("fk123ABC", snapshot.getFormKey());
+        assertEquals("mq-42", snapshot.getMaskedQuoteId());
+        assertEquals("7", snapshot.getCheckoutConfig().path("quoteData").path("entity_id").asText());
+        assertEquals("a } brace", snapshot.getCheckoutConfig().path("text").asText());
+    }
+
+    @Test
+    void absentMarkersLeaveFieldsNull() throws IOException {
+        CartPageSnapshot snapshot = scan(page("<p>Your cart is empty</p>"));
+
+        assertNull(snapshot.getFormKey());
+        assertNull(snapshot.getMaskedQuoteId());
+        assertNull(snapshot.getCheckoutConfig());
+    }
+
+    @Test
+    void maskedQuoteIdFallsBackToCheckoutConfig() throws IOException {
+        CartPageSnapshot snapshot = scan(page(FORM_KEY_INPUT,
+                "<script>window.checkoutConfig = {\"quoteData\":{\"maskedQuoteId\":\"from-config\"}};</script>"));
+
+        assertEquals("from-config", snapshot.getMaskedQuoteId());
+    }
+
+    @Test
+    void markersSplitAcrossReadsAreFound() throws IOException {
+        byte[] page = page(FORM_KEY_INPUT, QUOTE_SCRIPT, CONFIG_SCRIPT);
+
+        // Every possible split point, including inside each marker, across the scanner's 8 KB reads
+        for (int chunk = 1; chunk <= 7; chunk++) {
+            CartPageSnapshot snapshot = CartPageScanner.scan(new ChunkedStream(page, chunk));
+            assertEquals("fk123ABC", snapshot.getFormKey(), "chunk " + chunk);
+            assertEquals("mq-42", snapshot.getMaskedQuoteId(), "chunk " + chunk);
+            assertNotNull(snapshot.getCheckoutConfig(), "chunk " + chunk);
+        }
+        String padding = "x".repeat(8192 - "<html><body>".length() - 10);
+        CartPageSnapshot snapshot = scan(page(padding + CONFIG_SCRIPT, FORM_KEY_INPUT));
+        assertNotNull(snapshot.getCheckoutConfig());
+        assertEquals("fk123ABC", snapshot.getFormKey());
+    }
+
+    @Test
+    void truncatedPageReportsNoPartialValues() throws IOException {
+        String cutInQuoteId = "<html><body>" + FORM_KEY_INPUT + "<script>var cart = {\"maskedQuoteId\":\"mq-4";
+        String cutInConfig = "<html><body>" + FORM_KEY_INPUT + "<script>window.checkoutConfig = {\"quoteData\":{\"entity_id\":";
+
+        CartPageSnapshot quoteCut = scan(cutInQuoteId.getBytes(StandardCharsets.UTF_8));
+        CartPageSnapshot configCut = scan(cutInConfig.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("fk123ABC", quoteCut.getFormKey());
+        assertNull(quoteCut.getMaskedQuoteId());
+        assertEquals("fk123ABC", configCut.getFormKey());
+        assertNull(configCut.getCheckoutConfig());
+    }
+
+    @Test
+    void malformedCheckoutConfigDoesNotHideLaterValues() throws IOException {
+        CartPageSnapshot snapshot = scan(page(
+                "<script>window.checkoutConfig = {\"quoteData\": oops};</script>", QUOTE_SCRIPT, FORM_KEY_INPUT));
+
+        assertNull(snapshot.getCheckoutConfig());
+        assertEquals("mq-42", snapshot.getMaskedQuoteId());
+        assertEquals("fk123ABC", snapshot.getFormKey());
+    }
+
+    @Test
+    void stopsReadingOnceEverythingIsFound() throws IOException {
+        byte[] head = page(FORM_KEY_INPUT, QUOTE_SCRIPT, CONFIG_SCRIPT);
+        byte[] page = new byte[head.length + 1_000_000];
+        System.arraycopy(head, 0, page, 0, head.length);
+        ChunkedStream stream = new ChunkedStream(page, 4096);
+
+        CartPageScanner.scan(stream);
+
+        assertTrue(stream.consumed < 3 * 8192, "read " + stream.consumed + " bytes");
+    }
+
+    private static CartPageSnapshot scan(byte[] page) throws IOException {
+        return CartPageScanner.scan(new ByteArrayInputStream(page));
+    }
+
+    private static byte[] page(String... parts) {
+        return ("<html><body>" + String.join("\n", parts) + "</body></html>").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Hands out at most {@code chunk} bytes per read, like a slow network stream.
+     */
+    private static final class ChunkedStream extends FilterInputStream {
+        private final int chunk;
+        private long consumed;
+
+        private ChunkedStream(byte[] bytes, int chunk) {
+            super(new ByteArrayInputStream(bytes));
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, Math.min(len, chunk));
+            if (read > 0) consumed += read;
+            return read;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0) consumed++;
+            return read;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.fedex.automation.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * testdata/1P_ConfiguredCartItem.golden.json is the output of the hand-built String.format payload this builder replaced,
+ * rendered with the inputs below.
+ */
+class ConfiguredCartItemPayloadsTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void payloadMatchesTheGoldenFileByteForByte() throws Exception {
+        String json = ConfiguredCartItemPayloads.toJson(ConfiguredCartItemPayloads.build(
+                "1568921842428", "CVAFLY1020", 250, "state-1", "session-1", "2026-01-01T00:00:00Z", 1700000000000L));
+
+        assertEquals(golden(), json);
+    }
+
+    @Test
+    void quantityIsWrittenToBothPlaces() throws Exception {
+        JsonNode product = MAPPER.readTree(ConfiguredCartItemPayloads.toJson(ConfiguredCartItemPayloads.build(
+                "sku", "partner", 3, "state", "session", "2026-01-01T00:00:00Z", 1L))).path("product");
+
+        assertEquals(3, product.path("qty").asInt());
+        assertEquals(11, product.path("properties").size());
+        assertEquals("PRODUCT_QTY_SET", product.path("properties").get(1).path("name").asText());
+        assertEquals("3", product.path("properties").get(1).path("value").asText());
+    }
+
+    @Test
+    void varyingValuesAreEscaped() throws Exception {
+        JsonNode payload = MAPPER.readTree(ConfiguredCartItemPayloads.toJson(ConfiguredCartItemPayloads.build(
+                "Flyer \"A\"", "partner\\1", 1, "state", "session", "2026-01-01T00:00:00Z", 1L)));
+
+        assertEquals("Flyer \"A\"", payload.path("integratorProductReference").asText());
+        assertEquals("partner\\1", payload.path("product").path("partnerProductId").asText());
+    }
+
+    private static String golden() throws Exception {
+        try (InputStream in = ConfiguredCartItemPayloadsTest.class.getResourceAsStream("/testdata/1P_ConfiguredCartItem.golden.json")) {
+            assertNotNull(in, "golden payload missing");
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.fedex.automation.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CurlCommandFormatterTest {
+
+    private static final String URL = "https://host/rest/V1/carts";
+
+    @Test
+    void singleQuotesAreEscapedEverywhere() {
+        String curl = CurlCommandFormatter.toCurl("POST", URL + "?q=it's",
+                List.of(Map.entry("X-Note", "don't")), Map.of(), "{\"name\":\"O'Brien\"}", null, 4096);
+
+        assertTrue(curl.contains("--request POST 'https://host/rest/V1/carts?q=it'\\''s'"), curl);
+        assertTrue(curl.contains("--header 'X-Note: don'\\''t'"), curl);
+        assertTrue(curl.contains("--data-raw '{\"name\":\"O'\\''Brien\"}'"), curl);
+    }
+
+    @Test
+    void formParamsAreJoinedAndQuoted() {
+        Map<String, Object> form = new LinkedHashMap<>();
+        form.put("sku", List.of("a", "b"));
+        form.put("note", "it's");
+
+        String curl = CurlCommandFormatter.toCurl("POST", URL, List.of(), Map.of(), null, form, 4096);
+
+        assertTrue(curl.contains("--data-raw 'sku=a&sku=b&note=it'\\''s'"), curl);
+    }
+
+    @Test
+    void authorizationAndSessionCookiesAreMasked() {
+        String curl = CurlCommandFormatter.toCurl("GET", URL,
+                List.of(Map.entry("Authorization", "Bearer abcdef123456"),
+                        Map.entry("Cookie", "PHPSESSID=sess-secret-9876; form_key=fk-secret-5555; store=default")),
+                Map.of(), null, null, 4096);
+
+        assertTrue(curl.contains("--header 'Authorization: ****3456'"), curl);
+        assertTrue(curl.contains("--header 'Cookie: PHPSESSID=****9876; form_key=****5555; store=default'"), curl);
+        assertFalse(curl.contains("abcdef"), curl);
+        assertFalse(curl.contains("sess-secret"), curl);
+    }
+
+    @Test
+    void explicitCookiesReplaceTheCookieHeaderAndAreMasked() {
+        Map<String, String> cookies = new LinkedHashMap<>();
+        cookies.put("PHPSESSID", "sess-secret-9876");
+        cookies.put("store", "default");
+
+        String curl = CurlCommandFormatter.toCurl("GET", URL,
+                List.of(Map.entry("Cookie", "PHPSESSID=stale-value-0000")), cookies, null, null, 4096);
+
+        assertTrue(curl.contains("--header 'Cookie: PHPSESSID=****9876; store=default'"), curl);
+        assertFalse(curl.contains("stale-value"), curl);
+    }
+
+    @Test
+    void shortOrBlankSecretsAreFullyMasked() {
+        assertEquals("****", CurlCommandFormatter.maskValue(null));
+        assertEquals("****", CurlCommandFormatter.maskValue(" "));
+        assertEquals("****", CurlCommandFormatter.maskValue("abcd"));
+        assertEquals("****bcde", CurlCommandFormatter.maskValue("abcde"));
+    }
+
+    @Test
+    void truncationNeverSplitsACharacter() {
+        String text = "ab" + "é".repeat(10); // 2 + 20 UTF-8 bytes
+
+        String truncated = CurlCommandFormatter.truncate(text, 5);
+
+        assertEquals("abé... [truncated 18 bytes]", truncated);
+        assertEquals(text, CurlCommandFormatter.truncate(text, 22));
+    }
+}
@@ -0,0 +1,85 @@
+package com.fedex.automation.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointTemplateResolverTest {
+
+    private EndpointTemplateResolver resolver;
+
+    @BeforeEach
+    void loadTemplates() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+                "endpoint.shipping.estimate", "/default/rest/default/V1/guest-carts/{cartId}/estimate-shipping-methods",
+                "endpoint.cart.get", "/default/checkout/cart/",
+                "endpoint.admin.order.view", "/sales/order/view/order_id/",
+                "endpoint.document.create", "https://documentapitest.prod.fedex.com/document/fedexoffice/v2/documents",
+                "mirakl.endpoint.offers", "/api/offers",
+                "endpoint.blank", "",
+                "unrelated.url", "/api/offers/unrelated")));
+        resolver = new EndpointTemplateResolver(environment);
+    }
+
+    @Test
+    void placeholderMatchesAnyIdSegment() {
+        assertEquals("endpoint.shipping.estimate",
+                resolver.resolve("https://staging2.office.fedex.com/default/rest/default/V1/guest-carts/09ZkAbC123/estimate-shipping-methods"));
+        assertEquals("endpoint.shipping.estimate",
+                resolver.resolve("https://staging2.office.fedex.com/default/rest/default/V1/guest-carts/other-cart/estimate-shipping-methods?x=1"));
+    }
+
+    @Test
+    void placeholderDoesNotSpanPathSegments() {
+        assertNotEquals("endpoint.shipping.estimate",
+                resolver.resolve("https://host/default/rest/default/V1/guest-carts/a/b/estimate-shipping-methods"));
+    }
+
+    @Test
+    void trailingSlashTemplatesAcceptAnAppendedId() {
+        assertEquals("endpoint.cart.get", resolver.resolve("https://host/default/checkout/cart/"));
+        assertEquals("endpoint.cart.get", resolver.resolve("https://host/default/checkout/cart"));
+        assertEquals("endpoint.admin.order.view", resolver.resolve("https://host/admin/sales/order/view/order_id/1234/"));
+    }
+
+    @Test
+    void absoluteTemplateMatchesOnItsPath() {
+        assertEquals("endpoint.document.create",
+                resolver.resolve("https://documentapitest.prod.fedex.com/document/fedexoffice/v2/documents"));
+    }
+
+    @Test
+    void mostSpecificTemplateWins() {
+        assertEquals("mirakl.endpoint.offers", resolver.resolve("https://mirakl.example/api/offers"));
+        // Only endpoint-style keys are templates; unrelated.url must not claim the longer path
+        assertEquals("mirakl.example/api/offers/unrelated", resolver.resolve("https://mirakl.example/api/offers/unrelated"));
+    }
+
+    @Test
+    void unknownUrlFallsBackToNormalizedPath() {
+        assertEquals("api.printful.com/v2/catalog-products/{id}/catalog-variants",
+                resolver.resolve("https://api.printful.com/v2/catalog-products/146/catalog-variants?limit=100"));
+        assertEquals("host/orders/{id}/items/{id}",
+                EndpointTemplateResolver.normalize("https://host/orders/6f1c2a9e-0b7d-4e3a-9c1f-5d2e8a7b6c40/items/Ab12Cd34Ef56Gh78Ij90Kl"));
+        assertEquals("host/catalog/tshirts", EndpointTemplateResolver.normalize("https://host/catalog/tshirts"));
+    }
+
+    @Test
+    void encodedSegmentsStayEncoded() {
+        assertEquals("endpoint.shipping.estimate",
+                resolver.resolve("https://host/default/rest/default/V1/guest-carts/a%20b%2Fc/estimate-shipping-methods"));
+        assertEquals("host/search/t%20shirt", EndpointTemplateResolver.normalize("https://host/search/t%20shirt"));
+    }
+
+    @Test
+    void unparseableUrlIsResolvedWithoutThrowing() {
+        assertEquals("/bad path/{id}", resolver.resolve("/bad path/12345?q=1"));
+        assertEquals("/bad path/{id}", EndpointTemplateResolver.normalize("/bad path/12345?q=1"));
+    }
+}
@@ -0,0 +1,122 @@
+package com.fedex.automation.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringCacheTest {
+
+    @Test
+    void entryExpiresAfterTtl() throws Exception {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ofMillis(100));
+        cache.put("sku", "offer-1");
+
+        assertEquals("offer-1", cache.get("sku"));
+        Thread.sleep(200);
+        assertNull(cache.get("sku"));
+    }
+
+    @Test
+    void zeroTtlDisablesCaching() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ZERO);
+        cache.put("sku", "offer-1");
+
+        assertNull(cache.get("sku"));
+    }
+
+    @Test
+    void invalidateAndClearDropEntries() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ofMinutes(1));
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+
+        cache.invalidate("a");
+        assertNull(cache.get("a"));
+        assertEquals("2", cache.get("b"));
+
+        cache.clear();
+        assertNull(cache.get("b"));
+        assertNull(cache.get("c"));
+    }
+
+    @Test
+    void getAllKeepsRequestOrderAndSkipsMisses() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ofMinutes(1));
+        cache.put("b", "2");
+        cache.put("a", "1");
+
+        assertEquals(List.of("a", "b"), List.copyOf(cache.getAll(List.of("a", "missing", "b")).keySet()));
+        assertEquals(Map.of(), cache.getAll(List.of("missing")));
+    }
+
+    @Test
+    void getOrLoadReloadsAfterInvalidate() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("key-1", cache.getOrLoad("env", k -> "key-" + loads.incrementAndGet()));
+        assertEquals("key-1", cache.getOrLoad("env", k -> "key-" + loads.incrementAndGet()));
+        cache.invalidate("env");
+        assertEquals("key-2", cache.getOrLoad("env", k -> "key-" + loads.incrementAndGet()));
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ofMinutes(1));
+
+        assertThrows(IllegalStateException.class, () -> cache.getOrLoad("env", k -> {
+            throw new IllegalStateException("endpoint down");
+        }));
+        assertEquals("key", cache.getOrLoad("env", k -> "key"));
+    }
+
+    @Test
+    void concurrentMissesOfOneKeyLoadOnce() throws Exception {
+        int threads = 16;
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        CyclicBarrier start = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                String key = i % 2 == 0 ? "staging" : "production";
+                results.add(executor.submit(() -> {
+                    start.await(5, TimeUnit.SECONDS);
+                    return cache.getOrLoad(key, k -> {
+                        loads.incrementAndGet();
+                        sleep(100);
+                        return k + "-pem";
+                    });
+                }));
+            }
+            for (int i = 0; i < threads; i++) {
+                assertEquals((i % 2 == 0 ? "staging" : "production") + "-pem", results.get(i).get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, loads.get());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
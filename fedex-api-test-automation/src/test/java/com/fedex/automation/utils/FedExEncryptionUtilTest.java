@@ -0,0 +1,103 @@
+package com.fedex.automation.utils;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round-trips the cached cipher pipeline against locally generated key pairs.
+ */
+class FedExEncryptionUtilTest {
+
+    private static PrivateKey privateKey;
+    private static String publicKeyPem;
+
+    @BeforeAll
+    static void generateKeyPair() throws Exception {
+        KeyPair keyPair = generateRsaKeyPair();
+        privateKey = keyPair.getPrivate();
+        publicKeyPem = toPem(keyPair);
+    }
+
+    @Test
+    void encryptedCardDecryptsToLegacyPayload() throws Exception {
+        String encrypted = FedExEncryptionUtil.encryptCreditCard("4111 1111 1111 1111", "2", "2035", "123", publicKeyPem);
+
+        assertEquals("M4111111111111111=3502:123", decrypt(encrypted));
+    }
+
+    @Test
+    void bulkEncryptionKeepsInputOrder() throws Exception {
+        List<Map<String, String>> cards = List.of(
+                Map.of("cardNumber", "4111111111111111", "expMonth", "01", "expYear", "2030", "cvv", "111"),
+                Map.of("cardNumber", "5555555555554444", "expMonth", "12", "expYear", "2031", "cvv", "222"));
+
+        List<String> encrypted = FedExEncryptionUtil.encryptCreditCards(cards, publicKeyPem);
+
+        assertEquals(2, encrypted.size());
+        assertEquals("M4111111111111111=3001:111", decrypt(encrypted.get(0)));
+        assertEquals("M5555555555554444=3112:222", decrypt(encrypted.get(1)));
+    }
+
+    @Test
+    void parsedKeyIsReusedAndStillDecrypts() throws Exception {
+        PublicKey first = FedExEncryptionUtil.cachedPublicKey(publicKeyPem);
+
+        assertSame(first, FedExEncryptionUtil.cachedPublicKey(publicKeyPem));
+        assertSame(first, FedExEncryptionUtil.cachedPublicKey("\n" + publicKeyPem + "\n"));
+
+        // The reused key and per-thread cipher are re-initialised per card: same input, fresh OAEP ciphertext
+        String once = FedExEncryptionUtil.encryptCreditCard("4111111111111111", "02", "2035", "123", publicKeyPem);
+        String twice = FedExEncryptionUtil.encryptCreditCard("4111111111111111", "02", "2035", "123", publicKeyPem);
+        assertNotEquals(once, twice);
+        assertEquals("M4111111111111111=3502:123", decrypt(once, privateKey));
+        assertEquals("M4111111111111111=3502:123", decrypt(twice, privateKey));
+    }
+
+    @Test
+    void rotatedKeyIsNotServedFromTheCache() throws Exception {
+        KeyPair rotated = generateRsaKeyPair();
+        String rotatedPem = toPem(rotated);
+        FedExEncryptionUtil.encryptCreditCard("4111111111111111", "02", "2035", "123", publicKeyPem);
+
+        String encrypted = FedExEncryptionUtil.encryptCreditCard("4111111111111111", "02", "2035", "123", rotatedPem);
+
+        assertNotSame(FedExEncryptionUtil.cachedPublicKey(publicKeyPem), FedExEncryptionUtil.cachedPublicKey(rotatedPem));
+        assertEquals("M4111111111111111=3502:123", decrypt(encrypted, rotated.getPrivate()));
+    }
+
+    private static KeyPair generateRsaKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+
+    private static String toPem(KeyPair keyPair) {
+        return "-----BEGIN PUBLIC KEY-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(keyPair.getPublic().getEncoded())
+                + "\n-----END PUBLIC KEY-----";
+    }
+
+    private static String decrypt(String urlEncoded) throws Exception {
+        return decrypt(urlEncoded, privateKey);
+    }
+
+    private static String decrypt(String urlEncoded, PrivateKey key) throws Exception {
+        Cipher cipher = Cipher.getInstance("RSA/ECB/OAEPWithSHA-1AndMGF1Padding");
+        cipher.init(Cipher.DECRYPT_MODE, key);
+        byte[] raw = Base64.getDecoder().decode(URLDecoder.decode(urlEncoded, StandardCharsets.UTF_8));
+        return new String(cipher.doFinal(raw), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,127 @@
+package com.fedex.automation.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void smallValuesGetExactBuckets() {
+        for (long micros = 0; micros < 32; micros++) {
+            assertEquals(micros, LatencyHistogram.bucketIndex(micros));
+            assertEquals(micros, LatencyHistogram.bucketUpperBound((int) micros));
+        }
+    }
+
+    @Test
+    void bucketsAreContiguousAndWithinPrecision() {
+        long previousUpper = -1;
+        for (int index = 0; index < 40 * 16; index++) {
+            long upper = LatencyHistogram.bucketUpperBound(index);
+            long lower = previousUpper + 1;
+            assertEquals(index, LatencyHistogram.bucketIndex(lower), "lower bound of bucket " + index);
+            assertEquals(index, LatencyHistogram.bucketIndex(upper), "upper bound of bucket " + index);
+            // Log-linear with 16 sub-buckets: a bucket is never wider than 1/16 of its lower bound
+            assertTrue(upper - lower + 1 <= Math.max(1, lower / 16), "bucket " + index + " is " + lower + ".." + upper);
+            previousUpper = upper;
+        }
+    }
+
+    @Test
+    void largestValueStillHasABucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordMicros(Long.MAX_VALUE);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(Long.MAX_VALUE / 1000.0, histogram.getPercentileMillis(100));
+    }
+
+    @Test
+    void percentilesOfAUniformSpread() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 1000; millis++) {
+            histogram.recordMicros(millis * 1000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500.5, histogram.getMeanMillis(), 1e-9);
+        assertEquals(1000.0, histogram.getMaxMillis());
+        assertWithinPrecision(500, histogram.getPercentileMillis(50));
+        assertWithinPrecision(950, histogram.getPercentileMillis(95));
+        assertWithinPrecision(990, histogram.getPercentileMillis(99));
+        // The top bucket is capped at the largest sample rather than the bucket's upper bound
+        assertEquals(1000.0, histogram.getPercentileMillis(100));
+        assertWithinPrecision(1, histogram.getPercentileMillis(0));
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getPercentileMillis(99));
+        assertEquals(0, histogram.getMeanMillis());
+        assertEquals(0L, histogram.summary().get("count"));
+    }
+
+    @Test
+    void concurrentRecordingLosesNoSamples() throws Exception {
+        int threads = 8;
+        int samplesPerThread = 50_000;
+        LatencyHistogram histogram = new LatencyHistogram();
+        CyclicBarrier start = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long offset = t;
+                workers.add(executor.submit(() -> {
+                    start.await(5, TimeUnit.SECONDS);
+                    for (int i = 1; i <= samplesPerThread; i++) {
+                        histogram.recordMicros(i + offset);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) worker.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long expectedSum = 0;
+        for (int t = 0; t < threads; t++) {
+            expectedSum += (long) samplesPerThread * (samplesPerThread + 1) / 2 + (long) t * samplesPerThread;
+        }
+        assertEquals((long) threads * samplesPerThread, histogram.getCount());
+        assertEquals(expectedSum / 1000.0, histogram.getTotalMillis(), 1e-6);
+        assertEquals((samplesPerThread + threads - 1) / 1000.0, histogram.getMaxMillis());
+    }
+
+    @Test
+    void mergeAddsSamples() {
+        LatencyHistogram fast = new LatencyHistogram();
+        LatencyHistogram slow = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) fast.recordMicros(1_000);
+        for (int i = 0; i < 10; i++) slow.recordMicros(100_000);
+
+        fast.merge(slow);
+
+        assertEquals(100, fast.getCount());
+        assertWithinPrecision(1, fast.getPercentileMillis(90));
+        assertEquals(100.0, fast.getPercentileMillis(91));
+        assertEquals(100.0, fast.getMaxMillis());
+    }
+
+    private static void assertWithinPrecision(double expectedMillis, double actualMillis) {
+        assertTrue(actualMillis >= expectedMillis && actualMillis <= expectedMillis * (1 + 1.0 / 16),
+                "expected ~" + expectedMillis + " ms, was " + actualMillis);
+    }
+}
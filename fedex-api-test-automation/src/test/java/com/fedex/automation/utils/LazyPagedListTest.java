@@ -0,0 +1,65 @@
+package com.fedex.automation.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyPagedListTest {
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final List<List<Integer>> completed = new ArrayList<>();
+
+    @Test
+    void pagesAreFetchedOnlyAsFarAsTheStreamIsRead() {
+        LazyPagedList<Integer> list = list(25, 10);
+
+        assertEquals(3, list.stream().filter(i -> i == 3).findFirst().orElseThrow());
+        assertEquals(1, requests.get());
+        assertEquals(12, list.stream().filter(i -> i == 12).findFirst().orElseThrow());
+        assertEquals(2, requests.get(), "the first page is replayed, not fetched again");
+        assertFalse(list.isComplete());
+        assertTrue(completed.isEmpty());
+    }
+
+    @Test
+    void readingToTheEndCompletesOnce() {
+        LazyPagedList<Integer> list = list(25, 10);
+
+        assertEquals(IntStream.range(0, 25).boxed().toList(), list.toList());
+        assertEquals(25, list.stream().count());
+
+        assertTrue(list.isComplete());
+        assertEquals(3, requests.get());
+        assertEquals(List.of(IntStream.range(0, 25).boxed().toList()), completed);
+        assertNull(list.get(25));
+    }
+
+    @Test
+    void emptyCatalogIsEmpty() {
+        LazyPagedList<Integer> list = list(0, 10);
+
+        assertTrue(list.isEmpty());
+        assertEquals(List.of(List.of()), completed);
+    }
+
+    @Test
+    void knownItemsNeedNoFetch() {
+        LazyPagedList<String> list = LazyPagedList.of(List.of("a", "b"));
+
+        assertTrue(list.isComplete());
+        assertEquals(List.of("a", "b"), list.toList());
+    }
+
+    private LazyPagedList<Integer> list(int size, int pageSize) {
+        PagedIterator<Integer> pages = new PagedIterator<>(pageSize, (offset, limit) -> {
+            requests.incrementAndGet();
+            return new PagedIterator.Page<>(IntStream.range(offset, Math.min(offset + limit, size)).boxed().toList(), size);
+        });
+        return new LazyPagedList<>(pages, completed::add);
+    }
+}
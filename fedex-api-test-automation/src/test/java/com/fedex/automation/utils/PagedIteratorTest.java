@@ -0,0 +1,84 @@
+package com.fedex.automation.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pages served from an in-memory catalog of numbered items; {@code maxPage} caps the page like a server limit would.
+ */
+class PagedIteratorTest {
+
+    private final List<Integer> requestedOffsets = new ArrayList<>();
+
+    @Test
+    void serverCapBelowThePageSizeStillReadsEverything() {
+        PagedIterator<Integer> pages = new PagedIterator<>(100, fetcher(250, 40, true));
+
+        List<Integer> items = drain(pages);
+
+        assertEquals(IntStream.range(0, 250).boxed().toList(), items);
+        assertEquals(List.of(0, 40, 80, 120, 160, 200, 240), requestedOffsets);
+    }
+
+    @Test
+    void emptyPageEndsIterationEvenBelowTheTotal() {
+        // The total claims 10 items, but the server runs out after 6
+        PagedIterator<Integer> pages = new PagedIterator<>(4, (offset, limit) -> {
+            requestedOffsets.add(offset);
+            List<Integer> items = IntStream.range(offset, Math.min(offset + limit, 6)).boxed().toList();
+            return new PagedIterator.Page<>(items, 10);
+        });
+
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), drain(pages));
+        assertEquals(List.of(0, 4, 6), requestedOffsets);
+    }
+
+    @Test
+    void totalReachedOnAFullPageNeedsNoExtraRequest() {
+        PagedIterator<Integer> pages = new PagedIterator<>(5, fetcher(10, 5, true));
+
+        assertEquals(10, drain(pages).size());
+        assertEquals(2, pages.getPagesFetched());
+    }
+
+    @Test
+    void withoutATotalAShortPageEndsIteration() {
+        PagedIterator<Integer> pages = new PagedIterator<>(4, fetcher(10, 100, false));
+
+        assertEquals(10, drain(pages).size());
+        assertEquals(List.of(0, 4, 8), requestedOffsets);
+    }
+
+    @Test
+    void withoutATotalAnExactMultipleEndsOnAnEmptyPage() {
+        PagedIterator<Integer> pages = new PagedIterator<>(4, fetcher(8, 100, false));
+
+        assertEquals(8, drain(pages).size());
+        assertEquals(List.of(0, 4, 8), requestedOffsets);
+    }
+
+    @Test
+    void nextPageIsFetchedOnlyWhenNeeded() {
+        assertEquals(List.of(0, 1, 2), PagedIterator.stream(10, fetcher(100, 10, true)).limit(3).toList());
+        assertEquals(List.of(0), requestedOffsets);
+    }
+
+    private PagedIterator.PageFetcher<Integer> fetcher(int size, int maxPage, boolean reportTotal) {
+        return (offset, limit) -> {
+            requestedOffsets.add(offset);
+            List<Integer> items = IntStream.range(offset, Math.min(offset + Math.min(limit, maxPage), size)).boxed().toList();
+            return new PagedIterator.Page<>(items, reportTotal ? size : null);
+        };
+    }
+
+    private static List<Integer> drain(PagedIterator<Integer> pages) {
+        List<Integer> items = new ArrayList<>();
+        pages.forEachRemaining(items::add);
+        return items;
+    }
+}
@@ -0,0 +1,62 @@
+package com.fedex.automation.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StepCallTraceTest {
+
+    private static final long MS = 1_000_000L;
+
+    @AfterEach
+    void tearDown() {
+        StepCallTrace.end();
+    }
+
+    @Test
+    void callsAreRecordedOnlyInsideAStep() {
+        StepCallTrace.recordCall("GET", "/outside", 0, MS, 200);
+        StepCallTrace.Step step = new StepCallTrace.Step();
+        StepCallTrace.begin(step);
+        StepCallTrace.recordCall("GET", "/inside", 0, MS, 200);
+
+        assertEquals(1, step.getCalls().size());
+        assertEquals("GET /inside", step.getCalls().get(0).getEndpoint());
+    }
+
+    @Test
+    void withinRestoresThePreviousStep() {
+        StepCallTrace.Step outer = new StepCallTrace.Step();
+        StepCallTrace.Step inner = new StepCallTrace.Step();
+        StepCallTrace.begin(outer);
+
+        StepCallTrace.within(inner, () -> {
+            StepCallTrace.recordCall("GET", "/inner", 0, MS, 200);
+            return null;
+        });
+        StepCallTrace.recordCall("GET", "/outer", 0, MS, 200);
+
+        assertSame(outer, StepCallTrace.current());
+        assertEquals("GET /inner", inner.getCalls().get(0).getEndpoint());
+        assertEquals("GET /outer", outer.getCalls().get(0).getEndpoint());
+    }
+
+    @Test
+    void parallelCallsCountOnceTowardsHttpTime() {
+        StepCallTrace.Step step = new StepCallTrace.Step();
+        StepCallTrace.begin(step);
+        // 0-100 and 50-150 overlap, 120-130 lies inside them, 200-240 stands alone: 150 + 40 ms in flight
+        StepCallTrace.recordCall("GET", "/b", 50 * MS, 100 * MS, 200);
+        StepCallTrace.recordCall("GET", "/a", 0, 100 * MS, 200);
+        StepCallTrace.recordCall("GET", "/c", 120 * MS, 10 * MS, 200);
+        StepCallTrace.recordCall("GET", "/d", 200 * MS, 40 * MS, 200);
+
+        assertEquals(190 * MS, step.getHttpWallNanos());
+    }
+
+    @Test
+    void stepWithoutCallsHasNoHttpTime() {
+        assertEquals(0, new StepCallTrace.Step().getHttpWallNanos());
+    }
+}